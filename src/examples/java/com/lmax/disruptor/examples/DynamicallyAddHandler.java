@@ -1,16 +1,11 @@
 package com.lmax.disruptor.examples;
 
-import com.lmax.disruptor.BatchEventProcessor;
-import com.lmax.disruptor.BatchEventProcessorBuilder;
 import com.lmax.disruptor.EventHandler;
-import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.examples.support.StubEvent;
 import com.lmax.disruptor.util.DaemonThreadFactory;
 
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class DynamicallyAddHandler
 {
@@ -43,36 +38,21 @@ public class DynamicallyAddHandler
 
     public static void main(final String[] args) throws InterruptedException
     {
-        ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
-
         // Build a disruptor and start it.
         Disruptor<StubEvent> disruptor = new Disruptor<>(
                 StubEvent.EVENT_FACTORY, 1024, DaemonThreadFactory.INSTANCE);
-        RingBuffer<StubEvent> ringBuffer = disruptor.start();
+        disruptor.start();
 
-        // Construct 2 batch event processors.
+        // Dynamically add 2 handlers, the second processing each event after the first.
+        // Both are added to the gating sequences of the ring buffer and started.
         DynamicHandler handler1 = new DynamicHandler();
-        BatchEventProcessor<StubEvent> processor1 =
-                new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(), handler1);
+        disruptor.attach(handler1);
 
         DynamicHandler handler2 = new DynamicHandler();
-        BatchEventProcessor<StubEvent> processor2 =
-                new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(processor1.getSequence()), handler2);
-
-        // Dynamically add both sequences to the ring buffer
-        ringBuffer.addGatingSequences(processor1.getSequence(), processor2.getSequence());
-
-        // Start the new batch processors.
-        executor.execute(processor1);
-        executor.execute(processor2);
-
-        // Remove a processor.
+        disruptor.attach(handler2, handler1);
 
-        // Stop the processor
-        processor2.halt();
-        // Wait for shutdown the complete
+        // Remove a handler, halting its processor and removing its gating sequence from the ring buffer.
+        disruptor.detach(handler2);
         handler2.awaitShutdown();
-        // Remove the gating sequence from the ring buffer
-        ringBuffer.removeGatingSequence(processor2.getSequence());
     }
 }
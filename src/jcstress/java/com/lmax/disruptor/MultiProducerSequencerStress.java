@@ -0,0 +1,130 @@
+package com.lmax.disruptor;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.JJ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Checks that the range publication of {@link MultiProducerSequencer#publish(long, long)} still makes every event
+ * reported by {@link MultiProducerSequencer#getHighestPublishedSequence(long, long)} visible to the reader.
+ */
+public final class MultiProducerSequencerStress
+{
+    private static final int BUFFER_SIZE = 4;
+
+    private static long countUnpublishedEvents(final long[] events, final long lo, final long highest)
+    {
+        long unpublished = 0;
+        for (long sequence = lo; sequence <= highest; sequence++)
+        {
+            if (events[(int) sequence & (BUFFER_SIZE - 1)] != sequence + 1)
+            {
+                unpublished++;
+            }
+        }
+
+        return unpublished;
+    }
+
+    @JCStressTest
+    @Outcome(id = {"-1, 0", "0, 0", "1, 0", "2, 0", "3, 0"}, expect = ACCEPTABLE, desc = "Saw a prefix of the batch, and the events in it")
+    @Outcome(expect = FORBIDDEN, desc = "Reported an event as published before its data was visible")
+    @State
+    public static class PublishBatch
+    {
+        final Sequencer sequencer = new MultiProducerSequencer(BUFFER_SIZE, new BlockingWaitStrategy());
+        final long[] events = new long[BUFFER_SIZE];
+
+        @Actor
+        public void producer()
+        {
+            for (int sequence = 0; sequence < BUFFER_SIZE; sequence++)
+            {
+                events[sequence] = sequence + 1;
+            }
+            sequencer.publish(0, BUFFER_SIZE - 1);
+        }
+
+        @Actor
+        public void consumer(final JJ_Result r)
+        {
+            final long highest = sequencer.getHighestPublishedSequence(0, BUFFER_SIZE - 1);
+            r.r1 = highest;
+            r.r2 = countUnpublishedEvents(events, 0, highest);
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = {"1, 0", "2, 0", "3, 0", "4, 0", "5, 0"}, expect = ACCEPTABLE, desc = "Saw a prefix of the batch, and the events in it")
+    @Outcome(expect = FORBIDDEN, desc = "Reported an event from the previous lap, or one published before its data was visible")
+    @State
+    public static class PublishBatchAcrossWrap
+    {
+        final Sequencer sequencer = new MultiProducerSequencer(BUFFER_SIZE, new BlockingWaitStrategy());
+        final long[] events = new long[BUFFER_SIZE];
+
+        public PublishBatchAcrossWrap()
+        {
+            events[0] = 1;
+            events[1] = 2;
+            sequencer.publish(0, 1);
+        }
+
+        @Actor
+        public void producer()
+        {
+            for (int sequence = 2; sequence < 6; sequence++)
+            {
+                events[sequence & (BUFFER_SIZE - 1)] = sequence + 1;
+            }
+            sequencer.publish(2, 5);
+        }
+
+        @Actor
+        public void consumer(final JJ_Result r)
+        {
+            final long highest = sequencer.getHighestPublishedSequence(2, 5);
+            r.r1 = highest;
+            r.r2 = countUnpublishedEvents(events, 2, highest);
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = {"-1, 0", "0, 0", "1, 0", "2, 0", "3, 0"}, expect = ACCEPTABLE, desc = "Saw a prefix of the published batches, and the events in it")
+    @Outcome(expect = FORBIDDEN, desc = "Reported an event as published before its data was visible")
+    @State
+    public static class PublishAdjacentBatches
+    {
+        final Sequencer sequencer = new MultiProducerSequencer(BUFFER_SIZE, new BlockingWaitStrategy());
+        final long[] events = new long[BUFFER_SIZE];
+
+        @Actor
+        public void producer1()
+        {
+            events[0] = 1;
+            events[1] = 2;
+            sequencer.publish(0, 1);
+        }
+
+        @Actor
+        public void producer2()
+        {
+            events[2] = 3;
+            events[3] = 4;
+            sequencer.publish(2, 3);
+        }
+
+        @Actor
+        public void consumer(final JJ_Result r)
+        {
+            final long highest = sequencer.getHighestPublishedSequence(0, BUFFER_SIZE - 1);
+            r.r1 = highest;
+            r.r2 = countUnpublishedEvents(events, 0, highest);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.IIII_Result;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+public final class WorkerPoolStress
+{
+    /**
+     * Two {@link WorkProcessor}s race to claim the same four published events from a shared work sequence.
+     * Every event must be handled exactly once, regardless of how the claims interleave.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1, 1, 1", expect = ACCEPTABLE, desc = "Each event delivered exactly once")
+    @Outcome(expect = FORBIDDEN, desc = "An event was lost or delivered more than once")
+    @State
+    public static class ExactlyOnceDelivery
+    {
+        private static final int EVENT_COUNT = 4;
+
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 8, new BusySpinWaitStrategy());
+        final AtomicIntegerArray deliveries = new AtomicIntegerArray(EVENT_COUNT);
+        final AtomicInteger totalDeliveries = new AtomicInteger();
+        final Sequence workSequence = new Sequence();
+        final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier();
+        final WorkProcessor<StubEvent> processor1 = newProcessor();
+        final WorkProcessor<StubEvent> processor2 = newProcessor();
+
+        public ExactlyOnceDelivery()
+        {
+            ringBuffer.addGatingSequences(processor1.getSequence(), processor2.getSequence());
+            for (int i = 0; i < EVENT_COUNT; i++)
+            {
+                ringBuffer.publishEvent((event, sequence) -> event.setValue((int) sequence));
+            }
+        }
+
+        private WorkProcessor<StubEvent> newProcessor()
+        {
+            // Wired as a WorkerPool wires its workers, sharing the one barrier
+            return new WorkProcessor<>(
+                ringBuffer, sequenceBarrier, this::onEvent, new FatalExceptionHandler(), workSequence, 2, 2);
+        }
+
+        private void onEvent(final StubEvent event)
+        {
+            deliveries.incrementAndGet(event.getValue());
+            if (totalDeliveries.incrementAndGet() == EVENT_COUNT)
+            {
+                processor1.halt();
+                processor2.halt();
+            }
+        }
+
+        @Actor
+        public void actor1()
+        {
+            processor1.run();
+        }
+
+        @Actor
+        public void actor2()
+        {
+            processor2.run();
+        }
+
+        @Arbiter
+        public void arbiter(final IIII_Result r)
+        {
+            r.r1 = deliveries.get(0);
+            r.r2 = deliveries.get(1);
+            r.r3 = deliveries.get(2);
+            r.r4 = deliveries.get(3);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.util.SimpleEvent;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JMH counterpart of <code>OneToOneSequencedPollerThroughputTest</code>, comparing an {@link EventPoller}
+ * handing over one event per callback with one handing over bounded batches.
+ *
+ * <p>The producer never blocks, so that the group can always be stopped, and the consumer counts the events that it
+ * polls, which is reported as the <code>events</code> counter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPollerBenchmark
+{
+    private static final int RING_BUFFER_SIZE = 1024 * 64;
+    private static final EventTranslator<SimpleEvent> TRANSLATOR = (event, sequence) -> event.setValue(sequence);
+
+    @State(Scope.Group)
+    public static class PollerState
+    {
+        final RingBuffer<SimpleEvent> ringBuffer =
+            RingBuffer.createSingleProducer(SimpleEvent::new, RING_BUFFER_SIZE, new BusySpinWaitStrategy());
+        final EventPoller<SimpleEvent> poller = ringBuffer.newPoller();
+
+        {
+            ringBuffer.addGatingSequences(poller.getSequence());
+        }
+    }
+
+    @State(Scope.Group)
+    public static class BatchSize
+    {
+        @Param({"16", "256", "4096"})
+        public int maxEvents;
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class PolledEvents
+    {
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            events = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("perEvent")
+    @GroupThreads(1)
+    public boolean publishPerEvent(final PollerState state)
+    {
+        return state.ringBuffer.tryPublishEvent(TRANSLATOR);
+    }
+
+    @Benchmark
+    @Group("perEvent")
+    @GroupThreads(1)
+    public EventPoller.PollState pollPerEvent(final PollerState state, final PolledEvents polled, final Blackhole bh) throws Exception
+    {
+        return state.poller.poll((event, sequence, endOfBatch) ->
+        {
+            bh.consume(event.getValue());
+            polled.events++;
+            return true;
+        });
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public boolean publishBatch(final PollerState state)
+    {
+        return state.ringBuffer.tryPublishEvent(TRANSLATOR);
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public EventPoller.PollState pollBatch(
+        final PollerState state, final BatchSize batchSize, final PolledEvents polled, final Blackhole bh) throws Exception
+    {
+        return state.poller.poll(batch ->
+        {
+            for (int i = 0, size = batch.size(); i < size; i++)
+            {
+                bh.consume(batch.get(i).getValue());
+            }
+            polled.events += batch.size();
+        }, batchSize.maxEvents);
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(EventPollerBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -11,6 +11,7 @@ import org.openjdk.jmh.annotations.Group;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -200,6 +201,42 @@ public class MultiProducerSequencerBenchmark
         s.value2.publish(2L);
     }
 
+    /*
+     * Batch publication, the per slot release stores of MultiProducerSequencerVarHandle (as of disruptor v3.4.2)
+     * against the range marking of the current MultiProducerSequencer.  Scores are per batch.
+     */
+    @State(Scope.Thread)
+    public static class StateBatchPublication
+    {
+        @Param({"1", "16", "64", "256"})
+        int batchSize;
+
+        Sequencer perSlot = new MultiProducerSequencerVarHandle(1024, new BlockingWaitStrategy());
+        Sequencer batched = new MultiProducerSequencer(1024, new BlockingWaitStrategy());
+        long nextPerSlot = 0;
+        long nextBatched = 0;
+    }
+
+    @Benchmark
+    public long publishBatchPerSlot(final StateBatchPublication s, final ThreadPinningState t)
+    {
+        final long lo = s.nextPerSlot;
+        final long hi = lo + s.batchSize - 1;
+        s.perSlot.publish(lo, hi);
+        s.nextPerSlot = hi + 1;
+        return s.perSlot.getHighestPublishedSequence(lo, hi);
+    }
+
+    @Benchmark
+    public long publishBatchRange(final StateBatchPublication s, final ThreadPinningState t)
+    {
+        final long lo = s.nextBatched;
+        final long hi = lo + s.batchSize - 1;
+        s.batched.publish(lo, hi);
+        s.nextBatched = hi + 1;
+        return s.batched.getHighestPublishedSequence(lo, hi);
+    }
+
     public static void main(final String[] args) throws RunnerException
     {
         Options opt = new OptionsBuilder()
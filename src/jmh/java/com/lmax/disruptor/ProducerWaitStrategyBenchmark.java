@@ -0,0 +1,117 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.SimpleEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of claiming a slot when the ring buffer is permanently full, i.e. the consumer is
+ * slower than the producers and every claim has to wait on a {@link ProducerWaitStrategy}.
+ *
+ * <p>Sample time mode reports the percentiles of the claim latency for each strategy.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(2)
+@State(Scope.Benchmark)
+public class ProducerWaitStrategyBenchmark
+{
+    private static final int RING_BUFFER_SIZE = 64;
+    private static final long CONSUMER_TOKENS_PER_EVENT = 250;
+
+    @Param({"sleeping", "yielding", "busySpin", "phasedBackoff", "blocking"})
+    public String producerWaitStrategy;
+
+    private RingBuffer<SimpleEvent> ringBuffer;
+    private BatchEventProcessor<SimpleEvent> processor;
+
+    @Setup
+    public void setup() throws InterruptedException
+    {
+        ringBuffer = RingBuffer.createMultiProducer(
+            SimpleEvent::new, RING_BUFFER_SIZE, new YieldingWaitStrategy(), createProducerWaitStrategy(producerWaitStrategy));
+
+        processor = new BatchEventProcessorBuilder().build(
+            ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) -> Blackhole.consumeCPU(CONSUMER_TOKENS_PER_EVENT));
+        ringBuffer.addGatingSequences(processor.getSequence());
+        DaemonThreadFactory.INSTANCE.newThread(processor).start();
+
+        while (ringBuffer.remainingCapacity() > 0)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+    }
+
+    @Benchmark
+    public long claimAndPublishOnFullRingBuffer()
+    {
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence).setValue(sequence);
+        ringBuffer.publish(sequence);
+        return sequence;
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        processor.halt();
+    }
+
+    private static ProducerWaitStrategy createProducerWaitStrategy(final String name)
+    {
+        final ProducerWaitStrategy producerWaitStrategy;
+        switch (name)
+        {
+            case "sleeping":
+                producerWaitStrategy = new SleepingProducerWaitStrategy();
+                break;
+            case "yielding":
+                producerWaitStrategy = new YieldingProducerWaitStrategy();
+                break;
+            case "busySpin":
+                producerWaitStrategy = new BusySpinProducerWaitStrategy();
+                break;
+            case "phasedBackoff":
+                producerWaitStrategy = PhasedBackoffProducerWaitStrategy.withLock(10, 100, TimeUnit.MICROSECONDS);
+                break;
+            case "blocking":
+                producerWaitStrategy = new BlockingProducerWaitStrategy();
+                break;
+            default:
+                throw new IllegalArgumentException(name);
+        }
+
+        return producerWaitStrategy;
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(ProducerWaitStrategyBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
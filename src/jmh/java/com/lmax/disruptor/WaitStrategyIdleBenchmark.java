@@ -0,0 +1,103 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.PerfTestUtil;
+import com.lmax.disruptor.util.SimpleEvent;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the CPU time burnt by a consumer waiting on each {@link WaitStrategy} while nothing is published.
+ *
+ * <p>The benchmark thread only sleeps, and the CPU time used by the consumer thread meanwhile is reported as the
+ * <code>consumerCpuNanos</code> counter, the total for each one second iteration.  A consumer that spins
+ * continuously reports close to 10<sup>9</sup>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitStrategyIdleBenchmark
+{
+    private static final int RING_BUFFER_SIZE = 1024;
+    private static final long IDLE_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Param({"busySpin", "yielding", "sleeping", "blocking", "liteBlocking", "timeoutBlocking", "liteTimeoutBlocking",
+        "phasedBackoff", "targetedBlocking", "conditionBlocking", "adaptive"})
+    public String waitStrategy;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private BatchEventProcessor<SimpleEvent> processor;
+    private Thread consumer;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ConsumerCpu
+    {
+        public long consumerCpuNanos;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            consumerCpuNanos = 0;
+        }
+    }
+
+    @Setup
+    public void setup()
+    {
+        final RingBuffer<SimpleEvent> ringBuffer =
+            RingBuffer.createSingleProducer(SimpleEvent::new, RING_BUFFER_SIZE, PerfTestUtil.waitStrategyFrom(waitStrategy));
+        processor = new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) -> { });
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        consumer = new Thread(processor);
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Benchmark
+    public void idle(final ConsumerCpu cpu)
+    {
+        final long before = threadMXBean.getThreadCpuTime(consumer.getId());
+        LockSupport.parkNanos(IDLE_PERIOD_NANOS);
+        cpu.consumerCpuNanos += threadMXBean.getThreadCpuTime(consumer.getId()) - before;
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        processor.halt();
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(WaitStrategyIdleBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.PerfTestUtil;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.SimpleEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how long a consumer waiting on each {@link WaitStrategy} takes to wake up and process an event, as the
+ * time from publishing the event to the consumer's sequence reaching it.
+ *
+ * <p>With a non-zero <code>idleNanos</code> the publisher pauses before each event, outside of the measurement, so
+ * that strategies which back off have time to do so.  Sample time mode reports the percentiles of the wake-up latency.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitStrategyLatencyBenchmark
+{
+    private static final int RING_BUFFER_SIZE = 1024;
+
+    @Param({"busySpin", "yielding", "sleeping", "blocking", "liteBlocking", "timeoutBlocking", "liteTimeoutBlocking",
+        "phasedBackoff", "targetedBlocking", "conditionBlocking", "adaptive"})
+    public String waitStrategy;
+
+    @Param({"0", "100000"})
+    public long idleNanos;
+
+    private RingBuffer<SimpleEvent> ringBuffer;
+    private BatchEventProcessor<SimpleEvent> processor;
+
+    @Setup
+    public void setup()
+    {
+        ringBuffer = RingBuffer.createSingleProducer(SimpleEvent::new, RING_BUFFER_SIZE, PerfTestUtil.waitStrategyFrom(waitStrategy));
+        processor = new BatchEventProcessorBuilder().build(
+            ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) -> event.setValue(sequence));
+        ringBuffer.addGatingSequences(processor.getSequence());
+        DaemonThreadFactory.INSTANCE.newThread(processor).start();
+    }
+
+    @Setup(Level.Invocation)
+    public void idle()
+    {
+        if (idleNanos > 0)
+        {
+            LockSupport.parkNanos(idleNanos);
+        }
+    }
+
+    @Benchmark
+    public long publishAndAwaitConsumer()
+    {
+        final long sequence = ringBuffer.next();
+        ringBuffer.publish(sequence);
+
+        final Sequence consumed = processor.getSequence();
+        while (consumed.get() < sequence)
+        {
+            Thread.onSpinWait();
+        }
+        return sequence;
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        processor.halt();
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(WaitStrategyLatencyBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
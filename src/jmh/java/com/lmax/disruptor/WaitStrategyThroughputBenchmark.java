@@ -0,0 +1,91 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.PerfTestUtil;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.SimpleEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rate at which a single producer can publish to one or more independent consumers, each waiting on
+ * the {@link WaitStrategy} under test, so that the cost of signalling waiting consumers shows up in the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitStrategyThroughputBenchmark
+{
+    private static final int RING_BUFFER_SIZE = 1024 * 64;
+
+    @Param({"busySpin", "yielding", "sleeping", "blocking", "liteBlocking", "timeoutBlocking", "liteTimeoutBlocking",
+        "phasedBackoff", "targetedBlocking", "conditionBlocking", "adaptive"})
+    public String waitStrategy;
+
+    @Param({"1", "2", "4"})
+    public int consumers;
+
+    private RingBuffer<SimpleEvent> ringBuffer;
+    private BatchEventProcessor<?>[] processors;
+
+    @Setup
+    public void setup(final Blackhole bh)
+    {
+        ringBuffer = RingBuffer.createSingleProducer(SimpleEvent::new, RING_BUFFER_SIZE, PerfTestUtil.waitStrategyFrom(waitStrategy));
+        processors = new BatchEventProcessor<?>[consumers];
+        for (int i = 0; i < consumers; i++)
+        {
+            final BatchEventProcessor<SimpleEvent> processor = new BatchEventProcessorBuilder().build(
+                ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) -> bh.consume(event.getValue()));
+            ringBuffer.addGatingSequences(processor.getSequence());
+            DaemonThreadFactory.INSTANCE.newThread(processor).start();
+            processors[i] = processor;
+        }
+    }
+
+    @Benchmark
+    public long publish()
+    {
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence).setValue(sequence);
+        ringBuffer.publish(sequence);
+        return sequence;
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        for (final BatchEventProcessor<?> processor : processors)
+        {
+            processor.halt();
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(WaitStrategyThroughputBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
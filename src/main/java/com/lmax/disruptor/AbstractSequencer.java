@@ -19,6 +19,7 @@ import com.lmax.disruptor.util.Util;
 
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.LongSupplier;
 
 /**
  * Base class for the various sequencer types (single/multi).  Provides
@@ -32,9 +33,17 @@ public abstract class AbstractSequencer implements Sequencer
 
     protected final int bufferSize;
     protected final WaitStrategy waitStrategy;
-    protected final Sequence cursor = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    protected final ProducerWaitStrategy producerWaitStrategy;
+    protected final Sequence cursor;
     protected volatile Sequence[] gatingSequences = new Sequence[0];
 
+    /**
+     * Presents the minimum of the current gating sequences to a {@link ProducerWaitStrategy}, picking up
+     * sequences added or removed while a producer is waiting.  Reads <code>Long.MAX_VALUE</code> when there
+     * are no gating sequences.
+     */
+    private final LongSupplier minimumGatingSequence = () -> Util.getMinimumSequence(gatingSequences);
+
     /**
      * Create with the specified buffer size and wait strategy.
      *
@@ -42,6 +51,36 @@ public abstract class AbstractSequencer implements Sequencer
      * @param waitStrategy The wait strategy used by this sequencer
      */
     public AbstractSequencer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Create with the specified buffer size, wait strategy and producer wait strategy.
+     *
+     * @param bufferSize           The total number of entries, must be a positive power of 2.
+     * @param waitStrategy         The wait strategy used by this sequencer
+     * @param producerWaitStrategy The wait strategy used by publishers when the buffer is full
+     */
+    public AbstractSequencer(final int bufferSize, final WaitStrategy waitStrategy, final ProducerWaitStrategy producerWaitStrategy)
+    {
+        this(bufferSize, waitStrategy, producerWaitStrategy, new Sequence(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    /**
+     * Create with the specified buffer size, wait strategies and an externally owned cursor, e.g. one held in
+     * shared memory.
+     *
+     * @param bufferSize           The total number of entries, must be a positive power of 2.
+     * @param waitStrategy         The wait strategy used by this sequencer
+     * @param producerWaitStrategy The wait strategy used by publishers when the buffer is full
+     * @param cursor               The sequence to publish to
+     */
+    protected AbstractSequencer(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final Sequence cursor)
     {
         if (bufferSize < 1)
         {
@@ -54,6 +93,22 @@ public abstract class AbstractSequencer implements Sequencer
 
         this.bufferSize = bufferSize;
         this.waitStrategy = waitStrategy;
+        this.producerWaitStrategy = producerWaitStrategy;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Create a cursor for a sequencer that starts from the given sequence rather than from
+     * {@link Sequencer#INITIAL_CURSOR_VALUE}, e.g. when resuming from a checkpoint.
+     */
+    static Sequence initialCursor(final long initialCursor)
+    {
+        if (initialCursor < Sequencer.INITIAL_CURSOR_VALUE)
+        {
+            throw new IllegalArgumentException("initialCursor must not be less than " + Sequencer.INITIAL_CURSOR_VALUE);
+        }
+
+        return new Sequence(initialCursor);
     }
 
     /**
@@ -83,6 +138,26 @@ public abstract class AbstractSequencer implements Sequencer
         SequenceGroups.addSequences(this, SEQUENCE_UPDATER, this, gatingSequences);
     }
 
+    /**
+     * Add gating sequences that already record how far their consumers have read, leaving them where they are
+     * rather than moving them to the cursor as {@link #addGatingSequences(Sequence...)} does.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    final void addInitialGatingSequences(final Sequence... gatingSequences)
+    {
+        SequenceGroups.addInitialSequences(this, SEQUENCE_UPDATER, gatingSequences);
+    }
+
+    /**
+     * @see Sequencer#addRetainedGatingSequence(Sequence)
+     */
+    @Override
+    public final boolean addRetainedGatingSequence(final Sequence gatingSequence)
+    {
+        return SequenceGroups.addRetainedSequence(this, SEQUENCE_UPDATER, this, gatingSequence);
+    }
+
     /**
      * @see Sequencer#removeGatingSequence(Sequence)
      */
@@ -107,7 +182,7 @@ public abstract class AbstractSequencer implements Sequencer
     @Override
     public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
     {
-        return new ProcessingSequenceBarrier(this, waitStrategy, cursor, sequencesToTrack);
+        return new ProcessingSequenceBarrier(this, waitStrategy, producerWaitStrategy, cursor, sequencesToTrack);
     }
 
     /**
@@ -124,13 +199,32 @@ public abstract class AbstractSequencer implements Sequencer
         return EventPoller.newInstance(dataProvider, this, new Sequence(), cursor, gatingSequences);
     }
 
+    /**
+     * Wait on the {@link ProducerWaitStrategy} for the slowest gating sequence to reach the wrap point of a claim
+     * that found the ring buffer full, recording a {@link ProducerBlockedEvent} when JFR is recording it.
+     *
+     * @param wrapPoint    the value the gating sequences must reach.
+     * @param nextSequence the highest sequence of the claim.
+     * @return the minimum gating sequence once it has reached the wrap point.
+     */
+    protected final long waitForCapacity(final long wrapPoint, final long nextSequence)
+    {
+        final Object producerBlockedEvent = JfrEvents.beginProducerBlocked();
+
+        final long gatingSequence = producerWaitStrategy.waitFor(wrapPoint, minimumGatingSequence);
+
+        JfrEvents.commitProducerBlocked(producerBlockedEvent, producerWaitStrategy.getClass(), bufferSize, nextSequence);
+        return gatingSequence;
+    }
+
     @Override
     public String toString()
     {
         return "AbstractSequencer{" +
             "waitStrategy=" + waitStrategy +
+            ", producerWaitStrategy=" + producerWaitStrategy +
             ", cursor=" + cursor +
             ", gatingSequences=" + Arrays.toString(gatingSequences) +
             '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wait strategy that learns how long each barrier usually waits and chooses to spin, yield or sleep accordingly.
+ *
+ * <p>For each {@link SequenceBarrier} an exponentially weighted moving average of the observed wait time is kept.
+ * A wait starts by busy spinning for up to twice the expected wait, if that is within the maximum spin time, then
+ * yields for up to twice the expected wait, if that is within the maximum yield time, and then sleeps
+ * (<code>LockSupport.parkNanos(n)</code>) until the sequence is available.  A barrier that sees events in quick
+ * succession keeps spinning and has a low wake-up latency, while one that goes quiet soon sleeps and gives the CPU
+ * back.  As with the {@link SleepingWaitStrategy}, publishers do not need to signal waiting threads.
+ *
+ * <p>A barrier that has not waited before is expected to wait for half the maximum spin time, so its first waits
+ * spin for up to the maximum spin time before yielding or sleeping, as a consumer that is keeping up would.
+ *
+ * <p>Waits are measured up to the last time the sequence was seen to be unavailable, so time spent oversleeping does
+ * not count towards the expected wait, and waits are capped at twice the maximum yield time so a barrier that has been
+ * idle for a long time soon adapts again once events start to flow.  Statistics are updated without locking and are
+ * approximate when several threads wait on the same barrier, as in a {@link WorkerPool}.  They are held in a map that
+ * holds barriers weakly, so they are discarded along with the barrier, for example after its consumer has been
+ * removed.  Each thread remembers the statistics of the barrier it last waited on, so the map is only locked when a
+ * thread waits on a different barrier.
+ */
+public final class AdaptiveWaitStrategy implements WaitStrategy
+{
+    /**
+     * The ways in which a thread may wait.
+     */
+    public enum Phase
+    {
+        /**
+         * Busy spinning, see {@link Thread#onSpinWait()}.
+         */
+        SPIN,
+        /**
+         * Yielding, see {@link Thread#yield()}.
+         */
+        YIELD,
+        /**
+         * Sleeping, see {@link LockSupport#parkNanos(long)}.
+         */
+        PARK
+    }
+
+    private static final long DEFAULT_MAX_SPIN_NANOS = 10_000;
+    private static final long DEFAULT_MAX_YIELD_NANOS = 100_000;
+    private static final long SLEEP_NANOS = 100;
+    private static final int MIN_SPIN_TRIES = 100;
+    private static final int EWMA_SHIFT = 3;
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long maxSpinNanos;
+    private final long maxYieldNanos;
+    private final Map<SequenceBarrier, BarrierStatistics> statisticsByBarrier = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ThreadLocal<LastBarrier> lastBarrier = ThreadLocal.withInitial(LastBarrier::new);
+    private final LongAdder[] waitCounts = new LongAdder[PHASES.length];
+
+    /**
+     * Provides an adaptive wait strategy that spins for waits expected to be up to 10us, yields for waits expected to
+     * be up to 100us, and otherwise sleeps.
+     */
+    public AdaptiveWaitStrategy()
+    {
+        this(DEFAULT_MAX_SPIN_NANOS, DEFAULT_MAX_YIELD_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param maxSpinTime  the longest expected wait for which the strategy will busy spin.
+     * @param maxYieldTime the longest expected wait for which the strategy will yield, must be at least maxSpinTime.
+     * @param units        time units used for maxSpinTime and maxYieldTime.
+     * @throws IllegalArgumentException if maxSpinTime is negative or greater than maxYieldTime
+     */
+    public AdaptiveWaitStrategy(final long maxSpinTime, final long maxYieldTime, final TimeUnit units)
+    {
+        if (maxSpinTime < 0 || maxYieldTime < maxSpinTime)
+        {
+            throw new IllegalArgumentException("maxSpinTime must be between 0 and maxYieldTime");
+        }
+
+        this.maxSpinNanos = units.toNanos(maxSpinTime);
+        this.maxYieldNanos = units.toNanos(maxYieldTime);
+        for (int i = 0; i < waitCounts.length; i++)
+        {
+            waitCounts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public long waitFor(final long sequence, final Sequence cursor, final Sequence dependentSequence, final SequenceBarrier barrier)
+        throws AlertException
+    {
+        long availableSequence;
+        if ((availableSequence = dependentSequence.get()) >= sequence)
+        {
+            return availableSequence;
+        }
+
+        final BarrierStatistics statistics = statisticsFor(barrier);
+        final long expectedWaitNanos = statistics.expectedWaitNanos;
+        final long spinNanos = expectedWaitNanos <= maxSpinNanos ? Math.min(expectedWaitNanos << 1, maxSpinNanos) : 0L;
+        final long yieldNanos = expectedWaitNanos <= maxYieldNanos ? Math.min(expectedWaitNanos << 1, maxYieldNanos) : spinNanos;
+
+        final long startTime = System.nanoTime();
+        long waitedNanos = 0;
+        int spinTries = MIN_SPIN_TRIES;
+        Phase phase = Phase.SPIN;
+
+        while ((availableSequence = dependentSequence.get()) < sequence)
+        {
+            barrier.checkAlert();
+
+            if (spinTries > 0)
+            {
+                --spinTries;
+                Thread.onSpinWait();
+                continue;
+            }
+
+            waitedNanos = System.nanoTime() - startTime;
+            if (waitedNanos < spinNanos)
+            {
+                phase = Phase.SPIN;
+                Thread.onSpinWait();
+            }
+            else if (waitedNanos < yieldNanos)
+            {
+                phase = Phase.YIELD;
+                Thread.yield();
+            }
+            else
+            {
+                phase = Phase.PARK;
+                LockSupport.parkNanos(SLEEP_NANOS);
+            }
+        }
+
+        statistics.record(Math.min(waitedNanos, maxYieldNanos << 1), phase);
+        waitCounts[phase.ordinal()].increment();
+
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+
+    /**
+     * The number of waits that have ended in the given phase, across all barriers.  Waits for sequences that were
+     * already available are not counted.
+     *
+     * @param phase in which the waits ended.
+     * @return the number of waits
+     */
+    public long getWaitCount(final Phase phase)
+    {
+        return waitCounts[phase.ordinal()].sum();
+    }
+
+    /**
+     * The current average wait of a barrier, which determines how its next wait will proceed.
+     *
+     * @param barrier that has waited using this strategy.
+     * @return the expected wait in nanoseconds, or 0 if the barrier has never had to wait
+     */
+    public long getExpectedWaitNanos(final SequenceBarrier barrier)
+    {
+        final BarrierStatistics statistics = existingStatisticsFor(barrier);
+        return statistics != null ? statistics.expectedWaitNanos : 0L;
+    }
+
+    /**
+     * The phase in which the most recent wait on a barrier ended.
+     *
+     * @param barrier that has waited using this strategy.
+     * @return the phase, or null if the barrier has never had to wait
+     */
+    public Phase getLastPhase(final SequenceBarrier barrier)
+    {
+        final BarrierStatistics statistics = existingStatisticsFor(barrier);
+        return statistics != null ? statistics.lastPhase : null;
+    }
+
+    private BarrierStatistics statisticsFor(final SequenceBarrier barrier)
+    {
+        final LastBarrier last = lastBarrier.get();
+        if (last.barrier.get() != barrier)
+        {
+            last.barrier = new WeakReference<>(barrier);
+            last.statistics = statisticsByBarrier.computeIfAbsent(barrier, b -> new BarrierStatistics(maxSpinNanos >> 1));
+        }
+
+        return last.statistics;
+    }
+
+    private BarrierStatistics existingStatisticsFor(final SequenceBarrier barrier)
+    {
+        return statisticsByBarrier.get(barrier);
+    }
+
+    int barrierCount()
+    {
+        return statisticsByBarrier.size();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AdaptiveWaitStrategy{" +
+            "maxSpinNanos=" + maxSpinNanos +
+            ", maxYieldNanos=" + maxYieldNanos +
+            ", spinWaits=" + getWaitCount(Phase.SPIN) +
+            ", yieldWaits=" + getWaitCount(Phase.YIELD) +
+            ", parkWaits=" + getWaitCount(Phase.PARK) +
+            '}';
+    }
+
+    private static final class LastBarrier
+    {
+        private static final WeakReference<SequenceBarrier> NO_BARRIER = new WeakReference<>(null);
+
+        private WeakReference<SequenceBarrier> barrier = NO_BARRIER;
+        private BarrierStatistics statistics;
+    }
+
+    private static final class BarrierStatistics
+    {
+        private volatile long expectedWaitNanos;
+        private volatile Phase lastPhase;
+
+        BarrierStatistics(final long initialWaitNanos)
+        {
+            this.expectedWaitNanos = initialWaitNanos;
+        }
+
+        void record(final long waitNanos, final Phase phase)
+        {
+            final long expected = expectedWaitNanos;
+            expectedWaitNanos = expected + ((waitNanos - expected) >> EWMA_SHIFT);
+            lastPhase = phase;
+        }
+    }
+}
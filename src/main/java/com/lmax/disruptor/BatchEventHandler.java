@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Callback interface to be implemented for processing the events available in the {@link RingBuffer} a whole
+ * batch at a time, rather than one call per event as with {@link EventHandler}.
+ *
+ * <p>The {@link BatchEventProcessor} hands over all of the events available, up to its maximum batch size, as a
+ * single {@link EventBatch}.  This suits handlers that loop over events tightly or write them out in bulk.
+ * If the handler throws an exception other than a {@link RewindableException}, it is passed to the
+ * {@link ExceptionHandler} with the first sequence and event of the batch, and the whole batch is skipped.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ * @see BatchEventProcessorBuilder#build(DataProvider, SequenceBarrier, BatchEventHandler)
+ */
+@FunctionalInterface
+public interface BatchEventHandler<T> extends EventProcessorLifecycle
+{
+    /**
+     * Called with the batch of events that have become available.
+     *
+     * @param batch view of the events, only valid for the duration of this call.
+     * @throws RewindableException if the handler would like the batch processed again, when built with a
+     *                             {@link BatchRewindStrategy}.
+     * @throws Exception           if the handler would like the exception handled further up the chain.
+     */
+    void onBatch(EventBatch<? extends T> batch) throws RewindableException, Exception;
+
+    /**
+     * Called once on thread start before first event is available.
+     */
+    default void onStart()
+    {
+    }
+
+    /**
+     * Called once just before the event processing thread is shutdown.
+     */
+    default void onShutdown()
+    {
+    }
+
+    /**
+     * Invoked when a {@link BatchEventProcessor}'s {@link WaitStrategy} throws a {@link TimeoutException}.
+     *
+     * @param sequence - the last processed sequence.
+     * @throws Exception if the implementation is unable to handle this timeout.
+     */
+    default void onTimeout(long sequence) throws Exception
+    {
+    }
+}
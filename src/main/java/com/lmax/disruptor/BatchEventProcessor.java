@@ -36,33 +36,79 @@ public final class BatchEventProcessor<T>
 
     private final AtomicInteger running = new AtomicInteger(IDLE);
     private ExceptionHandler<? super T> exceptionHandler;
+    private EventProcessorMetrics metrics;
     private final DataProvider<T> dataProvider;
     private final SequenceBarrier sequenceBarrier;
     private final EventHandlerBase<? super T> eventHandler;
+    private final BatchEventHandler<? super T> batchEventHandler;
+    private final EventProcessorLifecycle lifecycle;
+    private final EventBatch<T> batch;
     private final int batchLimitOffset;
     private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
     private final RewindHandler rewindHandler;
+    private final Class<?> handlerClass;
+    private final SequenceCheckpointer checkpointer;
+    private final int checkpointInterval;
     private int retriesAttempted = 0;
+    private int batchesSinceCheckpoint = 0;
+    private long checkpointedSequence = Sequencer.INITIAL_CURSOR_VALUE;
 
     BatchEventProcessor(
             final DataProvider<T> dataProvider,
             final SequenceBarrier sequenceBarrier,
             final EventHandlerBase<? super T> eventHandler,
             final int maxBatchSize,
-            final BatchRewindStrategy batchRewindStrategy
+            final BatchRewindStrategy batchRewindStrategy,
+            final SequenceCheckpointer checkpointer,
+            final int checkpointInterval
+    )
+    {
+        this(dataProvider, sequenceBarrier, eventHandler, null, maxBatchSize, batchRewindStrategy, checkpointer, checkpointInterval);
+    }
+
+    BatchEventProcessor(
+            final DataProvider<T> dataProvider,
+            final SequenceBarrier sequenceBarrier,
+            final BatchEventHandler<? super T> batchEventHandler,
+            final int maxBatchSize,
+            final BatchRewindStrategy batchRewindStrategy,
+            final SequenceCheckpointer checkpointer,
+            final int checkpointInterval
+    )
+    {
+        this(dataProvider, sequenceBarrier, null, batchEventHandler, maxBatchSize, batchRewindStrategy, checkpointer, checkpointInterval);
+    }
+
+    private BatchEventProcessor(
+            final DataProvider<T> dataProvider,
+            final SequenceBarrier sequenceBarrier,
+            final EventHandlerBase<? super T> eventHandler,
+            final BatchEventHandler<? super T> batchEventHandler,
+            final int maxBatchSize,
+            final BatchRewindStrategy batchRewindStrategy,
+            final SequenceCheckpointer checkpointer,
+            final int checkpointInterval
     )
     {
         this.dataProvider = dataProvider;
         this.sequenceBarrier = sequenceBarrier;
         this.eventHandler = eventHandler;
+        this.batchEventHandler = batchEventHandler;
+        this.lifecycle = batchEventHandler != null ? batchEventHandler : eventHandler;
+        this.batch = new EventBatch<>(dataProvider);
+        this.handlerClass = lifecycle.getClass();
 
         if (maxBatchSize < 1)
         {
             throw new IllegalArgumentException("maxBatchSize must be greater than 0");
         }
         this.batchLimitOffset = maxBatchSize - 1;
+        this.checkpointer = checkpointer;
+        this.checkpointInterval = checkpointInterval;
 
-        this.rewindHandler = eventHandler instanceof RewindableEventHandler
+        final boolean rewindable = eventHandler instanceof RewindableEventHandler ||
+                (batchEventHandler != null && batchRewindStrategy != null);
+        this.rewindHandler = rewindable
                 ? new TryRewindHandler(batchRewindStrategy)
                 : new NoRewindHandler();
     }
@@ -101,6 +147,17 @@ public final class BatchEventProcessor<T>
         this.exceptionHandler = exceptionHandler;
     }
 
+    /**
+     * Instrument this processor, recording its wait time, batch sizes, lag behind the cursor and service time.
+     * Must be set before the processor is run.  When no metrics are set, no measurements are taken.
+     *
+     * @param metrics to record to, or null to stop recording.
+     */
+    public void setMetrics(final EventProcessorMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
     /**
      * It is ok to have another thread rerun this method after a halt().
      *
@@ -113,6 +170,7 @@ public final class BatchEventProcessor<T>
         if (witnessValue == IDLE) // Successful CAS
         {
             sequenceBarrier.clearAlert();
+            checkpointedSequence = sequence.get();
 
             notifyStart();
             try
@@ -125,6 +183,10 @@ public final class BatchEventProcessor<T>
             finally
             {
                 notifyShutdown();
+                if (checkpointer != null && sequence.get() != checkpointedSequence)
+                {
+                    checkpoint(sequence.get());
+                }
                 running.set(IDLE);
             }
         }
@@ -143,6 +205,8 @@ public final class BatchEventProcessor<T>
 
     private void processEvents()
     {
+        final EventProcessorMetrics metrics = this.metrics;
+        final Cursored cursor = metrics != null ? cursorOf(dataProvider, sequenceBarrier) : null;
         T event = null;
         long nextSequence = sequence.get() + 1L;
 
@@ -153,24 +217,66 @@ public final class BatchEventProcessor<T>
             {
                 try
                 {
+                    long startTime = metrics != null ? System.nanoTime() : 0L;
                     final long availableSequence = sequenceBarrier.waitFor(nextSequence);
                     final long endOfBatchSequence = min(nextSequence + batchLimitOffset, availableSequence);
+                    final Object batchProcessedEvent = JfrEvents.beginBatchProcessed();
+                    long lag = 0L;
 
-                    if (nextSequence <= endOfBatchSequence)
+                    if (metrics != null)
                     {
-                        eventHandler.onBatchStart(endOfBatchSequence - nextSequence + 1, availableSequence - nextSequence + 1);
+                        final long now = System.nanoTime();
+                        metrics.recordWait(now - startTime);
+                        startTime = now;
+                        lag = cursor.getCursor() - (nextSequence - 1);
                     }
 
-                    while (nextSequence <= endOfBatchSequence)
+                    if (batchEventHandler != null)
                     {
-                        event = dataProvider.get(nextSequence);
-                        eventHandler.onEvent(event, nextSequence, nextSequence == endOfBatchSequence);
-                        nextSequence++;
+                        if (nextSequence <= endOfBatchSequence)
+                        {
+                            event = dataProvider.get(nextSequence);
+                            batch.reset(nextSequence, endOfBatchSequence, availableSequence - nextSequence + 1);
+                            batchEventHandler.onBatch(batch);
+                            nextSequence = endOfBatchSequence + 1;
+                        }
+                    }
+                    else
+                    {
+                        if (nextSequence <= endOfBatchSequence)
+                        {
+                            eventHandler.onBatchStart(endOfBatchSequence - nextSequence + 1, availableSequence - nextSequence + 1);
+                        }
+
+                        while (nextSequence <= endOfBatchSequence)
+                        {
+                            event = dataProvider.get(nextSequence);
+                            eventHandler.onEvent(event, nextSequence, nextSequence == endOfBatchSequence);
+                            nextSequence++;
+                        }
                     }
 
                     retriesAttempted = 0;
 
+                    if (metrics != null && startOfBatchSequence <= endOfBatchSequence)
+                    {
+                        metrics.recordBatch(endOfBatchSequence - startOfBatchSequence + 1, lag, System.nanoTime() - startTime);
+                    }
+
+                    if (startOfBatchSequence <= endOfBatchSequence)
+                    {
+                        JfrEvents.commitBatchProcessed(
+                            batchProcessedEvent, handlerClass, startOfBatchSequence,
+                            endOfBatchSequence - startOfBatchSequence + 1, availableSequence - startOfBatchSequence + 1);
+                    }
+
                     sequence.set(endOfBatchSequence);
+                    sequenceBarrier.signalProducers();
+
+                    if (checkpointer != null && startOfBatchSequence <= endOfBatchSequence && ++batchesSinceCheckpoint == checkpointInterval)
+                    {
+                        checkpoint(endOfBatchSequence);
+                    }
                 }
                 catch (final RewindableException e)
                 {
@@ -191,12 +297,38 @@ public final class BatchEventProcessor<T>
             catch (final Throwable ex)
             {
                 handleEventException(ex, nextSequence, event);
-                sequence.set(nextSequence);
-                nextSequence++;
+                // A failed batch is skipped as a whole, its handler may already have acted on part of it
+                final long lastFailedSequence = batchEventHandler != null ? Math.max(nextSequence, batch.getEndSequence()) : nextSequence;
+                sequence.set(lastFailedSequence);
+                sequenceBarrier.signalProducers();
+                nextSequence = lastFailedSequence + 1;
             }
         }
     }
 
+    private void checkpoint(final long checkpointSequence)
+    {
+        batchesSinceCheckpoint = 0;
+        try
+        {
+            checkpointer.checkpoint(checkpointSequence);
+            checkpointedSequence = checkpointSequence;
+        }
+        catch (final Throwable ex)
+        {
+            handleOnCheckpointException(ex, checkpointSequence);
+        }
+    }
+
+    /**
+     * The cursor that the lag of a batch is measured from, that of the ring buffer when the data provider is one,
+     * otherwise the sequence that the barrier waits on.
+     */
+    private static Cursored cursorOf(final DataProvider<?> dataProvider, final SequenceBarrier sequenceBarrier)
+    {
+        return dataProvider instanceof Cursored ? (Cursored) dataProvider : sequenceBarrier::getCursor;
+    }
+
     private void earlyExit()
     {
         notifyStart();
@@ -207,7 +339,7 @@ public final class BatchEventProcessor<T>
     {
         try
         {
-            eventHandler.onTimeout(availableSequence);
+            lifecycle.onTimeout(availableSequence);
         }
         catch (Throwable e)
         {
@@ -222,7 +354,7 @@ public final class BatchEventProcessor<T>
     {
         try
         {
-            eventHandler.onStart();
+            lifecycle.onStart();
         }
         catch (final Throwable ex)
         {
@@ -237,7 +369,7 @@ public final class BatchEventProcessor<T>
     {
         try
         {
-            eventHandler.onShutdown();
+            lifecycle.onShutdown();
         }
         catch (final Throwable ex)
         {
@@ -251,6 +383,7 @@ public final class BatchEventProcessor<T>
      */
     private void handleEventException(final Throwable ex, final long sequence, final T event)
     {
+        JfrEvents.recordHandlerException(handlerClass, JfrEvents.EVENT, sequence, ex);
         getExceptionHandler().handleEventException(ex, sequence, event);
     }
 
@@ -260,6 +393,7 @@ public final class BatchEventProcessor<T>
      */
     private void handleOnStartException(final Throwable ex)
     {
+        JfrEvents.recordHandlerException(handlerClass, JfrEvents.START, sequence.get(), ex);
         getExceptionHandler().handleOnStartException(ex);
     }
 
@@ -269,9 +403,20 @@ public final class BatchEventProcessor<T>
      */
     private void handleOnShutdownException(final Throwable ex)
     {
+        JfrEvents.recordHandlerException(handlerClass, JfrEvents.SHUTDOWN, sequence.get(), ex);
         getExceptionHandler().handleOnShutdownException(ex);
     }
 
+    /**
+     * Delegate to {@link ExceptionHandler#handleOnCheckpointException(Throwable, long)} on the delegate or
+     * the default {@link ExceptionHandler} if one has not been configured.
+     */
+    private void handleOnCheckpointException(final Throwable ex, final long checkpointSequence)
+    {
+        JfrEvents.recordHandlerException(handlerClass, JfrEvents.CHECKPOINT, checkpointSequence, ex);
+        getExceptionHandler().handleOnCheckpointException(ex, checkpointSequence);
+    }
+
     private ExceptionHandler<? super T> getExceptionHandler()
     {
         ExceptionHandler<? super T> handler = exceptionHandler;
@@ -290,7 +435,10 @@ public final class BatchEventProcessor<T>
         @Override
         public long attemptRewindGetNextSequence(final RewindableException e, final long startOfBatchSequence) throws RewindableException
         {
-            if (batchRewindStrategy.handleRewindException(e, ++retriesAttempted) == REWIND)
+            final int attempt = ++retriesAttempted;
+            final boolean rewind = batchRewindStrategy.handleRewindException(e, attempt) == REWIND;
+            JfrEvents.recordBatchRewind(handlerClass, startOfBatchSequence, attempt, rewind);
+            if (rewind)
             {
                 return startOfBatchSequence;
             }
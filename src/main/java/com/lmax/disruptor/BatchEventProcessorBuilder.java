@@ -19,6 +19,8 @@ package com.lmax.disruptor;
 public final class BatchEventProcessorBuilder
 {
     private int maxBatchSize = Integer.MAX_VALUE;
+    private SequenceCheckpointer checkpointer;
+    private int checkpointInterval;
 
     /**
      * Set the maximum number of events that will be processed in a batch before updating the sequence.
@@ -32,6 +34,33 @@ public final class BatchEventProcessorBuilder
         return this;
     }
 
+    /**
+     * Set a {@link SequenceCheckpointer} to be called with the processed sequence after every
+     * <code>checkpointInterval</code> batches, and once more on shutdown if the sequence has moved since the last
+     * successful checkpoint.  An exception from the checkpointer does not stop the processor, it is passed to
+     * {@link ExceptionHandler#handleOnCheckpointException(Throwable, long)}.
+     *
+     * @param checkpointer       to record the processed sequence.
+     * @param checkpointInterval number of batches between checkpoints.
+     * @return The builder
+     * @throws IllegalArgumentException if checkpointInterval is less than 1
+     */
+    public BatchEventProcessorBuilder setCheckpointer(final SequenceCheckpointer checkpointer, final int checkpointInterval)
+    {
+        if (null == checkpointer)
+        {
+            throw new NullPointerException("checkpointer cannot be null");
+        }
+        if (checkpointInterval < 1)
+        {
+            throw new IllegalArgumentException("checkpointInterval must be greater than 0");
+        }
+
+        this.checkpointer = checkpointer;
+        this.checkpointInterval = checkpointInterval;
+        return this;
+    }
+
     /**
      * Construct a {@link EventProcessor} that will automatically track the progress by updating its sequence when
      * the {@link EventHandler#onEvent(Object, long, boolean)} method returns.
@@ -51,7 +80,7 @@ public final class BatchEventProcessorBuilder
             final EventHandler<? super T> eventHandler)
     {
         final BatchEventProcessor<T> processor = new BatchEventProcessor<>(
-                dataProvider, sequenceBarrier, eventHandler, maxBatchSize, null
+                dataProvider, sequenceBarrier, eventHandler, maxBatchSize, null, checkpointer, checkpointInterval
         );
         eventHandler.setSequenceCallback(processor.getSequence());
 
@@ -81,7 +110,58 @@ public final class BatchEventProcessorBuilder
         }
 
         return new BatchEventProcessor<>(
-                dataProvider, sequenceBarrier, rewindableEventHandler, maxBatchSize, batchRewindStrategy
+                dataProvider, sequenceBarrier, rewindableEventHandler, maxBatchSize, batchRewindStrategy, checkpointer, checkpointInterval
+        );
+    }
+
+    /**
+     * Construct a {@link EventProcessor} that hands all of the available events, up to the maximum batch size, to a
+     * {@link BatchEventHandler} in a single call, updating its sequence when
+     * {@link BatchEventHandler#onBatch(EventBatch)} returns.
+     *
+     * <p>The created {@link BatchEventProcessor} will not support batch rewind.
+     *
+     * @param dataProvider      to which events are published.
+     * @param sequenceBarrier   on which it is waiting.
+     * @param batchEventHandler is the delegate to which batches of events are dispatched.
+     * @param <T>               event implementation storing the data for sharing during exchange or parallel coordination of an event.
+     * @return the BatchEventProcessor
+     */
+    public <T> BatchEventProcessor<T> build(
+            final DataProvider<T> dataProvider,
+            final SequenceBarrier sequenceBarrier,
+            final BatchEventHandler<? super T> batchEventHandler)
+    {
+        return new BatchEventProcessor<>(
+                dataProvider, sequenceBarrier, batchEventHandler, maxBatchSize, null, checkpointer, checkpointInterval
+        );
+    }
+
+    /**
+     * Construct a {@link EventProcessor} that hands all of the available events, up to the maximum batch size, to a
+     * {@link BatchEventHandler} in a single call, rewinding the batch according to the {@link BatchRewindStrategy}
+     * if the handler throws a {@link RewindableException}.
+     *
+     * @param dataProvider        to which events are published.
+     * @param sequenceBarrier     on which it is waiting.
+     * @param batchEventHandler   is the delegate to which batches of events are dispatched.
+     * @param batchRewindStrategy a {@link BatchRewindStrategy} for customizing how to handle a {@link RewindableException}.
+     * @param <T>                 event implementation storing the data for sharing during exchange or parallel coordination of an event.
+     * @return the BatchEventProcessor
+     */
+    public <T> BatchEventProcessor<T> build(
+            final DataProvider<T> dataProvider,
+            final SequenceBarrier sequenceBarrier,
+            final BatchEventHandler<? super T> batchEventHandler,
+            final BatchRewindStrategy batchRewindStrategy)
+    {
+        if (null == batchRewindStrategy)
+        {
+            throw new NullPointerException("batchRewindStrategy cannot be null when building a BatchEventProcessor");
+        }
+
+        return new BatchEventProcessor<>(
+                dataProvider, sequenceBarrier, batchEventHandler, maxBatchSize, batchRewindStrategy, checkpointer, checkpointInterval
         );
     }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for a batch of events handled by a {@link BatchEventProcessor}, lasting from the end of the wait for the
+ * batch until the handler has returned from its last event.
+ */
+@Name("com.lmax.disruptor.BatchProcessed")
+@Label("Batch Processed")
+@Category("Disruptor")
+@Description("A batch of events handled by an event processor")
+@StackTrace(false)
+@Threshold("1 ms")
+final class BatchProcessedEvent extends jdk.jfr.Event
+{
+    @Label("Handler")
+    Class<?> handler;
+
+    @Label("First Sequence")
+    long sequence;
+
+    @Label("Batch Size")
+    long batchSize;
+
+    @Label("Queue Depth")
+    @Description("The number of events available when the batch started, as passed to onBatchStart")
+    long queueDepth;
+}
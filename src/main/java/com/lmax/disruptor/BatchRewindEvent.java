@@ -0,0 +1,46 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for each {@link RewindableException} passed to a {@link BatchRewindStrategy}.
+ */
+@Name("com.lmax.disruptor.BatchRewind")
+@Label("Batch Rewind")
+@Category("Disruptor")
+@Description("A rewindable exception thrown by a handler and the decision of the batch rewind strategy")
+@StackTrace(false)
+final class BatchRewindEvent extends jdk.jfr.Event
+{
+    @Label("Handler")
+    Class<?> handler;
+
+    @Label("First Sequence")
+    long sequence;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Rewound")
+    @Description("False when the strategy gave up and the exception was handled by the exception handler")
+    boolean rewound;
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Blocking strategy that uses a lock and condition variable for producers waiting on a full ring buffer.
+ * It does not pin the carrier thread when the producer is a virtual thread.
+ * Consumers wake the producers via {@link SequenceBarrier#signalProducers()} when they advance their sequence.
+ *
+ * <p>This strategy can be used when throughput and low-latency are not as important as CPU resource under sustained
+ * overload.  Consumers only take the lock when a producer has announced that it is waiting, but every signal costs
+ * them a full fence.
+ *
+ * <p>Gating sequences that are not advanced through a {@link SequenceBarrier} (e.g. an {@link EventPoller}) do not
+ * signal, so waiting producers also re-check the gating sequence after a bounded wait.
+ */
+public final class BlockingProducerWaitStrategy implements ProducerWaitStrategy
+{
+    private static final long DEFAULT_RECHECK_INTERVAL_MILLIS = 1;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition producerNotifyCondition = lock.newCondition();
+    private final long recheckIntervalNanos;
+    private volatile boolean producersWaiting;
+
+    /**
+     * Provides a blocking producer wait strategy that re-checks the gating sequence every millisecond.
+     */
+    public BlockingProducerWaitStrategy()
+    {
+        this(DEFAULT_RECHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param recheckInterval The longest a producer will block before re-checking the gating sequence.
+     * @param units           Time units used for the recheck interval.
+     */
+    public BlockingProducerWaitStrategy(final long recheckInterval, final TimeUnit units)
+    {
+        if (recheckInterval < 1)
+        {
+            throw new IllegalArgumentException("recheckInterval must be positive");
+        }
+
+        this.recheckIntervalNanos = units.toNanos(recheckInterval);
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final LongSupplier gatingSequence)
+    {
+        long minSequence;
+        if ((minSequence = gatingSequence.getAsLong()) >= wrapPoint)
+        {
+            return minSequence;
+        }
+
+        boolean interrupted = false;
+        lock.lock();
+        try
+        {
+            while (true)
+            {
+                producersWaiting = true;
+                if ((minSequence = gatingSequence.getAsLong()) >= wrapPoint)
+                {
+                    break;
+                }
+
+                try
+                {
+                    producerNotifyCondition.awaitNanos(recheckIntervalNanos);
+                }
+                catch (final InterruptedException e)
+                {
+                    // the sequence has already been claimed, so the producer has to keep waiting
+                    interrupted = true;
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        // Orders the consumer's preceding sequence store before the read of the flag, pairing with the
+        // flag store followed by the sequence read in waitFor.
+        VarHandle.fullFence();
+        if (producersWaiting)
+        {
+            lock.lock();
+            try
+            {
+                producersWaiting = false;
+                producerNotifyCondition.signalAll();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BlockingProducerWaitStrategy{" +
+            "producersWaiting=" + producersWaiting +
+            ", recheckIntervalNanos=" + recheckIntervalNanos +
+            '}';
+    }
+}
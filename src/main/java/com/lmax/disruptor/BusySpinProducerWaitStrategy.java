@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Busy Spin strategy that uses a busy spin loop for producers waiting on a full ring buffer.
+ *
+ * <p>Gives the lowest hand-off latency once a consumer frees a slot, at the cost of burning a core for as long
+ * as the ring buffer stays full.  Best used when publishing threads can be bound to specific CPU cores.
+ */
+public final class BusySpinProducerWaitStrategy implements ProducerWaitStrategy
+{
+    @Override
+    public long waitFor(final long wrapPoint, final LongSupplier gatingSequence)
+    {
+        long minSequence;
+
+        while ((minSequence = gatingSequence.getAsLong()) < wrapPoint)
+        {
+            Thread.onSpinWait();
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+}
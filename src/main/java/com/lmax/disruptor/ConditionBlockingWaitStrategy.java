@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocking strategy that uses a {@link ReentrantLock} and {@link Condition} for {@link EventProcessor}s waiting on a
+ * barrier, optionally with a timeout.
+ *
+ * <p>Behaves like the {@link BlockingWaitStrategy}, or the {@link TimeoutBlockingWaitStrategy} when a timeout is
+ * given, but does not use <code>synchronized</code> or <code>Object.wait</code>.  A virtual thread blocked in this
+ * strategy unmounts from its carrier thread rather than pinning it, so many mostly idle event processors can share a
+ * small number of platform threads, see {@link com.lmax.disruptor.util.VirtualThreadFactory}.
+ */
+public final class ConditionBlockingWaitStrategy implements WaitStrategy
+{
+    private static final long NO_TIMEOUT = -1;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition processorNotifyCondition = lock.newCondition();
+    private final long timeoutInNanos;
+
+    /**
+     * Provides a blocking wait strategy that waits until the sequence is available.
+     */
+    public ConditionBlockingWaitStrategy()
+    {
+        this.timeoutInNanos = NO_TIMEOUT;
+    }
+
+    /**
+     * @param timeout how long to wait before notifying the event handler with a {@link TimeoutException}.
+     * @param units   time units used for the timeout.
+     * @throws IllegalArgumentException if timeout is not positive
+     */
+    public ConditionBlockingWaitStrategy(final long timeout, final TimeUnit units)
+    {
+        if (timeout < 1)
+        {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+
+        this.timeoutInNanos = units.toNanos(timeout);
+    }
+
+    @Override
+    public long waitFor(final long sequence, final Sequence cursorSequence, final Sequence dependentSequence, final SequenceBarrier barrier)
+        throws AlertException, InterruptedException, TimeoutException
+    {
+        long availableSequence;
+        if (cursorSequence.get() < sequence)
+        {
+            long nanos = timeoutInNanos;
+            lock.lock();
+            try
+            {
+                while (cursorSequence.get() < sequence)
+                {
+                    barrier.checkAlert();
+                    if (timeoutInNanos == NO_TIMEOUT)
+                    {
+                        processorNotifyCondition.await();
+                    }
+                    else
+                    {
+                        nanos = processorNotifyCondition.awaitNanos(nanos);
+                        if (nanos <= 0)
+                        {
+                            throw TimeoutException.INSTANCE;
+                        }
+                    }
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+
+        while ((availableSequence = dependentSequence.get()) < sequence)
+        {
+            barrier.checkAlert();
+            Thread.onSpinWait();
+        }
+
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        lock.lock();
+        try
+        {
+            processorNotifyCondition.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ConditionBlockingWaitStrategy{" +
+            "lock=" + lock +
+            ", timeoutInNanos=" + timeoutInNanos +
+            '}';
+    }
+}
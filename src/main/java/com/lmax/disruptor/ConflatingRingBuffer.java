@@ -0,0 +1,466 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer that conflates events by key, for data such as prices where only the latest value for each key
+ * matters.
+ *
+ * <p>When an event is published for a key that already has an event in the ring buffer that no consumer has started
+ * to read, the translator overwrites that event in place and no new sequence is claimed.  Otherwise the event is
+ * published to the next sequence, as with {@link RingBuffer}.  A consumer that falls behind therefore has at most one
+ * event per key to catch up on, each holding the latest value, rather than every stale update.  Updates to different
+ * keys keep their relative order, an overwritten event keeps the position of the first unread update for its key.
+ *
+ * <p>The keys are tracked in an index of primitive longs owned by the publisher, so the ring buffer must be published
+ * to from a single thread.  Consumers must wait on a barrier from {@link #newBarrier(Sequence...)}, which records how
+ * far each consumer may be reading once per batch, so that the publisher never overwrites an event that is being
+ * read, e.g. by building a {@link BatchEventProcessor} with {@link BatchEventProcessorBuilder}.  An
+ * {@link EventPoller} cannot be used.
+ *
+ * @param <E> implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class ConflatingRingBuffer<E> implements Cursored, DataProvider<E>
+{
+    private static final long IDLE = Long.MAX_VALUE;
+
+    private final RingBuffer<E> ringBuffer;
+    private final KeyIndex index = new KeyIndex();
+    private final Sequence conflating = new Sequence(IDLE);
+    private volatile Sequence[] readHorizons = new Sequence[0];
+
+    private ConflatingRingBuffer(final RingBuffer<E> ringBuffer)
+    {
+        this.ringBuffer = ringBuffer;
+    }
+
+    /**
+     * Create a new conflating ring buffer.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param factory      used to create the events within the ring buffer.
+     * @param bufferSize   number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> ConflatingRingBuffer<E> create(
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        return new ConflatingRingBuffer<>(RingBuffer.createSingleProducer(factory, bufferSize, waitStrategy));
+    }
+
+    /**
+     * Publish an event for the key, overwriting the unread event for the key if there is one.
+     *
+     * @param key        identifying the data that the event updates, e.g. an instrument id.
+     * @param translator The user specified translation for the event
+     * @return the sequence of the event that was written.
+     */
+    public long publishEvent(final long key, final EventTranslator<E> translator)
+    {
+        long sequence = beginConflate(key);
+        if (sequence != Sequencer.INITIAL_CURSOR_VALUE)
+        {
+            try
+            {
+                translator.translateTo(ringBuffer.get(sequence), sequence);
+            }
+            finally
+            {
+                conflating.set(IDLE);
+            }
+            return sequence;
+        }
+
+        sequence = ringBuffer.next();
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), sequence);
+        }
+        finally
+        {
+            publish(key, sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Publish an event for the key, overwriting the unread event for the key if there is one.
+     *
+     * @param <A>        Class of the user supplied argument
+     * @param key        identifying the data that the event updates, e.g. an instrument id.
+     * @param translator The user specified translation for the event
+     * @param arg0       A user supplied argument.
+     * @return the sequence of the event that was written.
+     */
+    public <A> long publishEvent(final long key, final EventTranslatorOneArg<E, A> translator, final A arg0)
+    {
+        long sequence = beginConflate(key);
+        if (sequence != Sequencer.INITIAL_CURSOR_VALUE)
+        {
+            try
+            {
+                translator.translateTo(ringBuffer.get(sequence), sequence, arg0);
+            }
+            finally
+            {
+                conflating.set(IDLE);
+            }
+            return sequence;
+        }
+
+        sequence = ringBuffer.next();
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), sequence, arg0);
+        }
+        finally
+        {
+            publish(key, sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Publish an event for the key, overwriting the unread event for the key if there is one.
+     *
+     * @param <A>        Class of the user supplied argument
+     * @param <B>        Class of the user supplied argument
+     * @param key        identifying the data that the event updates, e.g. an instrument id.
+     * @param translator The user specified translation for the event
+     * @param arg0       A user supplied argument.
+     * @param arg1       A user supplied argument.
+     * @return the sequence of the event that was written.
+     */
+    public <A, B> long publishEvent(final long key, final EventTranslatorTwoArg<E, A, B> translator, final A arg0, final B arg1)
+    {
+        long sequence = beginConflate(key);
+        if (sequence != Sequencer.INITIAL_CURSOR_VALUE)
+        {
+            try
+            {
+                translator.translateTo(ringBuffer.get(sequence), sequence, arg0, arg1);
+            }
+            finally
+            {
+                conflating.set(IDLE);
+            }
+            return sequence;
+        }
+
+        sequence = ringBuffer.next();
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), sequence, arg0, arg1);
+        }
+        finally
+        {
+            publish(key, sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Announce the sequence of the unread event for the key, if any, as about to be overwritten, then check that no
+     * consumer has since started to read it.  Consumers announce how far they may read before checking for a
+     * conflation in progress, so either the publisher sees the consumer and publishes a new event, or the consumer
+     * sees the conflation and waits for it to finish.
+     */
+    private long beginConflate(final long key)
+    {
+        final long sequence = index.get(key);
+        if (sequence == Sequencer.INITIAL_CURSOR_VALUE)
+        {
+            return sequence;
+        }
+
+        conflating.setVolatile(sequence);
+        if (sequence > maximumReadHorizon())
+        {
+            return sequence;
+        }
+
+        conflating.set(IDLE);
+        return Sequencer.INITIAL_CURSOR_VALUE;
+    }
+
+    private void publish(final long key, final long sequence)
+    {
+        ringBuffer.publish(sequence);
+        index.put(key, sequence);
+    }
+
+    private long maximumReadHorizon()
+    {
+        long maximum = Sequencer.INITIAL_CURSOR_VALUE;
+        for (final Sequence readHorizon : readHorizons)
+        {
+            maximum = Math.max(maximum, readHorizon.get());
+        }
+        return maximum;
+    }
+
+    /**
+     * Get the event for a given sequence, for consumers after waiting on a barrier from
+     * {@link #newBarrier(Sequence...)}.
+     *
+     * @param sequence for the event
+     * @return the event for the given sequence
+     */
+    @Override
+    public E get(final long sequence)
+    {
+        return ringBuffer.get(sequence);
+    }
+
+    /**
+     * Create a new SequenceBarrier to be used by an EventProcessor to track which messages are available to be read
+     * from the ring buffer given a list of sequences to track, and to stop the publisher overwriting the events it
+     * is reading.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     * @see SequenceBarrier
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        final Sequence readHorizon = new Sequence();
+        synchronized (this)
+        {
+            final Sequence[] current = readHorizons;
+            final Sequence[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = readHorizon;
+            readHorizons = updated;
+        }
+        return new ConflatingSequenceBarrier(ringBuffer.newBarrier(sequencesToTrack), readHorizon);
+    }
+
+    /**
+     * Add the specified gating sequences to this instance of the Disruptor.  They will
+     * safely and atomically added to the list of gating sequences.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        ringBuffer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * Remove the specified sequence from this ringBuffer.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return ringBuffer.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Get the current cursor value for the ring buffer.
+     *
+     * @return The current cursor value
+     */
+    @Override
+    public long getCursor()
+    {
+        return ringBuffer.getCursor();
+    }
+
+    /**
+     * The size of the buffer.
+     *
+     * @return size of buffer
+     */
+    public int getBufferSize()
+    {
+        return ringBuffer.getBufferSize();
+    }
+
+    /**
+     * Get the remaining capacity for this ringBuffer.
+     *
+     * @return The number of slots remaining.
+     */
+    public long remainingCapacity()
+    {
+        return ringBuffer.remainingCapacity();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ConflatingRingBuffer{" +
+            "ringBuffer=" + ringBuffer +
+            ", keys=" + index.size +
+            '}';
+    }
+
+    /**
+     * Records how far the consumer may read, the end of the batch returned by {@link #waitFor(long)}, then waits for
+     * any conflation of an event in that batch to finish.
+     */
+    private final class ConflatingSequenceBarrier implements SequenceBarrier
+    {
+        private final SequenceBarrier delegate;
+        private final Sequence readHorizon;
+
+        ConflatingSequenceBarrier(final SequenceBarrier delegate, final Sequence readHorizon)
+        {
+            this.delegate = delegate;
+            this.readHorizon = readHorizon;
+        }
+
+        @Override
+        public long waitFor(final long sequence) throws AlertException, InterruptedException, TimeoutException
+        {
+            final long availableSequence = delegate.waitFor(sequence);
+
+            readHorizon.setVolatile(availableSequence);
+            while (conflating.get() <= availableSequence)
+            {
+                delegate.checkAlert();
+                Thread.onSpinWait();
+            }
+
+            return availableSequence;
+        }
+
+        @Override
+        public long getCursor()
+        {
+            return delegate.getCursor();
+        }
+
+        @Override
+        public boolean isAlerted()
+        {
+            return delegate.isAlerted();
+        }
+
+        @Override
+        public void alert()
+        {
+            delegate.alert();
+        }
+
+        @Override
+        public void clearAlert()
+        {
+            delegate.clearAlert();
+        }
+
+        @Override
+        public void checkAlert() throws AlertException
+        {
+            delegate.checkAlert();
+        }
+
+        @Override
+        public void signalProducers()
+        {
+            delegate.signalProducers();
+        }
+    }
+
+    /**
+     * Open addressing map of key to the sequence of its latest event, with linear probing.  Entries are never
+     * removed, so the index grows with the number of distinct keys published.
+     */
+    private static final class KeyIndex
+    {
+        private static final int INITIAL_CAPACITY = 64;
+        private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private long[] sequences = newSequences(INITIAL_CAPACITY);
+        private int mask = INITIAL_CAPACITY - 1;
+        private int size = 0;
+
+        long get(final long key)
+        {
+            int slot = slot(key);
+            long sequence;
+            while ((sequence = sequences[slot]) != Sequencer.INITIAL_CURSOR_VALUE)
+            {
+                if (keys[slot] == key)
+                {
+                    return sequence;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return Sequencer.INITIAL_CURSOR_VALUE;
+        }
+
+        void put(final long key, final long sequence)
+        {
+            int slot = slot(key);
+            while (sequences[slot] != Sequencer.INITIAL_CURSOR_VALUE)
+            {
+                if (keys[slot] == key)
+                {
+                    sequences[slot] = sequence;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = key;
+            sequences[slot] = sequence;
+            if (++size > keys.length >> 1)
+            {
+                resize();
+            }
+        }
+
+        private int slot(final long key)
+        {
+            final long hash = key * HASH_MULTIPLIER;
+            return (int) (hash ^ (hash >>> Integer.SIZE)) & mask;
+        }
+
+        private void resize()
+        {
+            final long[] oldKeys = keys;
+            final long[] oldSequences = sequences;
+
+            keys = new long[oldKeys.length << 1];
+            sequences = newSequences(keys.length);
+            mask = keys.length - 1;
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++)
+            {
+                if (oldSequences[i] != Sequencer.INITIAL_CURSOR_VALUE)
+                {
+                    put(oldKeys[i], oldSequences[i]);
+                }
+            }
+        }
+
+        private static long[] newSequences(final int capacity)
+        {
+            final long[] sequences = new long[capacity];
+            Arrays.fill(sequences, Sequencer.INITIAL_CURSOR_VALUE);
+            return sequences;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for an event processor waiting on its {@link WaitStrategy} in {@link SequenceBarrier#waitFor(long)},
+ * from the call until the wait strategy wakes it with events available.
+ */
+@Name("com.lmax.disruptor.ConsumerWait")
+@Label("Consumer Wait")
+@Category("Disruptor")
+@Description("An event processor waiting on its wait strategy for events to become available")
+@StackTrace(false)
+@Threshold("1 ms")
+final class ConsumerWaitEvent extends jdk.jfr.Event
+{
+    @Label("Wait Strategy")
+    Class<?> waitStrategy;
+
+    @Label("Sequence")
+    long sequence;
+
+    @Label("Available Sequence")
+    long availableSequence;
+}
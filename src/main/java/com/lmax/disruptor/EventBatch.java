@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * View over a contiguous run of sequences passed to {@link BatchEventHandler#onBatch(EventBatch)} or
+ * {@link EventPoller.BatchHandler#onBatch(EventBatch)}.
+ *
+ * <p>Events are accessed by their index within the batch, <code>0</code> to <code>size() - 1</code>, which is
+ * translated to a sequence and looked up in the {@link DataProvider}, so a batch that wraps the end of the
+ * {@link RingBuffer} is iterated like any other.  The view is reused for every batch and is only valid for the
+ * duration of the call to the handler.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class EventBatch<T>
+{
+    private final DataProvider<T> dataProvider;
+    private final Sequence releaseSequence;
+    private long startSequence = 0;
+    private long endSequence = -1;
+    private long queueDepth = 0;
+    private long releasedSequence = -1;
+    private boolean releasable = false;
+
+    EventBatch(final DataProvider<T> dataProvider)
+    {
+        this(dataProvider, null);
+    }
+
+    EventBatch(final DataProvider<T> dataProvider, final Sequence releaseSequence)
+    {
+        this.dataProvider = dataProvider;
+        this.releaseSequence = releaseSequence;
+    }
+
+    void reset(final long startSequence, final long endSequence, final long queueDepth)
+    {
+        this.startSequence = startSequence;
+        this.endSequence = endSequence;
+        this.queueDepth = queueDepth;
+        this.releasedSequence = startSequence - 1;
+        this.releasable = releaseSequence != null;
+    }
+
+    void endRelease()
+    {
+        this.releasable = false;
+    }
+
+    /**
+     * The sequence of the first event in the batch.
+     *
+     * @return the first sequence
+     */
+    public long getStartSequence()
+    {
+        return startSequence;
+    }
+
+    /**
+     * The sequence of the last event in the batch.
+     *
+     * @return the last sequence
+     */
+    public long getEndSequence()
+    {
+        return endSequence;
+    }
+
+    /**
+     * The number of events in the batch.
+     *
+     * @return the size of the batch
+     */
+    public int size()
+    {
+        return (int) (endSequence - startSequence + 1);
+    }
+
+    /**
+     * The total number of events available when the batch was taken, including those in the batch.  This is larger
+     * than {@link #size()} when the batch was limited by the maximum batch size.
+     *
+     * @return the number of queued up events
+     */
+    public long getQueueDepth()
+    {
+        return queueDepth;
+    }
+
+    /**
+     * Get the sequence of the event at the given index.
+     *
+     * @param index of the event within the batch
+     * @return the sequence of the event
+     * @throws IndexOutOfBoundsException if index is not within the batch
+     */
+    public long getSequence(final int index)
+    {
+        if (index < 0 || index >= size())
+        {
+            throw new IndexOutOfBoundsException("index " + index + " out of range for batch of " + size());
+        }
+        return startSequence + index;
+    }
+
+    /**
+     * Get the event at the given index.
+     *
+     * @param index of the event within the batch
+     * @return the event
+     * @throws IndexOutOfBoundsException if index is not within the batch
+     */
+    public T get(final int index)
+    {
+        return dataProvider.get(getSequence(index));
+    }
+
+    /**
+     * Release the events of the batch up to and including the given sequence to producers, before the whole batch
+     * has been processed.  The released events must not be accessed afterwards, and cannot be taken back, as the
+     * producers may already have reused their slots.  Only batches taken by
+     * {@link EventPoller#poll(EventPoller.BatchHandler, int)} can be released early, and only while the handler is
+     * being called, a {@link BatchEventProcessor} releases each batch once its handler returns.
+     *
+     * @param sequence of the last event to release, from the last event already released to the end of the batch.
+     * @throws IllegalArgumentException if the sequence is not within those bounds
+     * @throws IllegalStateException if the batch was not taken by an {@link EventPoller}, or its handler has returned
+     */
+    public void release(final long sequence)
+    {
+        if (releaseSequence == null)
+        {
+            throw new IllegalStateException("Only batches polled from an EventPoller can be released early");
+        }
+        if (!releasable)
+        {
+            throw new IllegalStateException("Batch can only be released while it is being handled");
+        }
+        if (sequence < releasedSequence || sequence > endSequence)
+        {
+            throw new IllegalArgumentException(
+                "sequence " + sequence + " out of range for batch " + (releasedSequence + 1) + " to " + endSequence);
+        }
+        releasedSequence = sequence;
+        releaseSequence.set(sequence);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "EventBatch{" +
+            "startSequence=" + startSequence +
+            ", endSequence=" + endSequence +
+            '}';
+    }
+}
@@ -16,7 +16,7 @@
 package com.lmax.disruptor;
 
 @FunctionalInterface
-interface EventHandlerBase<T> extends EventHandlerIdentity
+interface EventHandlerBase<T> extends EventHandlerIdentity, EventProcessorLifecycle
 {
     /**
      * Called when a publisher has published an event to the {@link RingBuffer}.  The {@link BatchEventProcessor} will
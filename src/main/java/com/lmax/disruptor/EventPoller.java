@@ -14,6 +14,7 @@ public class EventPoller<T>
     private final Sequencer sequencer;
     private final Sequence sequence;
     private final Sequence gatingSequence;
+    private final EventBatch<T> batch;
 
     /**
      * A callback used to process events
@@ -36,7 +37,25 @@ public class EventPoller<T>
     }
 
     /**
-     * Indicates the result of a call to {@link #poll(Handler)}
+     * A callback used to process events a batch at a time
+     *
+     * @param <T> the type of the event
+     */
+    public interface BatchHandler<T>
+    {
+        /**
+         * Called with the batch of events taken by {@link EventPoller#poll(BatchHandler, int)}
+         *
+         * @param batch view of the events, only valid for the duration of this call, whose events may be released
+         *        to producers before the whole batch has been processed with {@link EventBatch#release(long)}
+         * @throws Exception any exceptions thrown by the handler will be propagated to the caller of {@code poll},
+         *         and the events of the batch that were not released will be polled again
+         */
+        void onBatch(EventBatch<T> batch) throws Exception;
+    }
+
+    /**
+     * Indicates the result of a call to {@link #poll(Handler)} or {@link #poll(BatchHandler, int)}
      */
     public enum PollState
     {
@@ -73,6 +92,7 @@ public class EventPoller<T>
         this.sequencer = sequencer;
         this.sequence = sequence;
         this.gatingSequence = gatingSequence;
+        this.batch = new EventBatch<>(dataProvider, sequence);
     }
 
     /**
@@ -128,6 +148,55 @@ public class EventPoller<T>
         }
     }
 
+    /**
+     * Polls for a batch of events using the given handler. <br>
+     * <br>
+     * Up to {@code maxEvents} of the events that are available are handed to the handler in a single call, with
+     * the batch size known up front.  The sequence of the poller is set once, when the handler returns, unless the
+     * handler releases events earlier itself.
+     *
+     * @param batchHandler the handler used to consume the batch of events
+     * @param maxEvents the maximum number of events in the batch
+     * @return the state of the event poller after the poll is attempted
+     * @throws IllegalArgumentException if maxEvents is less than 1
+     * @throws Exception exceptions thrown from the batch handler are propagated to the caller
+     */
+    public PollState poll(final BatchHandler<T> batchHandler, final int maxEvents) throws Exception
+    {
+        if (maxEvents < 1)
+        {
+            throw new IllegalArgumentException("maxEvents must be greater than 0");
+        }
+
+        final long nextSequence = sequence.get() + 1;
+        final long availableSequence = sequencer.getHighestPublishedSequence(nextSequence, gatingSequence.get());
+
+        if (nextSequence <= availableSequence)
+        {
+            final long endSequence = Math.min(availableSequence, nextSequence + maxEvents - 1);
+            batch.reset(nextSequence, endSequence, availableSequence - nextSequence + 1);
+            try
+            {
+                batchHandler.onBatch(batch);
+            }
+            finally
+            {
+                batch.endRelease();
+            }
+            sequence.set(endSequence);
+
+            return PollState.PROCESSING;
+        }
+        else if (sequencer.getCursor() >= nextSequence)
+        {
+            return PollState.GATING;
+        }
+        else
+        {
+            return PollState.IDLE;
+        }
+    }
+
     /**
      * Creates an event poller. Most users will want {@link RingBuffer#newPoller(Sequence...)}
      * which will set up the poller automatically
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Receives measurements from an instrumented {@link BatchEventProcessor}, see
+ * {@link BatchEventProcessor#setMetrics(EventProcessorMetrics)}.
+ *
+ * <p>Methods are called on the processor's thread, once per batch, and must not block or allocate.
+ *
+ * @see com.lmax.disruptor.metrics.DisruptorMetrics
+ */
+public interface EventProcessorMetrics
+{
+    /**
+     * Called after each return from {@link SequenceBarrier#waitFor(long)}.
+     *
+     * @param waitNanos time spent waiting for events to become available, in nanoseconds.
+     */
+    void recordWait(long waitNanos);
+
+    /**
+     * Called after each batch of events has been handled.
+     *
+     * @param batchSize    the number of events in the batch.
+     * @param lag          how far the processor was behind the cursor at the start of the batch, i.e. the cursor
+     *                     less the processor's sequence.
+     * @param serviceNanos time spent handling the batch, in nanoseconds.
+     */
+    void recordBatch(long batchSize, long lag, long serviceNanos);
+}
@@ -47,4 +47,19 @@ public interface ExceptionHandler<T>
      * @param ex throw during the shutdown process.
      */
     void handleOnShutdownException(Throwable ex);
+
+    /**
+     * <p>Callback to notify of an exception from the {@link SequenceCheckpointer} of a {@link BatchEventProcessor}.</p>
+     *
+     * <p>The events up to and including the sequence have already been processed, so the processor carries on
+     * processing events and checkpoints again after the next checkpoint interval, or on shutdown.  By default the
+     * exception is logged as {@link System.Logger.Level}.WARNING.</p>
+     *
+     * @param ex       thrown by the checkpointer.
+     * @param sequence that could not be checkpointed.
+     */
+    default void handleOnCheckpointException(Throwable ex, long sequence)
+    {
+        System.getLogger(getClass().getName()).log(System.Logger.Level.WARNING, () -> "Exception checkpointing: " + sequence, ex);
+    }
 }
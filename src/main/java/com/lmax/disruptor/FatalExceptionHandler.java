@@ -46,4 +46,10 @@ public final class FatalExceptionHandler implements ExceptionHandler<Object>
     {
         LOGGER.log(Level.ERROR, "Exception during onShutdown()", ex);
     }
+
+    @Override
+    public void handleOnCheckpointException(final Throwable ex, final long sequence)
+    {
+        LOGGER.log(Level.ERROR, () -> "Exception checkpointing: " + sequence, ex);
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for each exception that an event processor passes to its {@link ExceptionHandler}.
+ */
+@Name("com.lmax.disruptor.HandlerException")
+@Label("Handler Exception")
+@Category("Disruptor")
+@Description("An exception passed to the exception handler of an event processor")
+@StackTrace(false)
+final class HandlerExceptionEvent extends jdk.jfr.Event
+{
+    @Label("Handler")
+    Class<?> handler;
+
+    @Label("Callback")
+    @Description("Whether the exception was thrown while handling an event, on start or shutdown, or by the checkpointer")
+    String callback;
+
+    @Label("Sequence")
+    long sequence;
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Message")
+    String message;
+}
@@ -43,4 +43,10 @@ public final class IgnoreExceptionHandler implements ExceptionHandler<Object>
     {
         LOGGER.log(Level.INFO, "Exception during onShutdown()", ex);
     }
+
+    @Override
+    public void handleOnCheckpointException(final Throwable ex, final long sequence)
+    {
+        LOGGER.log(Level.INFO, () -> "Exception checkpointing: " + sequence, ex);
+    }
 }
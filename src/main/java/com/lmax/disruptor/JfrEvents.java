@@ -0,0 +1,212 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import jdk.jfr.EventType;
+
+/**
+ * Records the Disruptor's flight recorder events, if the <code>jdk.jfr</code> module is present.
+ *
+ * <p>The module is optional, it is missing from runtime images that are linked without it.  This class does not use
+ * any of its types, those are only used by the nested {@link Recorder}, which is not loaded unless the module was
+ * found when this class was initialised.  No event is created unless a recording has it enabled, so methods that
+ * begin an event return <code>null</code> and the matching commit does nothing when the event is not being recorded.
+ */
+final class JfrEvents
+{
+    static final String EVENT = "event";
+    static final String START = "start";
+    static final String SHUTDOWN = "shutdown";
+    static final String CHECKPOINT = "checkpoint";
+
+    private static final boolean AVAILABLE = isAvailable();
+
+    private JfrEvents()
+    {
+    }
+
+    static Object beginBatchProcessed()
+    {
+        return AVAILABLE ? Recorder.beginBatchProcessed() : null;
+    }
+
+    static void commitBatchProcessed(
+        final Object event, final Class<?> handler, final long sequence, final long batchSize, final long queueDepth)
+    {
+        if (event != null)
+        {
+            Recorder.commitBatchProcessed(event, handler, sequence, batchSize, queueDepth);
+        }
+    }
+
+    static Object beginProducerBlocked()
+    {
+        return AVAILABLE ? Recorder.beginProducerBlocked() : null;
+    }
+
+    static void commitProducerBlocked(final Object event, final Class<?> producerWaitStrategy, final int bufferSize, final long sequence)
+    {
+        if (event != null)
+        {
+            Recorder.commitProducerBlocked(event, producerWaitStrategy, bufferSize, sequence);
+        }
+    }
+
+    static Object beginConsumerWait()
+    {
+        return AVAILABLE ? Recorder.beginConsumerWait() : null;
+    }
+
+    static void commitConsumerWait(final Object event, final Class<?> waitStrategy, final long sequence, final long availableSequence)
+    {
+        if (event != null)
+        {
+            Recorder.commitConsumerWait(event, waitStrategy, sequence, availableSequence);
+        }
+    }
+
+    static void recordBatchRewind(final Class<?> handler, final long sequence, final int attempt, final boolean rewound)
+    {
+        if (AVAILABLE)
+        {
+            Recorder.recordBatchRewind(handler, sequence, attempt, rewound);
+        }
+    }
+
+    static void recordHandlerException(final Class<?> handler, final String callback, final long sequence, final Throwable ex)
+    {
+        if (AVAILABLE)
+        {
+            Recorder.recordHandlerException(handler, callback, sequence, ex);
+        }
+    }
+
+    private static boolean isAvailable()
+    {
+        final Module jfr = ModuleLayer.boot().findModule("jdk.jfr").orElse(null);
+        return jfr != null && JfrEvents.class.getModule().canRead(jfr);
+    }
+
+    private static final class Recorder
+    {
+        private static final EventType BATCH_PROCESSED = EventType.getEventType(BatchProcessedEvent.class);
+        private static final EventType PRODUCER_BLOCKED = EventType.getEventType(ProducerBlockedEvent.class);
+        private static final EventType CONSUMER_WAIT = EventType.getEventType(ConsumerWaitEvent.class);
+        private static final EventType BATCH_REWIND = EventType.getEventType(BatchRewindEvent.class);
+        private static final EventType HANDLER_EXCEPTION = EventType.getEventType(HandlerExceptionEvent.class);
+
+        static Object beginBatchProcessed()
+        {
+            if (!BATCH_PROCESSED.isEnabled())
+            {
+                return null;
+            }
+
+            final BatchProcessedEvent event = new BatchProcessedEvent();
+            event.begin();
+            return event;
+        }
+
+        static void commitBatchProcessed(
+            final Object event, final Class<?> handler, final long sequence, final long batchSize, final long queueDepth)
+        {
+            final BatchProcessedEvent batchProcessedEvent = (BatchProcessedEvent) event;
+            if (batchProcessedEvent.shouldCommit())
+            {
+                batchProcessedEvent.handler = handler;
+                batchProcessedEvent.sequence = sequence;
+                batchProcessedEvent.batchSize = batchSize;
+                batchProcessedEvent.queueDepth = queueDepth;
+                batchProcessedEvent.commit();
+            }
+        }
+
+        static Object beginProducerBlocked()
+        {
+            if (!PRODUCER_BLOCKED.isEnabled())
+            {
+                return null;
+            }
+
+            final ProducerBlockedEvent event = new ProducerBlockedEvent();
+            event.begin();
+            return event;
+        }
+
+        static void commitProducerBlocked(final Object event, final Class<?> producerWaitStrategy, final int bufferSize, final long sequence)
+        {
+            final ProducerBlockedEvent producerBlockedEvent = (ProducerBlockedEvent) event;
+            if (producerBlockedEvent.shouldCommit())
+            {
+                producerBlockedEvent.producerWaitStrategy = producerWaitStrategy;
+                producerBlockedEvent.bufferSize = bufferSize;
+                producerBlockedEvent.sequence = sequence;
+                producerBlockedEvent.commit();
+            }
+        }
+
+        static Object beginConsumerWait()
+        {
+            if (!CONSUMER_WAIT.isEnabled())
+            {
+                return null;
+            }
+
+            final ConsumerWaitEvent event = new ConsumerWaitEvent();
+            event.begin();
+            return event;
+        }
+
+        static void commitConsumerWait(final Object event, final Class<?> waitStrategy, final long sequence, final long availableSequence)
+        {
+            final ConsumerWaitEvent consumerWaitEvent = (ConsumerWaitEvent) event;
+            if (consumerWaitEvent.shouldCommit())
+            {
+                consumerWaitEvent.waitStrategy = waitStrategy;
+                consumerWaitEvent.sequence = sequence;
+                consumerWaitEvent.availableSequence = availableSequence;
+                consumerWaitEvent.commit();
+            }
+        }
+
+        static void recordBatchRewind(final Class<?> handler, final long sequence, final int attempt, final boolean rewound)
+        {
+            if (BATCH_REWIND.isEnabled())
+            {
+                final BatchRewindEvent batchRewindEvent = new BatchRewindEvent();
+                batchRewindEvent.handler = handler;
+                batchRewindEvent.sequence = sequence;
+                batchRewindEvent.attempt = attempt;
+                batchRewindEvent.rewound = rewound;
+                batchRewindEvent.commit();
+            }
+        }
+
+        static void recordHandlerException(final Class<?> handler, final String callback, final long sequence, final Throwable ex)
+        {
+            if (HANDLER_EXCEPTION.isEnabled())
+            {
+                final HandlerExceptionEvent handlerExceptionEvent = new HandlerExceptionEvent();
+                handlerExceptionEvent.handler = handler;
+                handlerExceptionEvent.callback = callback;
+                handlerExceptionEvent.sequence = sequence;
+                handlerExceptionEvent.exceptionClass = ex.getClass();
+                handlerExceptionEvent.message = ex.getMessage();
+                handlerExceptionEvent.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Callback interface to be implemented for processing the values of a {@link LongRingBuffer}, the primitive
+ * counterpart of {@link EventHandler}.
+ *
+ * @see LongEventProcessor
+ */
+@FunctionalInterface
+public interface LongEventHandler
+{
+    /**
+     * Called when a publisher has published a value to the {@link LongRingBuffer}.
+     *
+     * @param value      published to the {@link LongRingBuffer}
+     * @param sequence   of the value being processed
+     * @param endOfBatch flag to indicate if this is the last value in a batch from the {@link LongRingBuffer}
+     * @throws Exception if the handler would like the exception handled further up the chain.
+     */
+    void onEvent(long value, long sequence, boolean endOfBatch) throws Exception;
+
+    /**
+     * Invoked by {@link LongEventProcessor} prior to processing a batch of values
+     *
+     * @param batchSize  the size of the batch that is starting
+     * @param queueDepth the total number of queued up values including the batch about to be processed
+     */
+    default void onBatchStart(long batchSize, long queueDepth)
+    {
+    }
+
+    /**
+     * Called once on thread start before first value is available.
+     */
+    default void onStart()
+    {
+    }
+
+    /**
+     * Called once just before the processing thread is shutdown.
+     */
+    default void onShutdown()
+    {
+    }
+
+    /**
+     * Invoked when a {@link LongEventProcessor}'s {@link WaitStrategy} throws a {@link TimeoutException}.
+     *
+     * @param sequence - the last processed sequence.
+     * @throws Exception if the implementation is unable to handle this timeout.
+     */
+    default void onTimeout(long sequence) throws Exception
+    {
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Math.min;
+
+/**
+ * Consumes the values of a {@link LongRingBuffer} in batches, delegating each value to a {@link LongEventHandler}.
+ * The primitive counterpart of {@link BatchEventProcessor}.
+ *
+ * <p>Values are only boxed when they are passed to the {@link ExceptionHandler} after the handler throws.
+ */
+public final class LongEventProcessor
+    implements EventProcessor
+{
+    private static final int IDLE = 0;
+    private static final int HALTED = IDLE + 1;
+    private static final int RUNNING = HALTED + 1;
+
+    private final AtomicInteger running = new AtomicInteger(IDLE);
+    private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final LongRingBuffer ringBuffer;
+    private final SequenceBarrier sequenceBarrier;
+    private final LongEventHandler eventHandler;
+    private final int batchLimitOffset;
+    private ExceptionHandler<? super Long> exceptionHandler;
+
+    /**
+     * Construct a processor that will consume the values of a ring buffer with no limit on the size of a batch.
+     *
+     * @param ringBuffer      to consume values from.
+     * @param sequenceBarrier on which it is waiting, see {@link LongRingBuffer#newBarrier(Sequence...)}.
+     * @param eventHandler    is the delegate to which values are dispatched.
+     */
+    public LongEventProcessor(
+        final LongRingBuffer ringBuffer,
+        final SequenceBarrier sequenceBarrier,
+        final LongEventHandler eventHandler)
+    {
+        this(ringBuffer, sequenceBarrier, eventHandler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Construct a processor that will consume the values of a ring buffer.
+     *
+     * @param ringBuffer      to consume values from.
+     * @param sequenceBarrier on which it is waiting, see {@link LongRingBuffer#newBarrier(Sequence...)}.
+     * @param eventHandler    is the delegate to which values are dispatched.
+     * @param maxBatchSize    limits the number of values processed in a single batch before updating the sequence.
+     * @throws IllegalArgumentException if maxBatchSize is less than 1
+     */
+    public LongEventProcessor(
+        final LongRingBuffer ringBuffer,
+        final SequenceBarrier sequenceBarrier,
+        final LongEventHandler eventHandler,
+        final int maxBatchSize)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.sequenceBarrier = sequenceBarrier;
+        this.eventHandler = eventHandler;
+        this.batchLimitOffset = maxBatchSize - 1;
+    }
+
+    @Override
+    public Sequence getSequence()
+    {
+        return sequence;
+    }
+
+    @Override
+    public void halt()
+    {
+        running.set(HALTED);
+        sequenceBarrier.alert();
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running.get() != IDLE;
+    }
+
+    /**
+     * Set a new {@link ExceptionHandler} for handling exceptions propagated out of the {@link LongEventProcessor}.
+     *
+     * @param exceptionHandler to replace the existing exceptionHandler.
+     */
+    public void setExceptionHandler(final ExceptionHandler<? super Long> exceptionHandler)
+    {
+        if (null == exceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * It is ok to have another thread rerun this method after a halt().
+     *
+     * @throws IllegalStateException if this object instance is already running in a thread
+     */
+    @Override
+    public void run()
+    {
+        int witnessValue = running.compareAndExchange(IDLE, RUNNING);
+        if (witnessValue == IDLE)
+        {
+            sequenceBarrier.clearAlert();
+
+            notifyStart();
+            try
+            {
+                if (running.get() == RUNNING)
+                {
+                    processEvents();
+                }
+            }
+            finally
+            {
+                notifyShutdown();
+                running.set(IDLE);
+            }
+        }
+        else if (witnessValue == RUNNING)
+        {
+            throw new IllegalStateException("Thread is already running");
+        }
+        else
+        {
+            notifyStart();
+            notifyShutdown();
+        }
+    }
+
+    private void processEvents()
+    {
+        long nextSequence = sequence.get() + 1L;
+
+        while (true)
+        {
+            try
+            {
+                final long availableSequence = sequenceBarrier.waitFor(nextSequence);
+                final long endOfBatchSequence = min(nextSequence + batchLimitOffset, availableSequence);
+
+                if (nextSequence <= endOfBatchSequence)
+                {
+                    eventHandler.onBatchStart(endOfBatchSequence - nextSequence + 1, availableSequence - nextSequence + 1);
+                }
+
+                while (nextSequence <= endOfBatchSequence)
+                {
+                    eventHandler.onEvent(ringBuffer.get(nextSequence), nextSequence, nextSequence == endOfBatchSequence);
+                    nextSequence++;
+                }
+
+                sequence.set(endOfBatchSequence);
+                sequenceBarrier.signalProducers();
+            }
+            catch (final TimeoutException e)
+            {
+                notifyTimeout(sequence.get());
+            }
+            catch (final AlertException ex)
+            {
+                if (running.get() != RUNNING)
+                {
+                    break;
+                }
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleEventException(ex, nextSequence, ringBuffer.get(nextSequence));
+                sequence.set(nextSequence);
+                sequenceBarrier.signalProducers();
+                nextSequence++;
+            }
+        }
+    }
+
+    private void notifyTimeout(final long availableSequence)
+    {
+        try
+        {
+            eventHandler.onTimeout(availableSequence);
+        }
+        catch (final Throwable e)
+        {
+            getExceptionHandler().handleEventException(e, availableSequence, null);
+        }
+    }
+
+    private void notifyStart()
+    {
+        try
+        {
+            eventHandler.onStart();
+        }
+        catch (final Throwable ex)
+        {
+            getExceptionHandler().handleOnStartException(ex);
+        }
+    }
+
+    private void notifyShutdown()
+    {
+        try
+        {
+            eventHandler.onShutdown();
+        }
+        catch (final Throwable ex)
+        {
+            getExceptionHandler().handleOnShutdownException(ex);
+        }
+    }
+
+    private ExceptionHandler<? super Long> getExceptionHandler()
+    {
+        ExceptionHandler<? super Long> handler = exceptionHandler;
+        return handler == null ? ExceptionHandlers.defaultHandler() : handler;
+    }
+}
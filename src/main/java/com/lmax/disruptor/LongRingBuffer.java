@@ -0,0 +1,254 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * Ring based store of primitive <code>long</code> values, for pipelines that only pass an identifier or index
+ * between stages.  Values are held directly in a padded <code>long[]</code>, so there is no event object per
+ * slot and no boxing on either side.
+ *
+ * <p>Values are consumed with a {@link LongEventProcessor} and a {@link LongEventHandler}.
+ */
+public final class LongRingBuffer implements Cursored
+{
+    private static final int BUFFER_PAD = 16;
+
+    private final long[] entries;
+    private final int indexMask;
+    private final int bufferSize;
+    private final Sequencer sequencer;
+
+    LongRingBuffer(final Sequencer sequencer)
+    {
+        this.sequencer = sequencer;
+        this.bufferSize = sequencer.getBufferSize();
+        this.indexMask = bufferSize - 1;
+        this.entries = new long[bufferSize + 2 * BUFFER_PAD];
+    }
+
+    /**
+     * Create a new single producer LongRingBuffer with the specified wait strategy.
+     *
+     * @param bufferSize   number of values held in the ring buffer, must be a power of 2.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     * @see SingleProducerSequencer
+     */
+    public static LongRingBuffer createSingleProducer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return new LongRingBuffer(new SingleProducerSequencer(bufferSize, waitStrategy));
+    }
+
+    /**
+     * Create a new multiple producer LongRingBuffer with the specified wait strategy.
+     *
+     * @param bufferSize   number of values held in the ring buffer, must be a power of 2.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     * @see MultiProducerSequencer
+     */
+    public static LongRingBuffer createMultiProducer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return new LongRingBuffer(new MultiProducerSequencer(bufferSize, waitStrategy));
+    }
+
+    /**
+     * Create a new LongRingBuffer with the specified producer type (SINGLE or MULTI).
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize   number of values held in the ring buffer, must be a power of 2.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static LongRingBuffer create(final ProducerType producerType, final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return createSingleProducer(bufferSize, waitStrategy);
+            case MULTI:
+                return createMultiProducer(bufferSize, waitStrategy);
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Get the value for a given sequence.
+     *
+     * @param sequence for the value
+     * @return the value held for the given sequence
+     */
+    public long get(final long sequence)
+    {
+        return entries[BUFFER_PAD + ((int) sequence & indexMask)];
+    }
+
+    /**
+     * Claim the next slot, store the value in it and publish it, waiting for capacity if the ring buffer is full.
+     *
+     * @param value to publish.
+     */
+    public void publish(final long value)
+    {
+        final long sequence = sequencer.next();
+        entries[BUFFER_PAD + ((int) sequence & indexMask)] = value;
+        sequencer.publish(sequence);
+    }
+
+    /**
+     * Attempt to publish a value, failing rather than waiting if the ring buffer is full.
+     *
+     * @param value to publish.
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public boolean tryPublish(final long value)
+    {
+        try
+        {
+            final long sequence = sequencer.tryNext();
+            entries[BUFFER_PAD + ((int) sequence & indexMask)] = value;
+            sequencer.publish(sequence);
+            return true;
+        }
+        catch (final InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Publish a run of values, claiming and publishing them a ring buffer's worth at a time.  Each claim is
+     * copied into the ring buffer with at most two array copies and made visible with a single publish.
+     *
+     * @param values to publish.
+     * @param offset of the first value to publish.
+     * @param length number of values to publish.
+     * @throws IndexOutOfBoundsException if offset and length do not describe a range of values
+     */
+    public void publish(final long[] values, final int offset, final int length)
+    {
+        if (offset < 0 || length < 0 || offset > values.length - length)
+        {
+            throw new IndexOutOfBoundsException("offset " + offset + " and length " + length + " out of range for " + values.length);
+        }
+
+        int published = 0;
+        while (published < length)
+        {
+            final int batchSize = Math.min(length - published, bufferSize);
+            final long hi = sequencer.next(batchSize);
+            final long lo = hi - (batchSize - 1);
+            copyIn(values, offset + published, lo, batchSize);
+            sequencer.publish(lo, hi);
+            published += batchSize;
+        }
+    }
+
+    private void copyIn(final long[] values, final int offset, final long sequence, final int length)
+    {
+        final int index = (int) sequence & indexMask;
+        final int firstLength = Math.min(length, bufferSize - index);
+        System.arraycopy(values, offset, entries, BUFFER_PAD + index, firstLength);
+        System.arraycopy(values, offset + firstLength, entries, BUFFER_PAD, length - firstLength);
+    }
+
+    /**
+     * Add the specified gating sequences to this instance of the ring buffer.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        sequencer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * Remove the specified sequence from this ring buffer.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return sequencer.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Create a new SequenceBarrier to be used by an EventProcessor to track which values
+     * are available to be read from the ring buffer given a list of sequences to track.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     * @see SequenceBarrier
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return sequencer.newBarrier(sequencesToTrack);
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return sequencer.getCursor();
+    }
+
+    /**
+     * The size of the buffer.
+     *
+     * @return size of buffer
+     */
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+
+    /**
+     * Given specified <code>requiredCapacity</code> determines if that amount of space
+     * is available.
+     *
+     * @param requiredCapacity The amount of slots to check
+     * @return true if the space is available, false otherwise
+     */
+    public boolean hasAvailableCapacity(final int requiredCapacity)
+    {
+        return sequencer.hasAvailableCapacity(requiredCapacity);
+    }
+
+    /**
+     * Get the remaining capacity for this ring buffer.
+     *
+     * @return The number of slots remaining.
+     */
+    public long remainingCapacity()
+    {
+        return sequencer.remainingCapacity();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LongRingBuffer{" +
+            "bufferSize=" + bufferSize +
+            ", sequencer=" + sequencer +
+            '}';
+    }
+}
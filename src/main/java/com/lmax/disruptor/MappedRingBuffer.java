@@ -0,0 +1,255 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link OffHeapRingBuffer} whose slots, cursor and consumer sequences live in a memory-mapped file, allowing a
+ * producer and its consumers to run in separate processes on the same machine.
+ *
+ * <p>The file is laid out as a header, the cursor, a fixed number of consumer sequences and then the slots.  Each
+ * sequence has a 128 byte block to itself, and the slots start on a 128 byte boundary, so the padding that keeps
+ * {@link Sequence} free of false sharing is preserved in the mapped layout.
+ *
+ * <p>One process {@link #create(Path, int, int, int, WaitStrategy) creates} the file and others
+ * {@link #open(Path, WaitStrategy) open} it.  Exactly one mapping publishes, through {@link #getRingBuffer()}, for
+ * as long as it is open.  Claims are made by a {@link SingleProducerSequencer}, which reads the mapped cursor once,
+ * when the mapping is opened, and from then on claims from its own copy, so if another mapping were to publish as
+ * well each would overwrite the other's events.  Publishing can only move to another process once the publishing
+ * mapping has been {@link #close() closed}, the next mapping opened then resumes from the mapped cursor.  The
+ * producer is gated on every consumer sequence in the file.  A consumer takes one of the consumer sequences,
+ * by index, and reads through {@link #newPoller(int, Sequence...)} or a {@link SequenceBarrier}, recording its
+ * progress in that sequence.
+ *
+ * <p>Waiting is done within a process, so only wait strategies that do not rely on being signalled, such as
+ * {@link BusySpinWaitStrategy}, {@link YieldingWaitStrategy} or {@link SleepingWaitStrategy}, will see events
+ * published by another process promptly.
+ */
+public final class MappedRingBuffer implements AutoCloseable
+{
+    private static final int MAGIC = 0x4C4D5852;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int BUFFER_SIZE_OFFSET = 8;
+    private static final int SLOT_SIZE_OFFSET = 12;
+    private static final int CONSUMER_COUNT_OFFSET = 16;
+    private static final int BLOCK_SIZE = 128;
+    private static final int CURSOR_OFFSET = BLOCK_SIZE;
+    private static final int CONSUMERS_OFFSET = CURSOR_OFFSET + BLOCK_SIZE;
+
+    private final MappedByteBuffer mapped;
+    private final OffHeapRingBuffer ringBuffer;
+    private final SingleProducerSequencer sequencer;
+    private final Sequence cursor;
+    private final Sequence[] consumerSequences;
+
+    private MappedRingBuffer(final MappedByteBuffer mapped, final WaitStrategy waitStrategy)
+    {
+        this.mapped = mapped;
+        final int bufferSize = mapped.getInt(BUFFER_SIZE_OFFSET);
+        final int slotSize = mapped.getInt(SLOT_SIZE_OFFSET);
+        final int consumerCount = mapped.getInt(CONSUMER_COUNT_OFFSET);
+
+        this.cursor = new MappedSequence(mapped, CURSOR_OFFSET);
+        this.consumerSequences = new Sequence[consumerCount];
+        for (int i = 0; i < consumerCount; i++)
+        {
+            consumerSequences[i] = new MappedSequence(mapped, CONSUMERS_OFFSET + i * BLOCK_SIZE);
+        }
+
+        this.sequencer = new SingleProducerSequencer(bufferSize, waitStrategy, new SleepingProducerWaitStrategy(), cursor);
+        // The mapped consumer sequences record how far each consumer has read, so gate on them where they are
+        // rather than moving them to the cursor as addGatingSequences would, which would skip their unread events.
+        this.sequencer.addInitialGatingSequences(consumerSequences);
+
+        final int slotsOffset = slotsOffset(consumerCount);
+        final ByteBuffer slots = mapped.duplicate().position(slotsOffset).limit(slotsOffset + bufferSize * slotSize).slice();
+        this.ringBuffer = new OffHeapRingBuffer(sequencer, slotSize, slots);
+    }
+
+    /**
+     * Create a mapped ring buffer file.  The file must not exist or must be empty, so that a ring buffer that may
+     * still be in use by another process is never wiped.
+     *
+     * @param file          to map.
+     * @param bufferSize    number of slots in the ring buffer, must be a power of 2.
+     * @param slotSize      size of each slot in bytes.
+     * @param consumerCount number of consumer sequences that gate the producer.
+     * @param waitStrategy  used to determine how to wait for new events to become available.
+     * @return a ring buffer over the newly created file.
+     * @throws IOException              if the file cannot be created or mapped, or is not empty.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, if slotSize or consumerCount
+     *                                  is less than 1 or if the file would be too large to map
+     */
+    public static MappedRingBuffer create(
+        final Path file,
+        final int bufferSize,
+        final int slotSize,
+        final int consumerCount,
+        final WaitStrategy waitStrategy) throws IOException
+    {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1)
+        {
+            throw new IllegalArgumentException("bufferSize must be a power of 2");
+        }
+        if (slotSize < 1 || consumerCount < 1)
+        {
+            throw new IllegalArgumentException("slotSize and consumerCount must not be less than 1");
+        }
+
+        final long length = CONSUMERS_OFFSET + (long) consumerCount * BLOCK_SIZE + (long) bufferSize * slotSize;
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Cannot map " + bufferSize + " slots of " + slotSize + " bytes");
+        }
+
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            if (channel.size() != 0)
+            {
+                throw new FileAlreadyExistsException(file.toString(), null, "file is not empty");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+        mapped.order(ByteOrder.nativeOrder());
+
+        mapped.putInt(VERSION_OFFSET, VERSION);
+        mapped.putInt(BUFFER_SIZE_OFFSET, bufferSize);
+        mapped.putInt(SLOT_SIZE_OFFSET, slotSize);
+        mapped.putInt(CONSUMER_COUNT_OFFSET, consumerCount);
+        mapped.putLong(CURSOR_OFFSET, Sequencer.INITIAL_CURSOR_VALUE);
+        for (int i = 0; i < consumerCount; i++)
+        {
+            mapped.putLong(CONSUMERS_OFFSET + i * BLOCK_SIZE, Sequencer.INITIAL_CURSOR_VALUE);
+        }
+        VarHandle.releaseFence();
+        mapped.putInt(MAGIC_OFFSET, MAGIC);
+
+        return new MappedRingBuffer(mapped, waitStrategy);
+    }
+
+    /**
+     * Attach to an existing mapped ring buffer file.
+     *
+     * @param file         to map.
+     * @param waitStrategy used to determine how to wait for new events to become available.
+     * @return a ring buffer over the existing file.
+     * @throws IOException              if the file cannot be opened or mapped.
+     * @throws IllegalArgumentException if the file was not created by {@link #create(Path, int, int, int, WaitStrategy)}
+     */
+    public static MappedRingBuffer open(final Path file, final WaitStrategy waitStrategy) throws IOException
+    {
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            if (channel.size() < CONSUMERS_OFFSET)
+            {
+                throw new IllegalArgumentException(file + " is not a mapped ring buffer");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        mapped.order(ByteOrder.nativeOrder());
+
+        if (mapped.getInt(MAGIC_OFFSET) != MAGIC || mapped.getInt(VERSION_OFFSET) != VERSION)
+        {
+            throw new IllegalArgumentException(file + " is not a mapped ring buffer");
+        }
+        VarHandle.acquireFence();
+
+        return new MappedRingBuffer(mapped, waitStrategy);
+    }
+
+    /**
+     * The ring buffer over the mapped slots, used to publish events or to read them from a {@link SequenceBarrier}.
+     *
+     * @return the mapped ring buffer
+     */
+    public OffHeapRingBuffer getRingBuffer()
+    {
+        return ringBuffer;
+    }
+
+    /**
+     * Get the mapped sequence a consumer records its progress in.
+     *
+     * @param index of the consumer.
+     * @return the sequence of the consumer.
+     */
+    public Sequence getConsumerSequence(final int index)
+    {
+        return consumerSequences[index];
+    }
+
+    /**
+     * The number of consumer sequences in the file.
+     *
+     * @return number of consumers
+     */
+    public int getConsumerCount()
+    {
+        return consumerSequences.length;
+    }
+
+    /**
+     * Creates an event poller for a consumer that records its progress in its mapped sequence.
+     *
+     * @param index           of the consumer.
+     * @param gatingSequences to be gated on, in addition to the cursor.
+     * @return A poller that will gate on this ring buffer and the supplied sequences.
+     */
+    public EventPoller<ByteBuffer> newPoller(final int index, final Sequence... gatingSequences)
+    {
+        return EventPoller.newInstance(ringBuffer.newView(), sequencer, consumerSequences[index], cursor, gatingSequences);
+    }
+
+    /**
+     * Force the mapping to the file, so that the events and sequences written through it survive a crash of the
+     * machine.  The ring buffer, its consumer sequences and any poller or barrier created from it must not be used
+     * once it is closed, so every producer and consumer in this process must have stopped first.  The mapping itself
+     * is released once the closed ring buffer is garbage collected.  The file and the other processes' mappings of
+     * it are unaffected.
+     */
+    @Override
+    public void close()
+    {
+        mapped.force();
+    }
+
+    private static int slotsOffset(final int consumerCount)
+    {
+        return CONSUMERS_OFFSET + consumerCount * BLOCK_SIZE;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MappedRingBuffer{" +
+            "ringBuffer=" + ringBuffer +
+            '}';
+    }
+}
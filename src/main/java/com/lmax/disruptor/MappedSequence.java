@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link Sequence} whose value is held at an 8 byte aligned offset of a direct {@link ByteBuffer}, typically
+ * a region of a memory-mapped file shared between processes.  Accesses have the same memory ordering
+ * as those of {@link Sequence}.
+ */
+final class MappedSequence extends Sequence
+{
+    private static final VarHandle VALUE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer buffer;
+    private final int offset;
+
+    MappedSequence(final ByteBuffer buffer, final int offset)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    @Override
+    public long get()
+    {
+        return (long) VALUE.getAcquire(buffer, offset);
+    }
+
+    @Override
+    public void set(final long value)
+    {
+        VALUE.setRelease(buffer, offset, value);
+    }
+
+    @Override
+    public void setVolatile(final long value)
+    {
+        VALUE.setVolatile(buffer, offset, value);
+    }
+
+    @Override
+    public boolean compareAndSet(final long expectedValue, final long newValue)
+    {
+        return VALUE.compareAndSet(buffer, offset, expectedValue, newValue);
+    }
+
+    @Override
+    public long incrementAndGet()
+    {
+        return addAndGet(1);
+    }
+
+    @Override
+    public long addAndGet(final long increment)
+    {
+        return getAndAdd(increment) + increment;
+    }
+
+    @Override
+    public long getAndAdd(final long increment)
+    {
+        return (long) VALUE.getAndAdd(buffer, offset, increment);
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Math.min;
+
+/**
+ * Consumes the events of several {@link RingBuffer}s on a single thread, delegating the events of each ring buffer
+ * to its own {@link EventHandler}.  The ring buffers may hold different types of event.
+ *
+ * <p>This lets many producers fan in to one consumer through single producer ring buffers, one per producer,
+ * rather than contending on the claim of a multi producer ring buffer.  Each ring buffer is visited in turn, taking
+ * at most its weight multiplied by the maximum batch size of the available events on each visit, so that a busy
+ * ring buffer cannot starve the others.  Each ring buffer has its own {@link Sequence}, see
+ * {@link #getSequences()}, which should be added to the gating sequences of that ring buffer.</p>
+ *
+ * <p>When none of the ring buffers have any events available the processor waits using the {@link WaitStrategy} it
+ * was built with.  That wait strategy must be the one that all of the ring buffers were created with, so that
+ * publishing to any of them wakes the processor.</p>
+ *
+ * <p>As there is no single sequence for the processor it is not an {@link EventProcessor}, and it is run on a thread
+ * of its own rather than through the {@link com.lmax.disruptor.dsl.Disruptor}.</p>
+ *
+ * @see MultiBufferEventProcessorBuilder
+ */
+public final class MultiBufferEventProcessor
+    implements Runnable
+{
+    private static final int IDLE = 0;
+    private static final int HALTED = IDLE + 1;
+    private static final int RUNNING = HALTED + 1;
+
+    private final AtomicInteger running = new AtomicInteger(IDLE);
+    private final Source<?>[] sources;
+    private final Sequence[] sequences;
+    private final WaitStrategy waitStrategy;
+    private final Sequence publishedSum;
+    private ExceptionHandler<Object> exceptionHandler;
+
+    MultiBufferEventProcessor(final List<Source<?>> sources, final WaitStrategy waitStrategy)
+    {
+        this.sources = sources.toArray(new Source<?>[0]);
+        this.sequences = new Sequence[this.sources.length];
+        for (int i = 0; i < sequences.length; i++)
+        {
+            sequences[i] = this.sources[i].sequence;
+        }
+        this.waitStrategy = waitStrategy;
+        this.publishedSum = new ReadOnlySequence(this::publishedSum);
+    }
+
+    /**
+     * Get the sequences of the ring buffers, in the order that they were added to the builder.
+     *
+     * @return the sequence of each ring buffer.
+     */
+    public Sequence[] getSequences()
+    {
+        return sequences.clone();
+    }
+
+    /**
+     * Signal that this processor should stop when it has finished consuming at the next clean break.
+     * It will call {@link SequenceBarrier#alert()} to notify the thread to check status.
+     */
+    public void halt()
+    {
+        running.set(HALTED);
+        for (Source<?> source : sources)
+        {
+            source.barrier.alert();
+        }
+    }
+
+    /**
+     * @return whether this processor is running or has been halted but has not yet stopped.
+     */
+    public boolean isRunning()
+    {
+        return running.get() != IDLE;
+    }
+
+    /**
+     * Set a new {@link ExceptionHandler} for handling exceptions propagated out of the event handlers.
+     *
+     * @param exceptionHandler to replace the existing exceptionHandler.
+     */
+    public void setExceptionHandler(final ExceptionHandler<Object> exceptionHandler)
+    {
+        if (null == exceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * It is ok to have another thread rerun this method after a halt().  The processor also stops if its thread is
+     * interrupted while waiting for events.
+     *
+     * @throws IllegalStateException if this object instance is already running in a thread
+     */
+    @Override
+    public void run()
+    {
+        int witnessValue = running.compareAndExchange(IDLE, RUNNING);
+        if (witnessValue == IDLE)
+        {
+            for (Source<?> source : sources)
+            {
+                source.barrier.clearAlert();
+            }
+
+            notifyStart();
+            try
+            {
+                if (running.get() == RUNNING)
+                {
+                    processEvents();
+                }
+            }
+            finally
+            {
+                notifyShutdown();
+                running.set(IDLE);
+            }
+        }
+        else if (witnessValue == RUNNING)
+        {
+            throw new IllegalStateException("Thread is already running");
+        }
+        else
+        {
+            notifyStart();
+            notifyShutdown();
+        }
+    }
+
+    private void processEvents()
+    {
+        final SequenceBarrier barrier = sources[0].barrier;
+
+        while (true)
+        {
+            try
+            {
+                barrier.checkAlert();
+
+                long processed = 0;
+                for (Source<?> source : sources)
+                {
+                    processed += source.processEvents(getExceptionHandler());
+                }
+
+                if (0 == processed)
+                {
+                    waitStrategy.waitFor(consumedSum() + 1, publishedSum, publishedSum, barrier);
+                }
+            }
+            catch (final TimeoutException e)
+            {
+                notifyTimeout();
+            }
+            catch (final AlertException ex)
+            {
+                if (running.get() != RUNNING)
+                {
+                    break;
+                }
+            }
+            catch (final InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private long consumedSum()
+    {
+        long sum = 0;
+        for (Sequence sequence : sequences)
+        {
+            sum += sequence.get();
+        }
+        return sum;
+    }
+
+    /**
+     * The sum, over the ring buffers, of the highest sequence that has been published without gaps after the sequence
+     * of the processor for that ring buffer.  This passes the sum of the sequences of the processor once any of the
+     * ring buffers has an event to process, which lets a {@link WaitStrategy} wait for all of the ring buffers at
+     * once.  Slots that have been claimed but not yet published on a multi producer ring buffer do not count, so the
+     * processor keeps waiting rather than spinning until they are published.
+     */
+    private long publishedSum()
+    {
+        long sum = 0;
+        for (Source<?> source : sources)
+        {
+            final Sequencer sequencer = source.ringBuffer.sequencer;
+            sum += sequencer.getHighestPublishedSequence(source.sequence.get() + 1L, sequencer.getCursor());
+        }
+        return sum;
+    }
+
+    private void notifyTimeout()
+    {
+        for (Source<?> source : sources)
+        {
+            final long sequence = source.sequence.get();
+            try
+            {
+                source.eventHandler.onTimeout(sequence);
+            }
+            catch (final Throwable e)
+            {
+                getExceptionHandler().handleEventException(e, sequence, null);
+            }
+        }
+    }
+
+    private void notifyStart()
+    {
+        for (Source<?> source : sources)
+        {
+            try
+            {
+                source.eventHandler.onStart();
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleOnStartException(ex);
+            }
+        }
+    }
+
+    private void notifyShutdown()
+    {
+        for (Source<?> source : sources)
+        {
+            try
+            {
+                source.eventHandler.onShutdown();
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleOnShutdownException(ex);
+            }
+        }
+    }
+
+    private ExceptionHandler<Object> getExceptionHandler()
+    {
+        ExceptionHandler<Object> handler = exceptionHandler;
+        return handler == null ? ExceptionHandlers.defaultHandler() : handler;
+    }
+
+    /**
+     * A ring buffer, the handler for its events and the progress through them.
+     *
+     * @param <T> the type of event in the ring buffer.
+     */
+    static final class Source<T>
+    {
+        private final RingBuffer<T> ringBuffer;
+        private final SequenceBarrier barrier;
+        private final EventHandler<? super T> eventHandler;
+        private final long batchLimitOffset;
+        private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+
+        Source(final RingBuffer<T> ringBuffer, final EventHandler<? super T> eventHandler, final long batchLimit)
+        {
+            this.ringBuffer = ringBuffer;
+            this.barrier = ringBuffer.newBarrier();
+            this.eventHandler = eventHandler;
+            this.batchLimitOffset = batchLimit - 1;
+            eventHandler.setSequenceCallback(sequence);
+        }
+
+        long processEvents(final ExceptionHandler<Object> exceptionHandler)
+        {
+            long nextSequence = sequence.get() + 1L;
+            final long cursor = ringBuffer.getCursor();
+            final long availableSequence = min(
+                ringBuffer.sequencer.getHighestPublishedSequence(nextSequence, cursor), nextSequence + batchLimitOffset);
+
+            final long batchSize = availableSequence - nextSequence + 1L;
+            if (batchSize <= 0)
+            {
+                return 0;
+            }
+
+            try
+            {
+                eventHandler.onBatchStart(batchSize, cursor - nextSequence + 1L);
+            }
+            catch (final Throwable ex)
+            {
+                // As with BatchEventProcessor, the event the batch failed to start on is skipped
+                exceptionHandler.handleEventException(ex, nextSequence, ringBuffer.get(nextSequence));
+                nextSequence++;
+            }
+
+            while (nextSequence <= availableSequence)
+            {
+                final T event = ringBuffer.get(nextSequence);
+                try
+                {
+                    eventHandler.onEvent(event, nextSequence, nextSequence == availableSequence);
+                }
+                catch (final Throwable ex)
+                {
+                    exceptionHandler.handleEventException(ex, nextSequence, event);
+                }
+                nextSequence++;
+            }
+
+            sequence.set(availableSequence);
+            barrier.signalProducers();
+
+            return batchSize;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Builds a {@link MultiBufferEventProcessor} over the ring buffers added to it.
+ */
+public final class MultiBufferEventProcessorBuilder
+{
+    private final List<Supplier<MultiBufferEventProcessor.Source<?>>> sources = new ArrayList<>();
+    private int maxBatchSize = Integer.MAX_VALUE;
+
+    /**
+     * Set the maximum number of events that will be processed from a ring buffer of weight 1 before moving on to the
+     * next ring buffer.  This applies to ring buffers added after it is set.
+     *
+     * @param maxBatchSize max number of events to process in one batch.
+     * @return The builder
+     * @throws IllegalArgumentException if maxBatchSize is less than 1
+     */
+    public MultiBufferEventProcessorBuilder setMaxBatchSize(final int maxBatchSize)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+        }
+
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Add a ring buffer with a weight of 1, so that it gets the same share of the processor as the other ring
+     * buffers of weight 1.
+     *
+     * @param ringBuffer   from which events are consumed.
+     * @param eventHandler is the delegate to which the events of the ring buffer are dispatched.
+     * @param <T>          event implementation storing the data for sharing during exchange or parallel coordination of an event.
+     * @return The builder
+     */
+    public <T> MultiBufferEventProcessorBuilder add(final RingBuffer<T> ringBuffer, final EventHandler<? super T> eventHandler)
+    {
+        return add(ringBuffer, eventHandler, 1);
+    }
+
+    /**
+     * Add a ring buffer that may process up to <code>weight</code> times the maximum batch size of events on each
+     * visit, giving it a larger share of the processor when it is busy.
+     *
+     * @param ringBuffer   from which events are consumed.
+     * @param eventHandler is the delegate to which the events of the ring buffer are dispatched.
+     * @param weight       of the ring buffer relative to the others.
+     * @param <T>          event implementation storing the data for sharing during exchange or parallel coordination of an event.
+     * @return The builder
+     * @throws IllegalArgumentException if weight is less than 1
+     */
+    public <T> MultiBufferEventProcessorBuilder add(
+            final RingBuffer<T> ringBuffer,
+            final EventHandler<? super T> eventHandler,
+            final int weight)
+    {
+        if (weight < 1)
+        {
+            throw new IllegalArgumentException("weight must be greater than 0");
+        }
+
+        final long batchLimit = Math.min((long) maxBatchSize * weight, Integer.MAX_VALUE);
+        sources.add(() -> new MultiBufferEventProcessor.Source<>(ringBuffer, eventHandler, batchLimit));
+        return this;
+    }
+
+    /**
+     * Construct a {@link MultiBufferEventProcessor} over the ring buffers that have been added.
+     *
+     * @param waitStrategy that every one of the ring buffers was created with, used to wait when none of them have
+     *                     events available.
+     * @return the MultiBufferEventProcessor
+     * @throws IllegalStateException if no ring buffers have been added
+     */
+    public MultiBufferEventProcessor build(final WaitStrategy waitStrategy)
+    {
+        if (sources.isEmpty())
+        {
+            throw new IllegalStateException("At least one ring buffer must be added");
+        }
+
+        final List<MultiBufferEventProcessor.Source<?>> built = new ArrayList<>(sources.size());
+        sources.forEach(source -> built.add(source.get()));
+        return new MultiBufferEventProcessor(built, waitStrategy);
+    }
+}
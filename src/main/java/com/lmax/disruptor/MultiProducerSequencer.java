@@ -20,7 +20,6 @@ import com.lmax.disruptor.util.Util;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.Arrays;
-import java.util.concurrent.locks.LockSupport;
 
 
 /**
@@ -51,7 +50,38 @@ public final class MultiProducerSequencer extends AbstractSequencer
      */
     public MultiProducerSequencer(final int bufferSize, final WaitStrategy waitStrategy)
     {
-        super(bufferSize, waitStrategy);
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct a Sequencer with the selected wait strategies and buffer size.
+     *
+     * @param bufferSize           the size of the buffer that this will sequence over.
+     * @param waitStrategy         for those waiting on sequences.
+     * @param producerWaitStrategy for publishers waiting on a full buffer.
+     */
+    public MultiProducerSequencer(final int bufferSize, final WaitStrategy waitStrategy, final ProducerWaitStrategy producerWaitStrategy)
+    {
+        this(bufferSize, waitStrategy, producerWaitStrategy, Sequencer.INITIAL_CURSOR_VALUE);
+    }
+
+    /**
+     * Construct a Sequencer that starts from the given cursor, as if every sequence up to and including it had
+     * already been published.  Event processors gating the sequencer start from the same sequence.
+     *
+     * @param bufferSize           the size of the buffer that this will sequence over.
+     * @param waitStrategy         for those waiting on sequences.
+     * @param producerWaitStrategy for publishers waiting on a full buffer.
+     * @param initialCursor        the sequence to start from, the next sequence claimed is one higher.
+     * @throws IllegalArgumentException if initialCursor is less than {@link Sequencer#INITIAL_CURSOR_VALUE}
+     */
+    public MultiProducerSequencer(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final long initialCursor)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy, initialCursor(initialCursor));
         availableBuffer = new int[bufferSize];
         Arrays.fill(availableBuffer, -1);
 
@@ -124,10 +154,10 @@ public final class MultiProducerSequencer extends AbstractSequencer
 
         if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current)
         {
-            long gatingSequence;
-            while (wrapPoint > (gatingSequence = Util.getMinimumSequence(gatingSequences, current)))
+            long gatingSequence = Util.getMinimumSequence(gatingSequences, current);
+            if (wrapPoint > gatingSequence)
             {
-                LockSupport.parkNanos(1L); // TODO, should we spin based on the wait strategy?
+                gatingSequence = Math.min(waitForCapacity(wrapPoint, nextSequence), current);
             }
 
             gatingSequenceCache.set(gatingSequence);
@@ -201,9 +231,9 @@ public final class MultiProducerSequencer extends AbstractSequencer
     @Override
     public void publish(final long lo, final long hi)
     {
-        for (long l = lo; l <= hi; l++)
+        if (lo <= hi)
         {
-            setAvailable(l);
+            setAvailableRange(lo, hi);
         }
         waitStrategy.signalAllWhenBlocking();
     }
@@ -237,6 +267,31 @@ public final class MultiProducerSequencer extends AbstractSequencer
         AVAILABLE_ARRAY.setRelease(availableBuffer, index, flag);
     }
 
+    /**
+     * Marks a contiguous range as available with one release fence rather than a release store per slot.
+     *
+     * <p>A range is never longer than the buffer, so it covers at most two runs of slots, each with the same
+     * availability flag: the remainder of the current lap, and the start of the next one.  The slots within a
+     * range may become visible in any order, which is fine as readers only ever report the available prefix.
+     */
+    private void setAvailableRange(final long lo, final long hi)
+    {
+        final int loIndex = calculateIndex(lo);
+        final int hiIndex = calculateIndex(hi);
+        final int loFlag = calculateAvailabilityFlag(lo);
+
+        VarHandle.releaseFence();
+        if (loIndex <= hiIndex)
+        {
+            Arrays.fill(availableBuffer, loIndex, hiIndex + 1, loFlag);
+        }
+        else
+        {
+            Arrays.fill(availableBuffer, loIndex, bufferSize, loFlag);
+            Arrays.fill(availableBuffer, 0, hiIndex + 1, calculateAvailabilityFlag(hi));
+        }
+    }
+
     /**
      * @see Sequencer#isAvailable(long)
      */
@@ -248,18 +303,26 @@ public final class MultiProducerSequencer extends AbstractSequencer
         return (int) AVAILABLE_ARRAY.getAcquire(availableBuffer, index) == flag;
     }
 
+    /**
+     * Scans the range with plain reads of the availability flags, followed by a single acquire fence
+     * before the caller goes on to read the events.
+     *
+     * @see Sequencer#getHighestPublishedSequence(long, long)
+     */
     @Override
     public long getHighestPublishedSequence(final long lowerBound, final long availableSequence)
     {
-        for (long sequence = lowerBound; sequence <= availableSequence; sequence++)
+        final int[] availableBuffer = this.availableBuffer;
+        long sequence = lowerBound;
+        while (sequence <= availableSequence &&
+            availableBuffer[calculateIndex(sequence)] == calculateAvailabilityFlag(sequence))
         {
-            if (!isAvailable(sequence))
-            {
-                return sequence - 1;
-            }
+            sequence++;
         }
 
-        return availableSequence;
+        VarHandle.acquireFence();
+
+        return sequence - 1;
     }
 
     private int calculateAvailabilityFlag(final long sequence)
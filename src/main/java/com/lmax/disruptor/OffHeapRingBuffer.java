@@ -0,0 +1,384 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Ring based store of fixed size binary events held in a single contiguous block of direct memory.
+ *
+ * <p>Unlike {@link RingBuffer} there is no preallocated event object per slot.  Each slot is a region of
+ * {@link #getSlotSize()} bytes and is handed out through a flyweight {@link ByteBuffer} view whose
+ * position and limit bound the slot for the requested sequence.  Each event processor reads through its own
+ * view from {@link #newView()}, while producers and other callers of {@link #get(long)} share a view per thread.
+ * Views are reused for every event, so handlers must not hold on to the returned buffer beyond the call to
+ * {@link EventHandler#onEvent(Object, long, boolean)}.  Views use the native byte order.
+ *
+ * <p>The memory region is aligned to a cache line, so slots whose size is a multiple of 64 bytes never
+ * share a cache line with their neighbours.
+ *
+ * <p>The ring buffer can be consumed by a {@link BatchEventProcessor} (see {@link BatchEventProcessorBuilder}), built
+ * over a {@link #newView()}, or an {@link EventPoller} in the same way as a {@link RingBuffer}.  It is for standalone use only, the
+ * {@link com.lmax.disruptor.dsl.Disruptor} DSL is built on {@link RingBuffer} and cannot wire up an off heap ring
+ * buffer, so its event processors must be created, gated and started directly.
+ */
+public final class OffHeapRingBuffer implements Cursored, EventSequencer<ByteBuffer>
+{
+    /**
+     * Alignment, in bytes, of the start of the memory region.
+     */
+    public static final int ALIGNMENT = 64;
+
+    private final Sequencer sequencer;
+    private final ByteBuffer buffer;
+    private final int slotSize;
+    private final int indexMask;
+    private final ThreadLocal<ByteBuffer> views;
+
+    OffHeapRingBuffer(final Sequencer sequencer, final int slotSize)
+    {
+        this(sequencer, slotSize, allocate(sequencer.getBufferSize(), slotSize));
+    }
+
+    OffHeapRingBuffer(final Sequencer sequencer, final int slotSize, final ByteBuffer buffer)
+    {
+        if (slotSize < 1)
+        {
+            throw new IllegalArgumentException("slotSize must not be less than 1");
+        }
+        if (!buffer.isDirect())
+        {
+            throw new IllegalArgumentException("buffer must be a direct buffer");
+        }
+        if (buffer.capacity() < (long) sequencer.getBufferSize() * slotSize)
+        {
+            throw new IllegalArgumentException(
+                "buffer capacity " + buffer.capacity() + " is too small for " + sequencer.getBufferSize() + " slots of " + slotSize + " bytes");
+        }
+
+        this.sequencer = sequencer;
+        this.slotSize = slotSize;
+        this.indexMask = sequencer.getBufferSize() - 1;
+        this.buffer = buffer;
+        this.views = ThreadLocal.withInitial(this::newFlyweight);
+    }
+
+    /**
+     * Create a new single producer OffHeapRingBuffer with the specified wait strategy.
+     *
+     * @param bufferSize   number of slots in the ring buffer, must be a power of 2.
+     * @param slotSize     size of each slot in bytes.
+     * @param waitStrategy used to determine how to wait for new events to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, if slotSize is less than 1
+     *                                  or if the total size is larger than can be held in a single {@link ByteBuffer}
+     * @see SingleProducerSequencer
+     */
+    public static OffHeapRingBuffer createSingleProducer(final int bufferSize, final int slotSize, final WaitStrategy waitStrategy)
+    {
+        return new OffHeapRingBuffer(new SingleProducerSequencer(bufferSize, waitStrategy), slotSize);
+    }
+
+    /**
+     * Create a new multiple producer OffHeapRingBuffer with the specified wait strategy.
+     *
+     * @param bufferSize   number of slots in the ring buffer, must be a power of 2.
+     * @param slotSize     size of each slot in bytes.
+     * @param waitStrategy used to determine how to wait for new events to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, if slotSize is less than 1
+     *                                  or if the total size is larger than can be held in a single {@link ByteBuffer}
+     * @see MultiProducerSequencer
+     */
+    public static OffHeapRingBuffer createMultiProducer(final int bufferSize, final int slotSize, final WaitStrategy waitStrategy)
+    {
+        return new OffHeapRingBuffer(new MultiProducerSequencer(bufferSize, waitStrategy), slotSize);
+    }
+
+    /**
+     * Create a new OffHeapRingBuffer with the specified producer type (SINGLE or MULTI).
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize   number of slots in the ring buffer, must be a power of 2.
+     * @param slotSize     size of each slot in bytes.
+     * @param waitStrategy used to determine how to wait for new events to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, if slotSize is less than 1
+     *                                  or if the total size is larger than can be held in a single {@link ByteBuffer}
+     */
+    public static OffHeapRingBuffer create(
+        final ProducerType producerType,
+        final int bufferSize,
+        final int slotSize,
+        final WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return createSingleProducer(bufferSize, slotSize, waitStrategy);
+            case MULTI:
+                return createMultiProducer(bufferSize, slotSize, waitStrategy);
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    private static ByteBuffer allocate(final int bufferSize, final int slotSize)
+    {
+        final long size = (long) bufferSize * slotSize;
+        if (slotSize < 1 || size > Integer.MAX_VALUE - 2 * ALIGNMENT)
+        {
+            throw new IllegalArgumentException("Cannot allocate " + bufferSize + " slots of " + slotSize + " bytes");
+        }
+
+        // alignedSlice rounds the limit down as well as the start up, so pad to whole cache lines before slicing
+        final int alignedSize = (int) (size + ALIGNMENT - 1) & -ALIGNMENT;
+        final ByteBuffer aligned = ByteBuffer.allocateDirect(alignedSize + ALIGNMENT).alignedSlice(ALIGNMENT);
+        aligned.limit((int) size);
+
+        return aligned.slice();
+    }
+
+    private ByteBuffer newFlyweight()
+    {
+        return buffer.duplicate().order(ByteOrder.nativeOrder());
+    }
+
+    private ByteBuffer position(final ByteBuffer view, final long sequence)
+    {
+        final int position = ((int) sequence & indexMask) * slotSize;
+        view.limit(position + slotSize).position(position);
+
+        return view;
+    }
+
+    /**
+     * Get the view of the slot for a given sequence.  The returned buffer is the calling thread's flyweight,
+     * its position is the first byte of the slot and its limit is one past the last byte.  Absolute accessors
+     * must be offset from {@link ByteBuffer#position()}.
+     *
+     * @param sequence for the slot
+     * @return the calling thread's view positioned over the slot for the given sequence
+     */
+    @Override
+    public ByteBuffer get(final long sequence)
+    {
+        return position(views.get(), sequence);
+    }
+
+    /**
+     * Create a data provider with its own flyweight view of the slots, for use by a single event processor.
+     * Reading through it avoids looking up the calling thread's view for every event.
+     *
+     * @return a data provider whose view is positioned over the slot for each requested sequence
+     */
+    public DataProvider<ByteBuffer> newView()
+    {
+        final ByteBuffer view = newFlyweight();
+        return sequence -> position(view, sequence);
+    }
+
+    /**
+     * Claim the next slot, copy the given bytes into it and publish it.
+     *
+     * @param data to be copied into the slot, may be shorter than the slot.
+     * @throws IllegalArgumentException if data is longer than the slot size.
+     */
+    public void put(final byte[] data)
+    {
+        if (data.length > slotSize)
+        {
+            throw new IllegalArgumentException("data length " + data.length + " exceeds slot size " + slotSize);
+        }
+
+        final long sequence = sequencer.next();
+        try
+        {
+            get(sequence).put(data);
+        }
+        finally
+        {
+            sequencer.publish(sequence);
+        }
+    }
+
+    /**
+     * Publishes an event to the ring buffer.  It handles claiming the next sequence, passing the slot's view
+     * to the translator and then publishing the sequence after translation.
+     *
+     * @param translator The user specified translation for the event
+     */
+    public void publishEvent(final EventTranslator<ByteBuffer> translator)
+    {
+        final long sequence = sequencer.next();
+        try
+        {
+            translator.translateTo(get(sequence), sequence);
+        }
+        finally
+        {
+            sequencer.publish(sequence);
+        }
+    }
+
+    /**
+     * Allows one user supplied argument.
+     *
+     * @param <A>        Class of the user supplied argument
+     * @param translator The user specified translation for the event
+     * @param arg0       A user supplied argument.
+     * @see #publishEvent(EventTranslator)
+     */
+    public <A> void publishEvent(final EventTranslatorOneArg<ByteBuffer, A> translator, final A arg0)
+    {
+        final long sequence = sequencer.next();
+        try
+        {
+            translator.translateTo(get(sequence), sequence, arg0);
+        }
+        finally
+        {
+            sequencer.publish(sequence);
+        }
+    }
+
+    /**
+     * Add the specified gating sequences to this instance of the ring buffer.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        sequencer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * Remove the specified sequence from this ring buffer.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return sequencer.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Create a new SequenceBarrier to be used by an EventProcessor to track which events
+     * are available to be read from the ring buffer given a list of sequences to track.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     * @see SequenceBarrier
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return sequencer.newBarrier(sequencesToTrack);
+    }
+
+    /**
+     * Creates an event poller for this ring buffer gated on the supplied sequences.
+     *
+     * @param gatingSequences to be gated on.
+     * @return A poller that will gate on this ring buffer and the supplied sequences.
+     */
+    public EventPoller<ByteBuffer> newPoller(final Sequence... gatingSequences)
+    {
+        return sequencer.newPoller(newView(), gatingSequences);
+    }
+
+    /**
+     * The size of each slot in bytes.
+     *
+     * @return size of a slot
+     */
+    public int getSlotSize()
+    {
+        return slotSize;
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return sequencer.getCursor();
+    }
+
+    @Override
+    public int getBufferSize()
+    {
+        return sequencer.getBufferSize();
+    }
+
+    @Override
+    public boolean hasAvailableCapacity(final int requiredCapacity)
+    {
+        return sequencer.hasAvailableCapacity(requiredCapacity);
+    }
+
+    @Override
+    public long remainingCapacity()
+    {
+        return sequencer.remainingCapacity();
+    }
+
+    @Override
+    public long next()
+    {
+        return sequencer.next();
+    }
+
+    @Override
+    public long next(final int n)
+    {
+        return sequencer.next(n);
+    }
+
+    @Override
+    public long tryNext() throws InsufficientCapacityException
+    {
+        return sequencer.tryNext();
+    }
+
+    @Override
+    public long tryNext(final int n) throws InsufficientCapacityException
+    {
+        return sequencer.tryNext(n);
+    }
+
+    @Override
+    public void publish(final long sequence)
+    {
+        sequencer.publish(sequence);
+    }
+
+    @Override
+    public void publish(final long lo, final long hi)
+    {
+        sequencer.publish(lo, hi);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "OffHeapRingBuffer{" +
+            "slotSize=" + slotSize +
+            ", sequencer=" + sequencer +
+            '}';
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Phased wait strategy for producers waiting on a full ring buffer.
+ *
+ * <p>This strategy can be used when short bursts of overload should be absorbed with low latency, without
+ * burning CPU resource when the overload is sustained.  Spins, then yields, then waits using the configured
+ * fallback ProducerWaitStrategy.
+ */
+public final class PhasedBackoffProducerWaitStrategy implements ProducerWaitStrategy
+{
+    private static final int SPIN_TRIES = 10000;
+    private final long spinTimeoutNanos;
+    private final long yieldTimeoutNanos;
+    private final ProducerWaitStrategy fallbackStrategy;
+
+    /**
+     *
+     * @param spinTimeout The maximum time in to busy spin for.
+     * @param yieldTimeout The maximum time in to yield for.
+     * @param units Time units used for the timeout values.
+     * @param fallbackStrategy After spinning + yielding, the strategy to fall back to
+     */
+    public PhasedBackoffProducerWaitStrategy(
+        final long spinTimeout,
+        final long yieldTimeout,
+        final TimeUnit units,
+        final ProducerWaitStrategy fallbackStrategy)
+    {
+        this.spinTimeoutNanos = units.toNanos(spinTimeout);
+        this.yieldTimeoutNanos = spinTimeoutNanos + units.toNanos(yieldTimeout);
+        this.fallbackStrategy = fallbackStrategy;
+    }
+
+    /**
+     * Construct {@link PhasedBackoffProducerWaitStrategy} with fallback to {@link BlockingProducerWaitStrategy}
+     *
+     * @param spinTimeout The maximum time in to busy spin for.
+     * @param yieldTimeout The maximum time in to yield for.
+     * @param units Time units used for the timeout values.
+     * @return The constructed wait strategy.
+     */
+    public static PhasedBackoffProducerWaitStrategy withLock(
+        final long spinTimeout,
+        final long yieldTimeout,
+        final TimeUnit units)
+    {
+        return new PhasedBackoffProducerWaitStrategy(
+            spinTimeout, yieldTimeout,
+            units, new BlockingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct {@link PhasedBackoffProducerWaitStrategy} with fallback to {@link SleepingProducerWaitStrategy}
+     *
+     * @param spinTimeout The maximum time in to busy spin for.
+     * @param yieldTimeout The maximum time in to yield for.
+     * @param units Time units used for the timeout values.
+     * @return The constructed wait strategy.
+     */
+    public static PhasedBackoffProducerWaitStrategy withSleep(
+        final long spinTimeout,
+        final long yieldTimeout,
+        final TimeUnit units)
+    {
+        return new PhasedBackoffProducerWaitStrategy(
+            spinTimeout, yieldTimeout,
+            units, new SleepingProducerWaitStrategy());
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final LongSupplier gatingSequence)
+    {
+        long minSequence;
+        long startTime = 0;
+        int counter = SPIN_TRIES;
+
+        do
+        {
+            if ((minSequence = gatingSequence.getAsLong()) >= wrapPoint)
+            {
+                return minSequence;
+            }
+
+            if (0 == --counter)
+            {
+                if (0 == startTime)
+                {
+                    startTime = System.nanoTime();
+                }
+                else
+                {
+                    long timeDelta = System.nanoTime() - startTime;
+                    if (timeDelta > yieldTimeoutNanos)
+                    {
+                        return fallbackStrategy.waitFor(wrapPoint, gatingSequence);
+                    }
+                    else if (timeDelta > spinTimeoutNanos)
+                    {
+                        Thread.yield();
+                    }
+                }
+                counter = SPIN_TRIES;
+            }
+        }
+        while (true);
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        fallbackStrategy.signalAllWhenBlocking();
+    }
+}
@@ -23,6 +23,7 @@ package com.lmax.disruptor;
 final class ProcessingSequenceBarrier implements SequenceBarrier
 {
     private final WaitStrategy waitStrategy;
+    private final ProducerWaitStrategy producerWaitStrategy;
     private final Sequence dependentSequence;
     private volatile boolean alerted = false;
     private final Sequence cursorSequence;
@@ -31,11 +32,13 @@ final class ProcessingSequenceBarrier implements SequenceBarrier
     ProcessingSequenceBarrier(
         final Sequencer sequencer,
         final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
         final Sequence cursorSequence,
         final Sequence[] dependentSequences)
     {
         this.sequencer = sequencer;
         this.waitStrategy = waitStrategy;
+        this.producerWaitStrategy = producerWaitStrategy;
         this.cursorSequence = cursorSequence;
         if (0 == dependentSequences.length)
         {
@@ -53,8 +56,12 @@ final class ProcessingSequenceBarrier implements SequenceBarrier
     {
         checkAlert();
 
+        final Object consumerWaitEvent = JfrEvents.beginConsumerWait();
+
         long availableSequence = waitStrategy.waitFor(sequence, cursorSequence, dependentSequence, this);
 
+        JfrEvents.commitConsumerWait(consumerWaitEvent, waitStrategy.getClass(), sequence, availableSequence);
+
         if (availableSequence < sequence)
         {
             return availableSequence;
@@ -88,6 +95,12 @@ final class ProcessingSequenceBarrier implements SequenceBarrier
         alerted = false;
     }
 
+    @Override
+    public void signalProducers()
+    {
+        producerWaitStrategy.signalAllWhenBlocking();
+    }
+
     @Override
     public void checkAlert() throws AlertException
     {
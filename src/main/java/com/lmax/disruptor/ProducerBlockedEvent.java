@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for a publisher waiting on its {@link ProducerWaitStrategy} in {@link Sequencer#next(int)} because the
+ * ring buffer is full.
+ */
+@Name("com.lmax.disruptor.ProducerBlocked")
+@Label("Producer Blocked")
+@Category("Disruptor")
+@Description("A publisher waiting for the slowest consumer to free space in a full ring buffer")
+@Threshold("1 ms")
+final class ProducerBlockedEvent extends jdk.jfr.Event
+{
+    @Label("Producer Wait Strategy")
+    Class<?> producerWaitStrategy;
+
+    @Label("Buffer Size")
+    int bufferSize;
+
+    @Label("Claimed Sequence")
+    long sequence;
+}
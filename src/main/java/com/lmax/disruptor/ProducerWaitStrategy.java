@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Strategy employed by a {@link Sequencer} for making publishing threads wait when the ring buffer is full,
+ * i.e. until the slowest gating {@link Sequence} has moved past the wrap point of the claim.
+ *
+ * <p>Consumers notify the strategy through {@link SequenceBarrier#signalProducers()} each time they advance their
+ * sequence, so blocking implementations can park producers until capacity is released.
+ */
+public interface ProducerWaitStrategy
+{
+    /**
+     * Wait for the gating sequence to reach the given wrap point.  Unlike {@link WaitStrategy#waitFor} a producer
+     * has already claimed its sequence by the time it needs to wait, so implementations must not give up early.
+     *
+     * @param wrapPoint      the value the gating sequence must reach before the claimed slots may be overwritten.
+     * @param gatingSequence reads the minimum of the sequences gating the ring buffer.
+     * @return the value of the gating sequence, which will be greater than or equal to the wrap point.
+     */
+    long waitFor(long wrapPoint, LongSupplier gatingSequence);
+
+    /**
+     * Implementations should signal the waiting producers that a gating sequence has advanced.
+     */
+    void signalAllWhenBlocking();
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Presents a value computed from other sequences as a {@link Sequence}, so that it can be waited on by a
+ * {@link WaitStrategy}.  The value can only be read.
+ */
+final class ReadOnlySequence extends Sequence
+{
+    private final LongSupplier value;
+
+    /**
+     * Constructor
+     *
+     * @param value read each time the sequence is read
+     */
+    ReadOnlySequence(final LongSupplier value)
+    {
+        this.value = value;
+    }
+
+    @Override
+    public long get()
+    {
+        return value.getAsLong();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public void set(final long value)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public void setVolatile(final long value)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public boolean compareAndSet(final long expectedValue, final long newValue)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public long incrementAndGet()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public long addAndGet(final long increment)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public long getAndAdd(final long increment)
+    {
+        throw new UnsupportedOperationException();
+    }
+}
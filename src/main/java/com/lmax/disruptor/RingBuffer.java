@@ -131,6 +131,29 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         return new RingBuffer<>(factory, sequencer);
     }
 
+    /**
+     * Create a new multiple producer RingBuffer with the specified wait strategies.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param factory              used to create the events within the ring buffer.
+     * @param bufferSize           number of elements to create within the ring buffer.
+     * @param waitStrategy         used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait when the ring buffer is full.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     * @see MultiProducerSequencer
+     */
+    public static <E> RingBuffer<E> createMultiProducer(
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
+    {
+        MultiProducerSequencer sequencer = new MultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
+
+        return new RingBuffer<>(factory, sequencer);
+    }
+
     /**
      * Create a new multiple producer RingBuffer using the default wait strategy  {@link BlockingWaitStrategy}.
      *
@@ -167,6 +190,29 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         return new RingBuffer<>(factory, sequencer);
     }
 
+    /**
+     * Create a new single producer RingBuffer with the specified wait strategies.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param factory              used to create the events within the ring buffer.
+     * @param bufferSize           number of elements to create within the ring buffer.
+     * @param waitStrategy         used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait when the ring buffer is full.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     * @see SingleProducerSequencer
+     */
+    public static <E> RingBuffer<E> createSingleProducer(
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
+    {
+        SingleProducerSequencer sequencer = new SingleProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
+
+        return new RingBuffer<>(factory, sequencer);
+    }
+
     /**
      * Create a new single producer RingBuffer using the default wait strategy  {@link BlockingWaitStrategy}.
      *
@@ -210,6 +256,73 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         }
     }
 
+    /**
+     * Create a new Ring Buffer with the specified producer type (SINGLE or MULTI) and wait strategies.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param producerType         producer type to use {@link ProducerType}.
+     * @param factory              used to create events within the ring buffer.
+     * @param bufferSize           number of elements to create within the ring buffer.
+     * @param waitStrategy         used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait when the ring buffer is full.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> create(
+        final ProducerType producerType,
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return createSingleProducer(factory, bufferSize, waitStrategy, producerWaitStrategy);
+            case MULTI:
+                return createMultiProducer(factory, bufferSize, waitStrategy, producerWaitStrategy);
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Create a new Ring Buffer with the specified producer type (SINGLE or MULTI) and wait strategies, whose
+     * cursor starts from the given sequence instead of {@link Sequencer#INITIAL_CURSOR_VALUE}.  The first sequence
+     * claimed is <code>initialCursor + 1</code>, and event processors added as gating sequences start from
+     * <code>initialCursor</code>, so processing can resume from a checkpointed sequence after a restart.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param producerType         producer type to use {@link ProducerType}.
+     * @param factory              used to create events within the ring buffer.
+     * @param bufferSize           number of elements to create within the ring buffer.
+     * @param waitStrategy         used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait when the ring buffer is full.
+     * @param initialCursor        the sequence to start from.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, or initialCursor is less
+     *                                  than {@link Sequencer#INITIAL_CURSOR_VALUE}
+     * @see SequenceCheckpointer
+     */
+    public static <E> RingBuffer<E> create(
+        final ProducerType producerType,
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final long initialCursor)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return new RingBuffer<>(factory, new SingleProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy, initialCursor));
+            case MULTI:
+                return new RingBuffer<>(factory, new MultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy, initialCursor));
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
     /**
      * <p>Get the event for a given sequence in the RingBuffer.</p>
      *
@@ -360,6 +473,20 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         sequencer.addGatingSequences(gatingSequences);
     }
 
+    /**
+     * Add a gating sequence without moving it to the cursor, so that its owner can go on to process the events after
+     * its current value.  This only succeeds while those events are still held in the ring buffer, i.e. while another
+     * gating sequence has not yet passed the value or the value has not yet been published.
+     *
+     * @param gatingSequence The sequence to add.
+     * @return <code>true</code> if the sequence was added or was already gating, <code>false</code> if the events after
+     * it may already have been overwritten, in which case it is not added.
+     */
+    public boolean addRetainedGatingSequence(final Sequence gatingSequence)
+    {
+        return sequencer.addRetainedGatingSequence(gatingSequence);
+    }
+
     /**
      * Get the minimum sequence value from all of the gating sequences
      * added to this ringBuffer.
@@ -63,4 +63,12 @@ public interface SequenceBarrier
      * @throws AlertException if alert has been raised.
      */
     void checkAlert() throws AlertException;
+
+    /**
+     * Notify any publishers blocked on a full ring buffer that the sequence of the {@link EventProcessor}
+     * using this barrier has advanced.  Should be called after the processor has updated its sequence.
+     */
+    default void signalProducers()
+    {
+    }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Callback from a {@link BatchEventProcessor} with the sequence it has processed up to, so that the position can be
+ * persisted and processing resumed from it after a restart.
+ *
+ * <p>The processor calls the checkpointer from its own thread after every configured number of batches, rather
+ * than for every event, and once more on shutdown, so the cost of each checkpoint is spread over many events.
+ * A checkpoint only records that the handler has returned for every event up to and including the sequence, any
+ * effects the handler buffers are not covered by it.
+ *
+ * @see BatchEventProcessorBuilder#setCheckpointer(SequenceCheckpointer, int)
+ */
+@FunctionalInterface
+public interface SequenceCheckpointer
+{
+    /**
+     * Record that events up to and including the given sequence have been processed.
+     *
+     * @param sequence the last processed sequence.
+     * @throws Exception if the checkpoint could not be recorded, which is passed to
+     *                   {@link ExceptionHandler#handleOnCheckpointException(Throwable, long)}.
+     */
+    void checkpoint(long sequence) throws Exception;
+}
@@ -56,6 +56,68 @@ class SequenceGroups
         }
     }
 
+    static <T> void addInitialSequences(
+        final T holder,
+        final AtomicReferenceFieldUpdater<T, Sequence[]> updater,
+        final Sequence... sequencesToAdd)
+    {
+        Sequence[] updatedSequences;
+        Sequence[] currentSequences;
+
+        do
+        {
+            currentSequences = updater.get(holder);
+            updatedSequences = copyOf(currentSequences, currentSequences.length + sequencesToAdd.length);
+            System.arraycopy(sequencesToAdd, 0, updatedSequences, currentSequences.length, sequencesToAdd.length);
+        }
+        while (!updater.compareAndSet(holder, currentSequences, updatedSequences));
+    }
+
+    static <T> boolean addRetainedSequence(
+        final T holder,
+        final AtomicReferenceFieldUpdater<T, Sequence[]> updater,
+        final Cursored cursor,
+        final Sequence sequenceToAdd)
+    {
+        Sequence[] updatedSequences;
+        Sequence[] currentSequences;
+        boolean retained;
+
+        do
+        {
+            currentSequences = updater.get(holder);
+            retained = 0 != countMatching(currentSequences, sequenceToAdd);
+            if (retained)
+            {
+                break;
+            }
+
+            updatedSequences = copyOf(currentSequences, currentSequences.length + 1);
+            updatedSequences[currentSequences.length] = sequenceToAdd;
+        }
+        while (!updater.compareAndSet(holder, currentSequences, updatedSequences));
+
+        if (!retained)
+        {
+            // The events after the value can only have been overwritten once every gating sequence had passed it.
+            // Gating sequences never move backwards, so one that is still at or behind the value shows that they
+            // are retained.
+            final long value = sequenceToAdd.get();
+            retained = value >= cursor.getCursor();
+            for (int i = 0; !retained && i < currentSequences.length; i++)
+            {
+                retained = currentSequences[i].get() <= value;
+            }
+
+            if (!retained)
+            {
+                removeSequence(holder, updater, sequenceToAdd);
+            }
+        }
+
+        return retained;
+    }
+
     static <T> boolean removeSequence(
         final T holder,
         final AtomicReferenceFieldUpdater<T, Sequence[]> sequenceUpdater,
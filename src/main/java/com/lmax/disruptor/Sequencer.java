@@ -49,6 +49,30 @@ public interface Sequencer extends Cursored, Sequenced
      */
     void addGatingSequences(Sequence... gatingSequences);
 
+    /**
+     * Add a gating sequence without moving it to the cursor, so that its owner can go on to process the events after
+     * its current value.  This only succeeds while those events are still held in the ring buffer, i.e. while another
+     * gating sequence has not yet passed the value or the value has not yet been published.
+     *
+     * @param gatingSequence The sequence to add.
+     * @return <code>true</code> if the sequence was added or was already gating, <code>false</code> if the events after
+     * it may already have been overwritten, in which case it is not added.  The default implementation adds the sequence
+     * with {@link #addGatingSequences(Sequence...)}, and so only succeeds if the sequence is at the cursor.
+     */
+    default boolean addRetainedGatingSequence(Sequence gatingSequence)
+    {
+        final long value = gatingSequence.get();
+        addGatingSequences(gatingSequence);
+        if (gatingSequence.get() == value)
+        {
+            return true;
+        }
+
+        removeGatingSequence(gatingSequence);
+        gatingSequence.set(value);
+        return false;
+    }
+
     /**
      * Remove the specified sequence from this sequencer.
      *
@@ -20,7 +20,6 @@ import com.lmax.disruptor.util.Util;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.LockSupport;
 
 abstract class SingleProducerSequencerPad extends AbstractSequencer
 {
@@ -33,23 +32,32 @@ abstract class SingleProducerSequencerPad extends AbstractSequencer
         p60, p61, p62, p63, p64, p65, p66, p67,
         p70, p71, p72, p73, p74, p75, p76, p77;
 
-    SingleProducerSequencerPad(final int bufferSize, final WaitStrategy waitStrategy)
+    SingleProducerSequencerPad(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final Sequence cursor)
     {
-        super(bufferSize, waitStrategy);
+        super(bufferSize, waitStrategy, producerWaitStrategy, cursor);
     }
 }
 
 abstract class SingleProducerSequencerFields extends SingleProducerSequencerPad
 {
-    SingleProducerSequencerFields(final int bufferSize, final WaitStrategy waitStrategy)
+    SingleProducerSequencerFields(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final Sequence cursor)
     {
-        super(bufferSize, waitStrategy);
+        super(bufferSize, waitStrategy, producerWaitStrategy, cursor);
+        this.nextValue = cursor.get();
     }
 
     /**
-     * Set to -1 as sequence starting point
+     * Starts from the cursor, -1 unless resuming from an externally owned cursor
      */
-    long nextValue = Sequence.INITIAL_VALUE;
+    long nextValue;
     long cachedValue = Sequence.INITIAL_VALUE;
 }
 
@@ -80,7 +88,55 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
      */
     public SingleProducerSequencer(final int bufferSize, final WaitStrategy waitStrategy)
     {
-        super(bufferSize, waitStrategy);
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct a Sequencer with the selected wait strategies and buffer size.
+     *
+     * @param bufferSize           the size of the buffer that this will sequence over.
+     * @param waitStrategy         for those waiting on sequences.
+     * @param producerWaitStrategy for the publisher waiting on a full buffer.
+     */
+    public SingleProducerSequencer(final int bufferSize, final WaitStrategy waitStrategy, final ProducerWaitStrategy producerWaitStrategy)
+    {
+        this(bufferSize, waitStrategy, producerWaitStrategy, new Sequence(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    /**
+     * Construct a Sequencer that starts from the given cursor, as if every sequence up to and including it had
+     * already been published.  Event processors gating the sequencer start from the same sequence.
+     *
+     * @param bufferSize           the size of the buffer that this will sequence over.
+     * @param waitStrategy         for those waiting on sequences.
+     * @param producerWaitStrategy for the publisher waiting on a full buffer.
+     * @param initialCursor        the sequence to start from, the next sequence claimed is one higher.
+     * @throws IllegalArgumentException if initialCursor is less than {@link Sequencer#INITIAL_CURSOR_VALUE}
+     */
+    public SingleProducerSequencer(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final long initialCursor)
+    {
+        this(bufferSize, waitStrategy, producerWaitStrategy, initialCursor(initialCursor));
+    }
+
+    /**
+     * Construct a Sequencer that publishes to an externally owned cursor, resuming from its current value.
+     *
+     * @param bufferSize           the size of the buffer that this will sequence over.
+     * @param waitStrategy         for those waiting on sequences.
+     * @param producerWaitStrategy for the publisher waiting on a full buffer.
+     * @param cursor               to publish to.
+     */
+    SingleProducerSequencer(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final Sequence cursor)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy, cursor);
     }
 
     /**
@@ -150,10 +206,10 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
         {
             cursor.setVolatile(nextValue);  // StoreLoad fence
 
-            long minSequence;
-            while (wrapPoint > (minSequence = Util.getMinimumSequence(gatingSequences, nextValue)))
+            long minSequence = Util.getMinimumSequence(gatingSequences, nextValue);
+            if (wrapPoint > minSequence)
             {
-                LockSupport.parkNanos(1L); // TODO: Use waitStrategy to spin?
+                minSequence = Math.min(waitForCapacity(wrapPoint, nextSequence), nextValue);
             }
 
             this.cachedValue = minSequence;
@@ -267,6 +323,15 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
         return ProducerThreadAssertion.isSameThreadProducingTo(this);
     }
 
+    /**
+     * Hand the sequencer over to whichever thread publishes to it next.  The caller must make sure the previous
+     * thread has finished publishing and that its publications are seen by the next thread.
+     */
+    void handOver()
+    {
+        assert ProducerThreadAssertion.forgetProducerTo(this);
+    }
+
     /**
      * Only used when assertions are enabled.
      */
@@ -292,5 +357,14 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
                 return PRODUCERS.get(singleProducerSequencer).equals(currentThread);
             }
         }
+
+        public static boolean forgetProducerTo(final SingleProducerSequencer singleProducerSequencer)
+        {
+            synchronized (PRODUCERS)
+            {
+                PRODUCERS.remove(singleProducerSequencer);
+                return true;
+            }
+        }
     }
 }
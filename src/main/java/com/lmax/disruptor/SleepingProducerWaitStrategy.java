@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Sleeping strategy that optionally spins, then uses a Thread.yield(), and eventually sleeps
+ * (<code>LockSupport.parkNanos(n)</code>) while producers are waiting on a full ring buffer.
+ *
+ * <p>The default settings go straight to <code>LockSupport.parkNanos(1)</code>, which is how a {@link Sequencer}
+ * has always waited for capacity.  Note that on Linux a one nanosecond park is subject to the thread's timer
+ * slack, and will typically sleep for around 50 microseconds.
+ */
+public final class SleepingProducerWaitStrategy implements ProducerWaitStrategy
+{
+    private static final int SPIN_THRESHOLD = 100;
+    private static final int DEFAULT_RETRIES = 0;
+    private static final long DEFAULT_SLEEP = 1;
+
+    private final int retries;
+    private final long sleepTimeNs;
+
+    /**
+     * Provides a sleeping producer wait strategy with the default retry and sleep settings
+     */
+    public SleepingProducerWaitStrategy()
+    {
+        this(DEFAULT_RETRIES, DEFAULT_SLEEP);
+    }
+
+    /**
+     * @param retries How many times the strategy should retry before sleeping
+     * @param sleepTimeNs How long the strategy should sleep, in nanoseconds
+     */
+    public SleepingProducerWaitStrategy(final int retries, final long sleepTimeNs)
+    {
+        this.retries = retries;
+        this.sleepTimeNs = sleepTimeNs;
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final LongSupplier gatingSequence)
+    {
+        long minSequence;
+        int counter = retries;
+
+        while ((minSequence = gatingSequence.getAsLong()) < wrapPoint)
+        {
+            counter = applyWaitMethod(counter);
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+
+    private int applyWaitMethod(final int counter)
+    {
+        if (counter > SPIN_THRESHOLD)
+        {
+            Thread.onSpinWait();
+            return counter - 1;
+        }
+        else if (counter > 0)
+        {
+            Thread.yield();
+            return counter - 1;
+        }
+        else
+        {
+            LockSupport.parkNanos(sleepTimeNs);
+        }
+
+        return counter;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A multi producer ring buffer striped into lanes, each lane a single producer {@link RingBuffer} owned by one
+ * publishing thread.  The lanes are merged on the consumer side by a {@link MultiBufferEventProcessor}.
+ *
+ * <p>With many publishing threads the claim of a {@link MultiProducerSequencer} becomes contended, as every
+ * publisher updates the same cursor.  Striping gives each publisher a cursor of its own, at the cost of the events
+ * of different publishers no longer having a single order: the events of each lane are processed in the order they
+ * were published, and the lanes are interleaved in batches.</p>
+ *
+ * <p>A single producer lane must only ever be published to by one thread at a time, so lanes are claimed rather than
+ * assigned by a hash of the thread.  {@link #publishEvent(EventTranslator)} claims a lane for the calling thread
+ * the first time that it publishes, so there should be at least as many lanes as live publishing threads.  The lane
+ * of a thread is released by {@link #releaseLane()}, or taken over by another thread once the thread has died, so
+ * threads that come and go, e.g. those of a pool, do not use up the lanes.</p>
+ *
+ * @param <E> implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class StripedRingBuffer<E>
+{
+    private final RingBuffer<E>[] lanes;
+    private final WaitStrategy waitStrategy;
+    private final AtomicReferenceArray<Lane<E>> claimedLanes;
+    private final ThreadLocal<Lane<E>> laneOfThread = new ThreadLocal<>();
+
+    @SuppressWarnings("unchecked")
+    private StripedRingBuffer(
+        final EventFactory<E> factory,
+        final int laneCount,
+        final int laneBufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        if (laneCount < 1)
+        {
+            throw new IllegalArgumentException("laneCount must be greater than 0");
+        }
+
+        this.waitStrategy = waitStrategy;
+        this.lanes = (RingBuffer<E>[]) new RingBuffer<?>[laneCount];
+        for (int i = 0; i < laneCount; i++)
+        {
+            lanes[i] = RingBuffer.createSingleProducer(factory, laneBufferSize, waitStrategy);
+        }
+        this.claimedLanes = new AtomicReferenceArray<>(laneCount);
+    }
+
+    /**
+     * Create a new striped ring buffer, all of its lanes sharing the one wait strategy so that the consumer can
+     * wait for any of them.
+     *
+     * @param <E>            Class of the event stored in the ring buffer.
+     * @param factory        used to create the events within the lanes.
+     * @param laneCount      number of lanes, i.e. the maximum number of publishing threads.
+     * @param laneBufferSize number of elements to create within each lane.
+     * @param waitStrategy   used to determine how to wait for new elements to become available.
+     * @return a constructed striped ring buffer.
+     * @throws IllegalArgumentException if laneCount is less than 1, or laneBufferSize is less than 1 or not a
+     *                                  power of 2
+     */
+    public static <E> StripedRingBuffer<E> create(
+        final EventFactory<E> factory,
+        final int laneCount,
+        final int laneBufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        return new StripedRingBuffer<>(factory, laneCount, laneBufferSize, waitStrategy);
+    }
+
+    /**
+     * Claim a lane for the exclusive use of one publisher until the lane is closed, rather than for the calling
+     * thread.  This is useful where the publisher owns its thread, so should not rely on the thread dying to give
+     * the lane back.
+     *
+     * @return a lane that was not claimed.
+     * @throws IllegalStateException if every lane has been claimed.
+     */
+    public Lane<E> claimLane()
+    {
+        return claim(null);
+    }
+
+    /**
+     * Get the lane of the calling thread, claiming one the first time it is called on the thread, or after the thread
+     * has released its lane.
+     *
+     * @return the lane of the calling thread.
+     * @throws IllegalStateException if the thread has no lane and every lane has been claimed by other live threads
+     *                               or by {@link #claimLane()}.
+     */
+    public RingBuffer<E> lane()
+    {
+        Lane<E> lane = laneOfThread.get();
+        if (lane == null)
+        {
+            lane = claim(Thread.currentThread());
+            laneOfThread.set(lane);
+        }
+        return lane.getRingBuffer();
+    }
+
+    /**
+     * Release the lane of the calling thread, if it has one, so that another thread can claim it.  The thread must
+     * have finished publishing to the lane, it is given a new lane if it publishes again.
+     */
+    public void releaseLane()
+    {
+        final Lane<E> lane = laneOfThread.get();
+        if (lane != null)
+        {
+            laneOfThread.remove();
+            lane.close();
+        }
+    }
+
+    private Lane<E> claim(final Thread thread)
+    {
+        for (int i = 0; i < lanes.length; i++)
+        {
+            final Lane<E> current = claimedLanes.get(i);
+            if (current == null || current.isAbandoned())
+            {
+                final Lane<E> lane = new Lane<>(this, i, thread);
+                if (claimedLanes.compareAndSet(i, current, lane))
+                {
+                    ((SingleProducerSequencer) lanes[i].sequencer).handOver();
+                    return lane;
+                }
+            }
+        }
+        throw new IllegalStateException("All " + lanes.length + " lanes have been claimed");
+    }
+
+    /**
+     * Publish an event to the lane of the calling thread.
+     *
+     * @param translator The user specified translation for the event
+     * @throws IllegalStateException if the thread has no lane and every lane has been claimed.
+     * @see RingBuffer#publishEvent(EventTranslator)
+     */
+    public void publishEvent(final EventTranslator<E> translator)
+    {
+        lane().publishEvent(translator);
+    }
+
+    /**
+     * Publish an event to the lane of the calling thread.
+     *
+     * @param <A>        Class of the user supplied argument
+     * @param translator The user specified translation for the event
+     * @param arg0       A user supplied argument.
+     * @throws IllegalStateException if the thread has no lane and every lane has been claimed.
+     * @see RingBuffer#publishEvent(EventTranslatorOneArg, Object)
+     */
+    public <A> void publishEvent(final EventTranslatorOneArg<E, A> translator, final A arg0)
+    {
+        lane().publishEvent(translator, arg0);
+    }
+
+    /**
+     * Create the processor that merges the lanes, adding its sequences to the gating sequences of the lanes.
+     *
+     * @param eventHandler to which the events of every lane are dispatched.
+     * @return the processor, to be run on a thread of its own.
+     */
+    public MultiBufferEventProcessor newProcessor(final EventHandler<? super E> eventHandler)
+    {
+        return newProcessor(eventHandler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create the processor that merges the lanes, adding its sequences to the gating sequences of the lanes.
+     *
+     * @param eventHandler to which the events of every lane are dispatched.
+     * @param maxBatchSize the maximum number of events taken from one lane before moving on to the next.
+     * @return the processor, to be run on a thread of its own.
+     */
+    public MultiBufferEventProcessor newProcessor(final EventHandler<? super E> eventHandler, final int maxBatchSize)
+    {
+        final MultiBufferEventProcessorBuilder builder = new MultiBufferEventProcessorBuilder().setMaxBatchSize(maxBatchSize);
+        for (RingBuffer<E> lane : lanes)
+        {
+            builder.add(lane, eventHandler);
+        }
+
+        final MultiBufferEventProcessor processor = builder.build(waitStrategy);
+        final Sequence[] sequences = processor.getSequences();
+        for (int i = 0; i < lanes.length; i++)
+        {
+            lanes[i].addGatingSequences(sequences[i]);
+        }
+        return processor;
+    }
+
+    /**
+     * The number of lanes.
+     *
+     * @return the number of lanes.
+     */
+    public int getLaneCount()
+    {
+        return lanes.length;
+    }
+
+    @Override
+    public String toString()
+    {
+        int claimed = 0;
+        for (int i = 0; i < lanes.length; i++)
+        {
+            if (claimedLanes.get(i) != null)
+            {
+                claimed++;
+            }
+        }
+
+        return "StripedRingBuffer{" +
+            "lanes=" + lanes.length +
+            ", claimedLanes=" + claimed +
+            '}';
+    }
+
+    /**
+     * A lane claimed for the exclusive use of one publisher, which is released when closed.  The ring buffer of the
+     * lane must not be published to once the lane has been closed.
+     *
+     * @param <E> implementation storing the data for sharing during exchange or parallel coordination of an event.
+     */
+    public static final class Lane<E> implements AutoCloseable
+    {
+        private final StripedRingBuffer<E> stripedRingBuffer;
+        private final int index;
+        private final Thread thread;
+
+        Lane(final StripedRingBuffer<E> stripedRingBuffer, final int index, final Thread thread)
+        {
+            this.stripedRingBuffer = stripedRingBuffer;
+            this.index = index;
+            this.thread = thread;
+        }
+
+        /**
+         * The single producer ring buffer of the lane.
+         *
+         * @return the ring buffer to publish to.
+         */
+        public RingBuffer<E> getRingBuffer()
+        {
+            return stripedRingBuffer.lanes[index];
+        }
+
+        /**
+         * Release the lane so that it can be claimed again.  Closing a lane more than once has no effect.
+         */
+        @Override
+        public void close()
+        {
+            stripedRingBuffer.claimedLanes.compareAndSet(index, this, null);
+        }
+
+        /**
+         * A lane claimed for a thread that has since died is free to claim again.  Everything that the thread did
+         * happens before its death is seen, so the next owner continues from where the thread stopped publishing.
+         */
+        boolean isAbandoned()
+        {
+            return thread != null && !thread.isAlive();
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Lane{" +
+                "index=" + index +
+                ", thread=" + thread +
+                '}';
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Blocking strategy that parks each waiting {@link EventProcessor} on its own waiter and only wakes those whose
+ * requested sequence has been published.
+ *
+ * <p>Unlike {@link BlockingWaitStrategy}, publishers never take a lock: signalling reads the current set of waiters
+ * and unparks the ones that can make progress, or does nothing at all when no thread is blocked.  Threads still
+ * waiting for a later sequence stay parked, as do processors waiting on other processors, which busy spin once the
+ * cursor has reached their sequence in the same way as with the {@link BlockingWaitStrategy}.
+ *
+ * <p>Each thread that blocks is given a waiter the first time it does so, which it reuses for every later wait, so
+ * waiting does not allocate.  The waiters of threads that have terminated are dropped when another thread first blocks.
+ *
+ * <p>This strategy can be used when throughput and low-latency are not as important as CPU resource, and publishers
+ * should not contend with each other or with waking consumers.
+ */
+public final class TargetedBlockingWaitStrategy implements WaitStrategy
+{
+    private static final Waiter[] NO_WAITERS = new Waiter[0];
+    private static final VarHandle WAITERS;
+
+    static
+    {
+        try
+        {
+            WAITERS = MethodHandles.lookup().findVarHandle(TargetedBlockingWaitStrategy.class, "waiters", Waiter[].class);
+        }
+        catch (final ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Waiter[] waiters = NO_WAITERS;
+    private final ThreadLocal<Waiter> threadWaiter = ThreadLocal.withInitial(this::newWaiter);
+
+    @Override
+    public long waitFor(final long sequence, final Sequence cursorSequence, final Sequence dependentSequence, final SequenceBarrier barrier)
+        throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        if (cursorSequence.get() < sequence)
+        {
+            final Waiter waiter = threadWaiter.get();
+            waiter.waitFor(sequence, cursorSequence, barrier);
+            try
+            {
+                // the waiter must be visible before the cursor is checked, the publisher sets the cursor then reads the waiters
+                VarHandle.fullFence();
+                while (cursorSequence.get() < sequence)
+                {
+                    barrier.checkAlert();
+                    LockSupport.park(this);
+                    if (Thread.interrupted())
+                    {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            finally
+            {
+                waiter.idle();
+            }
+        }
+
+        while ((availableSequence = dependentSequence.get()) < sequence)
+        {
+            barrier.checkAlert();
+            Thread.onSpinWait();
+        }
+
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        VarHandle.fullFence();
+        final Waiter[] current = waiters;
+        for (final Waiter waiter : current)
+        {
+            if (waiter.canProceed())
+            {
+                LockSupport.unpark(waiter.thread);
+            }
+        }
+    }
+
+    private Waiter newWaiter()
+    {
+        final Waiter waiter = new Waiter(Thread.currentThread());
+        Waiter[] current;
+        Waiter[] updated;
+        do
+        {
+            current = waiters;
+            updated = new Waiter[current.length + 1];
+            int count = 0;
+            for (final Waiter other : current)
+            {
+                if (other.thread.isAlive())
+                {
+                    updated[count++] = other;
+                }
+            }
+            updated[count++] = waiter;
+            if (count < updated.length)
+            {
+                updated = Arrays.copyOf(updated, count);
+            }
+        }
+        while (!WAITERS.compareAndSet(this, current, updated));
+
+        return waiter;
+    }
+
+    int waiterCount()
+    {
+        return waiters.length;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TargetedBlockingWaitStrategy{" +
+            "waiters=" + waiters.length +
+            '}';
+    }
+
+    private static final class Waiter
+    {
+        private static final long IDLE = Long.MAX_VALUE;
+
+        private final Thread thread;
+        private volatile long sequence = IDLE;
+        private Sequence cursorSequence;
+        private SequenceBarrier barrier;
+
+        Waiter(final Thread thread)
+        {
+            this.thread = thread;
+        }
+
+        void waitFor(final long sequence, final Sequence cursorSequence, final SequenceBarrier barrier)
+        {
+            this.cursorSequence = cursorSequence;
+            this.barrier = barrier;
+            this.sequence = sequence;
+        }
+
+        void idle()
+        {
+            sequence = IDLE;
+        }
+
+        boolean canProceed()
+        {
+            // the sequence is written after the cursor and barrier, so read it first
+            final long waitingFor = sequence;
+            return waitingFor != IDLE && (cursorSequence.get() >= waitingFor || barrier.isAlerted());
+        }
+    }
+}
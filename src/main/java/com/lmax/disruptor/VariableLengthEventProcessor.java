@@ -0,0 +1,234 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consumes the records of a {@link VariableLengthRingBuffer} in batches, delegating each record to an
+ * {@link EventHandler}.
+ *
+ * <p>The handler is passed the payload of each record in place, as the view returned from
+ * {@link VariableLengthRingBuffer#get(long)}, along with the record's sequence.  Padding records are skipped.
+ * The batch size and queue depth passed to {@link EventHandler#onBatchStart(long, long)} are measured in bytes.
+ */
+public final class VariableLengthEventProcessor
+    implements EventProcessor
+{
+    private static final int IDLE = 0;
+    private static final int HALTED = IDLE + 1;
+    private static final int RUNNING = HALTED + 1;
+
+    private final AtomicInteger running = new AtomicInteger(IDLE);
+    private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final VariableLengthRingBuffer ringBuffer;
+    private final SequenceBarrier sequenceBarrier;
+    private final EventHandler<? super ByteBuffer> eventHandler;
+    private ExceptionHandler<? super ByteBuffer> exceptionHandler;
+
+    /**
+     * Construct a processor that will consume the records of a ring buffer.
+     *
+     * @param ringBuffer      to consume records from.
+     * @param sequenceBarrier on which it is waiting, see {@link VariableLengthRingBuffer#newBarrier(Sequence...)}.
+     * @param eventHandler    is the delegate to which records are dispatched.
+     */
+    public VariableLengthEventProcessor(
+        final VariableLengthRingBuffer ringBuffer,
+        final SequenceBarrier sequenceBarrier,
+        final EventHandler<? super ByteBuffer> eventHandler)
+    {
+        this.ringBuffer = ringBuffer;
+        this.sequenceBarrier = sequenceBarrier;
+        this.eventHandler = eventHandler;
+    }
+
+    @Override
+    public Sequence getSequence()
+    {
+        return sequence;
+    }
+
+    @Override
+    public void halt()
+    {
+        running.set(HALTED);
+        sequenceBarrier.alert();
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running.get() != IDLE;
+    }
+
+    /**
+     * Set a new {@link ExceptionHandler} for handling exceptions propagated out of the {@link VariableLengthEventProcessor}.
+     *
+     * @param exceptionHandler to replace the existing exceptionHandler.
+     */
+    public void setExceptionHandler(final ExceptionHandler<? super ByteBuffer> exceptionHandler)
+    {
+        if (null == exceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * It is ok to have another thread rerun this method after a halt().
+     *
+     * @throws IllegalStateException if this object instance is already running in a thread
+     */
+    @Override
+    public void run()
+    {
+        int witnessValue = running.compareAndExchange(IDLE, RUNNING);
+        if (witnessValue == IDLE)
+        {
+            sequenceBarrier.clearAlert();
+
+            notifyStart();
+            try
+            {
+                if (running.get() == RUNNING)
+                {
+                    processEvents();
+                }
+            }
+            finally
+            {
+                notifyShutdown();
+                running.set(IDLE);
+            }
+        }
+        else if (witnessValue == RUNNING)
+        {
+            throw new IllegalStateException("Thread is already running");
+        }
+        else
+        {
+            notifyStart();
+            notifyShutdown();
+        }
+    }
+
+    private void processEvents()
+    {
+        ByteBuffer event = null;
+        long nextSequence = sequence.get() + 1L;
+        long endOfRecord;
+
+        while (true)
+        {
+            endOfRecord = nextSequence - 1;
+            try
+            {
+                final long availableSequence = sequenceBarrier.waitFor(nextSequence);
+
+                if (nextSequence <= availableSequence)
+                {
+                    final long bytes = availableSequence - nextSequence + 1;
+                    eventHandler.onBatchStart(bytes, bytes);
+                }
+
+                while (nextSequence <= availableSequence)
+                {
+                    endOfRecord = ringBuffer.endOf(nextSequence);
+                    if (!ringBuffer.isPadding(nextSequence))
+                    {
+                        event = ringBuffer.get(nextSequence);
+                        eventHandler.onEvent(event, nextSequence, isEndOfBatch(endOfRecord, availableSequence));
+                    }
+                    nextSequence = endOfRecord + 1;
+                }
+
+                sequence.set(availableSequence);
+                sequenceBarrier.signalProducers();
+            }
+            catch (final TimeoutException e)
+            {
+                notifyTimeout(sequence.get());
+            }
+            catch (final AlertException ex)
+            {
+                if (running.get() != RUNNING)
+                {
+                    break;
+                }
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleEventException(ex, nextSequence, event);
+                sequence.set(endOfRecord);
+                sequenceBarrier.signalProducers();
+                nextSequence = endOfRecord + 1;
+            }
+        }
+    }
+
+    private boolean isEndOfBatch(final long endOfRecord, final long availableSequence)
+    {
+        final long next = endOfRecord + 1;
+        return endOfRecord == availableSequence ||
+            (ringBuffer.isPadding(next) && ringBuffer.endOf(next) == availableSequence);
+    }
+
+    private void notifyTimeout(final long availableSequence)
+    {
+        try
+        {
+            eventHandler.onTimeout(availableSequence);
+        }
+        catch (final Throwable e)
+        {
+            getExceptionHandler().handleEventException(e, availableSequence, null);
+        }
+    }
+
+    private void notifyStart()
+    {
+        try
+        {
+            eventHandler.onStart();
+        }
+        catch (final Throwable ex)
+        {
+            getExceptionHandler().handleOnStartException(ex);
+        }
+    }
+
+    private void notifyShutdown()
+    {
+        try
+        {
+            eventHandler.onShutdown();
+        }
+        catch (final Throwable ex)
+        {
+            getExceptionHandler().handleOnShutdownException(ex);
+        }
+    }
+
+    private ExceptionHandler<? super ByteBuffer> getExceptionHandler()
+    {
+        ExceptionHandler<? super ByteBuffer> handler = exceptionHandler;
+        return handler == null ? ExceptionHandlers.defaultHandler() : handler;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Ring buffer of variable length binary records held in a single block of direct memory.
+ *
+ * <p>Sequences in this ring buffer count bytes rather than slots.  A producer claims the range of bytes needed for
+ * a record, writes it in place and publishes it, and consumers track the byte sequence of the records they have
+ * processed with the usual {@link Sequence}, {@link SequenceBarrier} and {@link WaitStrategy} machinery.  The
+ * sequence of a record is the sequence of its first byte.
+ *
+ * <p>Each record is a {@value #HEADER_LENGTH} byte header holding the payload length and type, followed by the
+ * payload, padded to a multiple of {@value #ALIGNMENT} bytes.  A payload never straddles the end of the buffer.  When
+ * a claimed range would wrap, the tail of the buffer is filled with a padding record, which spans the whole claimed
+ * range and which consumers skip, and the producer then claims a new range of the same length, which starts past the
+ * end of the padding record.
+ *
+ * <p>Records are written through a single {@link SingleProducerSequencer}, so only one thread may publish.  Records
+ * are consumed with a {@link VariableLengthEventProcessor}.
+ */
+public final class VariableLengthRingBuffer implements Cursored
+{
+    /**
+     * Length, in bytes, of the header preceding each record.
+     */
+    public static final int HEADER_LENGTH = 8;
+
+    /**
+     * Alignment, in bytes, of every record.
+     */
+    public static final int ALIGNMENT = 8;
+
+    private static final int LENGTH_OFFSET = 0;
+    private static final int TYPE_OFFSET = 4;
+    private static final int RECORD = 1;
+    private static final int PADDING = 2;
+    private static final int MAX_RECORD_FRACTION = 8;
+
+    private final Sequencer sequencer;
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int indexMask;
+    private final int maxRecordLength;
+    private final ThreadLocal<ByteBuffer> views;
+
+    VariableLengthRingBuffer(final Sequencer sequencer)
+    {
+        this.sequencer = sequencer;
+        this.capacity = sequencer.getBufferSize();
+        if (capacity < HEADER_LENGTH * MAX_RECORD_FRACTION)
+        {
+            throw new IllegalArgumentException("capacity must not be less than " + HEADER_LENGTH * MAX_RECORD_FRACTION);
+        }
+
+        this.indexMask = capacity - 1;
+        this.maxRecordLength = capacity / MAX_RECORD_FRACTION - HEADER_LENGTH;
+        this.buffer = ByteBuffer.allocateDirect(capacity + OffHeapRingBuffer.ALIGNMENT)
+            .alignedSlice(OffHeapRingBuffer.ALIGNMENT)
+            .order(ByteOrder.nativeOrder());
+        this.views = ThreadLocal.withInitial(() -> buffer.duplicate().order(ByteOrder.nativeOrder()));
+    }
+
+    /**
+     * Create a new VariableLengthRingBuffer with a single producer.
+     *
+     * @param capacity     size of the buffer in bytes, must be a power of 2 and at least 64.
+     * @param waitStrategy used to determine how to wait for new records to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if capacity is less than 64 or not a power of 2
+     */
+    public static VariableLengthRingBuffer create(final int capacity, final WaitStrategy waitStrategy)
+    {
+        return new VariableLengthRingBuffer(new SingleProducerSequencer(capacity, waitStrategy));
+    }
+
+    /**
+     * Claim space for a record of the given payload length, waiting for consumers to free it if necessary.
+     * The payload can then be written through {@link #get(long)} and must be made visible with
+     * {@link #publish(long)}.
+     *
+     * @param length of the payload in bytes.
+     * @return the sequence of the claimed record.
+     * @throws IllegalArgumentException if length is negative or greater than {@link #getMaxRecordLength()}
+     */
+    public long claim(final int length)
+    {
+        if (length < 0 || length > maxRecordLength)
+        {
+            throw new IllegalArgumentException("length " + length + " must be between 0 and " + maxRecordLength);
+        }
+
+        final int required = align(HEADER_LENGTH + length);
+        while (true)
+        {
+            final long hi = sequencer.next(required);
+            final long lo = hi - (required - 1);
+            final int offset = index(lo);
+
+            if (offset + required <= capacity)
+            {
+                writeHeader(offset, length, RECORD);
+                return lo;
+            }
+
+            writeHeader(offset, required - HEADER_LENGTH, PADDING);
+            sequencer.publish(hi);
+        }
+    }
+
+    /**
+     * Publish a claimed record, making it available to consumers.
+     *
+     * @param sequence of the record returned from {@link #claim(int)}.
+     */
+    public void publish(final long sequence)
+    {
+        sequencer.publish(endOf(sequence));
+    }
+
+    /**
+     * Copy the remaining bytes of the source buffer into a new record and publish it.
+     *
+     * @param source of the payload, its position is advanced to its limit.
+     * @throws IllegalArgumentException if the source has more than {@link #getMaxRecordLength()} bytes remaining
+     */
+    public void write(final ByteBuffer source)
+    {
+        final long sequence = claim(source.remaining());
+        try
+        {
+            get(sequence).put(source);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Get the payload of the record at the given sequence.  The returned buffer is the calling thread's flyweight,
+     * its position is the first byte of the payload and its limit is one past the last byte.  Absolute accessors
+     * must be offset from {@link ByteBuffer#position()}.
+     *
+     * @param sequence of the record.
+     * @return the calling thread's view positioned over the payload.
+     */
+    public ByteBuffer get(final long sequence)
+    {
+        final int offset = index(sequence);
+        final int position = offset + HEADER_LENGTH;
+        final ByteBuffer view = views.get();
+        view.limit(position + buffer.getInt(offset + LENGTH_OFFSET)).position(position);
+
+        return view;
+    }
+
+    /**
+     * Add the specified gating sequences to this instance of the ring buffer.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        sequencer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * Remove the specified sequence from this ring buffer.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return sequencer.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Create a new SequenceBarrier to be used by an EventProcessor to track which records
+     * are available to be read from the ring buffer given a list of sequences to track.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     * @see SequenceBarrier
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return sequencer.newBarrier(sequencesToTrack);
+    }
+
+    /**
+     * Get the sequence of the last published byte.
+     *
+     * @return the cursor of the ring buffer.
+     */
+    @Override
+    public long getCursor()
+    {
+        return sequencer.getCursor();
+    }
+
+    /**
+     * The size of the buffer in bytes.
+     *
+     * @return capacity of the buffer
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * The largest payload that can be written, one eighth of the capacity less the header, which bounds the
+     * space lost to padding at the end of the buffer.
+     *
+     * @return maximum payload length in bytes
+     */
+    public int getMaxRecordLength()
+    {
+        return maxRecordLength;
+    }
+
+    /**
+     * Get the remaining capacity for this ring buffer in bytes.
+     *
+     * @return The number of bytes remaining
+     */
+    public long remainingCapacity()
+    {
+        return sequencer.remainingCapacity();
+    }
+
+    /**
+     * The sequence of the last byte of the record, or padding, at the given sequence.
+     */
+    long endOf(final long sequence)
+    {
+        return sequence + align(HEADER_LENGTH + buffer.getInt(index(sequence) + LENGTH_OFFSET)) - 1;
+    }
+
+    boolean isPadding(final long sequence)
+    {
+        return buffer.getInt(index(sequence) + TYPE_OFFSET) == PADDING;
+    }
+
+    private void writeHeader(final int offset, final int length, final int type)
+    {
+        buffer.putInt(offset + LENGTH_OFFSET, length);
+        buffer.putInt(offset + TYPE_OFFSET, type);
+    }
+
+    private int index(final long sequence)
+    {
+        return (int) sequence & indexMask;
+    }
+
+    private static int align(final int length)
+    {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "VariableLengthRingBuffer{" +
+            "capacity=" + capacity +
+            ", sequencer=" + sequencer +
+            '}';
+    }
+}
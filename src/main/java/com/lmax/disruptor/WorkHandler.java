@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Callback interface to be implemented for processing units of work as they become available in the {@link RingBuffer}.
+ *
+ * <p>Unlike an {@link EventHandler}, which sees every event, each event is delivered to exactly one of the
+ * {@link WorkHandler}s in a {@link WorkerPool}.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ * @see WorkerPool
+ */
+@FunctionalInterface
+public interface WorkHandler<T>
+{
+    /**
+     * Callback to indicate a unit of work needs to be processed.
+     *
+     * @param event published to the {@link RingBuffer}
+     * @throws Throwable if the {@link WorkHandler} would like the exception handled further up the chain.
+     */
+    void onEvent(T event) throws Throwable;
+
+    /**
+     * Called once on thread start before first event is available.
+     */
+    default void onStart()
+    {
+    }
+
+    /**
+     * Called once just before the work processing thread is shutdown.
+     *
+     * <p>Sequence event processing will already have stopped before this method is called. No events will
+     * be processed after this message.
+     */
+    default void onShutdown()
+    {
+    }
+
+    /**
+     * Invoked when a {@link WorkProcessor}'s {@link WaitStrategy} throws a {@link TimeoutException}.
+     *
+     * @param sequence - the last sequence seen by the processor.
+     * @throws Exception if the implementation is unable to handle this timeout.
+     */
+    default void onTimeout(long sequence) throws Exception
+    {
+    }
+}
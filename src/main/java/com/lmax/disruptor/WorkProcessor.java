@@ -0,0 +1,229 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Math.min;
+
+/**
+ * A {@link WorkProcessor} wraps a single {@link WorkHandler}, effectively consuming the sequence
+ * and ensuring appropriate barriers.
+ *
+ * <p>Work is claimed from a {@link Sequence} shared with the other processors of a {@link WorkerPool}.  Each claim
+ * takes a contiguous run of the available events with a single compare and set, so under load the cost of
+ * coordinating the workers is amortised over a batch rather than paid per event.  The size of each claim is the
+ * processor's fair share of the backlog, i.e. the available events divided by the number of workers, capped at
+ * the configured maximum batch size.
+ *
+ * <p>The processors of a {@link WorkerPool} share its {@link SequenceBarrier}, so a processor does not clear the
+ * alert of the barrier when it starts, as that could clear the alert raised to halt another processor.  The pool
+ * clears it once, before starting its processors.
+ *
+ * @param <T> event implementation storing the details for the work to processed.
+ */
+public final class WorkProcessor<T>
+    implements EventProcessor
+{
+    private static final int IDLE = 0;
+    private static final int HALTED = IDLE + 1;
+    private static final int RUNNING = HALTED + 1;
+
+    private final AtomicInteger running = new AtomicInteger(IDLE);
+    private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final DataProvider<T> dataProvider;
+    private final SequenceBarrier sequenceBarrier;
+    private final WorkHandler<? super T> workHandler;
+    private final ExceptionHandler<? super T> exceptionHandler;
+    private final Sequence workSequence;
+    private final int maxBatchSize;
+    private final int workerCount;
+
+    WorkProcessor(
+        final DataProvider<T> dataProvider,
+        final SequenceBarrier sequenceBarrier,
+        final WorkHandler<? super T> workHandler,
+        final ExceptionHandler<? super T> exceptionHandler,
+        final Sequence workSequence,
+        final int maxBatchSize,
+        final int workerCount)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+        }
+
+        this.dataProvider = dataProvider;
+        this.sequenceBarrier = sequenceBarrier;
+        this.workHandler = workHandler;
+        this.exceptionHandler = exceptionHandler;
+        this.workSequence = workSequence;
+        this.maxBatchSize = maxBatchSize;
+        this.workerCount = workerCount;
+    }
+
+    @Override
+    public Sequence getSequence()
+    {
+        return sequence;
+    }
+
+    @Override
+    public void halt()
+    {
+        running.set(HALTED);
+        sequenceBarrier.alert();
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running.get() != IDLE;
+    }
+
+    /**
+     * It is ok to have another thread re-run this method after a halt(), once the alert of the barrier has been
+     * cleared.
+     *
+     * @throws IllegalStateException if this processor is already running
+     */
+    @Override
+    public void run()
+    {
+        int witnessValue = running.compareAndExchange(IDLE, RUNNING);
+        if (witnessValue == IDLE)
+        {
+            notifyStart();
+            try
+            {
+                if (running.get() == RUNNING)
+                {
+                    processEvents();
+                }
+            }
+            finally
+            {
+                notifyShutdown();
+                running.set(IDLE);
+            }
+        }
+        else if (witnessValue == RUNNING)
+        {
+            throw new IllegalStateException("Thread is already running");
+        }
+        else
+        {
+            notifyStart();
+            notifyShutdown();
+        }
+    }
+
+    private void processEvents()
+    {
+        while (true)
+        {
+            try
+            {
+                // Publishing the claim point before claiming keeps the gating sequence behind the events
+                // this processor is about to own.
+                final long current = workSequence.get();
+                sequence.set(current);
+                sequenceBarrier.signalProducers();
+
+                final long availableSequence = sequenceBarrier.waitFor(current + 1L);
+                if (availableSequence <= current)
+                {
+                    continue;
+                }
+
+                final long backlog = availableSequence - current;
+                final long endOfClaim = current + min(maxBatchSize, (backlog + workerCount - 1) / workerCount);
+
+                if (workSequence.compareAndSet(current, endOfClaim))
+                {
+                    processClaim(current + 1L, endOfClaim);
+                }
+            }
+            catch (final TimeoutException e)
+            {
+                notifyTimeout(sequence.get());
+            }
+            catch (final AlertException ex)
+            {
+                if (running.get() != RUNNING)
+                {
+                    break;
+                }
+            }
+            catch (final Throwable ex)
+            {
+                exceptionHandler.handleEventException(ex, sequence.get(), null);
+            }
+        }
+    }
+
+    private void processClaim(final long startOfClaim, final long endOfClaim)
+    {
+        for (long nextSequence = startOfClaim; nextSequence <= endOfClaim; nextSequence++)
+        {
+            final T event = dataProvider.get(nextSequence);
+            try
+            {
+                workHandler.onEvent(event);
+            }
+            catch (final Throwable ex)
+            {
+                exceptionHandler.handleEventException(ex, nextSequence, event);
+            }
+        }
+    }
+
+    private void notifyTimeout(final long availableSequence)
+    {
+        try
+        {
+            workHandler.onTimeout(availableSequence);
+        }
+        catch (final Throwable e)
+        {
+            exceptionHandler.handleEventException(e, availableSequence, null);
+        }
+    }
+
+    private void notifyStart()
+    {
+        try
+        {
+            workHandler.onStart();
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.handleOnStartException(ex);
+        }
+    }
+
+    private void notifyShutdown()
+    {
+        try
+        {
+            workHandler.onShutdown();
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.handleOnShutdownException(ex);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.util.Util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WorkerPool contains a pool of {@link WorkProcessor}s that will consume sequences so jobs can be farmed out across a
+ * pool of workers.  Each of the {@link WorkProcessor}s manage and calls a {@link WorkHandler} to process the events,
+ * and each event is processed by exactly one of them.
+ *
+ * <p>The sequences of the workers are aggregated in to a single {@link SequenceGroup}, returned from
+ * {@link #getSequence()}, which should be used to gate the {@link RingBuffer} or as a dependency of later stages.
+ *
+ * @param <T> event to be processed by a pool of workers
+ */
+public final class WorkerPool<T>
+{
+    /**
+     * The default maximum number of events a worker will claim in one go.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final Sequence workSequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final SequenceGroup sequence = new SequenceGroup();
+    private final RingBuffer<T> ringBuffer;
+    private final SequenceBarrier sequenceBarrier;
+    private final WorkProcessor<?>[] workProcessors;
+
+    /**
+     * Create a worker pool to enable an array of {@link WorkHandler}s to consume published sequences.
+     *
+     * <p>This option requires a pre-configured {@link RingBuffer} which must have {@link RingBuffer#addGatingSequences(Sequence...)}
+     * called with {@link #getSequence()} before the work pool is started.
+     *
+     * @param ringBuffer       of events to be consumed.
+     * @param sequenceBarrier  on which the workers will depend.
+     * @param exceptionHandler to callback when an error occurs which is not handled by the {@link WorkHandler}s.
+     * @param workHandlers     to distribute the work load across.
+     */
+    @SafeVarargs
+    public WorkerPool(
+        final RingBuffer<T> ringBuffer,
+        final SequenceBarrier sequenceBarrier,
+        final ExceptionHandler<? super T> exceptionHandler,
+        final WorkHandler<? super T>... workHandlers)
+    {
+        this(ringBuffer, sequenceBarrier, exceptionHandler, DEFAULT_MAX_BATCH_SIZE, workHandlers);
+    }
+
+    /**
+     * Create a worker pool to enable an array of {@link WorkHandler}s to consume published sequences.
+     *
+     * <p>This option requires a pre-configured {@link RingBuffer} which must have {@link RingBuffer#addGatingSequences(Sequence...)}
+     * called with {@link #getSequence()} before the work pool is started.
+     *
+     * @param ringBuffer       of events to be consumed.
+     * @param sequenceBarrier  on which the workers will depend.
+     * @param exceptionHandler to callback when an error occurs which is not handled by the {@link WorkHandler}s.
+     * @param maxBatchSize     the maximum number of events a worker will claim at a time.
+     * @param workHandlers     to distribute the work load across.
+     */
+    @SafeVarargs
+    public WorkerPool(
+        final RingBuffer<T> ringBuffer,
+        final SequenceBarrier sequenceBarrier,
+        final ExceptionHandler<? super T> exceptionHandler,
+        final int maxBatchSize,
+        final WorkHandler<? super T>... workHandlers)
+    {
+        if (workHandlers.length == 0)
+        {
+            throw new IllegalArgumentException("A WorkerPool needs at least one WorkHandler");
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.sequenceBarrier = sequenceBarrier;
+        final int numWorkers = workHandlers.length;
+        workProcessors = new WorkProcessor<?>[numWorkers];
+
+        for (int i = 0; i < numWorkers; i++)
+        {
+            final WorkProcessor<T> workProcessor = new WorkProcessor<>(
+                ringBuffer, sequenceBarrier, workHandlers[i], exceptionHandler, workSequence, maxBatchSize, numWorkers);
+            workProcessors[i] = workProcessor;
+            sequence.add(workProcessor.getSequence());
+        }
+    }
+
+    /**
+     * Get the aggregated {@link Sequence} of the workers, its value is that of the slowest worker.
+     *
+     * @return a {@link Sequence} tracking the progress of the whole pool.
+     */
+    public Sequence getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * Get an array of {@link Sequence}s representing the progress of the individual workers.
+     *
+     * @return an array of {@link Sequence}s representing the progress of the workers.
+     */
+    public Sequence[] getWorkerSequences()
+    {
+        return Util.getSequencesFor(workProcessors);
+    }
+
+    /**
+     * Start the worker pool processing events in sequence, each worker on a thread created by the given factory.
+     *
+     * @param threadFactory providing threads for running the workers.
+     * @return the {@link RingBuffer} used for the work queue.
+     * @throws IllegalStateException if the pool has already been started and not halted yet
+     */
+    public RingBuffer<T> start(final ThreadFactory threadFactory)
+    {
+        if (!started.compareAndSet(false, true))
+        {
+            throw new IllegalStateException("WorkerPool has already been started and cannot be restarted until halted.");
+        }
+
+        // Cleared once for all of the workers, which share the barrier, see WorkProcessor
+        sequenceBarrier.clearAlert();
+
+        final long cursor = ringBuffer.getCursor();
+        workSequence.set(cursor);
+
+        for (WorkProcessor<?> processor : workProcessors)
+        {
+            processor.getSequence().set(cursor);
+        }
+
+        for (WorkProcessor<?> processor : workProcessors)
+        {
+            final Thread thread = threadFactory.newThread(processor);
+            if (null == thread)
+            {
+                throw new RuntimeException("Failed to create thread to run: " + processor);
+            }
+
+            thread.start();
+        }
+
+        return ringBuffer;
+    }
+
+    /**
+     * Wait for the {@link RingBuffer} to drain of published events then halt the workers.
+     */
+    public void drainAndHalt()
+    {
+        while (ringBuffer.getCursor() > sequence.get())
+        {
+            Thread.yield();
+        }
+
+        halt();
+    }
+
+    /**
+     * Halt all workers immediately at the end of their current cycle.
+     */
+    public void halt()
+    {
+        for (WorkProcessor<?> processor : workProcessors)
+        {
+            processor.halt();
+        }
+
+        started.set(false);
+    }
+
+    /**
+     * @return whether any of the workers are still running.
+     */
+    public boolean isRunning()
+    {
+        for (WorkProcessor<?> processor : workProcessors)
+        {
+            if (processor.isRunning())
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
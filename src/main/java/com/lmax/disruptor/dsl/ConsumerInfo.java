@@ -9,6 +9,8 @@ interface ConsumerInfo
 {
     Sequence[] getSequences();
 
+    Sequence[] getDependencies();
+
     SequenceBarrier getBarrier();
 
     boolean isEndOfChain();
@@ -19,5 +21,7 @@ interface ConsumerInfo
 
     void markAsUsedInBarrier();
 
+    void markAsEndOfChain();
+
     boolean isRunning();
 }
@@ -15,47 +15,143 @@
  */
 package com.lmax.disruptor.dsl;
 
+import com.lmax.disruptor.BatchEventProcessor;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventHandlerIdentity;
 import com.lmax.disruptor.EventProcessor;
 import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WorkerPool;
+import com.lmax.disruptor.metrics.DisruptorMetrics;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadFactory;
 
 /**
  * Provides a repository mechanism to associate {@link EventHandler}s with {@link EventProcessor}s
+ *
+ * <p>Consumers may be added and removed while the disruptor is running, so the collections are safe to read from
+ * other threads, e.g. while draining.  Changes to the shape of the chain are expected to be made from one thread at
+ * a time.</p>
  */
 class ConsumerRepository
 {
+    private static final Sequence[] NO_DEPENDENCIES = new Sequence[0];
+
     private final Map<EventHandlerIdentity, EventProcessorInfo> eventProcessorInfoByEventHandler =
-        new IdentityHashMap<>();
+        Collections.synchronizedMap(new IdentityHashMap<>());
     private final Map<Sequence, ConsumerInfo> eventProcessorInfoBySequence =
-        new IdentityHashMap<>();
-    private final Collection<ConsumerInfo> consumerInfos = new ArrayList<>();
+        Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Collection<ConsumerInfo> consumerInfos = new CopyOnWriteArrayList<>();
 
     public void add(
         final EventProcessor eventprocessor,
         final EventHandlerIdentity handlerIdentity,
         final SequenceBarrier barrier)
     {
-        final EventProcessorInfo consumerInfo = new EventProcessorInfo(eventprocessor, barrier);
+        add(eventprocessor, handlerIdentity, barrier, NO_DEPENDENCIES);
+    }
+
+    public EventProcessorInfo add(
+        final EventProcessor eventprocessor,
+        final EventHandlerIdentity handlerIdentity,
+        final SequenceBarrier barrier,
+        final Sequence[] dependencies)
+    {
+        final EventProcessorInfo consumerInfo = new EventProcessorInfo(eventprocessor, handlerIdentity, barrier, dependencies);
         eventProcessorInfoByEventHandler.put(handlerIdentity, consumerInfo);
         eventProcessorInfoBySequence.put(eventprocessor.getSequence(), consumerInfo);
         consumerInfos.add(consumerInfo);
+        return consumerInfo;
     }
 
     public void add(final EventProcessor processor)
     {
-        final EventProcessorInfo consumerInfo = new EventProcessorInfo(processor, null);
+        final EventProcessorInfo consumerInfo = new EventProcessorInfo(processor, null, null, NO_DEPENDENCIES);
         eventProcessorInfoBySequence.put(processor.getSequence(), consumerInfo);
         consumerInfos.add(consumerInfo);
     }
 
+    public <T> void add(final WorkerPool<T> workerPool, final SequenceBarrier sequenceBarrier, final Sequence[] dependencies)
+    {
+        final WorkerPoolInfo<T> workerPoolInfo = new WorkerPoolInfo<>(workerPool, sequenceBarrier, dependencies);
+        eventProcessorInfoBySequence.put(workerPool.getSequence(), workerPoolInfo);
+        consumerInfos.add(workerPoolInfo);
+    }
+
+    /**
+     * Remove the consumer for a handler, once its event processor has stopped.
+     *
+     * @param handlerIdentity the handler to remove.
+     * @return the removed consumer.
+     * @throws IllegalArgumentException if the handler is not processing events.
+     * @throws IllegalStateException    if another consumer depends on the handler.
+     */
+    public EventProcessorInfo remove(final EventHandlerIdentity handlerIdentity)
+    {
+        final EventProcessorInfo consumerInfo = getEventProcessorInfo(handlerIdentity);
+        if (consumerInfo == null)
+        {
+            throw new IllegalArgumentException("The event handler " + handlerIdentity + " is not processing events.");
+        }
+        if (isDependedOn(consumerInfo.getEventProcessor().getSequence(), consumerInfo))
+        {
+            throw new IllegalStateException("Other consumers depend on the event handler " + handlerIdentity);
+        }
+
+        consumerInfos.remove(consumerInfo);
+        eventProcessorInfoBySequence.remove(consumerInfo.getEventProcessor().getSequence());
+        eventProcessorInfoByEventHandler.remove(handlerIdentity);
+        return consumerInfo;
+    }
+
+    /**
+     * Mark the dependencies of a removed consumer which nothing else depends on as the end of the chain again.
+     *
+     * @param removed the consumer that has been removed.
+     * @return the sequences of the dependencies that are now at the end of the chain.
+     */
+    public Sequence[] markDependenciesAsEndOfChain(final ConsumerInfo removed)
+    {
+        final List<Sequence> endOfChain = new ArrayList<>();
+        for (Sequence dependency : removed.getDependencies())
+        {
+            final ConsumerInfo consumerInfo = getEventProcessorInfo(dependency);
+            if (consumerInfo != null && !isDependedOn(dependency, removed))
+            {
+                consumerInfo.markAsEndOfChain();
+                endOfChain.add(dependency);
+            }
+        }
+        return endOfChain.toArray(new Sequence[0]);
+    }
+
+    public void attachMetrics(final DisruptorMetrics metrics)
+    {
+        for (ConsumerInfo consumerInfo : consumerInfos)
+        {
+            if (consumerInfo instanceof EventProcessorInfo)
+            {
+                attachMetrics(metrics, (EventProcessorInfo) consumerInfo);
+            }
+        }
+    }
+
+    public void attachMetrics(final DisruptorMetrics metrics, final EventProcessorInfo eventProcessorInfo)
+    {
+        final EventHandlerIdentity handlerIdentity = eventProcessorInfo.getHandlerIdentity();
+        if (handlerIdentity != null && eventProcessorInfo.getEventProcessor() instanceof BatchEventProcessor)
+        {
+            ((BatchEventProcessor<?>) eventProcessorInfo.getEventProcessor()).setMetrics(metrics.forHandler(nameOf(handlerIdentity)));
+        }
+    }
+
     public void startAll(final ThreadFactory threadFactory)
     {
         consumerInfos.forEach(c -> c.start(threadFactory));
@@ -86,6 +182,11 @@ class ConsumerRepository
         return false;
     }
 
+    public Collection<ConsumerInfo> getConsumerInfos()
+    {
+        return Collections.unmodifiableCollection(consumerInfos);
+    }
+
     public EventProcessor getEventProcessorFor(final EventHandlerIdentity handlerIdentity)
     {
         final EventProcessorInfo eventprocessorInfo = getEventProcessorInfo(handlerIdentity);
@@ -116,6 +217,30 @@ class ConsumerRepository
         return consumerInfo != null ? consumerInfo.getBarrier() : null;
     }
 
+    private boolean isDependedOn(final Sequence sequence, final ConsumerInfo exclude)
+    {
+        for (ConsumerInfo consumerInfo : consumerInfos)
+        {
+            if (consumerInfo != exclude)
+            {
+                for (Sequence dependency : consumerInfo.getDependencies())
+                {
+                    if (dependency == sequence)
+                    {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String nameOf(final EventHandlerIdentity handlerIdentity)
+    {
+        final String simpleName = handlerIdentity.getClass().getSimpleName();
+        return simpleName.isEmpty() ? handlerIdentity.getClass().getName() : simpleName;
+    }
+
     private EventProcessorInfo getEventProcessorInfo(final EventHandlerIdentity handlerIdentity)
     {
         return eventProcessorInfoByEventHandler.get(handlerIdentity);
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import com.lmax.disruptor.EventHandlerIdentity;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Samples the sequences of the event processors in a {@link ConsumerRepository} from its own thread, and reports
+ * those that have events available but have not moved for the stall timeout.
+ *
+ * <p>Events are available to an event processor once the event processors it depends on have processed them, or up
+ * to the cursor once the next event is published if it has no dependencies, so an event processor waiting behind a stalled one is not
+ * itself reported.  Each stall is reported once, until the sequence moves again.
+ */
+final class ConsumerWatchdog implements Runnable
+{
+    private static final int SAMPLES_PER_TIMEOUT = 4;
+    private static final StackTraceElement[] NO_STACK_TRACE = new StackTraceElement[0];
+
+    private final ConsumerRepository consumerRepository;
+    private final RingBuffer<?> ringBuffer;
+    private final long lagThreshold;
+    private final long stallTimeoutNanos;
+    private final StalledConsumerListener listener;
+    private Map<Sequence, Progress> progressBySequence = new IdentityHashMap<>();
+    private volatile boolean running = true;
+    private Thread thread;
+
+    ConsumerWatchdog(
+        final ConsumerRepository consumerRepository,
+        final RingBuffer<?> ringBuffer,
+        final long lagThreshold,
+        final long stallTimeoutNanos,
+        final StalledConsumerListener listener)
+    {
+        this.consumerRepository = consumerRepository;
+        this.ringBuffer = ringBuffer;
+        this.lagThreshold = lagThreshold;
+        this.stallTimeoutNanos = stallTimeoutNanos;
+        this.listener = listener;
+    }
+
+    void start(final ThreadFactory threadFactory)
+    {
+        final Thread thread = threadFactory.newThread(this);
+        if (null == thread)
+        {
+            throw new RuntimeException("Failed to create thread to run: " + this);
+        }
+
+        this.thread = thread;
+        thread.start();
+    }
+
+    void halt()
+    {
+        running = false;
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        final long intervalNanos = Math.max(1, stallTimeoutNanos / SAMPLES_PER_TIMEOUT);
+        while (running)
+        {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (running)
+            {
+                sample(System.nanoTime());
+            }
+        }
+    }
+
+    void sample(final long now)
+    {
+        final Map<Sequence, Progress> sampled = new IdentityHashMap<>();
+        for (final ConsumerInfo consumerInfo : consumerRepository.getConsumerInfos())
+        {
+            if (!consumerInfo.isRunning())
+            {
+                continue;
+            }
+
+            for (final Sequence sequence : consumerInfo.getSequences())
+            {
+                final long value = sequence.get();
+                final long available = availableSequence(consumerInfo, value);
+
+                Progress progress = progressBySequence.get(sequence);
+                if (progress == null)
+                {
+                    progress = new Progress(value, now);
+                }
+                else if (progress.value != value || available - value < lagThreshold)
+                {
+                    progress.reset(value, now);
+                }
+                else if (!progress.reported && now - progress.sinceNanos >= stallTimeoutNanos)
+                {
+                    progress.reported = true;
+                    report(consumerInfo, value, available, now - progress.sinceNanos);
+                }
+                sampled.put(sequence, progress);
+            }
+        }
+        progressBySequence = sampled;
+    }
+
+    private long availableSequence(final ConsumerInfo consumerInfo, final long value)
+    {
+        final Sequence[] dependencies = consumerInfo.getDependencies();
+        if (dependencies.length == 0)
+        {
+            return ringBuffer.isAvailable(value + 1) ? ringBuffer.getCursor() : value;
+        }
+
+        long available = Long.MAX_VALUE;
+        for (final Sequence dependency : dependencies)
+        {
+            available = Math.min(available, dependency.get());
+        }
+        return available;
+    }
+
+    private void report(final ConsumerInfo consumerInfo, final long value, final long available, final long stalledNanos)
+    {
+        EventHandlerIdentity handlerIdentity = null;
+        Thread processorThread = null;
+        if (consumerInfo instanceof EventProcessorInfo)
+        {
+            handlerIdentity = ((EventProcessorInfo) consumerInfo).getHandlerIdentity();
+            processorThread = ((EventProcessorInfo) consumerInfo).getThread();
+        }
+        final StackTraceElement[] stackTrace = processorThread != null ? processorThread.getStackTrace() : NO_STACK_TRACE;
+
+        try
+        {
+            listener.onStall(new StalledConsumer(handlerIdentity, value, available, stalledNanos, processorThread, stackTrace));
+        }
+        catch (final Throwable ex)
+        {
+            final Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, ex);
+        }
+    }
+
+    private static final class Progress
+    {
+        private long value;
+        private long sinceNanos;
+        private boolean reported;
+
+        Progress(final long value, final long sinceNanos)
+        {
+            reset(value, sinceNanos);
+        }
+
+        void reset(final long value, final long sinceNanos)
+        {
+            this.value = value;
+            this.sinceNanos = sinceNanos;
+            this.reported = false;
+        }
+    }
+}
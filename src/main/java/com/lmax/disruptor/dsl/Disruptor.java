@@ -27,6 +27,7 @@ import com.lmax.disruptor.EventTranslatorOneArg;
 import com.lmax.disruptor.EventTranslatorThreeArg;
 import com.lmax.disruptor.EventTranslatorTwoArg;
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.ProducerWaitStrategy;
 import com.lmax.disruptor.RewindableEventHandler;
 import com.lmax.disruptor.RewindableException;
 import com.lmax.disruptor.RingBuffer;
@@ -34,11 +35,19 @@ import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceBarrier;
 import com.lmax.disruptor.TimeoutException;
 import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.WorkHandler;
+import com.lmax.disruptor.WorkerPool;
+import com.lmax.disruptor.metrics.DisruptorMetrics;
 import com.lmax.disruptor.util.Util;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * A DSL-style API for setting up the disruptor pattern around a ring buffer
@@ -61,10 +70,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class Disruptor<T>
 {
+    private static final long DETACH_PARK_NANOS = 10_000L;
+
     private final RingBuffer<T> ringBuffer;
     private final ThreadFactory threadFactory;
     private final ConsumerRepository consumerRepository = new ConsumerRepository();
     private final AtomicBoolean started = new AtomicBoolean(false);
+    private DisruptorMetrics metrics;
+    private ConsumerWatchdog watchdog;
     private ExceptionHandler<? super T> exceptionHandler = new ExceptionHandlerWrapper<>();
 
     /**
@@ -101,6 +114,29 @@ public class Disruptor<T>
             threadFactory);
     }
 
+    /**
+     * Create a new Disruptor.
+     *
+     * @param eventFactory         the factory to create events in the ring buffer.
+     * @param ringBufferSize       the size of the ring buffer, must be power of 2.
+     * @param threadFactory        a {@link ThreadFactory} to create threads for processors.
+     * @param producerType         the claim strategy to use for the ring buffer.
+     * @param waitStrategy         the wait strategy to use for the ring buffer.
+     * @param producerWaitStrategy the wait strategy used by publishers when the ring buffer is full.
+     */
+    public Disruptor(
+            final EventFactory<T> eventFactory,
+            final int ringBufferSize,
+            final ThreadFactory threadFactory,
+            final ProducerType producerType,
+            final WaitStrategy waitStrategy,
+            final ProducerWaitStrategy producerWaitStrategy)
+    {
+        this(
+            RingBuffer.create(producerType, eventFactory, ringBufferSize, waitStrategy, producerWaitStrategy),
+            threadFactory);
+    }
+
     /**
      * Private constructor helper
      */
@@ -203,6 +239,47 @@ public class Disruptor<T>
     }
 
 
+    /**
+     * <p>Set up a key-partitioned stage of event handlers.  Each of the <code>partitions</code> handlers runs on
+     * its own thread over the same ring buffer, and only sees the events whose key maps to its partition.  All the
+     * events with the same key are handled by the same handler, in the order they were published.</p>
+     *
+     * <p>This method can be used as the start of a chain. For example if the partitioned stage <code>A</code> must
+     * process events before handler <code>B</code>:</p>
+     * <pre><code>dw.handleEventsWithPartitioned(event -&gt; event.accountId, 4, partition -&gt; new A()).then(B);</code></pre>
+     *
+     * @param keyFunction    extracts the partitioning key from an event.
+     * @param partitions     the number of partitions, and so handler threads, in the stage.
+     * @param handlerFactory creates the event handler for each partition, given the partition number.
+     * @return a {@link EventHandlerGroup} that can be used to chain dependencies.
+     */
+    public final EventHandlerGroup<T> handleEventsWithPartitioned(
+            final ToLongFunction<? super T> keyFunction,
+            final int partitions,
+            final IntFunction<? extends EventHandler<? super T>> handlerFactory)
+    {
+        return createPartitionedEventProcessors(new Sequence[0], keyFunction, partitions, handlerFactory);
+    }
+
+    /**
+     * <p>Set up a {@link WorkerPool} to distribute an event to one of a pool of work handler threads.
+     * Each event will only be processed by one of the work handlers.
+     * The Disruptor will automatically start this processors when {@link #start()} is called.</p>
+     *
+     * <p>This method can be used as the start of a chain. For example if the pool <code>A</code> must
+     * process events before handler <code>B</code>:</p>
+     * <pre><code>dw.handleEventsWithWorkerPool(A1, A2).then(B);</code></pre>
+     *
+     * @param workHandlers the work handlers that will process events.
+     * @return a {@link EventHandlerGroup} that can be used to chain dependencies.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final EventHandlerGroup<T> handleEventsWithWorkerPool(final WorkHandler<? super T>... workHandlers)
+    {
+        return createWorkerPool(new Sequence[0], workHandlers);
+    }
+
     /**
      * <p>Specify an exception handler to be used for any future event handlers.</p>
      *
@@ -259,13 +336,7 @@ public class Disruptor<T>
      */
     public final EventHandlerGroup<T> after(final EventHandlerIdentity... handlers)
     {
-        final Sequence[] sequences = new Sequence[handlers.length];
-        for (int i = 0, handlersLength = handlers.length; i < handlersLength; i++)
-        {
-            sequences[i] = consumerRepository.getSequenceFor(handlers[i]);
-        }
-
-        return new EventHandlerGroup<>(this, consumerRepository, sequences);
+        return new EventHandlerGroup<>(this, consumerRepository, sequencesFor(handlers));
     }
 
     /**
@@ -345,6 +416,60 @@ public class Disruptor<T>
         ringBuffer.publishEvent(eventTranslator, arg0, arg1, arg2);
     }
 
+    /**
+     * <p>Record the batch size, lag, service time and wait time of each event handler added to this disruptor.</p>
+     *
+     * <p>Metrics are collected by the {@link BatchEventProcessor}s created for the event handlers, and are named after
+     * the class of the handler.  Event processors and worker pools passed in directly are not instrumented.  When
+     * metrics are not enabled, the event processors take no measurements.</p>
+     *
+     * @return the metrics, which may be registered with JMX using {@link DisruptorMetrics#registerMBeans(String)}
+     * once the disruptor has been started.
+     * @throws IllegalStateException if the disruptor has already been started.
+     */
+    public DisruptorMetrics enableMetrics()
+    {
+        checkNotStarted();
+        if (metrics == null)
+        {
+            metrics = new DisruptorMetrics();
+        }
+        return metrics;
+    }
+
+    /**
+     * <p>Watch the event processors for stalls, from a thread that is created with the disruptor's
+     * {@link ThreadFactory} and started with the disruptor.  An event processor is stalled when at least
+     * <code>lagThreshold</code> events are available to it and its sequence has not moved for the stall timeout.  Each stall is reported once, with the handler and the stack trace of the event
+     * processor's thread, until its sequence moves again.</p>
+     *
+     * <p>Events only count as available to an event processor once the event processors it depends on have processed
+     * them, so the event processor holding up a chain is reported rather than those waiting behind it.  The sequences
+     * are only read, a few times per stall timeout, by the watchdog thread, so watching adds nothing to the cost of
+     * publishing or processing events.</p>
+     *
+     * @param lagThreshold the number of available events from which an event processor that is not moving is stalled.
+     * @param stallTimeout how long the sequence of an event processor must not move for it to be stalled.
+     * @param timeUnit     the unit of the stall timeout.
+     * @param listener     called from the watchdog thread with each stall.
+     * @throws IllegalArgumentException if lagThreshold or stallTimeout is less than 1.
+     * @throws IllegalStateException    if the disruptor has already been started.
+     */
+    public void enableWatchdog(
+        final long lagThreshold,
+        final long stallTimeout,
+        final TimeUnit timeUnit,
+        final StalledConsumerListener listener)
+    {
+        checkNotStarted();
+        if (lagThreshold < 1 || stallTimeout < 1)
+        {
+            throw new IllegalArgumentException("lagThreshold and stallTimeout must not be less than 1");
+        }
+
+        watchdog = new ConsumerWatchdog(consumerRepository, ringBuffer, lagThreshold, timeUnit.toNanos(stallTimeout), listener);
+    }
+
     /**
      * <p>Starts the event processors and returns the fully configured ring buffer.</p>
      *
@@ -358,16 +483,28 @@ public class Disruptor<T>
     public RingBuffer<T> start()
     {
         checkOnlyStartedOnce();
+        if (metrics != null)
+        {
+            consumerRepository.attachMetrics(metrics);
+        }
         consumerRepository.startAll(threadFactory);
+        if (watchdog != null)
+        {
+            watchdog.start(threadFactory);
+        }
 
         return ringBuffer;
     }
 
     /**
-     * Calls {@link com.lmax.disruptor.EventProcessor#halt()} on all of the event processors created via this disruptor.
+     * Calls {@link com.lmax.disruptor.EventProcessor#halt()} on all of the event processors created via this disruptor, and stops the watchdog if enabled.
      */
     public void halt()
     {
+        if (watchdog != null)
+        {
+            watchdog.halt();
+        }
         consumerRepository.haltAll();
     }
 
@@ -393,7 +530,7 @@ public class Disruptor<T>
 
     /**
      * <p>Waits until all events currently in the disruptor have been processed by all event processors
-     * and then halts the processors.</p>
+     * and then halts the processors.  The wait backs off rather than spinning, see {@link #drainTo(long)}.</p>
      *
      * <p>This method will not shutdown the executor, nor will it await the final termination of the
      * processor threads.</p>
@@ -405,17 +542,171 @@ public class Disruptor<T>
     public void shutdown(final long timeout, final TimeUnit timeUnit) throws TimeoutException
     {
         final long timeOutAt = System.nanoTime() + timeUnit.toNanos(timeout);
-        while (hasBacklog())
+        boolean interrupted = false;
+        try
+        {
+            while (hasBacklog())
+            {
+                final CompletableFuture<Void> drained = drainTo(ringBuffer.getCursor());
+                try
+                {
+                    if (timeout < 0)
+                    {
+                        drained.get();
+                    }
+                    else
+                    {
+                        drained.get(timeOutAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    }
+                }
+                catch (final InterruptedException e)
+                {
+                    drained.cancel(false);
+                    interrupted = true;
+                }
+                catch (final java.util.concurrent.TimeoutException e)
+                {
+                    drained.cancel(false);
+                    throw TimeoutException.INSTANCE;
+                }
+                catch (final ExecutionException e)
+                {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        finally
         {
-            if (timeout >= 0 && System.nanoTime() > timeOutAt)
+            if (interrupted)
             {
-                throw TimeoutException.INSTANCE;
+                Thread.currentThread().interrupt();
             }
-            // Busy spin
         }
         halt();
     }
 
+    /**
+     * <p>Get a future that completes once all running event processors at the end of the chain have processed every
+     * event up to and including the given sequence.  Publishing may continue while waiting.</p>
+     *
+     * <p>Progress is checked with an exponential back-off, of up to a millisecond, on a shared scheduler thread rather
+     * than by spinning, so waiting for a large backlog to drain does not occupy a CPU.  Cancelling the future stops
+     * the checks.  Event processors that are not running are not waited for.</p>
+     *
+     * @param sequence the sequence to wait for, e.g. the cursor of the ring buffer.
+     * @return a future completed when the sequence has been processed.
+     */
+    public CompletableFuture<Void> drainTo(final long sequence)
+    {
+        return new DrainTask(consumerRepository, sequence).start();
+    }
+
+    /**
+     * <p>Add an event handler to a disruptor that may already be running, processing the events published after the
+     * current cursor.  If the disruptor has been started the handler is started straight away, otherwise it is
+     * started along with the others.</p>
+     *
+     * <p>The handler only processes an event once all of the given handlers have.  Producers are not blocked while
+     * the handler is added; it is added to the gating sequences of the ring buffer before its barrier lets it see any
+     * event.  The handlers it depends on remain gating sequences, so it may be attached and detached repeatedly
+     * without the rest of the chain being reconfigured.</p>
+     *
+     * @param handler      the handler to add.
+     * @param dependencies the handlers that must process each event first, if any.
+     * @return the sequence of the last event the handler is considered to have processed.
+     * @see #detach(EventHandlerIdentity)
+     */
+    public long attach(final EventHandler<? super T> handler, final EventHandlerIdentity... dependencies)
+    {
+        final Sequence[] barrierSequences = sequencesFor(dependencies);
+        final SequenceBarrier barrier = ringBuffer.newBarrier(barrierSequences);
+        final BatchEventProcessor<T> batchEventProcessor = createAttachedProcessor(barrier, handler);
+
+        ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+
+        return startAttachedProcessor(batchEventProcessor, handler, barrier, barrierSequences);
+    }
+
+    /**
+     * <p>Add an event handler to a disruptor that may already be running, starting from a given sequence.  This
+     * allows a handler to catch up on events that are still held in the ring buffer, e.g. to replay from a
+     * checkpoint, as long as the slowest of the other handlers has not yet released them.</p>
+     *
+     * @param nextSequence the sequence of the first event for the handler to process.
+     * @param handler      the handler to add.
+     * @param dependencies the handlers that must process each event first, if any.
+     * @return the sequence of the last event the handler is considered to have processed.
+     * @throws IllegalArgumentException if the events from <code>nextSequence</code> may already have been
+     *                                  overwritten, or if <code>nextSequence</code> is after the next sequence to be
+     *                                  published.
+     * @see #attach(EventHandler, EventHandlerIdentity...)
+     */
+    public long attach(final long nextSequence, final EventHandler<? super T> handler, final EventHandlerIdentity... dependencies)
+    {
+        if (nextSequence > ringBuffer.getCursor() + 1)
+        {
+            throw new IllegalArgumentException("Sequence " + nextSequence + " is after the next sequence to be published");
+        }
+
+        final Sequence[] barrierSequences = sequencesFor(dependencies);
+        final SequenceBarrier barrier = ringBuffer.newBarrier(barrierSequences);
+        final BatchEventProcessor<T> batchEventProcessor = createAttachedProcessor(barrier, handler);
+
+        batchEventProcessor.getSequence().set(nextSequence - 1);
+        if (!ringBuffer.addRetainedGatingSequence(batchEventProcessor.getSequence()))
+        {
+            throw new IllegalArgumentException("The events from sequence " + nextSequence + " are no longer held in the ring buffer");
+        }
+
+        return startAttachedProcessor(batchEventProcessor, handler, barrier, barrierSequences);
+    }
+
+    /**
+     * <p>Remove an event handler, halting its event processor and waiting for it to finish the batch that it is
+     * processing, then removing its sequence from the gating sequences of the ring buffer.  A handler that has not
+     * been started yet is simply removed, and is not started along with the others.  Handlers that it
+     * depended on, and that nothing else depends on, become the end of the chain again and gate the ring buffer in
+     * its place.  Producers are not blocked while the handler is removed.</p>
+     *
+     * <p>The dependencies of custom event processors are not tracked, so a handler must not be detached while
+     * one of them still waits on it.</p>
+     *
+     * @param handler the handler to remove.
+     * @throws IllegalArgumentException if the handler is not processing events.
+     * @throws IllegalStateException    if another handler depends on this one.
+     */
+    public void detach(final EventHandlerIdentity handler)
+    {
+        final EventProcessorInfo eventProcessorInfo = consumerRepository.remove(handler);
+        final EventProcessor eventProcessor = eventProcessorInfo.getEventProcessor();
+        final Thread thread = eventProcessorInfo.getThread();
+
+        boolean interrupted = false;
+        if (thread != null)
+        {
+            // A processor that is halted before its thread runs it exits straight away without ever becoming idle,
+            // so wait for the thread to finish rather than only for the processor to stop running
+            eventProcessor.halt();
+            while (eventProcessor.isRunning() && thread.isAlive())
+            {
+                LockSupport.parkNanos(DETACH_PARK_NANOS);
+                interrupted |= Thread.interrupted();
+            }
+        }
+
+        for (final Sequence sequence : consumerRepository.markDependenciesAsEndOfChain(eventProcessorInfo))
+        {
+            // Always succeeds, the detached handler is still gating at or behind the sequence it depended on
+            ringBuffer.addRetainedGatingSequence(sequence);
+        }
+        ringBuffer.removeGatingSequence(eventProcessor.getSequence());
+
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * The {@link RingBuffer} used by this Disruptor.  This is useful for creating custom
      * event processors if the behaviour of {@link BatchEventProcessor} is not suitable.
@@ -510,10 +801,11 @@ public class Disruptor<T>
         checkNotStarted();
 
         final Sequence[] processorSequences = new Sequence[eventHandlers.length];
-        final SequenceBarrier barrier = ringBuffer.newBarrier(barrierSequences);
 
         for (int i = 0, eventHandlersLength = eventHandlers.length; i < eventHandlersLength; i++)
         {
+            // Each processor has a barrier of its own, so halting one to detach it does not alert the others
+            final SequenceBarrier barrier = ringBuffer.newBarrier(barrierSequences);
             final EventHandler<? super T> eventHandler = eventHandlers[i];
 
             final BatchEventProcessor<T> batchEventProcessor =
@@ -524,7 +816,7 @@ public class Disruptor<T>
                 batchEventProcessor.setExceptionHandler(exceptionHandler);
             }
 
-            consumerRepository.add(batchEventProcessor, eventHandler, barrier);
+            consumerRepository.add(batchEventProcessor, eventHandler, barrier, barrierSequences);
             processorSequences[i] = batchEventProcessor.getSequence();
         }
 
@@ -541,10 +833,11 @@ public class Disruptor<T>
         checkNotStarted();
 
         final Sequence[] processorSequences = new Sequence[eventHandlers.length];
-        final SequenceBarrier barrier = ringBuffer.newBarrier(barrierSequences);
 
         for (int i = 0, eventHandlersLength = eventHandlers.length; i < eventHandlersLength; i++)
         {
+            // Each processor has a barrier of its own, so halting one to detach it does not alert the others
+            final SequenceBarrier barrier = ringBuffer.newBarrier(barrierSequences);
             final RewindableEventHandler<? super T> eventHandler = eventHandlers[i];
 
             final BatchEventProcessor<T> batchEventProcessor =
@@ -555,7 +848,7 @@ public class Disruptor<T>
                 batchEventProcessor.setExceptionHandler(exceptionHandler);
             }
 
-            consumerRepository.add(batchEventProcessor, eventHandler, barrier);
+            consumerRepository.add(batchEventProcessor, eventHandler, barrier, barrierSequences);
             processorSequences[i] = batchEventProcessor.getSequence();
         }
 
@@ -564,6 +857,107 @@ public class Disruptor<T>
         return new EventHandlerGroup<>(this, consumerRepository, processorSequences);
     }
 
+    EventHandlerGroup<T> createPartitionedEventProcessors(
+            final Sequence[] barrierSequences,
+            final ToLongFunction<? super T> keyFunction,
+            final int partitions,
+            final IntFunction<? extends EventHandler<? super T>> handlerFactory)
+    {
+        checkNotStarted();
+
+        if (partitions < 1)
+        {
+            throw new IllegalArgumentException("partitions must be greater than 0");
+        }
+
+        final Sequence[] processorSequences = new Sequence[partitions];
+
+        for (int partition = 0; partition < partitions; partition++)
+        {
+            final SequenceBarrier barrier = ringBuffer.newBarrier(barrierSequences);
+            final EventHandler<? super T> eventHandler = handlerFactory.apply(partition);
+            final PartitionedEventHandler<T> partitionedEventHandler =
+                    new PartitionedEventHandler<>(ringBuffer, keyFunction, partition, partitions, eventHandler);
+
+            final BatchEventProcessor<T> batchEventProcessor =
+                    new BatchEventProcessorBuilder().build(ringBuffer, barrier, partitionedEventHandler);
+
+            if (exceptionHandler != null)
+            {
+                batchEventProcessor.setExceptionHandler(exceptionHandler);
+            }
+
+            consumerRepository.add(batchEventProcessor, eventHandler, barrier, barrierSequences);
+            processorSequences[partition] = batchEventProcessor.getSequence();
+        }
+
+        updateGatingSequencesForNextInChain(barrierSequences, processorSequences);
+
+        return new EventHandlerGroup<>(this, consumerRepository, processorSequences);
+    }
+
+    EventHandlerGroup<T> createWorkerPool(
+            final Sequence[] barrierSequences, final WorkHandler<? super T>[] workHandlers)
+    {
+        checkNotStarted();
+
+        final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier(barrierSequences);
+        final WorkerPool<T> workerPool = new WorkerPool<>(ringBuffer, sequenceBarrier, exceptionHandler, workHandlers);
+
+        consumerRepository.add(workerPool, sequenceBarrier, barrierSequences);
+
+        final Sequence[] workerSequences = new Sequence[]{workerPool.getSequence()};
+
+        updateGatingSequencesForNextInChain(barrierSequences, workerSequences);
+
+        return new EventHandlerGroup<>(this, consumerRepository, workerSequences);
+    }
+
+    private Sequence[] sequencesFor(final EventHandlerIdentity... handlers)
+    {
+        final Sequence[] sequences = new Sequence[handlers.length];
+        for (int i = 0; i < handlers.length; i++)
+        {
+            sequences[i] = consumerRepository.getSequenceFor(handlers[i]);
+        }
+        return sequences;
+    }
+
+    private BatchEventProcessor<T> createAttachedProcessor(
+            final SequenceBarrier barrier, final EventHandler<? super T> eventHandler)
+    {
+        final BatchEventProcessor<T> batchEventProcessor =
+                new BatchEventProcessorBuilder().build(ringBuffer, barrier, eventHandler);
+
+        if (exceptionHandler != null)
+        {
+            batchEventProcessor.setExceptionHandler(exceptionHandler);
+        }
+        return batchEventProcessor;
+    }
+
+    private long startAttachedProcessor(
+            final BatchEventProcessor<T> batchEventProcessor,
+            final EventHandler<? super T> eventHandler,
+            final SequenceBarrier barrier,
+            final Sequence[] barrierSequences)
+    {
+        final EventProcessorInfo eventProcessorInfo =
+                consumerRepository.add(batchEventProcessor, eventHandler, barrier, barrierSequences);
+        consumerRepository.unMarkEventProcessorsAsEndOfChain(barrierSequences);
+
+        if (started.get())
+        {
+            if (metrics != null)
+            {
+                consumerRepository.attachMetrics(metrics, eventProcessorInfo);
+            }
+            eventProcessorInfo.start(threadFactory);
+        }
+
+        return batchEventProcessor.getSequence().get();
+    }
+
     private void updateGatingSequencesForNextInChain(final Sequence[] barrierSequences, final Sequence[] processorSequences)
     {
         if (processorSequences.length > 0)
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completes a future once the running event processors at the end of the chain have all reached a sequence.
+ *
+ * <p>The sequences are checked with an exponential back-off on the scheduler thread behind
+ * {@link CompletableFuture#delayedExecutor(long, TimeUnit, Executor)}, so no thread is occupied while waiting.
+ */
+final class DrainTask implements Runnable
+{
+    private static final long INITIAL_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Executor SAME_THREAD = Runnable::run;
+
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private final ConsumerRepository consumerRepository;
+    private final long sequence;
+    private long backoffNanos = INITIAL_BACKOFF_NANOS;
+
+    DrainTask(final ConsumerRepository consumerRepository, final long sequence)
+    {
+        this.consumerRepository = consumerRepository;
+        this.sequence = sequence;
+    }
+
+    CompletableFuture<Void> start()
+    {
+        run();
+        return future;
+    }
+
+    @Override
+    public void run()
+    {
+        if (!future.isDone())
+        {
+            if (consumerRepository.hasBacklog(sequence, false))
+            {
+                // Advance the back-off before handing this task to the scheduler thread, which may run it straight away
+                final long delayNanos = backoffNanos;
+                backoffNanos = Math.min(delayNanos << 1, MAX_BACKOFF_NANOS);
+                CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, SAME_THREAD).execute(this);
+            }
+            else
+            {
+                future.complete(null);
+            }
+        }
+    }
+}
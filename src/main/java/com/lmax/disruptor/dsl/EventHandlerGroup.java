@@ -22,8 +22,11 @@ import com.lmax.disruptor.RewindableEventHandler;
 import com.lmax.disruptor.RewindableException;
 import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WorkHandler;
 
 import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * A group of {@link EventProcessor}s used as part of the {@link Disruptor}.
@@ -192,6 +195,93 @@ public class EventHandlerGroup<T>
         return disruptor.createEventProcessors(sequences, eventProcessorFactories);
     }
 
+    /**
+     * <p>Set up a key-partitioned stage of event handlers that will only process events after every
+     * {@link EventProcessor} in this group has processed the event.  Each of the <code>partitions</code> handlers
+     * only sees the events whose key maps to its partition, so all the events with the same key are handled by
+     * the same handler in the order they were published.</p>
+     *
+     * <p>This method is generally used as part of a chain. For example if the handler <code>A</code> must
+     * process events before the partitioned stage <code>B</code>:</p>
+     *
+     * <pre><code>dw.handleEventsWith(A).thenPartitioned(event -&gt; event.accountId, 4, partition -&gt; new B());</code></pre>
+     *
+     * @param keyFunction    extracts the partitioning key from an event.
+     * @param partitions     the number of partitions, and so handler threads, in the stage.
+     * @param handlerFactory creates the event handler for each partition, given the partition number.
+     * @return a {@link EventHandlerGroup} that can be used to set up a event processor barrier over the created event processors.
+     */
+    public EventHandlerGroup<T> thenPartitioned(
+        final ToLongFunction<? super T> keyFunction,
+        final int partitions,
+        final IntFunction<? extends EventHandler<? super T>> handlerFactory)
+    {
+        return handleEventsWithPartitioned(keyFunction, partitions, handlerFactory);
+    }
+
+    /**
+     * <p>Set up a key-partitioned stage of event handlers that will only process events after every
+     * {@link EventProcessor} in this group has processed the event.  Each of the <code>partitions</code> handlers
+     * only sees the events whose key maps to its partition, so all the events with the same key are handled by
+     * the same handler in the order they were published.</p>
+     *
+     * <p>This method is generally used as part of a chain. For example if the handler <code>A</code> must
+     * process events before the partitioned stage <code>B</code>:</p>
+     *
+     * <pre><code>dw.after(A).handleEventsWithPartitioned(event -&gt; event.accountId, 4, partition -&gt; new B());</code></pre>
+     *
+     * @param keyFunction    extracts the partitioning key from an event.
+     * @param partitions     the number of partitions, and so handler threads, in the stage.
+     * @param handlerFactory creates the event handler for each partition, given the partition number.
+     * @return a {@link EventHandlerGroup} that can be used to set up a event processor barrier over the created event processors.
+     */
+    public EventHandlerGroup<T> handleEventsWithPartitioned(
+        final ToLongFunction<? super T> keyFunction,
+        final int partitions,
+        final IntFunction<? extends EventHandler<? super T>> handlerFactory)
+    {
+        return disruptor.createPartitionedEventProcessors(sequences, keyFunction, partitions, handlerFactory);
+    }
+
+    /**
+     * <p>Set up a worker pool to handle events from the ring buffer. The worker pool will only process events
+     * after every {@link EventProcessor} in this group has processed the event. Each event will be processed
+     * by one of the work handler instances.</p>
+     *
+     * <p>This method is generally used as part of a chain. For example if the handler <code>A</code> must
+     * process events before the worker pool with handlers <code>B, C</code>:</p>
+     *
+     * <pre><code>dw.handleEventsWith(A).thenHandleEventsWithWorkerPool(B, C);</code></pre>
+     *
+     * @param handlers the work handlers that will process events. Each work handler instance will provide an extra thread in the worker pool.
+     * @return a {@link EventHandlerGroup} that can be used to set up a event processor barrier over the created event processors.
+     */
+    @SafeVarargs
+    public final EventHandlerGroup<T> thenHandleEventsWithWorkerPool(final WorkHandler<? super T>... handlers)
+    {
+        return handleEventsWithWorkerPool(handlers);
+    }
+
+    /**
+     * <p>Set up a worker pool to handle events from the ring buffer. The worker pool will only process events
+     * after every {@link EventProcessor} in this group has processed the event. Each event will be processed
+     * by one of the work handler instances.</p>
+     *
+     * <p>This method is generally used as part of a chain. For example if the handler <code>A</code> must
+     * process events before the worker pool with handlers <code>B, C</code>:</p>
+     *
+     * <pre><code>dw.after(A).handleEventsWithWorkerPool(B, C);</code></pre>
+     *
+     * @param handlers the work handlers that will process events. Each work handler instance will provide an extra thread in the worker pool.
+     * @return a {@link EventHandlerGroup} that can be used to set up a event processor barrier over the created event processors.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final EventHandlerGroup<T> handleEventsWithWorkerPool(final WorkHandler<? super T>... handlers)
+    {
+        return disruptor.createWorkerPool(sequences, handlers);
+    }
+
     /**
      * Create a dependency barrier for the processors in this group.
      * This allows custom event processors to have dependencies on
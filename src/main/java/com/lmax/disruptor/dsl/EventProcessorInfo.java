@@ -15,6 +15,7 @@
  */
 package com.lmax.disruptor.dsl;
 
+import com.lmax.disruptor.EventHandlerIdentity;
 import com.lmax.disruptor.EventProcessor;
 import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceBarrier;
@@ -30,13 +31,22 @@ import java.util.concurrent.ThreadFactory;
 class EventProcessorInfo implements ConsumerInfo
 {
     private final EventProcessor eventprocessor;
+    private final EventHandlerIdentity handlerIdentity;
     private final SequenceBarrier barrier;
-    private boolean endOfChain = true;
+    private final Sequence[] dependencies;
+    private volatile boolean endOfChain = true;
+    private volatile Thread thread;
 
-    EventProcessorInfo(final EventProcessor eventprocessor, final SequenceBarrier barrier)
+    EventProcessorInfo(
+        final EventProcessor eventprocessor,
+        final EventHandlerIdentity handlerIdentity,
+        final SequenceBarrier barrier,
+        final Sequence[] dependencies)
     {
         this.eventprocessor = eventprocessor;
+        this.handlerIdentity = handlerIdentity;
         this.barrier = barrier;
+        this.dependencies = dependencies;
     }
 
     public EventProcessor getEventProcessor()
@@ -44,12 +54,31 @@ class EventProcessorInfo implements ConsumerInfo
         return eventprocessor;
     }
 
+    public EventHandlerIdentity getHandlerIdentity()
+    {
+        return handlerIdentity;
+    }
+
+    /**
+     * @return the thread most recently started to run the event processor, or <code>null</code> if not yet started
+     */
+    public Thread getThread()
+    {
+        return thread;
+    }
+
     @Override
     public Sequence[] getSequences()
     {
         return new Sequence[]{eventprocessor.getSequence()};
     }
 
+    @Override
+    public Sequence[] getDependencies()
+    {
+        return dependencies;
+    }
+
     @Override
     public SequenceBarrier getBarrier()
     {
@@ -71,6 +100,7 @@ class EventProcessorInfo implements ConsumerInfo
             throw new RuntimeException("Failed to create thread to run: " + eventprocessor);
         }
 
+        this.thread = thread;
         thread.start();
     }
 
@@ -89,6 +119,12 @@ class EventProcessorInfo implements ConsumerInfo
         endOfChain = false;
     }
 
+    @Override
+    public void markAsEndOfChain()
+    {
+        endOfChain = true;
+    }
+
     @Override
     public boolean isRunning()
     {
@@ -38,6 +38,12 @@ public class ExceptionHandlerWrapper<T> implements ExceptionHandler<T>
         getExceptionHandler() .handleOnShutdownException(ex);
     }
 
+    @Override
+    public void handleOnCheckpointException(final Throwable ex, final long sequence)
+    {
+        getExceptionHandler().handleOnCheckpointException(ex, sequence);
+    }
+
     private ExceptionHandler<? super T> getExceptionHandler()
     {
         ExceptionHandler<? super T> handler = delegate;
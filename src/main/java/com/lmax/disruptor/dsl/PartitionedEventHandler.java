@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import com.lmax.disruptor.DataProvider;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.Sequence;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs one partition of a key-partitioned stage, forwarding to the delegate only the events whose key maps to this
+ * partition.  All events of a key are handled by the same partition, in sequence order.
+ *
+ * <p>The delegate sees <code>endOfBatch</code> on the last event of a batch that it owns, found by looking ahead in
+ * the batch.  Events skipped by the look ahead are not examined again, so each key is computed once per partition.
+ * The <code>batchSize</code> and <code>queueDepth</code> passed to the delegate's <code>onBatchStart</code> are those
+ * of the underlying stage, and so are upper bounds for the partition.
+ *
+ * @param <T> the type of event used.
+ */
+final class PartitionedEventHandler<T> implements EventHandler<T>
+{
+    private static final int MIX_SHIFT = 33;
+    private static final long MIX_MULTIPLIER_1 = 0xff51afd7ed558ccdL;
+    private static final long MIX_MULTIPLIER_2 = 0xc4ceb9fe1a85ec53L;
+
+    private final DataProvider<T> dataProvider;
+    private final ToLongFunction<? super T> keyFunction;
+    private final int partition;
+    private final int partitionCount;
+    private final EventHandler<? super T> delegate;
+
+    private boolean batchStarting;
+    private boolean delegateBatchStarted;
+    private long batchSize;
+    private long queueDepth;
+    private long endOfBatchSequence;
+    private long nextOwnedSequence;
+
+    PartitionedEventHandler(
+        final DataProvider<T> dataProvider,
+        final ToLongFunction<? super T> keyFunction,
+        final int partition,
+        final int partitionCount,
+        final EventHandler<? super T> delegate)
+    {
+        this.dataProvider = dataProvider;
+        this.keyFunction = keyFunction;
+        this.partition = partition;
+        this.partitionCount = partitionCount;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Map a key on to one of the partitions, mixing the bits of the key first so that keys which only
+     * differ in their high bits are still spread evenly.
+     *
+     * @param key            the key of an event.
+     * @param partitionCount the number of partitions in the stage.
+     * @return the partition that owns the key.
+     */
+    static int partitionFor(final long key, final int partitionCount)
+    {
+        long mixed = key;
+        mixed = (mixed ^ (mixed >>> MIX_SHIFT)) * MIX_MULTIPLIER_1;
+        mixed = (mixed ^ (mixed >>> MIX_SHIFT)) * MIX_MULTIPLIER_2;
+        mixed = mixed ^ (mixed >>> MIX_SHIFT);
+
+        return (int) Long.remainderUnsigned(mixed, partitionCount);
+    }
+
+    @Override
+    public void onBatchStart(final long batchSize, final long queueDepth)
+    {
+        this.batchStarting = true;
+        this.batchSize = batchSize;
+        this.queueDepth = queueDepth;
+    }
+
+    @Override
+    public void onEvent(final T event, final long sequence, final boolean endOfBatch) throws Exception
+    {
+        if (batchStarting)
+        {
+            batchStarting = false;
+            delegateBatchStarted = false;
+            endOfBatchSequence = sequence + batchSize - 1;
+            nextOwnedSequence = findNextOwnedSequence(sequence);
+        }
+
+        if (sequence != nextOwnedSequence)
+        {
+            return;
+        }
+
+        if (!delegateBatchStarted)
+        {
+            delegateBatchStarted = true;
+            delegate.onBatchStart(endOfBatchSequence - sequence + 1, queueDepth);
+        }
+
+        nextOwnedSequence = findNextOwnedSequence(sequence + 1);
+        delegate.onEvent(event, sequence, nextOwnedSequence > endOfBatchSequence);
+    }
+
+    @Override
+    public void onStart()
+    {
+        delegate.onStart();
+    }
+
+    @Override
+    public void onShutdown()
+    {
+        delegate.onShutdown();
+    }
+
+    @Override
+    public void onTimeout(final long sequence) throws Exception
+    {
+        delegate.onTimeout(sequence);
+    }
+
+    @Override
+    public void setSequenceCallback(final Sequence sequenceCallback)
+    {
+        delegate.setSequenceCallback(sequenceCallback);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PartitionedEventHandler{" +
+            "partition=" + partition +
+            ", partitionCount=" + partitionCount +
+            ", delegate=" + delegate +
+            '}';
+    }
+
+    private long findNextOwnedSequence(final long fromSequence)
+    {
+        for (long sequence = fromSequence; sequence <= endOfBatchSequence; sequence++)
+        {
+            if (ownsEvent(dataProvider.get(sequence)))
+            {
+                return sequence;
+            }
+        }
+
+        return endOfBatchSequence + 1;
+    }
+
+    private boolean ownsEvent(final T event)
+    {
+        return partitionFor(keyFunction.applyAsLong(event), partitionCount) == partition;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import com.lmax.disruptor.EventHandlerIdentity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An event processor that the watchdog found not to be moving while events were available to it, as passed to
+ * {@link StalledConsumerListener#onStall(StalledConsumer)}.
+ */
+public final class StalledConsumer
+{
+    private final EventHandlerIdentity handlerIdentity;
+    private final long sequence;
+    private final long availableSequence;
+    private final long stalledNanos;
+    private final Thread thread;
+    private final StackTraceElement[] stackTrace;
+
+    StalledConsumer(
+        final EventHandlerIdentity handlerIdentity,
+        final long sequence,
+        final long availableSequence,
+        final long stalledNanos,
+        final Thread thread,
+        final StackTraceElement[] stackTrace)
+    {
+        this.handlerIdentity = handlerIdentity;
+        this.sequence = sequence;
+        this.availableSequence = availableSequence;
+        this.stalledNanos = stalledNanos;
+        this.thread = thread;
+        this.stackTrace = stackTrace;
+    }
+
+    /**
+     * @return the handler of the stalled event processor, or <code>null</code> for an event processor or worker pool
+     * that was passed to the disruptor directly
+     */
+    public EventHandlerIdentity getHandlerIdentity()
+    {
+        return handlerIdentity;
+    }
+
+    /**
+     * @return the sequence of the last event processed
+     */
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * @return the highest sequence available to the event processor, after the event processors it depends on
+     */
+    public long getAvailableSequence()
+    {
+        return availableSequence;
+    }
+
+    /**
+     * @return the number of events available to the event processor but not yet processed
+     */
+    public long getLag()
+    {
+        return availableSequence - sequence;
+    }
+
+    /**
+     * @return how long the sequence had not moved for, in nanoseconds, when the stall was found
+     */
+    public long getStalledNanos()
+    {
+        return stalledNanos;
+    }
+
+    /**
+     * @return the thread running the event processor, or <code>null</code> if it is not known, e.g. for a worker pool
+     */
+    public Thread getThread()
+    {
+        return thread;
+    }
+
+    /**
+     * @return the stack trace of the thread when the stall was found, empty if the thread is not known
+     */
+    public StackTraceElement[] getStackTrace()
+    {
+        return stackTrace.clone();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StalledConsumer{" +
+            "handler=" + handlerIdentity +
+            ", sequence=" + sequence +
+            ", lag=" + getLag() +
+            ", stalledMillis=" + TimeUnit.NANOSECONDS.toMillis(stalledNanos) +
+            ", thread=" + (thread != null ? thread.getName() : null) +
+            '}';
+    }
+}
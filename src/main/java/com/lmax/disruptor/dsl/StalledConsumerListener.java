@@ -0,0 +1,32 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+/**
+ * Callback for the stalls found by the watchdog enabled with
+ * {@link Disruptor#enableWatchdog(long, long, java.util.concurrent.TimeUnit, StalledConsumerListener)}.
+ */
+@FunctionalInterface
+public interface StalledConsumerListener
+{
+    /**
+     * Called from the watchdog thread, once for each stall, when an event processor with events available to it has
+     * not moved its sequence for the stall timeout.
+     *
+     * @param stalledConsumer describes the stalled event processor.
+     */
+    void onStall(StalledConsumer stalledConsumer);
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WorkerPool;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Tracks a {@link WorkerPool} and the sequence barrier which the pool is attached to.
+ *
+ * <p>The pool is represented by its single aggregated sequence, so later stages and the ring buffer gate on the
+ * slowest worker without knowing how many workers there are.
+ *
+ * @param <T> the type of the events processed by the pool.
+ */
+class WorkerPoolInfo<T> implements ConsumerInfo
+{
+    private final WorkerPool<T> workerPool;
+    private final SequenceBarrier sequenceBarrier;
+    private final Sequence[] dependencies;
+    private volatile boolean endOfChain = true;
+
+    WorkerPoolInfo(final WorkerPool<T> workerPool, final SequenceBarrier sequenceBarrier, final Sequence[] dependencies)
+    {
+        this.workerPool = workerPool;
+        this.sequenceBarrier = sequenceBarrier;
+        this.dependencies = dependencies;
+    }
+
+    @Override
+    public Sequence[] getSequences()
+    {
+        return new Sequence[]{workerPool.getSequence()};
+    }
+
+    @Override
+    public Sequence[] getDependencies()
+    {
+        return dependencies;
+    }
+
+    @Override
+    public SequenceBarrier getBarrier()
+    {
+        return sequenceBarrier;
+    }
+
+    @Override
+    public boolean isEndOfChain()
+    {
+        return endOfChain;
+    }
+
+    @Override
+    public void start(final ThreadFactory threadFactory)
+    {
+        workerPool.start(threadFactory);
+    }
+
+    @Override
+    public void halt()
+    {
+        workerPool.halt();
+    }
+
+    @Override
+    public void markAsUsedInBarrier()
+    {
+        endOfChain = false;
+    }
+
+    @Override
+    public void markAsEndOfChain()
+    {
+        endOfChain = true;
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return workerPool.isRunning();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.journal;
+
+import com.lmax.disruptor.BatchEventProcessorBuilder;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SequenceCheckpointer;
+import com.lmax.disruptor.Sequencer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link SequenceCheckpointer} that records the sequence in a small memory-mapped file, so that processing can be
+ * resumed from it after a restart.
+ *
+ * <p>A checkpoint is a pair of stores into the mapped file and makes no system call, the operating system writes the
+ * page back in its own time, so the checkpoint survives the process failing but not the machine failing unless
+ * {@link #force()} is called.  An older checkpoint is always safe to resume from, as long as the events after it can
+ * be replayed, e.g. from a journal written by a {@link JournalingEventHandler}.  The file holds two slots that are
+ * written alternately, each holding the sequence and its complement, so a checkpoint torn by a crash is detected and
+ * the previous one is used.
+ *
+ * <p>To resume, open the file and create the ring buffer with
+ * {@link RingBuffer#create(com.lmax.disruptor.dsl.ProducerType, com.lmax.disruptor.EventFactory, int,
+ * com.lmax.disruptor.WaitStrategy, com.lmax.disruptor.ProducerWaitStrategy, long)} starting from
+ * {@link #getSequence()}, then set the file as the checkpointer with
+ * {@link BatchEventProcessorBuilder#setCheckpointer(SequenceCheckpointer, int)}.
+ */
+public final class CheckpointFile implements SequenceCheckpointer
+{
+    private static final int MAGIC = 0x4C4D5843;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int HEADER_SIZE = 8;
+    private static final int SLOT_SIZE = 16;
+    private static final int COMPLEMENT_OFFSET = 8;
+    private static final int FILE_SIZE = HEADER_SIZE + 2 * SLOT_SIZE;
+
+    private final Path file;
+    private final MappedByteBuffer mapped;
+    private volatile long sequence;
+    private int nextSlot;
+
+    private CheckpointFile(final Path file, final MappedByteBuffer mapped)
+    {
+        this.file = file;
+        this.mapped = mapped;
+
+        final long first = readSlot(0);
+        final long second = readSlot(1);
+        this.sequence = Math.max(first, second);
+        this.nextSlot = second > first ? 0 : 1;
+    }
+
+    /**
+     * Open the checkpoint file, creating it if it does not exist.
+     *
+     * @param file holding the checkpoint.
+     * @return the checkpoint file, positioned at the last checkpoint written to it.
+     * @throws IOException if the file cannot be created or mapped, or is not a checkpoint file.
+     */
+    public static CheckpointFile open(final Path file) throws IOException
+    {
+        final boolean created = Files.notExists(file);
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            if (created)
+            {
+                final ByteBuffer zeros = ByteBuffer.allocate(FILE_SIZE);
+                while (zeros.hasRemaining())
+                {
+                    channel.write(zeros, zeros.position());
+                }
+            }
+            else if (channel.size() != FILE_SIZE)
+            {
+                throw new IOException(file + " is not a checkpoint file");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+        }
+        mapped.order(ByteOrder.nativeOrder());
+
+        if (created)
+        {
+            mapped.putInt(MAGIC_OFFSET, MAGIC);
+            mapped.putInt(VERSION_OFFSET, VERSION);
+            mapped.force();
+        }
+        else if (mapped.getInt(MAGIC_OFFSET) != MAGIC || mapped.getInt(VERSION_OFFSET) != VERSION)
+        {
+            throw new IOException(file + " is not a checkpoint file");
+        }
+
+        return new CheckpointFile(file, mapped);
+    }
+
+    /**
+     * The last sequence checkpointed, {@link Sequencer#INITIAL_CURSOR_VALUE} if there has been no checkpoint.
+     *
+     * @return the checkpointed sequence
+     */
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    @Override
+    public void checkpoint(final long sequence)
+    {
+        final int offset = HEADER_SIZE + nextSlot * SLOT_SIZE;
+        mapped.putLong(offset, sequence);
+        mapped.putLong(offset + COMPLEMENT_OFFSET, ~sequence);
+        nextSlot ^= 1;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Force the last checkpoint to storage.
+     */
+    public void force()
+    {
+        mapped.force();
+    }
+
+    private long readSlot(final int slot)
+    {
+        final int offset = HEADER_SIZE + slot * SLOT_SIZE;
+        final long value = mapped.getLong(offset);
+        return mapped.getLong(offset + COMPLEMENT_OFFSET) == ~value ? value : Sequencer.INITIAL_CURSOR_VALUE;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CheckpointFile{" +
+            "file=" + file +
+            ", sequence=" + sequence +
+            '}';
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.journal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes events into the journal written by a {@link JournalingEventHandler}.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+@FunctionalInterface
+public interface JournalEncoder<T>
+{
+    /**
+     * Write the event into the buffer, using relative puts from its current position.  The buffer must not be
+     * flipped, compacted or kept beyond the call.
+     *
+     * <p>If the event does not fit in the remaining space, the resulting {@link java.nio.BufferOverflowException}
+     * must be allowed to propagate, so that the event can be written again at the start of a new segment.
+     *
+     * @param event  to be journaled.
+     * @param buffer into which the event is written.
+     */
+    void encode(T event, ByteBuffer buffer);
+}
@@ -0,0 +1,463 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.journal;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequencer;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * An {@link EventHandler} that journals every event, through a {@link JournalEncoder}, to memory-mapped segment
+ * files, for use as the first stage ahead of the business logic.
+ *
+ * <p>Events are written to the current segment as they arrive, and the segment is forced to storage only at the end
+ * of each batch, so the cost of the force is shared by all of the events in the batch.  Handlers that depend on the
+ * journaling handler therefore only see events that have been forced.  Each segment is allocated in full, by
+ * writing zeros, before it is used, and a new segment is started when the next event does not fit.  The first
+ * segment is allocated when the first event is journaled, and each following segment is allocated on a thread of
+ * its own while the previous one is being written, so the handler only waits for the allocation if it fills a
+ * segment before the next one is ready.  Segments are never deleted by the handler.
+ *
+ * <p>Each record carries a checksum, so a record torn by a crash before its batch was forced is detected, and the
+ * rest of that segment is ignored.  Reopening a journal always starts a new segment.
+ *
+ * <p>On startup, {@link #replay(RingBuffer, EventTranslatorOneArg)} republishes the journaled events into the ring
+ * buffer consumed by the handler.  The handler passes over the replayed events, which are already in the journal,
+ * and every other handler processes them as usual.
+ *
+ * <p>Once the handler will not be called again, {@link #close()} forces the journal and removes the segment that
+ * was allocated ahead but not used.  Mapped segments are released once they are garbage collected.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class JournalingEventHandler<T> implements EventHandler<T>, AutoCloseable
+{
+    private static final int MAGIC = 0x4C4D584A;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int HEADER_SIZE = 8;
+    private static final int LENGTH_OFFSET = 0;
+    private static final int CHECKSUM_OFFSET = 4;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int ZEROS_SIZE = 64 * 1024;
+    private static final String SUFFIX = ".journal";
+    private static final String ALLOCATING_SUFFIX = ".allocating";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("[0-9]{20}\\" + SUFFIX);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final JournalEncoder<T> encoder;
+    private final ThreadFactory threadFactory;
+    private final List<Path> journaledSegments;
+    private final CRC32C checksum = new CRC32C();
+    private long nextSegmentIndex;
+    private FutureTask<MappedByteBuffer> nextSegment;
+    private MappedByteBuffer segment;
+    private ByteBuffer view;
+    private int offset;
+    private boolean dirty;
+    private boolean closed;
+    private volatile long replayedSequence = Sequencer.INITIAL_CURSOR_VALUE;
+
+    private JournalingEventHandler(
+        final Path directory,
+        final int segmentSize,
+        final JournalEncoder<T> encoder,
+        final ThreadFactory threadFactory,
+        final List<Path> journaledSegments)
+    {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.encoder = encoder;
+        this.threadFactory = threadFactory;
+        this.journaledSegments = journaledSegments;
+        this.nextSegmentIndex = journaledSegments.isEmpty() ? 0 : segmentIndex(journaledSegments.get(journaledSegments.size() - 1)) + 1;
+    }
+
+    /**
+     * Open the journal in a directory, creating the directory if it does not exist.  New events are written to
+     * segments after those already in the directory.  Segments are allocated ahead on daemon threads.
+     *
+     * @param directory   holding the segment files.
+     * @param segmentSize size of each segment file in bytes, which limits the size of an encoded event.
+     * @param encoder     used to serialize each event.
+     * @param <T>         event implementation storing the data for sharing during exchange or parallel coordination of an event.
+     * @return a handler that journals to the directory.
+     * @throws IOException              if the directory cannot be created or listed.
+     * @throws IllegalArgumentException if segmentSize is too small to hold a record
+     */
+    public static <T> JournalingEventHandler<T> open(
+        final Path directory,
+        final int segmentSize,
+        final JournalEncoder<T> encoder) throws IOException
+    {
+        return open(directory, segmentSize, encoder, DaemonThreadFactory.INSTANCE);
+    }
+
+    /**
+     * Open the journal in a directory, creating the directory if it does not exist.  New events are written to
+     * segments after those already in the directory.
+     *
+     * @param directory     holding the segment files.
+     * @param segmentSize   size of each segment file in bytes, which limits the size of an encoded event.
+     * @param encoder       used to serialize each event.
+     * @param threadFactory to create the threads that allocate segments ahead of use.
+     * @param <T>           event implementation storing the data for sharing during exchange or parallel coordination of an event.
+     * @return a handler that journals to the directory.
+     * @throws IOException              if the directory cannot be created or listed.
+     * @throws IllegalArgumentException if segmentSize is too small to hold a record
+     */
+    public static <T> JournalingEventHandler<T> open(
+        final Path directory,
+        final int segmentSize,
+        final JournalEncoder<T> encoder,
+        final ThreadFactory threadFactory) throws IOException
+    {
+        if (segmentSize <= HEADER_SIZE + RECORD_HEADER_SIZE)
+        {
+            throw new IllegalArgumentException("segmentSize must be greater than " + (HEADER_SIZE + RECORD_HEADER_SIZE));
+        }
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory))
+        {
+            final List<Path> segments = files
+                .filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                .sorted()
+                .collect(Collectors.toList());
+            return new JournalingEventHandler<>(directory, segmentSize, encoder, threadFactory, segments);
+        }
+    }
+
+    /**
+     * Republish the events that were in the journal when it was opened into the ring buffer consumed by this handler,
+     * in the order that they were journaled.  The replayed events are not journaled again.
+     *
+     * <p>Replay must happen before any other event is published to the ring buffer, and the handler must already be
+     * running if the journal holds more events than the ring buffer has capacity for.
+     *
+     * @param ringBuffer that this handler consumes.
+     * @param decoder    used to translate each journaled record back into an event.  The record is positioned at
+     *                   the start of the encoded event and limited to its end.
+     * @return the number of events replayed.
+     * @throws IOException if a segment cannot be mapped or was not written by a journaling handler.
+     */
+    public long replay(final RingBuffer<T> ringBuffer, final EventTranslatorOneArg<T, ByteBuffer> decoder) throws IOException
+    {
+        long count = 0;
+        for (final Path file : journaledSegments)
+        {
+            count += forEachRecord(file, record ->
+            {
+                final long sequence = ringBuffer.next();
+                try
+                {
+                    decoder.translateTo(ringBuffer.get(sequence), sequence, record);
+                }
+                finally
+                {
+                    replayedSequence = sequence;
+                    ringBuffer.publish(sequence);
+                }
+            });
+        }
+        return count;
+    }
+
+    @Override
+    public void onEvent(final T event, final long sequence, final boolean endOfBatch) throws Exception
+    {
+        if (sequence > replayedSequence)
+        {
+            append(event);
+        }
+
+        if (endOfBatch)
+        {
+            flush();
+        }
+    }
+
+    @Override
+    public void onShutdown()
+    {
+        flush();
+    }
+
+    /**
+     * Force the journal and remove the segment that was allocated ahead but not used.  The handler
+     * must not be called again, so this is only called once the event processor running it has stopped.
+     *
+     * @throws IOException if the segment allocated ahead could not be removed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (closed)
+        {
+            return;
+        }
+
+        flush();
+        closed = true;
+        segment = null;
+        view = null;
+        if (nextSegment != null)
+        {
+            awaitNextSegment();
+            Files.delete(segmentFile(nextSegmentIndex));
+        }
+    }
+
+    private void append(final T event) throws IOException
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Journal is closed");
+        }
+
+        if (segment == null || !tryAppend(event))
+        {
+            roll();
+            if (!tryAppend(event))
+            {
+                throw new IllegalArgumentException("Event does not fit in a journal segment of " + segmentSize + " bytes");
+            }
+        }
+    }
+
+    private boolean tryAppend(final T event)
+    {
+        final int start = offset + RECORD_HEADER_SIZE;
+        if (start > segmentSize)
+        {
+            return false;
+        }
+
+        view.clear().position(start);
+        try
+        {
+            encoder.encode(event, view);
+        }
+        catch (final BufferOverflowException ex)
+        {
+            return false;
+        }
+
+        final int end = view.position();
+        view.limit(end).position(start);
+        checksum.reset();
+        checksum.update(view);
+        segment.putInt(offset + CHECKSUM_OFFSET, (int) checksum.getValue());
+        segment.putInt(offset + LENGTH_OFFSET, end - offset);
+
+        offset = end;
+        dirty = true;
+        return true;
+    }
+
+    private void flush()
+    {
+        if (dirty)
+        {
+            segment.force();
+            dirty = false;
+        }
+    }
+
+    private void roll() throws IOException
+    {
+        flush();
+
+        final MappedByteBuffer mapped = nextSegment != null ? awaitNextSegment() : allocate(nextSegmentIndex);
+        nextSegmentIndex++;
+
+        segment = mapped;
+        view = mapped.duplicate().order(ByteOrder.nativeOrder());
+        offset = HEADER_SIZE;
+
+        allocateAhead(nextSegmentIndex);
+    }
+
+    private void allocateAhead(final long segmentIndex)
+    {
+        final FutureTask<MappedByteBuffer> task = new FutureTask<>(() -> allocate(segmentIndex));
+        final Thread thread = threadFactory.newThread(task);
+        if (null == thread)
+        {
+            throw new RuntimeException("Failed to create thread to allocate journal segment " + segmentIndex);
+        }
+
+        nextSegment = task;
+        thread.start();
+    }
+
+    private MappedByteBuffer awaitNextSegment() throws IOException
+    {
+        try
+        {
+            final MappedByteBuffer mapped = nextSegment.get();
+            nextSegment = null;
+            return mapped;
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for journal segment " + nextSegmentIndex);
+        }
+        catch (final ExecutionException ex)
+        {
+            // Allocate the segment again on the next attempt
+            nextSegment = null;
+            if (ex.getCause() instanceof IOException)
+            {
+                throw (IOException) ex.getCause();
+            }
+            throw new IOException("Failed to allocate journal segment " + nextSegmentIndex, ex.getCause());
+        }
+    }
+
+    /**
+     * Write a segment in full, under a name that is not picked up by replay, and only give it the name of a segment
+     * once it is complete, so a crash while allocating never leaves a segment without a header.
+     */
+    private MappedByteBuffer allocate(final long segmentIndex) throws IOException
+    {
+        final Path file = segmentFile(segmentIndex);
+        final Path allocating = file.resolveSibling(file.getFileName() + ALLOCATING_SUFFIX);
+        try (FileChannel channel = FileChannel.open(
+            allocating, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            final ByteBuffer zeros = ByteBuffer.allocate(ZEROS_SIZE);
+            for (long position = 0; position < segmentSize; position += zeros.limit())
+            {
+                zeros.clear().limit((int) Math.min(ZEROS_SIZE, segmentSize - position));
+                while (zeros.hasRemaining())
+                {
+                    channel.write(zeros, position + zeros.position());
+                }
+            }
+
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+            header.putInt(MAGIC_OFFSET, MAGIC).putInt(VERSION_OFFSET, VERSION);
+            while (header.hasRemaining())
+            {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(allocating, file, StandardCopyOption.ATOMIC_MOVE);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            mapped.order(ByteOrder.nativeOrder());
+            return mapped;
+        }
+    }
+
+    private Path segmentFile(final long segmentIndex)
+    {
+        return directory.resolve(String.format("%020d%s", segmentIndex, SUFFIX));
+    }
+
+    private static int forEachRecord(final Path file, final Consumer<ByteBuffer> action) throws IOException
+    {
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.nativeOrder());
+
+        return forEachRecord(file, mapped, action);
+    }
+
+    private static int forEachRecord(final Path file, final MappedByteBuffer mapped, final Consumer<ByteBuffer> action)
+        throws IOException
+    {
+        if (mapped.capacity() < HEADER_SIZE || mapped.getInt(MAGIC_OFFSET) != MAGIC || mapped.getInt(VERSION_OFFSET) != VERSION)
+        {
+            throw new IOException(file + " is not a journal segment");
+        }
+
+        final ByteBuffer record = mapped.duplicate().order(ByteOrder.nativeOrder());
+        final CRC32C recordChecksum = new CRC32C();
+        int count = 0;
+        int recordOffset = HEADER_SIZE;
+        while (recordOffset + RECORD_HEADER_SIZE <= mapped.capacity())
+        {
+            final int length = mapped.getInt(recordOffset + LENGTH_OFFSET);
+            if (length < RECORD_HEADER_SIZE || length > mapped.capacity() - recordOffset)
+            {
+                break;
+            }
+
+            record.clear().position(recordOffset + RECORD_HEADER_SIZE).limit(recordOffset + length);
+            recordChecksum.reset();
+            recordChecksum.update(record);
+            if ((int) recordChecksum.getValue() != mapped.getInt(recordOffset + CHECKSUM_OFFSET))
+            {
+                break;
+            }
+
+            record.position(recordOffset + RECORD_HEADER_SIZE);
+            action.accept(record);
+            count++;
+            recordOffset += length;
+        }
+        return count;
+    }
+
+    private static long segmentIndex(final Path file)
+    {
+        final String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "JournalingEventHandler{" +
+            "directory=" + directory +
+            ", segmentSize=" + segmentSize +
+            '}';
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.metrics;
+
+import javax.management.JMException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@link HandlerMetrics} of a set of event handlers, typically those of one
+ * {@link com.lmax.disruptor.dsl.Disruptor}, see {@link com.lmax.disruptor.dsl.Disruptor#enableMetrics()}.
+ *
+ * <p>The metrics of each handler can be read directly or published as MXBeans with {@link #registerMBeans(String)}.
+ * The Disruptor only requires the <code>java.management</code> module statically, so an application on the module path
+ * that registers the MXBeans must make sure the module is resolved, e.g. by requiring it itself.
+ */
+public final class DisruptorMetrics
+{
+    private final List<HandlerMetrics> handlerMetrics = new CopyOnWriteArrayList<>();
+    private MBeanRegistration registration;
+
+    /**
+     * Create the metrics for a handler.  If the name is already in use a suffix is added to make it unique.
+     *
+     * @param name of the handler.
+     * @return the metrics to pass to {@link com.lmax.disruptor.BatchEventProcessor#setMetrics}.
+     */
+    public synchronized HandlerMetrics forHandler(final String name)
+    {
+        String uniqueName = name;
+        for (int i = 2; isInUse(uniqueName); i++)
+        {
+            uniqueName = name + "-" + i;
+        }
+
+        final HandlerMetrics metrics = new HandlerMetrics(uniqueName);
+        handlerMetrics.add(metrics);
+        return metrics;
+    }
+
+    /**
+     * @return the metrics of every handler, in the order they were created
+     */
+    public List<HandlerMetrics> getHandlerMetrics()
+    {
+        return Collections.unmodifiableList(handlerMetrics);
+    }
+
+    /**
+     * Register an MXBean for each handler with the platform MBean server, named
+     * <code>domain:type=HandlerMetrics,name="handler name"</code>.  Handlers that have already been registered under
+     * the domain are skipped, so this may be called again after attaching handlers to register the new ones.
+     *
+     * @param domain of the object names.
+     * @throws JMException if a bean could not be registered, e.g. because the name is used by another bean.
+     */
+    public synchronized void registerMBeans(final String domain) throws JMException
+    {
+        if (registration == null)
+        {
+            registration = new MBeanRegistration();
+        }
+        registration.register(domain, handlerMetrics);
+    }
+
+    /**
+     * Unregister all MXBeans registered by {@link #registerMBeans(String)}.
+     *
+     * @throws JMException if a bean could not be unregistered.
+     */
+    public synchronized void unregisterMBeans() throws JMException
+    {
+        if (registration != null)
+        {
+            registration.unregister();
+        }
+    }
+
+    private boolean isInUse(final String name)
+    {
+        for (final HandlerMetrics metrics : handlerMetrics)
+        {
+            if (metrics.getName().equals(name))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
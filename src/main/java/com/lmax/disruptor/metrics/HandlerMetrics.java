@@ -0,0 +1,186 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.metrics;
+
+import com.lmax.disruptor.EventProcessorMetrics;
+
+/**
+ * The measurements recorded for a single event handler, see {@link DisruptorMetrics#forHandler(String)}.
+ */
+public final class HandlerMetrics implements EventProcessorMetrics, HandlerMetricsMXBean
+{
+    private static final double P50 = 50.0;
+    private static final double P99 = 99.0;
+
+    private final String name;
+    private final Histogram batchSize = new Histogram();
+    private final Histogram lag = new Histogram();
+    private final Histogram serviceTime = new Histogram();
+    private final Histogram waitTime = new Histogram();
+
+    HandlerMetrics(final String name)
+    {
+        this.name = name;
+    }
+
+    @Override
+    public void recordWait(final long waitNanos)
+    {
+        waitTime.record(waitNanos);
+    }
+
+    @Override
+    public void recordBatch(final long batchSize, final long lag, final long serviceNanos)
+    {
+        this.batchSize.record(batchSize);
+        this.lag.record(lag);
+        this.serviceTime.record(serviceNanos);
+    }
+
+    /**
+     * @return the distribution of the number of events in a batch
+     */
+    public Histogram getBatchSizeHistogram()
+    {
+        return batchSize;
+    }
+
+    /**
+     * @return the distribution of the number of events the handler was behind the cursor at the start of a batch
+     */
+    public Histogram getLagHistogram()
+    {
+        return lag;
+    }
+
+    /**
+     * @return the distribution of the time taken to process a batch, in nanoseconds
+     */
+    public Histogram getServiceTimeHistogram()
+    {
+        return serviceTime;
+    }
+
+    /**
+     * @return the distribution of the time spent waiting for events, in nanoseconds
+     */
+    public Histogram getWaitTimeHistogram()
+    {
+        return waitTime;
+    }
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public long getBatchCount()
+    {
+        return batchSize.getTotalCount();
+    }
+
+    @Override
+    public long getBatchSizeP50()
+    {
+        return batchSize.getValueAtPercentile(P50);
+    }
+
+    @Override
+    public long getBatchSizeP99()
+    {
+        return batchSize.getValueAtPercentile(P99);
+    }
+
+    @Override
+    public long getBatchSizeMax()
+    {
+        return batchSize.getMaxValue();
+    }
+
+    @Override
+    public long getLagP50()
+    {
+        return lag.getValueAtPercentile(P50);
+    }
+
+    @Override
+    public long getLagP99()
+    {
+        return lag.getValueAtPercentile(P99);
+    }
+
+    @Override
+    public long getLagMax()
+    {
+        return lag.getMaxValue();
+    }
+
+    @Override
+    public long getServiceTimeP50()
+    {
+        return serviceTime.getValueAtPercentile(P50);
+    }
+
+    @Override
+    public long getServiceTimeP99()
+    {
+        return serviceTime.getValueAtPercentile(P99);
+    }
+
+    @Override
+    public long getServiceTimeMax()
+    {
+        return serviceTime.getMaxValue();
+    }
+
+    @Override
+    public long getWaitTimeP50()
+    {
+        return waitTime.getValueAtPercentile(P50);
+    }
+
+    @Override
+    public long getWaitTimeP99()
+    {
+        return waitTime.getValueAtPercentile(P99);
+    }
+
+    @Override
+    public long getWaitTimeMax()
+    {
+        return waitTime.getMaxValue();
+    }
+
+    @Override
+    public void reset()
+    {
+        batchSize.reset();
+        lag.reset();
+        serviceTime.reset();
+        waitTime.reset();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HandlerMetrics{" +
+            "name='" + name + '\'' +
+            ", batchCount=" + getBatchCount() +
+            '}';
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.metrics;
+
+/**
+ * JMX view of the {@link HandlerMetrics} of a single event handler.  Times are in nanoseconds.
+ */
+public interface HandlerMetricsMXBean
+{
+    /**
+     * @return the name of the handler
+     */
+    String getName();
+
+    /**
+     * @return the number of batches processed
+     */
+    long getBatchCount();
+
+    /**
+     * @return the median number of events in a batch
+     */
+    long getBatchSizeP50();
+
+    /**
+     * @return the 99th percentile of the number of events in a batch
+     */
+    long getBatchSizeP99();
+
+    /**
+     * @return the largest batch processed
+     */
+    long getBatchSizeMax();
+
+    /**
+     * @return the median number of events the handler was behind the cursor
+     */
+    long getLagP50();
+
+    /**
+     * @return the 99th percentile of the number of events the handler was behind the cursor
+     */
+    long getLagP99();
+
+    /**
+     * @return the furthest the handler has been behind the cursor
+     */
+    long getLagMax();
+
+    /**
+     * @return the median time taken to process a batch
+     */
+    long getServiceTimeP50();
+
+    /**
+     * @return the 99th percentile of the time taken to process a batch
+     */
+    long getServiceTimeP99();
+
+    /**
+     * @return the longest time taken to process a batch
+     */
+    long getServiceTimeMax();
+
+    /**
+     * @return the median time spent waiting for events
+     */
+    long getWaitTimeP50();
+
+    /**
+     * @return the 99th percentile of the time spent waiting for events
+     */
+    long getWaitTimeP99();
+
+    /**
+     * @return the longest time spent waiting for events
+     */
+    long getWaitTimeMax();
+
+    /**
+     * Clear all recorded values.
+     */
+    void reset();
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative long values with a fixed relative precision.
+ *
+ * <p>Values are counted in log-linear buckets: each power of two is split into {@value #SUB_BUCKET_COUNT}
+ * linear sub-buckets, so a value is reported to within about 6% of its true value across the whole range of
+ * <code>long</code>.  Recording is wait-free apart from tracking the maximum, and never allocates, so it is safe
+ * to call from an event processing thread.  Reads may run concurrently with recording and see a close but not
+ * necessarily consistent snapshot.
+ */
+public final class Histogram
+{
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+    private static final double MAX_PERCENTILE = 100.0;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Record a single value.  Negative values are recorded as zero.
+     *
+     * @param value to record.
+     */
+    public void record(final long value)
+    {
+        final long v = Math.max(0L, value);
+        counts.getAndIncrement(indexOf(v));
+        totalCount.getAndIncrement();
+
+        long max = maxValue.get();
+        while (v > max)
+        {
+            final long witness = maxValue.compareAndExchange(max, v);
+            if (witness == max)
+            {
+                break;
+            }
+            max = witness;
+        }
+    }
+
+    /**
+     * The number of values recorded.
+     *
+     * @return the total count
+     */
+    public long getTotalCount()
+    {
+        return totalCount.get();
+    }
+
+    /**
+     * The largest value recorded, exactly.
+     *
+     * @return the maximum, or 0 if nothing has been recorded
+     */
+    public long getMaxValue()
+    {
+        return maxValue.get();
+    }
+
+    /**
+     * Get the value at or below which the given percentage of recorded values fall.  The upper bound of the bucket
+     * holding the percentile is reported, so the result errs high by at most the precision of the histogram, but never
+     * exceeds {@link #getMaxValue()}.
+     *
+     * @param percentile between 0 and 100.
+     * @return the value at the percentile, or 0 if nothing has been recorded
+     * @throws IllegalArgumentException if percentile is not between 0 and 100
+     */
+    public long getValueAtPercentile(final double percentile)
+    {
+        if (percentile < 0 || percentile > MAX_PERCENTILE)
+        {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+
+        final long total = totalCount.get();
+        final long target = Math.max(1L, (long) Math.ceil(percentile / MAX_PERCENTILE * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT && total > 0; i++)
+        {
+            seen += counts.get(i);
+            if (seen >= target)
+            {
+                return Math.min(highestValueIn(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Clear all recorded values.  Values recorded concurrently with a reset may be partially retained.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        maxValue.set(0);
+    }
+
+    static int indexOf(final long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> exponent) - SUB_BUCKET_COUNT;
+        return (exponent + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueIn(final int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKET_COUNT - 1;
+        final long lowest = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << exponent;
+        return lowest + (1L << exponent) - 1;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Histogram{" +
+            "totalCount=" + getTotalCount() +
+            ", maxValue=" + getMaxValue() +
+            '}';
+    }
+}
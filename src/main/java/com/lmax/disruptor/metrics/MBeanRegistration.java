@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The MXBeans registered for a set of {@link HandlerMetrics}.  Kept apart from {@link DisruptorMetrics} so that the
+ * <code>java.management</code> module is only needed once metrics are registered.
+ */
+final class MBeanRegistration
+{
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private final Set<ObjectName> registeredNames = new LinkedHashSet<>();
+
+    void register(final String domain, final List<HandlerMetrics> handlerMetrics) throws JMException
+    {
+        for (final HandlerMetrics metrics : handlerMetrics)
+        {
+            final ObjectName objectName = new ObjectName(domain + ":type=HandlerMetrics,name=" + ObjectName.quote(metrics.getName()));
+            if (!registeredNames.contains(objectName))
+            {
+                server.registerMBean(metrics, objectName);
+                registeredNames.add(objectName);
+            }
+        }
+    }
+
+    void unregister() throws JMException
+    {
+        for (final ObjectName objectName : registeredNames)
+        {
+            if (server.isRegistered(objectName))
+            {
+                server.unregisterMBean(objectName);
+            }
+        }
+        registeredNames.clear();
+    }
+}
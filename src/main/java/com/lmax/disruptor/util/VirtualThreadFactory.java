@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to a ThreadFactory instance that creates virtual threads, which requires Java 21 or later.
+ *
+ * <p>The Disruptor is built for Java 11, so the virtual thread factory is looked up when this class is first used.
+ * Event processors that run on virtual threads should use a wait strategy that does not pin the carrier thread
+ * while blocked, such as the {@link com.lmax.disruptor.ConditionBlockingWaitStrategy}.
+ */
+public enum VirtualThreadFactory implements ThreadFactory
+{
+    /**
+     * The singleton instance
+     */
+    INSTANCE;
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = lookupVirtualThreadFactory();
+
+    /**
+     * Whether the running JVM supports virtual threads.
+     *
+     * @return true if threads can be created by this factory
+     */
+    public static boolean isSupported()
+    {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the running JVM does not support virtual threads
+     */
+    @Override
+    public Thread newThread(final Runnable r)
+    {
+        if (VIRTUAL_THREAD_FACTORY == null)
+        {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+        }
+
+        return VIRTUAL_THREAD_FACTORY.newThread(r);
+    }
+
+    private static ThreadFactory lookupVirtualThreadFactory()
+    {
+        try
+        {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            final Object builder = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass)).invoke();
+            return (ThreadFactory) lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class)).invoke(builder);
+        }
+        catch (final Throwable ex)
+        {
+            // not available before Java 21, or only as a preview feature that has not been enabled
+            return null;
+        }
+    }
+}
@@ -1,5 +1,10 @@
 module com.lmax.disruptor {
+    requires static transitive java.management;
+    requires static jdk.jfr;
+
     exports com.lmax.disruptor;
     exports com.lmax.disruptor.dsl;
+    exports com.lmax.disruptor.journal;
+    exports com.lmax.disruptor.metrics;
     exports com.lmax.disruptor.util;
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.footprint;
+
+import com.lmax.disruptor.ConditionBlockingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.ValueEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.VirtualThreadFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts many small disruptors, e.g. one per tenant, whose event processors are blocked waiting for events most of
+ * the time, and reports the memory and platform threads they use.
+ *
+ * <p>Usage: <code>ManyIdleDisruptorsFootprintTest [count] [virtual|platform]</code>.  Virtual threads are used by
+ * default when the JVM supports them.
+ */
+public final class ManyIdleDisruptorsFootprintTest
+{
+    private static final int DEFAULT_DISRUPTOR_COUNT = 10_000;
+    private static final int BUFFER_SIZE = 64;
+
+    public static void main(final String[] args) throws Exception
+    {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DISRUPTOR_COUNT;
+        final boolean virtual = args.length > 1 ? "virtual".equals(args[1]) : VirtualThreadFactory.isSupported();
+        final ThreadFactory threadFactory = virtual ? VirtualThreadFactory.INSTANCE : DaemonThreadFactory.INSTANCE;
+
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        final long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        final int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        final CountDownLatch latch = new CountDownLatch(count);
+        final List<Disruptor<ValueEvent>> disruptors = new ArrayList<>(count);
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++)
+        {
+            final Disruptor<ValueEvent> disruptor = new Disruptor<>(
+                ValueEvent.EVENT_FACTORY, BUFFER_SIZE, threadFactory, ProducerType.SINGLE, new ConditionBlockingWaitStrategy());
+            disruptor.handleEventsWith((event, sequence, endOfBatch) -> latch.countDown());
+            disruptor.start();
+            disruptors.add(disruptor);
+        }
+
+        for (final Disruptor<ValueEvent> disruptor : disruptors)
+        {
+            disruptor.publishEvent((event, sequence) -> event.setValue(sequence));
+        }
+
+        if (!latch.await(1, TimeUnit.MINUTES))
+        {
+            throw new IllegalStateException("Events were not all handled");
+        }
+        final long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.gc();
+        final long heapUsed = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+        final int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+
+        System.out.format("%,d idle disruptors on %s threads: started in %,d ms, heap=%,d KiB (%,d bytes each), platform threads=%,d\n",
+            count, virtual ? "virtual" : "platform", startupMillis, heapUsed / 1024, heapUsed / count, platformThreads);
+
+        for (final Disruptor<ValueEvent> disruptor : disruptors)
+        {
+            disruptor.halt();
+        }
+    }
+}
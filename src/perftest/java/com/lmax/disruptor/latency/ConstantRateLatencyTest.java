@@ -0,0 +1,230 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.latency;
+
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.support.PerfTestUtil;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ *
+ * Offers events to each sequenced and queue topology at a constant rate and records the latency of every event at
+ * the last stage, measured from the time the event was scheduled to be sent.  A producer that falls behind its
+ * schedule sends immediately until it has caught up, and the time it was behind is included in the latency of each
+ * late event, so the results are corrected for coordinated omission.
+ *
+ * ConstantRateLatencyTest [waitStrategy] [eventsPerSecond] [seconds] [runs] [resultsFile] [topology...]
+ *
+ * e.g. ConstantRateLatencyTest blocking 500000 10 3 build/reports/perftest/blocking.json disruptor.oneToOne queue.oneToOne
+ *
+ * </pre>
+ *
+ * <p>The throughput and the full percentile spectrum of each run are written to the results file as JSON, so that
+ * runs can be compared across versions of the library and wait strategies.
+ *
+ * <p>Note: <b>This test is only useful on a system using an invariant TSC in user space from the System.nanoTime() call.</b>
+ */
+public final class ConstantRateLatencyTest
+{
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long DEFAULT_EVENTS_PER_SECOND = 500_000L;
+    private static final int DEFAULT_SECONDS = 10;
+    private static final int DEFAULT_RUNS = 3;
+    private static final String DEFAULT_RESULTS_FILE = "build/reports/perftest/constant-rate-latency.json";
+    private static final int PERCENTILE_TICKS_PER_HALF_DISTANCE = 5;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String[] args;
+    private final long eventsPerSecond;
+    private final int seconds;
+    private final int runs;
+    private final List<String> results = new ArrayList<>();
+
+    private ConstantRateLatencyTest(final String[] args)
+    {
+        this.args = args;
+        this.eventsPerSecond = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_EVENTS_PER_SECOND;
+        this.seconds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SECONDS;
+        this.runs = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_RUNS;
+    }
+
+    private void runTopology(final TopologyType type) throws Exception
+    {
+        final int availableProcessors = Runtime.getRuntime().availableProcessors();
+        if (type.getRequiredProcessorCount() > availableProcessors)
+        {
+            System.out.print("*** Warning ***: your system has insufficient processors to execute the test efficiently. ");
+            System.out.println("Processors required = " + type.getRequiredProcessorCount() + " available = " + availableProcessors);
+        }
+
+        for (int i = 0; i < runs; i++)
+        {
+            System.gc();
+            runPass(type, i);
+        }
+    }
+
+    private void runPass(final TopologyType type, final int run) throws Exception
+    {
+        final int producerCount = type.getProducerCount();
+        final long eventsPerProducer = eventsPerSecond * seconds / producerCount;
+        final long events = eventsPerProducer * producerCount;
+
+        final CountDownLatch latch = new CountDownLatch(type.getSinkCount());
+        final LatencyRecorder[] recorders = new LatencyRecorder[type.getSinkCount()];
+        for (int i = 0; i < recorders.length; i++)
+        {
+            recorders[i] = new LatencyRecorder(events, latch);
+        }
+
+        final Topology topology = type.start(PerfTestUtil.waitStrategyFrom(args, new YieldingWaitStrategy()), recorders);
+        final long startNanos = System.nanoTime() + START_DELAY_NANOS;
+        for (int i = 0; i < producerCount; i++)
+        {
+            final int producer = i;
+            DaemonThreadFactory.INSTANCE.newThread(() -> publishAtRate(topology, producer, producerCount, eventsPerProducer, startNanos)).start();
+        }
+
+        latch.await();
+        topology.halt();
+
+        final Histogram histogram = new Histogram(SIGNIFICANT_DIGITS);
+        long completedNanos = startNanos;
+        for (final LatencyRecorder recorder : recorders)
+        {
+            histogram.add(recorder.getHistogram());
+            completedNanos = Math.max(completedNanos, recorder.getCompletedNanos());
+        }
+        final double throughput = (double) events * NANOS_PER_SECOND / Math.max(1, completedNanos - startNanos);
+
+        System.out.format("%s run %d: offered=%,d achieved=%,.0f ops/sec latency(ns) p50=%,d p99=%,d p99.99=%,d max=%,d%n",
+            type.getTopologyName(), run, eventsPerSecond, throughput,
+            histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+            histogram.getValueAtPercentile(99.99), histogram.getMaxValue());
+        results.add(toJson(type, run, events, throughput, histogram));
+    }
+
+    private void publishAtRate(
+        final Topology topology,
+        final int producer,
+        final int producerCount,
+        final long eventsPerProducer,
+        final long startNanos)
+    {
+        try
+        {
+            for (long i = 0; i < eventsPerProducer; i++)
+            {
+                final long intendedNanos = startNanos + (i * producerCount + producer) * NANOS_PER_SECOND / eventsPerSecond;
+                while (System.nanoTime() < intendedNanos)
+                {
+                    Thread.onSpinWait();
+                }
+                topology.publish(producer, intendedNanos);
+            }
+        }
+        catch (final InterruptedException ex)
+        {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static String toJson(
+        final TopologyType type,
+        final int run,
+        final long events,
+        final double throughput,
+        final Histogram histogram)
+    {
+        final StringBuilder json = new StringBuilder()
+            .append("    {\"topology\": \"").append(type.getTopologyName())
+            .append("\", \"run\": ").append(run)
+            .append(", \"events\": ").append(events)
+            .append(", \"throughputOpsPerSecond\": ").append(Math.round(throughput))
+            .append(",\n     \"latencyNanos\": {\"count\": ").append(histogram.getTotalCount())
+            .append(", \"min\": ").append(histogram.getMinValue())
+            .append(", \"mean\": ").append(histogram.getMean())
+            .append(", \"max\": ").append(histogram.getMaxValue())
+            .append(", \"percentiles\": [");
+
+        String separator = "\n";
+        for (final HistogramIterationValue value : histogram.percentiles(PERCENTILE_TICKS_PER_HALF_DISTANCE))
+        {
+            json.append(separator)
+                .append("       {\"percentile\": ").append(value.getPercentileLevelIteratedTo())
+                .append(", \"value\": ").append(value.getValueIteratedTo())
+                .append(", \"totalCount\": ").append(value.getTotalCountToThisValue())
+                .append('}');
+            separator = ",\n";
+        }
+        return json.append("]}}").toString();
+    }
+
+    private void writeResults(final Path file, final WaitStrategy waitStrategy) throws Exception
+    {
+        final String version = Disruptor.class.getPackage().getImplementationVersion();
+        final String json = "{\n" +
+            "  \"test\": \"" + getClass().getSimpleName() + "\",\n" +
+            "  \"disruptorVersion\": \"" + (version == null ? "unknown" : version) + "\",\n" +
+            "  \"javaVersion\": \"" + System.getProperty("java.version") + "\",\n" +
+            "  \"availableProcessors\": " + Runtime.getRuntime().availableProcessors() + ",\n" +
+            "  \"waitStrategy\": \"" + waitStrategy.getClass().getSimpleName() + "\",\n" +
+            "  \"offeredOpsPerSecond\": " + eventsPerSecond + ",\n" +
+            "  \"seconds\": " + seconds + ",\n" +
+            "  \"results\": [\n" + String.join(",\n", results) + "\n  ]\n" +
+            "}\n";
+
+        if (file.getParent() != null)
+        {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, json);
+        System.out.println("Results written to " + file.toAbsolutePath());
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        final ConstantRateLatencyTest test = new ConstantRateLatencyTest(args);
+        final List<String> topologyNames = args.length > 5 ? Arrays.asList(args).subList(5, args.length) : null;
+
+        for (final TopologyType type : TopologyType.values())
+        {
+            if (topologyNames == null || topologyNames.contains(type.getTopologyName()))
+            {
+                test.runTopology(type);
+            }
+        }
+
+        test.writeResults(
+            Paths.get(args.length > 4 ? args[4] : DEFAULT_RESULTS_FILE),
+            PerfTestUtil.waitStrategyFrom(args, new YieldingWaitStrategy()));
+    }
+}
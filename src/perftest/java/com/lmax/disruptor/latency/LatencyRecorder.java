@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.latency;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Records, at the last stage of a topology, the latency of each event from the time it was scheduled to be sent.
+ *
+ * <p>Measuring from the intended send time, rather than the time the producer actually got to send it, means that
+ * a stall delaying the producer is charged to every event scheduled during the stall, which corrects for
+ * coordinated omission.
+ */
+final class LatencyRecorder
+{
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram histogram = new Histogram(SIGNIFICANT_DIGITS);
+    private final long expectedEvents;
+    private final CountDownLatch latch;
+    private long count = 0;
+    private volatile long completedNanos;
+
+    LatencyRecorder(final long expectedEvents, final CountDownLatch latch)
+    {
+        this.expectedEvents = expectedEvents;
+        this.latch = latch;
+    }
+
+    void record(final long intendedNanos)
+    {
+        final long now = System.nanoTime();
+        histogram.recordValue(Math.max(0, now - intendedNanos));
+
+        if (++count == expectedEvents)
+        {
+            completedNanos = now;
+            latch.countDown();
+        }
+    }
+
+    Histogram getHistogram()
+    {
+        return histogram;
+    }
+
+    long getCompletedNanos()
+    {
+        return completedNanos;
+    }
+}
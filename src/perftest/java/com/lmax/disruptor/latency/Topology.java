@@ -0,0 +1,35 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.latency;
+
+/**
+ * A running arrangement of producers and consumers that events are offered to by the harness.
+ */
+interface Topology
+{
+    /**
+     * Send an event, blocking if the topology is full.
+     *
+     * @param producer      index of the producer thread sending the event.
+     * @param intendedNanos time at which the event was scheduled to be sent, carried to the last stage.
+     */
+    void publish(int producer, long intendedNanos) throws InterruptedException;
+
+    /**
+     * Stop the consumers once every event has been recorded.
+     */
+    void halt();
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.latency;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.ValueEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The sequenced and queue topologies driven by {@link ConstantRateLatencyTest}, mirroring the throughput tests of the
+ * same names.  Latency is recorded by every consumer in the last stage.
+ */
+enum TopologyType
+{
+    DISRUPTOR_ONE_TO_ONE("disruptor.oneToOne", 1, 1, 2)
+    {
+        @Override
+        Topology start(final WaitStrategy waitStrategy, final LatencyRecorder[] recorders)
+        {
+            final Disruptor<ValueEvent> disruptor = newDisruptor(ProducerType.SINGLE, waitStrategy);
+            disruptor.handleEventsWith(sink(recorders[0]));
+            return startDisruptor(disruptor);
+        }
+    },
+    DISRUPTOR_ONE_TO_THREE("disruptor.oneToThree", 1, 3, 4)
+    {
+        @Override
+        Topology start(final WaitStrategy waitStrategy, final LatencyRecorder[] recorders)
+        {
+            final Disruptor<ValueEvent> disruptor = newDisruptor(ProducerType.SINGLE, waitStrategy);
+            disruptor.handleEventsWith(sink(recorders[0]), sink(recorders[1]), sink(recorders[2]));
+            return startDisruptor(disruptor);
+        }
+    },
+    DISRUPTOR_PIPELINE("disruptor.oneToThreePipeline", 1, 1, 4)
+    {
+        @Override
+        Topology start(final WaitStrategy waitStrategy, final LatencyRecorder[] recorders)
+        {
+            final Disruptor<ValueEvent> disruptor = newDisruptor(ProducerType.SINGLE, waitStrategy);
+            disruptor.handleEventsWith(new PassThroughHandler()).then(new PassThroughHandler()).then(sink(recorders[0]));
+            return startDisruptor(disruptor);
+        }
+    },
+    DISRUPTOR_DIAMOND("disruptor.oneToThreeDiamond", 1, 1, 4)
+    {
+        @Override
+        Topology start(final WaitStrategy waitStrategy, final LatencyRecorder[] recorders)
+        {
+            final Disruptor<ValueEvent> disruptor = newDisruptor(ProducerType.SINGLE, waitStrategy);
+            disruptor.handleEventsWith(new PassThroughHandler(), new PassThroughHandler()).then(sink(recorders[0]));
+            return startDisruptor(disruptor);
+        }
+    },
+    DISRUPTOR_THREE_TO_ONE("disruptor.threeToOne", 3, 1, 4)
+    {
+        @Override
+        Topology start(final WaitStrategy waitStrategy, final LatencyRecorder[] recorders)
+        {
+            final Disruptor<ValueEvent> disruptor = newDisruptor(ProducerType.MULTI, waitStrategy);
+            disruptor.handleEventsWith(sink(recorders[0]));
+            return startDisruptor(disruptor);
+        }
+    },
+    QUEUE_ONE_TO_ONE("queue.oneToOne", 1, 1, 2)
+    {
+        @Override
+        Topology start(final WaitStrategy waitStrategy, final LatencyRecorder[] recorders)
+        {
+            return startQueues(1, recorders[0]);
+        }
+    },
+    QUEUE_PIPELINE("queue.oneToThreePipeline", 1, 1, 4)
+    {
+        @Override
+        Topology start(final WaitStrategy waitStrategy, final LatencyRecorder[] recorders)
+        {
+            return startQueues(3, recorders[0]);
+        }
+    },
+    QUEUE_THREE_TO_ONE("queue.threeToOne", 3, 1, 4)
+    {
+        @Override
+        Topology start(final WaitStrategy waitStrategy, final LatencyRecorder[] recorders)
+        {
+            return startQueues(1, recorders[0]);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 1024 * 64;
+
+    private final String topologyName;
+    private final int producerCount;
+    private final int sinkCount;
+    private final int requiredProcessorCount;
+
+    TopologyType(final String topologyName, final int producerCount, final int sinkCount, final int requiredProcessorCount)
+    {
+        this.topologyName = topologyName;
+        this.producerCount = producerCount;
+        this.sinkCount = sinkCount;
+        this.requiredProcessorCount = requiredProcessorCount;
+    }
+
+    /**
+     * Start the consumers of the topology.  Queue topologies ignore the wait strategy.
+     *
+     * @param waitStrategy used by the consumers of sequenced topologies.
+     * @param recorders    one for each consumer of the last stage.
+     * @return the running topology.
+     */
+    abstract Topology start(WaitStrategy waitStrategy, LatencyRecorder[] recorders);
+
+    String getTopologyName()
+    {
+        return topologyName;
+    }
+
+    int getProducerCount()
+    {
+        return producerCount;
+    }
+
+    int getSinkCount()
+    {
+        return sinkCount;
+    }
+
+    int getRequiredProcessorCount()
+    {
+        return requiredProcessorCount;
+    }
+
+    private static Disruptor<ValueEvent> newDisruptor(final ProducerType producerType, final WaitStrategy waitStrategy)
+    {
+        return new Disruptor<>(ValueEvent.EVENT_FACTORY, BUFFER_SIZE, DaemonThreadFactory.INSTANCE, producerType, waitStrategy);
+    }
+
+    private static EventHandler<ValueEvent> sink(final LatencyRecorder recorder)
+    {
+        return (event, sequence, endOfBatch) -> recorder.record(event.getValue());
+    }
+
+    private static Topology startDisruptor(final Disruptor<ValueEvent> disruptor)
+    {
+        final RingBuffer<ValueEvent> ringBuffer = disruptor.start();
+        return new Topology()
+        {
+            @Override
+            public void publish(final int producer, final long intendedNanos)
+            {
+                final long sequence = ringBuffer.next();
+                ringBuffer.get(sequence).setValue(intendedNanos);
+                ringBuffer.publish(sequence);
+            }
+
+            @Override
+            public void halt()
+            {
+                disruptor.halt();
+            }
+        };
+    }
+
+    private static Topology startQueues(final int stages, final LatencyRecorder recorder)
+    {
+        final List<BlockingQueue<Long>> queues = new ArrayList<>();
+        for (int i = 0; i < stages; i++)
+        {
+            queues.add(new ArrayBlockingQueue<>(BUFFER_SIZE));
+        }
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < stages; i++)
+        {
+            final BlockingQueue<Long> in = queues.get(i);
+            final BlockingQueue<Long> out = i + 1 < stages ? queues.get(i + 1) : null;
+            final Thread thread = DaemonThreadFactory.INSTANCE.newThread(() ->
+            {
+                try
+                {
+                    while (true)
+                    {
+                        final Long intendedNanos = in.take();
+                        if (out != null)
+                        {
+                            out.put(intendedNanos);
+                        }
+                        else
+                        {
+                            recorder.record(intendedNanos);
+                        }
+                    }
+                }
+                catch (final InterruptedException ex)
+                {
+                    // halted
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        return new Topology()
+        {
+            @Override
+            public void publish(final int producer, final long intendedNanos) throws InterruptedException
+            {
+                queues.get(0).put(intendedNanos);
+            }
+
+            @Override
+            public void halt()
+            {
+                threads.forEach(Thread::interrupt);
+            }
+        };
+    }
+
+    private static final class PassThroughHandler implements EventHandler<ValueEvent>
+    {
+        @Override
+        public void onEvent(final ValueEvent event, final long sequence, final boolean endOfBatch)
+        {
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.sequenced;
+
+import com.lmax.disruptor.AbstractPerfTestDisruptor;
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.BatchEventProcessorBuilder;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.MultiBufferEventProcessor;
+import com.lmax.disruptor.PerfTestContext;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.StripedRingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.support.ValueEvent;
+import com.lmax.disruptor.support.ValuePublisher;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.PaddedLong;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <pre>
+ *
+ * Sequence a series of events from many publishers going to one event processor, either through one multi
+ * producer ring buffer or through a striped ring buffer with a single producer lane per publisher.
+ *
+ * Multi producer:                        Striped:
+ * ===============                        ========
+ * +----+                                 +----+    +======+
+ * | P1 |------+                          | P1 |--->| RB 1 |---+
+ * +----+      |                          +----+    +======+   |
+ *             v                                               v
+ * +----+    +====+    +====+    +----+   +----+    +======+  +-----+
+ * | P2 |--->| RB |<---| SB |<---| EP |   | P2 |--->| RB 2 |->| MEP |
+ * +----+    +====+    +====+    +----+   +----+    +======+  +-----+
+ *             ^                                               ^
+ * +----+      |                          +----+    +======+   |
+ * | Pn |------+                          | Pn |--->| RB n |---+
+ * +----+                                 +----+    +======+
+ *
+ * P1  - Publisher 1
+ * Pn  - Publisher n, from 2 to 32 by default
+ * RB  - RingBuffer, the lanes of the striped ring buffer share its capacity
+ * SB  - SequenceBarrier
+ * EP  - EventProcessor
+ * MEP - MultiBufferEventProcessor
+ *
+ * </pre>
+ *
+ * <p>Run with the numbers of publishers to compare as arguments, e.g. <code>2 4 8</code>.
+ */
+public final class ManyToOneStripedSequencedThroughputTest extends AbstractPerfTestDisruptor
+{
+    private static final int BUFFER_SIZE = 1024 * 64;
+    private static final long ITERATIONS = 1000L * 1000L * 20L;
+    private static final int[] DEFAULT_PUBLISHER_COUNTS = {2, 4, 8, 16, 32};
+
+    private final int numPublishers;
+    private final ExecutorService executor;
+    private final CyclicBarrier cyclicBarrier;
+    private final CountingEventHandler handler = new CountingEventHandler();
+    private final ValuePublisher[] valuePublishers;
+    private final Runnable eventProcessor;
+    private final Runnable haltEventProcessor;
+
+    public ManyToOneStripedSequencedThroughputTest(final int numPublishers, final boolean striped)
+    {
+        this.numPublishers = numPublishers;
+        this.executor = Executors.newFixedThreadPool(numPublishers + 1, DaemonThreadFactory.INSTANCE);
+        this.cyclicBarrier = new CyclicBarrier(numPublishers + 1);
+        this.valuePublishers = new ValuePublisher[numPublishers];
+
+        final WaitStrategy waitStrategy = new YieldingWaitStrategy();
+        final long iterationsPerPublisher = ITERATIONS / numPublishers;
+        if (striped)
+        {
+            final int laneBufferSize = Integer.highestOneBit(BUFFER_SIZE / numPublishers);
+            final StripedRingBuffer<ValueEvent> ringBuffer =
+                StripedRingBuffer.create(ValueEvent.EVENT_FACTORY, numPublishers, laneBufferSize, waitStrategy);
+            for (int i = 0; i < numPublishers; i++)
+            {
+                valuePublishers[i] = new ValuePublisher(cyclicBarrier, ringBuffer.claimLane().getRingBuffer(), iterationsPerPublisher);
+            }
+            final MultiBufferEventProcessor multiBufferEventProcessor = ringBuffer.newProcessor(handler);
+            eventProcessor = multiBufferEventProcessor;
+            haltEventProcessor = multiBufferEventProcessor::halt;
+        }
+        else
+        {
+            final RingBuffer<ValueEvent> ringBuffer =
+                RingBuffer.createMultiProducer(ValueEvent.EVENT_FACTORY, BUFFER_SIZE, waitStrategy);
+            for (int i = 0; i < numPublishers; i++)
+            {
+                valuePublishers[i] = new ValuePublisher(cyclicBarrier, ringBuffer, iterationsPerPublisher);
+            }
+            final BatchEventProcessor<ValueEvent> batchEventProcessor =
+                new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(), handler);
+            ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+            eventProcessor = batchEventProcessor;
+            haltEventProcessor = batchEventProcessor::halt;
+        }
+    }
+
+    @Override
+    protected int getRequiredProcessorCount()
+    {
+        return numPublishers + 1;
+    }
+
+    @Override
+    protected PerfTestContext runDisruptorPass() throws Exception
+    {
+        PerfTestContext perfTestContext = new PerfTestContext();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long expectedCount = (ITERATIONS / numPublishers) * numPublishers;
+        handler.reset(latch, expectedCount);
+
+        Future<?>[] futures = new Future[numPublishers];
+        for (int i = 0; i < numPublishers; i++)
+        {
+            futures[i] = executor.submit(valuePublishers[i]);
+        }
+        executor.submit(eventProcessor);
+
+        long start = System.currentTimeMillis();
+        cyclicBarrier.await();
+
+        for (int i = 0; i < numPublishers; i++)
+        {
+            futures[i].get();
+        }
+
+        latch.await();
+
+        perfTestContext.setDisruptorOps((expectedCount * 1000L) / (System.currentTimeMillis() - start));
+        perfTestContext.setBatchData(handler.getBatchesProcessed(), expectedCount);
+        haltEventProcessor.run();
+
+        return perfTestContext;
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        final int[] publisherCounts = new int[args.length == 0 ? DEFAULT_PUBLISHER_COUNTS.length : args.length];
+        for (int i = 0; i < publisherCounts.length; i++)
+        {
+            publisherCounts[i] = args.length == 0 ? DEFAULT_PUBLISHER_COUNTS[i] : Integer.parseInt(args[i]);
+        }
+
+        for (final int publisherCount : publisherCounts)
+        {
+            System.out.println(publisherCount + " publishers, multi producer ring buffer");
+            new ManyToOneStripedSequencedThroughputTest(publisherCount, false).testImplementations();
+            System.out.println(publisherCount + " publishers, striped ring buffer");
+            new ManyToOneStripedSequencedThroughputTest(publisherCount, true).testImplementations();
+        }
+    }
+
+    private static final class CountingEventHandler implements EventHandler<ValueEvent>
+    {
+        private final PaddedLong batchesProcessed = new PaddedLong();
+        private long remaining;
+        private CountDownLatch latch;
+
+        void reset(final CountDownLatch latch, final long expectedCount)
+        {
+            this.latch = latch;
+            this.remaining = expectedCount;
+            batchesProcessed.set(0);
+        }
+
+        long getBatchesProcessed()
+        {
+            return batchesProcessed.get();
+        }
+
+        @Override
+        public void onEvent(final ValueEvent event, final long sequence, final boolean endOfBatch)
+        {
+            if (--remaining == 0)
+            {
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void onBatchStart(final long batchSize, final long queueDepth)
+        {
+            batchesProcessed.increment();
+        }
+    }
+}
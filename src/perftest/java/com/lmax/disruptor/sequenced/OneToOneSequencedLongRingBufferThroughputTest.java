@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.sequenced;
+
+import com.lmax.disruptor.AbstractPerfTestDisruptor;
+import com.lmax.disruptor.LongEventProcessor;
+import com.lmax.disruptor.LongRingBuffer;
+import com.lmax.disruptor.PerfTestContext;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.support.LongValueAdditionHandler;
+import com.lmax.disruptor.support.PerfTestUtil;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.lmax.disruptor.LongRingBuffer.createSingleProducer;
+import static com.lmax.disruptor.support.PerfTestUtil.failIfNot;
+
+/**
+ * <pre>
+ * UniCast a series of primitive longs between 1 publisher and 1 event processor using a LongRingBuffer.
+ *
+ * +----+    +-----+
+ * | P1 |--->| EP1 |
+ * +----+    +-----+
+ *
+ * Disruptor:
+ * ==========
+ *              track to prevent wrap
+ *              +------------------+
+ *              |                  |
+ *              |                  v
+ * +----+    +====+    +====+   +-----+
+ * | P1 |--->| RB |<---| SB |   | EP1 |
+ * +----+    +====+    +====+   +-----+
+ *      claim      get    ^        |
+ *                        |        |
+ *                        +--------+
+ *                          waitFor
+ *
+ * P1  - Publisher 1
+ * RB  - LongRingBuffer
+ * SB  - SequenceBarrier
+ * EP1 - EventProcessor 1
+ *
+ * </pre>
+ */
+public final class OneToOneSequencedLongRingBufferThroughputTest extends AbstractPerfTestDisruptor
+{
+    private static final int BUFFER_SIZE = 1024 * 64;
+    private static final long ITERATIONS = 1000L * 1000L * 100L;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.INSTANCE);
+    private final long expectedResult = PerfTestUtil.accumulatedAddition(ITERATIONS);
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private final LongRingBuffer ringBuffer = createSingleProducer(BUFFER_SIZE, new YieldingWaitStrategy());
+    private final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier();
+    private final LongValueAdditionHandler handler = new LongValueAdditionHandler();
+    private final LongEventProcessor longEventProcessor = new LongEventProcessor(ringBuffer, sequenceBarrier, handler);
+
+    {
+        ringBuffer.addGatingSequences(longEventProcessor.getSequence());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected int getRequiredProcessorCount()
+    {
+        return 2;
+    }
+
+    @Override
+    protected PerfTestContext runDisruptorPass() throws InterruptedException
+    {
+        PerfTestContext perfTestContext = new PerfTestContext();
+        final CountDownLatch latch = new CountDownLatch(1);
+        long expectedCount = longEventProcessor.getSequence().get() + ITERATIONS;
+        handler.reset(latch, expectedCount);
+        executor.submit(longEventProcessor);
+        long start = System.currentTimeMillis();
+
+        final LongRingBuffer rb = ringBuffer;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            rb.publish(i);
+        }
+
+        latch.await();
+        perfTestContext.setDisruptorOps((ITERATIONS * 1000L) / (System.currentTimeMillis() - start));
+        perfTestContext.setBatchData(handler.getBatchesProcessed(), ITERATIONS);
+        waitForEventProcessorSequence(expectedCount);
+        longEventProcessor.halt();
+
+        failIfNot(expectedResult, handler.getValue());
+
+        return perfTestContext;
+    }
+
+    private void waitForEventProcessorSequence(final long expectedCount) throws InterruptedException
+    {
+        while (longEventProcessor.getSequence().get() != expectedCount)
+        {
+            Thread.sleep(1);
+        }
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        OneToOneSequencedLongRingBufferThroughputTest test = new OneToOneSequencedLongRingBufferThroughputTest();
+        test.testImplementations();
+    }
+}
@@ -21,6 +21,7 @@ import com.lmax.disruptor.BatchEventProcessorBuilder;
 import com.lmax.disruptor.PerfTestContext;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.support.FizzBuzzEvent;
 import com.lmax.disruptor.support.FizzBuzzEventHandler;
@@ -33,6 +34,7 @@ import java.util.concurrent.Executors;
 
 import static com.lmax.disruptor.RingBuffer.createSingleProducer;
 import static com.lmax.disruptor.support.PerfTestUtil.failIfNot;
+import static com.lmax.disruptor.support.PerfTestUtil.waitStrategyFrom;
 
 /**
  * <pre>
@@ -107,27 +109,29 @@ public final class OneToThreeDiamondSequencedThroughputTest extends AbstractPerf
 
     ///////////////////////////////////////////////////////////////////////////////////////////////
 
-    private final RingBuffer<FizzBuzzEvent> ringBuffer =
-        createSingleProducer(FizzBuzzEvent.EVENT_FACTORY, BUFFER_SIZE, new YieldingWaitStrategy());
-
-    private final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier();
+    private final RingBuffer<FizzBuzzEvent> ringBuffer;
 
     private final FizzBuzzEventHandler fizzHandler = new FizzBuzzEventHandler(FizzBuzzStep.FIZZ);
-    private final BatchEventProcessor<FizzBuzzEvent> batchProcessorFizz =
-            new BatchEventProcessorBuilder().build(ringBuffer, sequenceBarrier, fizzHandler);
+    private final BatchEventProcessor<FizzBuzzEvent> batchProcessorFizz;
 
     private final FizzBuzzEventHandler buzzHandler = new FizzBuzzEventHandler(FizzBuzzStep.BUZZ);
-    private final BatchEventProcessor<FizzBuzzEvent> batchProcessorBuzz =
-            new BatchEventProcessorBuilder().build(ringBuffer, sequenceBarrier, buzzHandler);
-
-    private final SequenceBarrier sequenceBarrierFizzBuzz =
-        ringBuffer.newBarrier(batchProcessorFizz.getSequence(), batchProcessorBuzz.getSequence());
+    private final BatchEventProcessor<FizzBuzzEvent> batchProcessorBuzz;
 
     private final FizzBuzzEventHandler fizzBuzzHandler = new FizzBuzzEventHandler(FizzBuzzStep.FIZZ_BUZZ);
-    private final BatchEventProcessor<FizzBuzzEvent> batchProcessorFizzBuzz =
-            new BatchEventProcessorBuilder().build(ringBuffer, sequenceBarrierFizzBuzz, fizzBuzzHandler);
+    private final BatchEventProcessor<FizzBuzzEvent> batchProcessorFizzBuzz;
 
+    public OneToThreeDiamondSequencedThroughputTest(final WaitStrategy waitStrategy)
     {
+        ringBuffer = createSingleProducer(FizzBuzzEvent.EVENT_FACTORY, BUFFER_SIZE, waitStrategy);
+
+        final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier();
+        batchProcessorFizz = new BatchEventProcessorBuilder().build(ringBuffer, sequenceBarrier, fizzHandler);
+        batchProcessorBuzz = new BatchEventProcessorBuilder().build(ringBuffer, sequenceBarrier, buzzHandler);
+
+        final SequenceBarrier sequenceBarrierFizzBuzz =
+            ringBuffer.newBarrier(batchProcessorFizz.getSequence(), batchProcessorBuzz.getSequence());
+        batchProcessorFizzBuzz = new BatchEventProcessorBuilder().build(ringBuffer, sequenceBarrierFizzBuzz, fizzBuzzHandler);
+
         ringBuffer.addGatingSequences(batchProcessorFizzBuzz.getSequence());
     }
 
@@ -173,6 +177,6 @@ public final class OneToThreeDiamondSequencedThroughputTest extends AbstractPerf
 
     public static void main(final String[] args) throws Exception
     {
-        new OneToThreeDiamondSequencedThroughputTest().testImplementations();
+        new OneToThreeDiamondSequencedThroughputTest(waitStrategyFrom(args, new YieldingWaitStrategy())).testImplementations();
     }
 }
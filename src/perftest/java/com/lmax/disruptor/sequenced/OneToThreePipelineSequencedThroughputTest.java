@@ -21,6 +21,7 @@ import com.lmax.disruptor.BatchEventProcessorBuilder;
 import com.lmax.disruptor.PerfTestContext;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.support.FunctionEvent;
 import com.lmax.disruptor.support.FunctionEventHandler;
@@ -33,6 +34,7 @@ import java.util.concurrent.Executors;
 
 import static com.lmax.disruptor.RingBuffer.createSingleProducer;
 import static com.lmax.disruptor.support.PerfTestUtil.failIfNot;
+import static com.lmax.disruptor.support.PerfTestUtil.waitStrategyFrom;
 
 /**
  * Pipeline a series of stages from a publisher to ultimate event processor.
@@ -96,25 +98,30 @@ public final class OneToThreePipelineSequencedThroughputTest extends AbstractPer
 
     ///////////////////////////////////////////////////////////////////////////////////////////////
 
-    private final RingBuffer<FunctionEvent> ringBuffer =
-        createSingleProducer(FunctionEvent.EVENT_FACTORY, BUFFER_SIZE, new YieldingWaitStrategy());
+    private final RingBuffer<FunctionEvent> ringBuffer;
 
-    private final SequenceBarrier stepOneSequenceBarrier = ringBuffer.newBarrier();
     private final FunctionEventHandler stepOneFunctionHandler = new FunctionEventHandler(FunctionStep.ONE);
-    private final BatchEventProcessor<FunctionEvent> stepOneBatchProcessor =
-            new BatchEventProcessorBuilder().build(ringBuffer, stepOneSequenceBarrier, stepOneFunctionHandler);
+    private final BatchEventProcessor<FunctionEvent> stepOneBatchProcessor;
 
-    private final SequenceBarrier stepTwoSequenceBarrier = ringBuffer.newBarrier(stepOneBatchProcessor.getSequence());
     private final FunctionEventHandler stepTwoFunctionHandler = new FunctionEventHandler(FunctionStep.TWO);
-    private final BatchEventProcessor<FunctionEvent> stepTwoBatchProcessor =
-            new BatchEventProcessorBuilder().build(ringBuffer, stepTwoSequenceBarrier, stepTwoFunctionHandler);
+    private final BatchEventProcessor<FunctionEvent> stepTwoBatchProcessor;
 
-    private final SequenceBarrier stepThreeSequenceBarrier = ringBuffer.newBarrier(stepTwoBatchProcessor.getSequence());
     private final FunctionEventHandler stepThreeFunctionHandler = new FunctionEventHandler(FunctionStep.THREE);
-    private final BatchEventProcessor<FunctionEvent> stepThreeBatchProcessor =
-            new BatchEventProcessorBuilder().build(ringBuffer, stepThreeSequenceBarrier, stepThreeFunctionHandler);
+    private final BatchEventProcessor<FunctionEvent> stepThreeBatchProcessor;
 
+    public OneToThreePipelineSequencedThroughputTest(final WaitStrategy waitStrategy)
     {
+        ringBuffer = createSingleProducer(FunctionEvent.EVENT_FACTORY, BUFFER_SIZE, waitStrategy);
+
+        final SequenceBarrier stepOneSequenceBarrier = ringBuffer.newBarrier();
+        stepOneBatchProcessor = new BatchEventProcessorBuilder().build(ringBuffer, stepOneSequenceBarrier, stepOneFunctionHandler);
+
+        final SequenceBarrier stepTwoSequenceBarrier = ringBuffer.newBarrier(stepOneBatchProcessor.getSequence());
+        stepTwoBatchProcessor = new BatchEventProcessorBuilder().build(ringBuffer, stepTwoSequenceBarrier, stepTwoFunctionHandler);
+
+        final SequenceBarrier stepThreeSequenceBarrier = ringBuffer.newBarrier(stepTwoBatchProcessor.getSequence());
+        stepThreeBatchProcessor = new BatchEventProcessorBuilder().build(ringBuffer, stepThreeSequenceBarrier, stepThreeFunctionHandler);
+
         ringBuffer.addGatingSequences(stepThreeBatchProcessor.getSequence());
     }
 
@@ -164,6 +171,6 @@ public final class OneToThreePipelineSequencedThroughputTest extends AbstractPer
 
     public static void main(final String[] args) throws Exception
     {
-        new OneToThreePipelineSequencedThroughputTest().testImplementations();
+        new OneToThreePipelineSequencedThroughputTest(waitStrategyFrom(args, new YieldingWaitStrategy())).testImplementations();
     }
 }
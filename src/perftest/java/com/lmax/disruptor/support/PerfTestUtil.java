@@ -15,8 +15,27 @@
  */
 package com.lmax.disruptor.support;
 
+import com.lmax.disruptor.AdaptiveWaitStrategy;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.ConditionBlockingWaitStrategy;
+import com.lmax.disruptor.LiteBlockingWaitStrategy;
+import com.lmax.disruptor.LiteTimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.PhasedBackoffWaitStrategy;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.TargetedBlockingWaitStrategy;
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
 public final class PerfTestUtil
 {
+    private static final long TIMEOUT_MILLIS = 1;
+    private static final long SPIN_MICROS = 10;
+    private static final long YIELD_MICROS = 100;
+
     public static long accumulatedAddition(final long iterations)
     {
         long temp = 0L;
@@ -43,4 +62,61 @@ public final class PerfTestUtil
             throw new RuntimeException();
         }
     }
+
+    /**
+     * Select the wait strategy named by the first command line argument, so a test can be compared across strategies,
+     * e.g. <code>OneToThreeDiamondSequencedThroughputTest targetedBlocking</code>.
+     */
+    public static WaitStrategy waitStrategyFrom(final String[] args, final WaitStrategy defaultStrategy)
+    {
+        return args.length == 0 ? defaultStrategy : waitStrategyFrom(args[0]);
+    }
+
+    /**
+     * Create the wait strategy with the given name, as used on the command line and by the wait strategy benchmarks.
+     */
+    public static WaitStrategy waitStrategyFrom(final String name)
+    {
+        final WaitStrategy waitStrategy;
+        switch (name)
+        {
+            case "blocking":
+                waitStrategy = new BlockingWaitStrategy();
+                break;
+            case "liteBlocking":
+                waitStrategy = new LiteBlockingWaitStrategy();
+                break;
+            case "targetedBlocking":
+                waitStrategy = new TargetedBlockingWaitStrategy();
+                break;
+            case "sleeping":
+                waitStrategy = new SleepingWaitStrategy();
+                break;
+            case "yielding":
+                waitStrategy = new YieldingWaitStrategy();
+                break;
+            case "busySpin":
+                waitStrategy = new BusySpinWaitStrategy();
+                break;
+            case "timeoutBlocking":
+                waitStrategy = new TimeoutBlockingWaitStrategy(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                break;
+            case "liteTimeoutBlocking":
+                waitStrategy = new LiteTimeoutBlockingWaitStrategy(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                break;
+            case "phasedBackoff":
+                waitStrategy = PhasedBackoffWaitStrategy.withLock(SPIN_MICROS, YIELD_MICROS, TimeUnit.MICROSECONDS);
+                break;
+            case "conditionBlocking":
+                waitStrategy = new ConditionBlockingWaitStrategy();
+                break;
+            case "adaptive":
+                waitStrategy = new AdaptiveWaitStrategy();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        }
+
+        return waitStrategy;
+    }
 }
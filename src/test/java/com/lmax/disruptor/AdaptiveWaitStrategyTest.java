@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.AdaptiveWaitStrategy.Phase;
+import com.lmax.disruptor.support.DummySequenceBarrier;
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.lmax.disruptor.support.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AdaptiveWaitStrategyTest
+{
+    @Test
+    public void shouldWaitForValue() throws Exception
+    {
+        assertWaitForWithDelayOf(50, new AdaptiveWaitStrategy());
+    }
+
+    @Test
+    public void shouldNotRecordWaitWhenSequenceIsAvailable() throws Exception
+    {
+        final AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy();
+        final SequenceBarrier barrier = new DummySequenceBarrier();
+        final Sequence sequence = new Sequence(3);
+
+        assertThat(waitStrategy.waitFor(2, sequence, sequence, barrier), is(3L));
+
+        assertThat(waitStrategy.getLastPhase(barrier), is(nullValue()));
+        assertThat(waitStrategy.getWaitCount(Phase.SPIN), is(0L));
+        assertThat(waitStrategy.getWaitCount(Phase.YIELD), is(0L));
+        assertThat(waitStrategy.getWaitCount(Phase.PARK), is(0L));
+    }
+
+    @Test
+    public void shouldLearnLongWaitAndPark() throws Exception
+    {
+        final AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy(1, 10, TimeUnit.MICROSECONDS);
+        final SequenceBarrier barrier = new DummySequenceBarrier();
+        final Sequence sequence = new Sequence(-1);
+
+        final Thread publisher = new Thread(() ->
+        {
+            try
+            {
+                Thread.sleep(20);
+            }
+            catch (final InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+            }
+            sequence.set(0);
+        });
+        publisher.start();
+
+        assertThat(waitStrategy.waitFor(0, sequence, sequence, barrier), is(0L));
+        publisher.join();
+
+        assertThat(waitStrategy.getLastPhase(barrier), is(Phase.PARK));
+        assertThat(waitStrategy.getWaitCount(Phase.PARK), is(1L));
+        assertThat(waitStrategy.getExpectedWaitNanos(barrier), greaterThan(TimeUnit.MICROSECONDS.toNanos(1)));
+    }
+
+    @Test
+    public void shouldThrowWhenAlerted()
+    {
+        final AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy();
+        final SequenceBarrier barrier = new DummySequenceBarrier()
+        {
+            @Override
+            public void checkAlert() throws AlertException
+            {
+                throw AlertException.INSTANCE;
+            }
+        };
+        final Sequence sequence = new Sequence(-1);
+
+        assertThrows(AlertException.class, () -> waitStrategy.waitFor(0, sequence, sequence, barrier));
+    }
+
+    @Test
+    public void shouldKeepStatisticsOfBarriersCreatedBySequencer() throws Exception
+    {
+        final AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy();
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 4, waitStrategy);
+        final Sequence dependency = new Sequence(-1)
+        {
+            private int reads;
+
+            @Override
+            public long get()
+            {
+                return ++reads < 3 ? -1 : 0;
+            }
+        };
+        final SequenceBarrier barrier = ringBuffer.newBarrier(dependency);
+
+        assertThat(barrier.waitFor(0), is(0L));
+
+        assertThat(waitStrategy.getLastPhase(barrier), is(notNullValue()));
+        assertThat(waitStrategy.barrierCount(), is(1));
+    }
+
+    @Test
+    public void shouldKeepStatisticsOfOtherBarriersByBarrier() throws Exception
+    {
+        final AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy();
+        final Sequence sequence = new Sequence(-1);
+        final SequenceBarrier barrier = new DummySequenceBarrier()
+        {
+            @Override
+            public void checkAlert()
+            {
+                sequence.set(0);
+            }
+        };
+
+        assertThat(waitStrategy.waitFor(0, sequence, sequence, barrier), is(0L));
+
+        assertThat(waitStrategy.getLastPhase(barrier), is(Phase.SPIN));
+        assertThat(waitStrategy.getLastPhase(new DummySequenceBarrier()), is(nullValue()));
+        assertThat(waitStrategy.barrierCount(), is(1));
+    }
+
+    @Test
+    public void shouldSpinOnFirstWaitOfBarrier() throws Exception
+    {
+        final AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy(1, 10, TimeUnit.MILLISECONDS);
+        final Sequence sequence = new Sequence(-1);
+        final SequenceBarrier barrier = new DummySequenceBarrier()
+        {
+            private int checks;
+
+            @Override
+            public void checkAlert()
+            {
+                if (++checks == 1000)
+                {
+                    sequence.set(0);
+                }
+            }
+        };
+
+        assertThat(waitStrategy.waitFor(0, sequence, sequence, barrier), is(0L));
+
+        assertThat(waitStrategy.getLastPhase(barrier), is(Phase.SPIN));
+        assertThat(waitStrategy.getWaitCount(Phase.SPIN), is(1L));
+    }
+
+    @Test
+    public void shouldRejectSpinTimeGreaterThanYieldTime()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveWaitStrategy(2, 1, TimeUnit.MILLISECONDS));
+    }
+}
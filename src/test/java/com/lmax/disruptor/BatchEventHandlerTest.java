@@ -0,0 +1,231 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.lmax.disruptor.RingBuffer.createSingleProducer;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class BatchEventHandlerTest
+{
+    private final RingBuffer<StubEvent> ringBuffer = createSingleProducer(StubEvent.EVENT_FACTORY, 8);
+
+    @Test
+    public void shouldDeliverAvailableEventsAsBatchesLimitedByMaxBatchSize() throws Exception
+    {
+        final List<List<Integer>> batches = new ArrayList<>();
+        final List<Long> queueDepths = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(5);
+
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessorBuilder()
+            .setMaxBatchSize(3)
+            .build(ringBuffer, ringBuffer.newBarrier(), batch ->
+            {
+                final List<Integer> values = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++)
+                {
+                    values.add(batch.get(i).getValue());
+                    latch.countDown();
+                }
+                batches.add(values);
+                queueDepths.add(batch.getQueueDepth());
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        publish(0, 1, 2, 3, 4);
+        run(processor, latch);
+
+        assertThat(batches, is(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4))));
+        assertThat(queueDepths, is(Arrays.asList(5L, 2L)));
+    }
+
+    @Test
+    public void shouldIndexBatchThatWrapsTheRingBuffer() throws Exception
+    {
+        final Sequence consumed = new Sequence();
+        ringBuffer.addGatingSequences(consumed);
+        publish(0, 1, 2, 3, 4, 5);
+        consumed.set(5);
+        ringBuffer.removeGatingSequence(consumed);
+
+        final List<Long> sequences = new ArrayList<>();
+        final List<Integer> values = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessorBuilder().build(ringBuffer, barrier, batch ->
+        {
+            for (int i = 0; i < batch.size(); i++)
+            {
+                sequences.add(batch.getSequence(i));
+                values.add(batch.get(i).getValue());
+            }
+            if (batch.getEndSequence() == 10)
+            {
+                latch.countDown();
+            }
+        });
+        processor.getSequence().set(5);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        publish(6, 7, 8, 9, 10);
+        run(processor, latch);
+
+        assertThat(sequences, is(Arrays.asList(6L, 7L, 8L, 9L, 10L)));
+        assertThat(values, is(Arrays.asList(6, 7, 8, 9, 10)));
+    }
+
+    @Test
+    public void shouldRewindWholeBatch() throws Exception
+    {
+        final List<Long> startSequences = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final int[] attempts = {0};
+
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(), batch ->
+        {
+            startSequences.add(batch.getStartSequence());
+            if (++attempts[0] < 3)
+            {
+                throw new RewindableException(null);
+            }
+            latch.countDown();
+        }, new SimpleBatchRewindStrategy());
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        publish(0, 1, 2);
+        run(processor, latch);
+
+        assertThat(startSequences, is(Arrays.asList(0L, 0L, 0L)));
+        assertThat(processor.getSequence().get(), is(2L));
+    }
+
+    @Test
+    public void shouldReportFirstEventAndSkipBatchWhenHandlerThrows() throws Exception
+    {
+        final List<Long> failedSequences = new ArrayList<>();
+        final List<Long> handledStarts = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessorBuilder().setMaxBatchSize(2).build(ringBuffer, ringBuffer.newBarrier(), batch ->
+        {
+            if (batch.getStartSequence() == 0)
+            {
+                throw new IllegalStateException();
+            }
+            handledStarts.add(batch.getStartSequence());
+            latch.countDown();
+        });
+        processor.setExceptionHandler(new ExceptionHandler<Object>()
+        {
+            @Override
+            public void handleEventException(final Throwable ex, final long sequence, final Object event)
+            {
+                failedSequences.add(sequence);
+            }
+
+            @Override
+            public void handleOnStartException(final Throwable ex)
+            {
+            }
+
+            @Override
+            public void handleOnShutdownException(final Throwable ex)
+            {
+            }
+        });
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        publish(0, 1, 2);
+        run(processor, latch);
+
+        assertThat(failedSequences, is(Arrays.asList(0L)));
+        assertThat(handledStarts, is(Arrays.asList(2L)));
+        assertThat(processor.getSequence().get(), is(2L));
+    }
+
+    @Test
+    public void shouldNotifyLifecycle() throws Exception
+    {
+        final List<String> calls = new ArrayList<>();
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(),
+            new BatchEventHandler<StubEvent>()
+            {
+                @Override
+                public void onBatch(final EventBatch<? extends StubEvent> batch)
+                {
+                }
+
+                @Override
+                public void onStart()
+                {
+                    calls.add("start");
+                }
+
+                @Override
+                public void onShutdown()
+                {
+                    calls.add("shutdown");
+                }
+            });
+
+        processor.halt();
+        processor.run();
+
+        assertThat(calls, is(Arrays.asList("start", "shutdown")));
+    }
+
+    @Test
+    public void shouldRejectIndexOutsideOfBatch()
+    {
+        final EventBatch<StubEvent> batch = new EventBatch<>(ringBuffer);
+        batch.reset(4, 6, 3);
+
+        assertThat(batch.size(), is(3));
+        assertThat(batch.getSequence(2), is(6L));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.get(-1));
+    }
+
+    private void publish(final int... values)
+    {
+        for (final int value : values)
+        {
+            final long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).setValue(value);
+            ringBuffer.publish(sequence);
+        }
+    }
+
+    private static void run(final BatchEventProcessor<StubEvent> processor, final CountDownLatch latch) throws InterruptedException
+    {
+        final Thread thread = new Thread(processor);
+        thread.start();
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+    }
+}
@@ -18,6 +18,7 @@ package com.lmax.disruptor;
 import com.lmax.disruptor.support.StubEvent;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -197,13 +198,49 @@ public final class BatchEventProcessorTest
         assertEquals(Arrays.asList(3L, 2L, 1L), batchSizes);
     }
 
+    @Test
+    public void shouldMeasureLagFromRingBufferCursorRatherThanDependency() throws Exception
+    {
+        final long hi = ringBuffer.next(4);
+        ringBuffer.publish(hi - 3, hi);
+        final Sequence dependency = new Sequence(1);
+        final List<Long> lags = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final BatchEventProcessor<StubEvent> batchEventProcessor = new BatchEventProcessorBuilder().build(
+                ringBuffer, ringBuffer.newBarrier(dependency), (event, sequence, endOfBatch) ->
+                {
+                });
+        batchEventProcessor.setMetrics(new EventProcessorMetrics()
+        {
+            @Override
+            public void recordWait(final long waitNanos)
+            {
+            }
+
+            @Override
+            public void recordBatch(final long batchSize, final long lag, final long serviceNanos)
+            {
+                lags.add(lag);
+                latch.countDown();
+            }
+        });
+
+        Thread thread = new Thread(batchEventProcessor);
+        thread.start();
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        batchEventProcessor.halt();
+        thread.join();
+
+        assertEquals(Arrays.asList(4L), lags);
+    }
+
     @Test
     public void shouldAlwaysHalt() throws InterruptedException
     {
         WaitStrategy waitStrategy = new BusySpinWaitStrategy();
         final SingleProducerSequencer sequencer = new SingleProducerSequencer(8, waitStrategy);
         final ProcessingSequenceBarrier barrier = new ProcessingSequenceBarrier(
-            sequencer, waitStrategy, new Sequence(-1), new Sequence[0]);
+            sequencer, waitStrategy, new SleepingProducerWaitStrategy(), new Sequence(-1), new Sequence[0]);
         DataProvider<Object> dp = sequence -> null;
 
         final LatchLifeCycleHandler h1 = new LatchLifeCycleHandler();
@@ -305,6 +342,91 @@ public final class BatchEventProcessorTest
         assertThat(eventHandler.batchSizeToCountMap.get(0L), nullValue());
     }
 
+    @Test
+    public void shouldCheckpointAfterIntervalOfBatchesAndOnShutdown() throws Exception
+    {
+        final List<Long> checkpoints = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(5);
+        final BatchEventProcessor<StubEvent> batchEventProcessor = new BatchEventProcessorBuilder()
+                .setMaxBatchSize(1)
+                .setCheckpointer(checkpoints::add, 2)
+                .build(ringBuffer, sequenceBarrier, (event, sequence, endOfBatch) -> latch.countDown());
+        ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+
+        for (int i = 0; i < 5; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        final Thread thread = new Thread(batchEventProcessor);
+        thread.start();
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        batchEventProcessor.halt();
+        thread.join();
+
+        assertEquals(Arrays.asList(1L, 3L, 4L), checkpoints);
+    }
+
+    @Test
+    public void shouldReportFailedCheckpointAndCarryOnProcessing() throws Exception
+    {
+        final List<Long> failedCheckpoints = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(3);
+        final BatchEventProcessor<StubEvent> batchEventProcessor = new BatchEventProcessorBuilder()
+                .setMaxBatchSize(1)
+                .setCheckpointer(sequence ->
+                {
+                    throw new IOException("disk full");
+                }, 1)
+                .build(ringBuffer, sequenceBarrier, (event, sequence, endOfBatch) -> latch.countDown());
+        batchEventProcessor.setExceptionHandler(new ExceptionHandler<Object>()
+        {
+            @Override
+            public void handleEventException(final Throwable ex, final long sequence, final Object event)
+            {
+                throw new RuntimeException(ex);
+            }
+
+            @Override
+            public void handleOnStartException(final Throwable ex)
+            {
+            }
+
+            @Override
+            public void handleOnShutdownException(final Throwable ex)
+            {
+            }
+
+            @Override
+            public void handleOnCheckpointException(final Throwable ex, final long sequence)
+            {
+                failedCheckpoints.add(sequence);
+            }
+        });
+        ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+
+        for (int i = 0; i < 3; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        final Thread thread = new Thread(batchEventProcessor);
+        thread.start();
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        batchEventProcessor.halt();
+        thread.join();
+
+        assertEquals(Arrays.asList(0L, 1L, 2L, 2L), failedCheckpoints);
+    }
+
+    @Test
+    public void shouldRejectCheckpointIntervalLessThanOne()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new BatchEventProcessorBuilder().setCheckpointer(sequence ->
+        {
+        }, 0));
+    }
+
     private static class DelegatingSequenceBarrier implements SequenceBarrier
     {
         private SequenceBarrier delegate;
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.DummySequenceBarrier;
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.VirtualThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.lmax.disruptor.support.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConditionBlockingWaitStrategyTest
+{
+    @Test
+    public void shouldWaitForValue() throws Exception
+    {
+        assertWaitForWithDelayOf(50, new ConditionBlockingWaitStrategy());
+    }
+
+    @Test
+    public void shouldTimeoutWaitFor()
+    {
+        final SequenceBarrier sequenceBarrier = new DummySequenceBarrier();
+        final long theTimeout = 100;
+        final ConditionBlockingWaitStrategy waitStrategy = new ConditionBlockingWaitStrategy(theTimeout, TimeUnit.MILLISECONDS);
+        final Sequence cursor = new Sequence(5);
+
+        final long t0 = System.currentTimeMillis();
+        assertThrows(TimeoutException.class, () -> waitStrategy.waitFor(6, cursor, cursor, sequenceBarrier));
+        final long timeWaiting = System.currentTimeMillis() - t0;
+
+        assertTrue(timeWaiting >= theTimeout);
+    }
+
+    @Test
+    public void shouldRejectNonPositiveTimeout()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ConditionBlockingWaitStrategy(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldHaltProcessorBlockedInWait() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer =
+            RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 8, new ConditionBlockingWaitStrategy());
+        final CountDownLatch latch = new CountDownLatch(1);
+        final BatchEventProcessor<StubEvent> processor =
+            new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) -> latch.countDown());
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        final Thread thread = VirtualThreadFactory.isSupported()
+            ? VirtualThreadFactory.INSTANCE.newThread(processor)
+            : new Thread(processor);
+        thread.start();
+
+        ringBuffer.publishEvent((event, sequence) -> event.setValue(1));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        processor.halt();
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+    }
+}
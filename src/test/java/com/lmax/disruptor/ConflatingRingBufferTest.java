@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConflatingRingBufferTest
+{
+    private final ConflatingRingBuffer<StubEvent> ringBuffer =
+        ConflatingRingBuffer.create(StubEvent.EVENT_FACTORY, 16, new BlockingWaitStrategy());
+
+    @Test
+    public void shouldOverwriteUnreadEventForSameKey()
+    {
+        ringBuffer.newBarrier();
+
+        assertThat(ringBuffer.publishEvent(1, StubEvent.TRANSLATOR, 10, "a"), is(0L));
+        assertThat(ringBuffer.publishEvent(2, StubEvent.TRANSLATOR, 20, "b"), is(1L));
+        assertThat(ringBuffer.publishEvent(1, StubEvent.TRANSLATOR, 11, "c"), is(0L));
+
+        assertThat(ringBuffer.getCursor(), is(1L));
+        assertThat(ringBuffer.get(0).getValue(), is(11));
+        assertThat(ringBuffer.get(0).getTestString(), is("c"));
+        assertThat(ringBuffer.get(1).getValue(), is(20));
+    }
+
+    @Test
+    public void shouldPublishNewEventOnceConsumerMayBeReadingUnreadEvent() throws Exception
+    {
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        ringBuffer.publishEvent(1, StubEvent.TRANSLATOR, 10, "a");
+        ringBuffer.publishEvent(2, StubEvent.TRANSLATOR, 20, "b");
+
+        assertThat(barrier.waitFor(0), is(1L));
+
+        assertThat(ringBuffer.publishEvent(1, StubEvent.TRANSLATOR, 11, "c"), is(2L));
+        assertThat(ringBuffer.publishEvent(1, StubEvent.TRANSLATOR, 12, "d"), is(2L));
+        assertThat(ringBuffer.get(0).getValue(), is(10));
+        assertThat(ringBuffer.get(2).getValue(), is(12));
+    }
+
+    @Test
+    public void shouldAlertConsumerWaitingForConflationToFinish() throws Exception
+    {
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final CountDownLatch translating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        ringBuffer.publishEvent(1, StubEvent.TRANSLATOR, 10, "a");
+
+        final Thread publisher = DaemonThreadFactory.INSTANCE.newThread(() ->
+            ringBuffer.publishEvent(1, (event, sequence) ->
+            {
+                translating.countDown();
+                try
+                {
+                    release.await();
+                }
+                catch (final InterruptedException ex)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        publisher.start();
+        assertTrue(translating.await(5, TimeUnit.SECONDS));
+
+        final CountDownLatch alerted = new CountDownLatch(1);
+        final Thread consumer = DaemonThreadFactory.INSTANCE.newThread(() ->
+        {
+            try
+            {
+                barrier.waitFor(0);
+            }
+            catch (final AlertException ex)
+            {
+                alerted.countDown();
+            }
+            catch (final InterruptedException | TimeoutException ex)
+            {
+                throw new RuntimeException(ex);
+            }
+        });
+        consumer.start();
+        Thread.sleep(50);
+
+        barrier.alert();
+        assertTrue(alerted.await(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        publisher.join();
+        consumer.join();
+    }
+
+    @Test
+    public void shouldOnlyDeliverLatestValuesToSlowConsumer() throws Exception
+    {
+        final int keys = 4;
+        final int updates = 10_000;
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch caughtUp = new CountDownLatch(keys);
+        final Map<Integer, Integer> latest = new HashMap<>();
+        final int[] eventCount = {0};
+
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessorBuilder().build(
+            ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) ->
+            {
+                started.countDown();
+                release.await();
+                eventCount[0]++;
+
+                final int key = Integer.parseInt(event.getTestString());
+                latest.put(key, event.getValue());
+                if (event.getValue() >= updates - keys)
+                {
+                    caughtUp.countDown();
+                }
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+
+        ringBuffer.publishEvent(0, StubEvent.TRANSLATOR, 0, "0");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int value = 1; value < updates; value++)
+        {
+            ringBuffer.publishEvent(value % keys, StubEvent.TRANSLATOR, value, String.valueOf(value % keys));
+        }
+        release.countDown();
+
+        assertTrue(caughtUp.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        for (int key = 0; key < keys; key++)
+        {
+            assertThat(latest.get(key), is(updates - keys + key));
+        }
+        assertThat(eventCount[0], lessThanOrEqualTo(1 + keys));
+    }
+}
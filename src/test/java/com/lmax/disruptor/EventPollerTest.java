@@ -4,9 +4,12 @@ import com.lmax.disruptor.EventPoller.PollState;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class EventPollerTest
 {
@@ -67,4 +70,116 @@ public class EventPollerTest
 
         assertThat(events.size(), is(4));
     }
+
+    @Test
+    public void shouldPollBoundedBatches() throws Exception
+    {
+        final RingBuffer<byte[]> ringBuffer = RingBuffer.createSingleProducer(() -> new byte[1], 8, new SleepingWaitStrategy());
+        final EventPoller<byte[]> poller = ringBuffer.newPoller();
+        ringBuffer.addGatingSequences(poller.getSequence());
+        for (byte i = 0; i < 5; i++)
+        {
+            final long next = ringBuffer.next();
+            ringBuffer.get(next)[0] = i;
+            ringBuffer.publish(next);
+        }
+
+        final List<String> batches = new ArrayList<>();
+        final EventPoller.BatchHandler<byte[]> handler = batch ->
+        {
+            final StringBuilder values = new StringBuilder();
+            for (int i = 0; i < batch.size(); i++)
+            {
+                values.append(batch.get(i)[0]);
+            }
+            batches.add(values + "/" + batch.getQueueDepth());
+        };
+
+        assertThat(poller.poll(handler, 3), is(PollState.PROCESSING));
+        assertThat(poller.getSequence().get(), is(2L));
+        assertThat(poller.poll(handler, 3), is(PollState.PROCESSING));
+        assertThat(poller.poll(handler, 3), is(PollState.IDLE));
+        assertThat(batches, is(Arrays.asList("012/5", "34/2")));
+        assertThrows(IllegalArgumentException.class, () -> poller.poll(handler, 0));
+    }
+
+    @Test
+    public void shouldPollAgainEventsNotReleasedWhenBatchHandlerThrows() throws Exception
+    {
+        final RingBuffer<byte[]> ringBuffer = RingBuffer.createSingleProducer(() -> new byte[1], 8, new SleepingWaitStrategy());
+        final EventPoller<byte[]> poller = ringBuffer.newPoller();
+        ringBuffer.addGatingSequences(poller.getSequence());
+        ringBuffer.publish(ringBuffer.next(4));
+
+        assertThrows(IllegalStateException.class, () -> poller.poll(batch ->
+        {
+            batch.release(batch.getSequence(1));
+            throw new IllegalStateException();
+        }, 4));
+        assertThat(poller.getSequence().get(), is(1L));
+
+        final List<Long> sequences = new ArrayList<>();
+        poller.poll(batch -> sequences.add(batch.getStartSequence()), 4);
+        assertThat(sequences, is(Arrays.asList(2L)));
+        assertThat(poller.getSequence().get(), is(3L));
+    }
+
+    @Test
+    public void shouldOnlyReleaseSequencesWithinBatch() throws Exception
+    {
+        final RingBuffer<byte[]> ringBuffer = RingBuffer.createSingleProducer(() -> new byte[1], 8, new SleepingWaitStrategy());
+        final EventPoller<byte[]> poller = ringBuffer.newPoller();
+        ringBuffer.addGatingSequences(poller.getSequence());
+        ringBuffer.publish(ringBuffer.next(4));
+
+        poller.poll(batch ->
+        {
+            assertThrows(IllegalArgumentException.class, () -> batch.release(-2));
+            assertThrows(IllegalArgumentException.class, () -> batch.release(2));
+            batch.release(-1);
+            assertThat(poller.getSequence().get(), is(-1L));
+            batch.release(1);
+            assertThat(poller.getSequence().get(), is(1L));
+        }, 2);
+        assertThat(poller.getSequence().get(), is(1L));
+    }
+
+    @Test
+    public void shouldNotReleaseSequencesBeforeThoseAlreadyReleased() throws Exception
+    {
+        final RingBuffer<byte[]> ringBuffer = RingBuffer.createSingleProducer(() -> new byte[1], 8, new SleepingWaitStrategy());
+        final EventPoller<byte[]> poller = ringBuffer.newPoller();
+        ringBuffer.addGatingSequences(poller.getSequence());
+        ringBuffer.publish(ringBuffer.next(4));
+
+        assertThrows(IllegalStateException.class, () -> poller.poll(batch ->
+        {
+            batch.release(batch.getEndSequence());
+            assertThrows(IllegalArgumentException.class, () -> batch.release(batch.getStartSequence() - 1));
+            assertThrows(IllegalArgumentException.class, () -> batch.release(batch.getStartSequence()));
+            batch.release(batch.getEndSequence());
+            throw new IllegalStateException();
+        }, 3));
+        assertThat(poller.getSequence().get(), is(2L));
+
+        final List<Long> sequences = new ArrayList<>();
+        poller.poll(batch -> sequences.add(batch.getStartSequence()), 4);
+        assertThat(sequences, is(Arrays.asList(3L)));
+    }
+
+    @Test
+    public void shouldNotReleaseBatchOnceHandlerHasReturned() throws Exception
+    {
+        final RingBuffer<byte[]> ringBuffer = RingBuffer.createSingleProducer(() -> new byte[1], 8, new SleepingWaitStrategy());
+        final EventPoller<byte[]> poller = ringBuffer.newPoller();
+        ringBuffer.addGatingSequences(poller.getSequence());
+        ringBuffer.publish(ringBuffer.next(4));
+
+        final List<EventBatch<byte[]>> retained = new ArrayList<>();
+        poller.poll(retained::add, 2);
+        assertThat(poller.getSequence().get(), is(1L));
+
+        assertThrows(IllegalStateException.class, () -> retained.get(0).release(0));
+        assertThat(poller.getSequence().get(), is(1L));
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JfrEventsTest
+{
+    private static final String BATCH_PROCESSED = "com.lmax.disruptor.BatchProcessed";
+    private static final String BATCH_REWIND = "com.lmax.disruptor.BatchRewind";
+    private static final String CONSUMER_WAIT = "com.lmax.disruptor.ConsumerWait";
+    private static final String HANDLER_EXCEPTION = "com.lmax.disruptor.HandlerException";
+    private static final String PRODUCER_BLOCKED = "com.lmax.disruptor.ProducerBlocked";
+
+    @Test
+    public void shouldNotCreateEventsWhenNotRecording()
+    {
+        assertThat(JfrEvents.beginBatchProcessed(), is(nullValue()));
+        assertThat(JfrEvents.beginProducerBlocked(), is(nullValue()));
+        assertThat(JfrEvents.beginConsumerWait(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldRecordBatchesRewindsExceptionsAndWaitsOfProcessor() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 8);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessorBuilder().setMaxBatchSize(3).build(ringBuffer, ringBuffer.newBarrier(), batch ->
+        {
+            if (batch.getStartSequence() == 0)
+            {
+                throw new RewindableException(null);
+            }
+            latch.countDown();
+        }, new EventuallyGiveUpBatchRewindStrategy(2));
+        processor.setExceptionHandler(new IgnoreExceptionHandler());
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        final List<RecordedEvent> events;
+        try (Recording recording = newRecording())
+        {
+            recording.start();
+            publish(ringBuffer, 3);
+
+            final Thread thread = new Thread(processor, "jfr-events-processor");
+            thread.start();
+            publish(ringBuffer, 2);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            processor.halt();
+            thread.join();
+
+            recording.stop();
+            events = readEvents(recording, "jfr-events-processor");
+        }
+
+        final List<RecordedEvent> batches = ofType(events, BATCH_PROCESSED);
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0).getLong("sequence"), is(3L));
+        assertThat(batches.get(0).getLong("batchSize"), is(2L));
+        assertThat(batches.get(0).getLong("queueDepth"), is(2L));
+
+        final List<RecordedEvent> rewinds = ofType(events, BATCH_REWIND);
+        assertThat(rewinds.stream().map(e -> e.getInt("attempt")).collect(Collectors.toList()), is(List.of(1, 2)));
+        assertThat(rewinds.stream().map(e -> e.getBoolean("rewound")).collect(Collectors.toList()), is(List.of(true, false)));
+
+        final List<RecordedEvent> exceptions = ofType(events, HANDLER_EXCEPTION);
+        assertThat(exceptions.size(), is(1));
+        assertThat(exceptions.get(0).getString("callback"), is("event"));
+        assertThat(exceptions.get(0).getLong("sequence"), is(0L));
+        assertThat(exceptions.get(0).getClass("exceptionClass").getName(), is(RewindableException.class.getName()));
+
+        assertTrue(ofType(events, CONSUMER_WAIT).stream().anyMatch(e -> e.getLong("sequence") == 3L));
+    }
+
+    @Test
+    public void shouldRecordProducerBlockedOnFullRingBuffer() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createMultiProducer(
+            StubEvent.EVENT_FACTORY, 4, new BlockingWaitStrategy(), new YieldingProducerWaitStrategy());
+        final Sequence gatingSequence = new Sequence();
+        ringBuffer.addGatingSequences(gatingSequence);
+        publish(ringBuffer, 4);
+
+        final List<RecordedEvent> events;
+        try (Recording recording = newRecording())
+        {
+            recording.start();
+
+            final Thread producer = new Thread(() -> ringBuffer.publish(ringBuffer.next()), "jfr-events-producer");
+            producer.start();
+            Thread.sleep(20);
+            gatingSequence.set(0);
+            producer.join();
+
+            recording.stop();
+            events = readEvents(recording, "jfr-events-producer");
+        }
+
+        final List<RecordedEvent> blocked = ofType(events, PRODUCER_BLOCKED);
+        assertThat(blocked.size(), is(1));
+        assertThat(blocked.get(0).getInt("bufferSize"), is(4));
+        assertThat(blocked.get(0).getLong("sequence"), is(4L));
+        assertThat(blocked.get(0).getClass("producerWaitStrategy").getName(), is(YieldingProducerWaitStrategy.class.getName()));
+        assertTrue(blocked.get(0).getDuration().toMillis() >= 10);
+    }
+
+    private static Recording newRecording()
+    {
+        final Recording recording = new Recording();
+        for (final String name : List.of(BATCH_PROCESSED, BATCH_REWIND, CONSUMER_WAIT, HANDLER_EXCEPTION, PRODUCER_BLOCKED))
+        {
+            recording.enable(name).withThreshold(Duration.ZERO);
+        }
+        return recording;
+    }
+
+    private static List<RecordedEvent> readEvents(final Recording recording, final String threadName) throws IOException
+    {
+        final Path file = Files.createTempFile("disruptor", ".jfr");
+        try
+        {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getThread() != null && threadName.equals(e.getThread().getJavaName()))
+                .collect(Collectors.toList());
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(final List<RecordedEvent> events, final String name)
+    {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    private static void publish(final RingBuffer<StubEvent> ringBuffer, final int count)
+    {
+        final long hi = ringBuffer.next(count);
+        ringBuffer.publish(hi - count + 1, hi);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongRingBufferTest
+{
+    @Test
+    public void shouldPublishAndGetValues()
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(4, new BlockingWaitStrategy());
+
+        ringBuffer.publish(17L);
+        ringBuffer.publish(-3L);
+
+        assertThat(ringBuffer.getCursor(), is(1L));
+        assertThat(ringBuffer.get(0), is(17L));
+        assertThat(ringBuffer.get(1), is(-3L));
+    }
+
+    @Test
+    public void shouldPublishRangeOfValuesAcrossWrap()
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createMultiProducer(8, new BlockingWaitStrategy());
+        ringBuffer.publish(new long[]{0, 1, 2, 3, 4, 5}, 0, 6);
+
+        ringBuffer.publish(new long[]{-1, 10, 11, 12, 13, 14}, 1, 5);
+
+        assertThat(ringBuffer.getCursor(), is(10L));
+        for (long sequence = 6; sequence <= 10; sequence++)
+        {
+            assertThat(ringBuffer.get(sequence), is(sequence + 4));
+        }
+    }
+
+    @Test
+    public void shouldRejectRangeOutsideOfArray()
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(8, new BlockingWaitStrategy());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> ringBuffer.publish(new long[4], 2, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> ringBuffer.publish(new long[4], -1, 1));
+        assertThat(ringBuffer.getCursor(), is(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    @Test
+    public void shouldFailToPublishWhenFull()
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.create(ProducerType.SINGLE, 2, new BlockingWaitStrategy());
+        ringBuffer.addGatingSequences(new Sequence());
+
+        assertThat(ringBuffer.tryPublish(1L), is(true));
+        assertThat(ringBuffer.tryPublish(2L), is(true));
+        assertThat(ringBuffer.tryPublish(3L), is(false));
+        assertThat(ringBuffer.remainingCapacity(), is(0L));
+    }
+
+    @Test
+    public void shouldDeliverValuesInBatchesLargerThanBufferToProcessor() throws Exception
+    {
+        final int count = 1000;
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(64, new BlockingWaitStrategy());
+        final List<Long> values = new ArrayList<>();
+        final List<Long> sequences = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(count);
+
+        final LongEventProcessor processor = new LongEventProcessor(ringBuffer, ringBuffer.newBarrier(), (value, sequence, endOfBatch) ->
+        {
+            values.add(value);
+            sequences.add(sequence);
+            latch.countDown();
+        }, 16);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+
+        final long[] source = new long[count];
+        for (int i = 0; i < count; i++)
+        {
+            source[i] = i * 31L;
+        }
+        ringBuffer.publish(source, 0, count);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        for (int i = 0; i < count; i++)
+        {
+            assertThat(values.get(i), is(i * 31L));
+            assertThat(sequences.get(i), is((long) i));
+        }
+    }
+
+    @Test
+    public void shouldLimitBatchSize() throws Exception
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(16, new BlockingWaitStrategy());
+        final List<Long> batchSizes = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(10);
+
+        final LongEventProcessor processor = new LongEventProcessor(ringBuffer, ringBuffer.newBarrier(), new LongEventHandler()
+        {
+            @Override
+            public void onEvent(final long value, final long sequence, final boolean endOfBatch)
+            {
+                latch.countDown();
+            }
+
+            @Override
+            public void onBatchStart(final long batchSize, final long queueDepth)
+            {
+                batchSizes.add(batchSize);
+            }
+        }, 4);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        ringBuffer.publish(new long[10], 0, 10);
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        assertThat(batchSizes, is(List.of(4L, 4L, 2L)));
+    }
+
+    @Test
+    public void shouldReportExceptionWithBoxedValueAndContinue() throws Exception
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(8, new BlockingWaitStrategy());
+        final List<Object> failed = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        final LongEventProcessor processor = new LongEventProcessor(ringBuffer, ringBuffer.newBarrier(), (value, sequence, endOfBatch) ->
+        {
+            if (value == 13L)
+            {
+                throw new IllegalStateException();
+            }
+            latch.countDown();
+        });
+        processor.setExceptionHandler(new ExceptionHandler<Object>()
+        {
+            @Override
+            public void handleEventException(final Throwable ex, final long sequence, final Object event)
+            {
+                failed.add(event);
+            }
+
+            @Override
+            public void handleOnStartException(final Throwable ex)
+            {
+            }
+
+            @Override
+            public void handleOnShutdownException(final Throwable ex)
+            {
+            }
+        });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        ringBuffer.publish(13L);
+        ringBuffer.publish(14L);
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        assertThat(failed, is(List.of(13L)));
+        assertThat(processor.getSequence().get(), is(1L));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.EventPoller.PollState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedRingBufferTest
+{
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        file = Files.createTempFile("disruptor", ".ring");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void shouldPublishThroughOneMappingAndPollThroughAnother() throws Exception
+    {
+        final MappedRingBuffer producer = MappedRingBuffer.create(file, 8, 64, 1, new YieldingWaitStrategy());
+        final MappedRingBuffer consumer = MappedRingBuffer.open(file, new YieldingWaitStrategy());
+        final EventPoller<ByteBuffer> poller = consumer.newPoller(0);
+        final List<Long> received = new ArrayList<>();
+
+        assertThat(poller.poll((event, sequence, endOfBatch) -> true), is(PollState.IDLE));
+
+        for (long i = 0; i < 3; i++)
+        {
+            producer.getRingBuffer().publishEvent((event, sequence, value) -> event.putLong(event.position(), value), i * 7);
+        }
+
+        assertThat(consumer.getRingBuffer().getCursor(), is(2L));
+        assertThat(poller.poll((event, sequence, endOfBatch) -> received.add(event.getLong(event.position()))), is(PollState.PROCESSING));
+        assertThat(received, is(List.of(0L, 7L, 14L)));
+        assertThat(producer.getConsumerSequence(0).get(), is(2L));
+    }
+
+    @Test
+    public void shouldGateProducerOnMappedConsumerSequences() throws Exception
+    {
+        final MappedRingBuffer producer = MappedRingBuffer.create(file, 4, 8, 2, new YieldingWaitStrategy());
+        final MappedRingBuffer consumer = MappedRingBuffer.open(file, new YieldingWaitStrategy());
+        final OffHeapRingBuffer ringBuffer = producer.getRingBuffer();
+
+        for (int i = 0; i < 4; i++)
+        {
+            ringBuffer.publish(ringBuffer.tryNext());
+        }
+        assertThrows(InsufficientCapacityException.class, ringBuffer::tryNext);
+
+        consumer.getConsumerSequence(0).set(1);
+        assertThrows(InsufficientCapacityException.class, ringBuffer::tryNext);
+
+        consumer.getConsumerSequence(1).set(0);
+        ringBuffer.publish(ringBuffer.tryNext());
+        assertThat(ringBuffer.getCursor(), is(4L));
+    }
+
+    @Test
+    public void shouldResumeFromMappedCursorWhenReopened() throws Exception
+    {
+        final MappedRingBuffer first = MappedRingBuffer.create(file, 8, 8, 1, new YieldingWaitStrategy());
+        first.getRingBuffer().put(new byte[]{1});
+        first.getRingBuffer().put(new byte[]{2});
+        first.close();
+
+        final MappedRingBuffer reopened = MappedRingBuffer.open(file, new YieldingWaitStrategy());
+        reopened.getRingBuffer().put(new byte[]{3});
+
+        assertThat(reopened.getRingBuffer().getCursor(), is(2L));
+        assertThat(reopened.getRingBuffer().get(2).get(reopened.getRingBuffer().get(2).position()), is((byte) 3));
+        reopened.close();
+    }
+
+    @Test
+    public void shouldKeepUnreadEventsOfConsumerBehindCursorWhenReopened() throws Exception
+    {
+        final MappedRingBuffer first = MappedRingBuffer.create(file, 4, 8, 1, new YieldingWaitStrategy());
+        final EventPoller<ByteBuffer> firstPoller = first.newPoller(0);
+        for (byte i = 1; i <= 4; i++)
+        {
+            first.getRingBuffer().put(new byte[]{i});
+        }
+        firstPoller.poll((event, sequence, endOfBatch) -> false);
+        first.close();
+
+        final MappedRingBuffer reopened = MappedRingBuffer.open(file, new YieldingWaitStrategy());
+        assertThat(reopened.getConsumerSequence(0).get(), is(0L));
+        final OffHeapRingBuffer ringBuffer = reopened.getRingBuffer();
+        final long next = ringBuffer.tryNext();
+        ringBuffer.get(next).put(ringBuffer.get(next).position(), (byte) 5);
+        ringBuffer.publish(next);
+        assertThrows(InsufficientCapacityException.class, ringBuffer::tryNext);
+
+        final List<Byte> received = new ArrayList<>();
+        reopened.newPoller(0).poll((event, sequence, endOfBatch) -> received.add(event.get(event.position())));
+        assertThat(received, is(List.of((byte) 2, (byte) 3, (byte) 4, (byte) 5)));
+        reopened.close();
+    }
+
+    @Test
+    public void shouldRefuseToCreateOverExistingRingBuffer() throws Exception
+    {
+        final MappedRingBuffer live = MappedRingBuffer.create(file, 8, 8, 1, new YieldingWaitStrategy());
+        live.getRingBuffer().put(new byte[]{1});
+
+        assertThrows(FileAlreadyExistsException.class, () -> MappedRingBuffer.create(file, 8, 8, 1, new YieldingWaitStrategy()));
+
+        final MappedRingBuffer reopened = MappedRingBuffer.open(file, new YieldingWaitStrategy());
+        assertThat(reopened.getRingBuffer().getCursor(), is(0L));
+        reopened.close();
+        live.close();
+    }
+
+    @Test
+    public void shouldRejectFileThatIsNotARingBuffer() throws Exception
+    {
+        Files.write(file, new byte[512]);
+
+        assertThrows(IllegalArgumentException.class, () -> MappedRingBuffer.open(file, new YieldingWaitStrategy()));
+    }
+}
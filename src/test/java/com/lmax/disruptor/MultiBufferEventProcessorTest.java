@@ -0,0 +1,282 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.LongEvent;
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MultiBufferEventProcessorTest
+{
+    private final WaitStrategy waitStrategy = new BlockingWaitStrategy();
+    private final RingBuffer<StubEvent> stubEvents = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 8, waitStrategy);
+    private final RingBuffer<LongEvent> longEvents = RingBuffer.createMultiProducer(LongEvent.FACTORY, 8, waitStrategy);
+
+    @Test
+    public void shouldProcessEventsOfEachRingBufferWithItsOwnHandler() throws Exception
+    {
+        final List<Object> values = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(4);
+        final MultiBufferEventProcessor processor = new MultiBufferEventProcessorBuilder()
+            .add(stubEvents, (event, sequence, endOfBatch) ->
+            {
+                values.add(event.getValue());
+                latch.countDown();
+            })
+            .add(longEvents, (event, sequence, endOfBatch) ->
+            {
+                values.add(event.get());
+                latch.countDown();
+            })
+            .build(waitStrategy);
+        gate(processor);
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+
+        stubEvents.publishEvent((event, sequence) -> event.setValue(7));
+        assertTrue(waitUntil(processor.getSequences()[0], 0L));
+        longEvents.publishEvent((event, sequence) -> event.set(11L));
+        longEvents.publishEvent((event, sequence) -> event.set(12L));
+        stubEvents.publishEvent((event, sequence) -> event.setValue(8));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        assertThat(values.get(0), is(7));
+        assertThat(values.subList(1, 4).containsAll(List.of(11L, 12L, 8)), is(true));
+        assertThat(processor.getSequences()[0].get(), is(1L));
+        assertThat(processor.getSequences()[1].get(), is(1L));
+    }
+
+    @Test
+    public void shouldLimitEventsTakenOnEachVisitByWeight() throws Exception
+    {
+        final List<String> visits = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(12);
+        final MultiBufferEventProcessor processor = new MultiBufferEventProcessorBuilder()
+            .setMaxBatchSize(2)
+            .add(stubEvents, (event, sequence, endOfBatch) ->
+            {
+                visits.add("S");
+                latch.countDown();
+            }, 2)
+            .add(longEvents, (event, sequence, endOfBatch) ->
+            {
+                visits.add("L");
+                latch.countDown();
+            })
+            .build(waitStrategy);
+        gate(processor);
+
+        for (int i = 0; i < 6; i++)
+        {
+            stubEvents.publishEvent((event, sequence) -> event.setValue(0));
+            longEvents.publishEvent((event, sequence) -> event.set(0L));
+        }
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        assertThat(String.join("", visits), is("SSSSLLSSLLLL"));
+    }
+
+    @Test
+    public void shouldStopWhenHaltedWhileWaiting() throws Exception
+    {
+        final List<String> calls = new CopyOnWriteArrayList<>();
+        final MultiBufferEventProcessor processor = new MultiBufferEventProcessorBuilder()
+            .add(stubEvents, new EventHandler<StubEvent>()
+            {
+                @Override
+                public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch)
+                {
+                }
+
+                @Override
+                public void onStart()
+                {
+                    calls.add("start");
+                }
+
+                @Override
+                public void onShutdown()
+                {
+                    calls.add("shutdown");
+                }
+            })
+            .build(waitStrategy);
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+        while (calls.isEmpty())
+        {
+            Thread.yield();
+        }
+        processor.halt();
+        thread.join();
+
+        assertThat(calls, is(List.of("start", "shutdown")));
+    }
+
+    @Test
+    public void shouldRejectInvalidConfiguration()
+    {
+        final MultiBufferEventProcessorBuilder builder = new MultiBufferEventProcessorBuilder();
+
+        assertThrows(IllegalStateException.class, () -> builder.build(waitStrategy));
+        assertThrows(IllegalArgumentException.class, () -> builder.setMaxBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(stubEvents, (event, sequence, endOfBatch) ->
+        {
+        }, 0));
+    }
+
+    @Test
+    public void shouldReportFailureToStartBatchAndCarryOn() throws Exception
+    {
+        final List<Long> failedSequences = new CopyOnWriteArrayList<>();
+        final List<Long> processedSequences = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        final MultiBufferEventProcessor processor = new MultiBufferEventProcessorBuilder()
+            .add(stubEvents, new EventHandler<StubEvent>()
+            {
+                @Override
+                public void onBatchStart(final long batchSize, final long queueDepth)
+                {
+                    throw new IllegalStateException();
+                }
+
+                @Override
+                public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch)
+                {
+                    processedSequences.add(sequence);
+                    latch.countDown();
+                }
+            })
+            .build(waitStrategy);
+        stubEvents.addGatingSequences(processor.getSequences()[0]);
+        processor.setExceptionHandler(new ExceptionHandler<Object>()
+        {
+            @Override
+            public void handleEventException(final Throwable ex, final long sequence, final Object event)
+            {
+                failedSequences.add(sequence);
+                latch.countDown();
+            }
+
+            @Override
+            public void handleOnStartException(final Throwable ex)
+            {
+            }
+
+            @Override
+            public void handleOnShutdownException(final Throwable ex)
+            {
+            }
+        });
+
+        for (int i = 0; i < 2; i++)
+        {
+            stubEvents.publishEvent((event, sequence) -> event.setValue(0));
+        }
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(waitUntil(processor.getSequences()[0], 1L));
+        processor.halt();
+        thread.join();
+
+        assertThat(failedSequences, is(List.of(0L)));
+        assertThat(processedSequences, is(List.of(1L)));
+    }
+
+    @Test
+    public void shouldKeepWaitingWhileClaimedEventIsNotPublished() throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final MultiBufferEventProcessor processor = new MultiBufferEventProcessorBuilder()
+            .add(stubEvents, (event, sequence, endOfBatch) ->
+            {
+            })
+            .add(longEvents, (event, sequence, endOfBatch) -> latch.countDown())
+            .build(waitStrategy);
+        gate(processor);
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+
+        final long claimed = longEvents.next();
+        assertTrue(waitUntilWaiting(thread));
+        Thread.sleep(50);
+        assertThat(thread.getState(), is(Thread.State.WAITING));
+
+        longEvents.publish(claimed);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+    }
+
+    private void gate(final MultiBufferEventProcessor processor)
+    {
+        stubEvents.addGatingSequences(processor.getSequences()[0]);
+        longEvents.addGatingSequences(processor.getSequences()[1]);
+    }
+
+    private static boolean waitUntilWaiting(final Thread thread)
+    {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING)
+        {
+            if (System.nanoTime() > deadline)
+            {
+                return false;
+            }
+            Thread.yield();
+        }
+        return true;
+    }
+
+    private static boolean waitUntil(final Sequence sequence, final long value)
+    {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sequence.get() < value)
+        {
+            if (System.nanoTime() > deadline)
+            {
+                return false;
+            }
+            Thread.yield();
+        }
+        return true;
+    }
+}
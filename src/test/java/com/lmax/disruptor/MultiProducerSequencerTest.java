@@ -38,4 +38,56 @@ public class MultiProducerSequencerTest
         assertThat(publisher.isAvailable(5), is(true));
         assertThat(publisher.isAvailable(6), is(false));
     }
+
+    @Test
+    public void shouldMarkWholeRangeAvailableWhenPublishingBatch()
+    {
+        publisher.publish(10, 20);
+
+        assertThat(publisher.isAvailable(9), is(false));
+        for (long sequence = 10; sequence <= 20; sequence++)
+        {
+            assertThat(publisher.isAvailable(sequence), is(true));
+        }
+        assertThat(publisher.isAvailable(21), is(false));
+        assertThat(publisher.getHighestPublishedSequence(10, 30), is(20L));
+    }
+
+    @Test
+    public void shouldMarkRangeAvailableAcrossWrapOfBuffer()
+    {
+        final Sequencer sequencer = new MultiProducerSequencer(8, new BlockingWaitStrategy());
+        sequencer.publish(0, 5);
+        sequencer.publish(6, 12);
+
+        for (long sequence = 5; sequence <= 12; sequence++)
+        {
+            assertThat(sequencer.isAvailable(sequence), is(true));
+        }
+        assertThat(sequencer.isAvailable(0), is(false));
+        assertThat(sequencer.isAvailable(13), is(false));
+        assertThat(sequencer.getHighestPublishedSequence(6, 14), is(12L));
+    }
+
+    @Test
+    public void shouldMarkFullBufferRangeAvailable()
+    {
+        final Sequencer sequencer = new MultiProducerSequencer(8, new BlockingWaitStrategy());
+        sequencer.publish(3, 10);
+
+        assertThat(sequencer.isAvailable(2), is(false));
+        assertThat(sequencer.getHighestPublishedSequence(3, 10), is(10L));
+        assertThat(sequencer.getHighestPublishedSequence(3, 11), is(10L));
+    }
+
+    @Test
+    public void shouldReportSequenceBeforeFirstGapInRange()
+    {
+        publisher.publish(0, 3);
+        publisher.publish(5, 7);
+
+        assertThat(publisher.getHighestPublishedSequence(0, 7), is(3L));
+        assertThat(publisher.getHighestPublishedSequence(4, 7), is(3L));
+        assertThat(publisher.getHighestPublishedSequence(5, 7), is(7L));
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.EventPoller.PollState;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapRingBufferTest
+{
+    private static final int SLOT_SIZE = 64;
+
+    @Test
+    public void shouldExposeSlotForSequenceAsBoundedView()
+    {
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.createSingleProducer(8, SLOT_SIZE, new BlockingWaitStrategy());
+
+        final ByteBuffer view = ringBuffer.get(10);
+
+        assertThat(view.position(), is(2 * SLOT_SIZE));
+        assertThat(view.limit(), is(3 * SLOT_SIZE));
+        assertThat(view.remaining(), is(SLOT_SIZE));
+        assertThat(view.isDirect(), is(true));
+    }
+
+    @Test
+    public void shouldReuseViewOnTheSameThread()
+    {
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.createSingleProducer(8, SLOT_SIZE, new BlockingWaitStrategy());
+
+        assertTrue(ringBuffer.get(0) == ringBuffer.get(1));
+    }
+
+    @Test
+    public void shouldGiveEachNewViewItsOwnFlyweight()
+    {
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.createSingleProducer(8, SLOT_SIZE, new BlockingWaitStrategy());
+        final DataProvider<ByteBuffer> first = ringBuffer.newView();
+        final DataProvider<ByteBuffer> second = ringBuffer.newView();
+
+        ringBuffer.publishEvent((event, sequence) -> event.putLong(event.position(), 7L));
+
+        final ByteBuffer view = first.get(9);
+        assertTrue(view == first.get(9));
+        assertTrue(view != second.get(9));
+        assertTrue(view != ringBuffer.get(9));
+        assertThat(view.position(), is(SLOT_SIZE));
+        assertThat(view.remaining(), is(SLOT_SIZE));
+        assertThat(second.get(0).getLong(0), is(7L));
+    }
+
+    @Test
+    public void shouldAllocateSlotsWhoseSizeIsNotAMultipleOfTheAlignment()
+    {
+        for (final int slotSize : new int[]{1, 10, 24, 100})
+        {
+            for (int i = 0; i < 16; i++)
+            {
+                final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.createSingleProducer(4, slotSize, new BlockingWaitStrategy());
+
+                final ByteBuffer last = ringBuffer.get(3);
+                assertThat(last.position(), is(3 * slotSize));
+                assertThat(last.limit(), is(4 * slotSize));
+                assertThat(last.capacity(), is(4 * slotSize));
+            }
+        }
+    }
+
+    @Test
+    public void shouldPublishAndReadBackEvents()
+    {
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.createMultiProducer(8, SLOT_SIZE, new BlockingWaitStrategy());
+
+        ringBuffer.publishEvent((event, sequence) -> event.putLong(event.position(), sequence * 3));
+        ringBuffer.publishEvent((event, sequence, arg) -> event.putLong(event.position(), arg), 42L);
+        ringBuffer.put(new byte[]{1, 2, 3});
+
+        assertThat(ringBuffer.getCursor(), is(2L));
+        assertThat(ringBuffer.get(0).getLong(ringBuffer.get(0).position()), is(0L));
+        assertThat(ringBuffer.get(1).getLong(ringBuffer.get(1).position()), is(42L));
+
+        final ByteBuffer third = ringBuffer.get(2);
+        assertThat(third.get(third.position()), is((byte) 1));
+        assertThat(third.get(third.position() + 2), is((byte) 3));
+    }
+
+    @Test
+    public void shouldRejectDataLargerThanSlotWithoutClaimingSequence()
+    {
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.createSingleProducer(8, SLOT_SIZE, new BlockingWaitStrategy());
+
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.put(new byte[SLOT_SIZE + 1]));
+        assertThat(ringBuffer.getCursor(), is(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    @Test
+    public void shouldRejectInvalidSizes()
+    {
+        assertThrows(IllegalArgumentException.class,
+            () -> OffHeapRingBuffer.createSingleProducer(8, 0, new BlockingWaitStrategy()));
+        assertThrows(IllegalArgumentException.class,
+            () -> OffHeapRingBuffer.createSingleProducer(1 << 20, 1 << 12, new BlockingWaitStrategy()));
+        assertThrows(IllegalArgumentException.class,
+            () -> new OffHeapRingBuffer(new SingleProducerSequencer(8, new BlockingWaitStrategy()), SLOT_SIZE, ByteBuffer.allocateDirect(SLOT_SIZE)));
+    }
+
+    @Test
+    public void shouldGateProducerOnConsumerSequence() throws Exception
+    {
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.create(ProducerType.SINGLE, 4, SLOT_SIZE, new BlockingWaitStrategy());
+        final Sequence consumer = new Sequence();
+        ringBuffer.addGatingSequences(consumer);
+
+        for (int i = 0; i < 4; i++)
+        {
+            ringBuffer.publish(ringBuffer.tryNext());
+        }
+
+        assertThat(ringBuffer.hasAvailableCapacity(1), is(false));
+        assertThrows(InsufficientCapacityException.class, ringBuffer::tryNext);
+
+        assertThat(ringBuffer.removeGatingSequence(consumer), is(true));
+        assertThat(ringBuffer.hasAvailableCapacity(1), is(true));
+    }
+
+    @Test
+    public void shouldDeliverEventsToBatchEventProcessor() throws Exception
+    {
+        final int count = 100;
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.createSingleProducer(16, SLOT_SIZE, new BlockingWaitStrategy());
+        final List<Long> received = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(count);
+
+        final BatchEventProcessor<ByteBuffer> processor = new BatchEventProcessorBuilder().build(
+            ringBuffer.newView(), ringBuffer.newBarrier(), (event, sequence, endOfBatch) ->
+            {
+                received.add(event.getLong(event.position()));
+                latch.countDown();
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+
+        for (long i = 0; i < count; i++)
+        {
+            ringBuffer.publishEvent((event, sequence, value) -> event.putLong(event.position(), value), i * i);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        for (int i = 0; i < count; i++)
+        {
+            assertThat(received.get(i), is((long) i * i));
+        }
+    }
+
+    @Test
+    public void shouldPollEvents() throws Exception
+    {
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.createSingleProducer(4, SLOT_SIZE, new BlockingWaitStrategy());
+        final EventPoller<ByteBuffer> poller = ringBuffer.newPoller();
+        ringBuffer.addGatingSequences(poller.getSequence());
+        final List<Long> received = new ArrayList<>();
+
+        assertThat(poller.poll((event, sequence, endOfBatch) -> true), is(PollState.IDLE));
+
+        for (long i = 0; i < 4; i++)
+        {
+            ringBuffer.publishEvent((event, sequence) -> event.putLong(event.position(), sequence + 100));
+        }
+
+        assertThat(poller.poll((event, sequence, endOfBatch) -> received.add(event.getLong(event.position()))), is(PollState.PROCESSING));
+        assertThat(received, is(List.of(100L, 101L, 102L, 103L)));
+        assertThat(ringBuffer.remainingCapacity(), is(4L));
+    }
+}
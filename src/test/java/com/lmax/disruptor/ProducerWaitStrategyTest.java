@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class ProducerWaitStrategyTest
+{
+    private static final int BUFFER_SIZE = 16;
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    private static Stream<Arguments> strategies()
+    {
+        return Stream.of(
+            arguments(new BusySpinProducerWaitStrategy()),
+            arguments(new YieldingProducerWaitStrategy()),
+            arguments(new SleepingProducerWaitStrategy()),
+            arguments(new SleepingProducerWaitStrategy(200, 100)),
+            arguments(new BlockingProducerWaitStrategy()),
+            arguments(PhasedBackoffProducerWaitStrategy.withLock(1, 1, MILLISECONDS)),
+            arguments(PhasedBackoffProducerWaitStrategy.withSleep(1, 1, MILLISECONDS))
+        );
+    }
+
+    private static Stream<Arguments> strategiesAndProducerTypes()
+    {
+        return strategies().flatMap(a -> Stream.of(
+            arguments(a.get()[0], ProducerType.SINGLE),
+            arguments(a.get()[0], ProducerType.MULTI)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("strategies")
+    public void shouldReturnImmediatelyIfCapacityIsAvailable(final ProducerWaitStrategy strategy)
+    {
+        assertThat(strategy.waitFor(3, new Sequence(5)::get), is(5L));
+    }
+
+    @ParameterizedTest
+    @MethodSource("strategies")
+    public void shouldWaitForGatingSequenceToReachWrapPoint(final ProducerWaitStrategy strategy) throws Exception
+    {
+        final Sequence gatingSequence = new Sequence(-1);
+        final CountDownLatch waiting = new CountDownLatch(1);
+
+        Future<Long> result = executor.submit(() ->
+        {
+            waiting.countDown();
+            return strategy.waitFor(2, gatingSequence::get);
+        });
+
+        waiting.await();
+        for (int i = 0; i < 3; i++)
+        {
+            Thread.sleep(2);
+            assertFalse(result.isDone());
+            gatingSequence.incrementAndGet();
+            strategy.signalAllWhenBlocking();
+        }
+
+        assertThat(result.get(5, TimeUnit.SECONDS), is(2L));
+    }
+
+    @Test
+    public void shouldRecheckGatingSequenceWhenNotSignalled() throws Exception
+    {
+        final ProducerWaitStrategy strategy = new BlockingProducerWaitStrategy(1, MILLISECONDS);
+        final Sequence gatingSequence = new Sequence(-1);
+
+        Future<Long> result = executor.submit(() -> strategy.waitFor(0, gatingSequence::get));
+        Thread.sleep(5);
+        gatingSequence.set(0);
+
+        assertThat(result.get(5, TimeUnit.SECONDS), is(0L));
+    }
+
+    @ParameterizedTest
+    @MethodSource("strategiesAndProducerTypes")
+    public void shouldApplyBackPressureUntilConsumerCatchesUp(
+        final ProducerWaitStrategy strategy, final ProducerType producerType) throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.create(
+            producerType, StubEvent.EVENT_FACTORY, BUFFER_SIZE, new BlockingWaitStrategy(), strategy);
+        final int eventCount = BUFFER_SIZE * 64;
+        final CountDownLatch allProcessed = new CountDownLatch(eventCount);
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessorBuilder().build(
+            ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) ->
+            {
+                if ((sequence & 7) == 0)
+                {
+                    Thread.sleep(0, 100_000);
+                }
+                assertThat(event.getValue(), is((int) sequence));
+                allProcessed.countDown();
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.execute(processor);
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            ringBuffer.publishEvent((event, sequence, value) -> event.setValue(value), i);
+        }
+
+        assertTrue(allProcessed.await(10, TimeUnit.SECONDS));
+        processor.halt();
+    }
+
+    @ParameterizedTest
+    @MethodSource("strategiesAndProducerTypes")
+    public void shouldNotWaitOnGatingSequencesThatHaveBeenRemoved(
+        final ProducerWaitStrategy strategy, final ProducerType producerType) throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.create(
+            producerType, StubEvent.EVENT_FACTORY, BUFFER_SIZE, new BlockingWaitStrategy(), strategy);
+        final Sequence stalledConsumer = new Sequence();
+        ringBuffer.addGatingSequences(stalledConsumer);
+
+        Future<Long> producer = executor.submit(() ->
+        {
+            for (int i = 0; i < BUFFER_SIZE; i++)
+            {
+                ringBuffer.publish(ringBuffer.next());
+            }
+            return ringBuffer.next();
+        });
+        Thread.sleep(5);
+        assertFalse(producer.isDone());
+
+        ringBuffer.removeGatingSequence(stalledConsumer);
+        strategy.signalAllWhenBlocking();
+
+        assertThat(producer.get(5, TimeUnit.SECONDS), is((long) BUFFER_SIZE));
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.lmax.disruptor;
 
+import com.lmax.disruptor.dsl.ProducerType;
 import com.lmax.disruptor.support.StubEvent;
 import com.lmax.disruptor.support.TestWaiter;
 import com.lmax.disruptor.util.DaemonThreadFactory;
@@ -345,6 +346,34 @@ public class RingBufferTest
         });
     }
 
+    @Test
+    public void shouldStartFromInitialCursor() throws Exception
+    {
+        for (final ProducerType producerType : ProducerType.values())
+        {
+            final RingBuffer<StubEvent> ringBuffer = RingBuffer.create(
+                producerType, StubEvent.EVENT_FACTORY, 4, new BlockingWaitStrategy(), new YieldingProducerWaitStrategy(), 99);
+            final Sequence gatingSequence = new Sequence();
+            ringBuffer.addGatingSequences(gatingSequence);
+
+            assertThat(ringBuffer.getCursor(), is(99L));
+            assertThat(gatingSequence.get(), is(99L));
+            assertThat(ringBuffer.remainingCapacity(), is(4L));
+
+            final SequenceBarrier barrier = ringBuffer.newBarrier();
+            ringBuffer.publishEvent(StubEvent.TRANSLATOR, 100, "");
+            assertThat(barrier.waitFor(100), is(100L));
+            assertThat(ringBuffer.get(100).getValue(), is(100));
+        }
+    }
+
+    @Test
+    public void shouldRejectInitialCursorBeforeStart()
+    {
+        assertThrows(IllegalArgumentException.class, () -> RingBuffer.create(
+            ProducerType.SINGLE, StubEvent.EVENT_FACTORY, 4, new BlockingWaitStrategy(), new YieldingProducerWaitStrategy(), -2));
+    }
+
     @Test
     public void shouldPublishEventsOneArgBatchSizeOfOne() throws Exception
     {
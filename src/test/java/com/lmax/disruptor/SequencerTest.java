@@ -175,6 +175,37 @@ public class SequencerTest
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("sequencerGenerator")
+    public void shouldAddRetainedGatingSequenceWithoutMovingIt(final Sequencer sequencer)
+    {
+        sequencer.addGatingSequences(gatingSequence);
+        sequencer.publish(sequencer.next(4));
+        gatingSequence.set(1L);
+
+        final Sequence retained = new Sequence(1L);
+        assertTrue(sequencer.addRetainedGatingSequence(retained));
+        assertTrue(sequencer.addRetainedGatingSequence(retained));
+        assertThat(retained.get(), is(1L));
+
+        sequencer.removeGatingSequence(gatingSequence);
+        assertThat(sequencer.getMinimumSequence(), is(1L));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sequencerGenerator")
+    public void shouldNotAddGatingSequenceForEventsThatMayHaveBeenOverwritten(final Sequencer sequencer)
+    {
+        sequencer.addGatingSequences(gatingSequence);
+        sequencer.publish(sequencer.next(4));
+        gatingSequence.set(2L);
+
+        final Sequence released = new Sequence(1L);
+        assertFalse(sequencer.addRetainedGatingSequence(released));
+        assertTrue(sequencer.removeGatingSequence(gatingSequence));
+        assertFalse(sequencer.removeGatingSequence(released));
+    }
+
     @ParameterizedTest
     @MethodSource("sequencerGenerator")
     public void shouldNotBeAvailableUntilPublished(final Sequencer sequencer) throws Exception
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedRingBufferTest
+{
+    private static final int PUBLISHERS = 3;
+    private static final int EVENTS_PER_PUBLISHER = 100;
+
+    @Test
+    public void shouldProcessEventsOfEachPublisherInOrder() throws Exception
+    {
+        final StripedRingBuffer<StubEvent> ringBuffer =
+            StripedRingBuffer.create(StubEvent.EVENT_FACTORY, PUBLISHERS, 16, new BlockingWaitStrategy());
+        final Map<String, List<Integer>> valuesByPublisher = new HashMap<>();
+        final CountDownLatch latch = new CountDownLatch(PUBLISHERS * EVENTS_PER_PUBLISHER);
+        final MultiBufferEventProcessor processor = ringBuffer.newProcessor((event, sequence, endOfBatch) ->
+        {
+            valuesByPublisher.computeIfAbsent(event.getTestString(), k -> new ArrayList<>()).add(event.getValue());
+            latch.countDown();
+        }, 8);
+        final Thread processorThread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        processorThread.start();
+
+        final List<Thread> publishers = new ArrayList<>();
+        for (int p = 0; p < PUBLISHERS; p++)
+        {
+            final String name = "publisher-" + p;
+            final Thread publisher = new Thread(() ->
+            {
+                for (int i = 0; i < EVENTS_PER_PUBLISHER; i++)
+                {
+                    ringBuffer.publishEvent((event, sequence, value) ->
+                    {
+                        event.setValue(value);
+                        event.setTestString(name);
+                    }, i);
+                }
+            });
+            publishers.add(publisher);
+            publisher.start();
+        }
+        for (Thread publisher : publishers)
+        {
+            publisher.join();
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        processorThread.join();
+
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < EVENTS_PER_PUBLISHER; i++)
+        {
+            expected.add(i);
+        }
+        assertThat(valuesByPublisher.size(), is(PUBLISHERS));
+        for (List<Integer> values : valuesByPublisher.values())
+        {
+            assertThat(values, is(expected));
+        }
+    }
+
+    @Test
+    public void shouldGiveEachThreadItsOwnLane() throws Exception
+    {
+        final StripedRingBuffer<StubEvent> ringBuffer =
+            StripedRingBuffer.create(StubEvent.EVENT_FACTORY, 2, 16, new BlockingWaitStrategy());
+
+        final RingBuffer<StubEvent> lane = ringBuffer.lane();
+        assertSame(lane, ringBuffer.lane());
+
+        final Object[] otherLane = new Object[1];
+        final CountDownLatch claimed = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread other = new Thread(() ->
+        {
+            otherLane[0] = ringBuffer.lane();
+            claimed.countDown();
+            awaitUninterruptibly(done);
+        });
+        other.start();
+        claimed.await();
+
+        assertTrue(otherLane[0] != null && otherLane[0] != lane);
+        assertThrows(IllegalStateException.class, ringBuffer::claimLane);
+
+        done.countDown();
+        other.join();
+    }
+
+    @Test
+    public void shouldReuseLanesOfThreadsThatHaveDied() throws Exception
+    {
+        final int threads = 10;
+        final StripedRingBuffer<StubEvent> ringBuffer =
+            StripedRingBuffer.create(StubEvent.EVENT_FACTORY, 2, 4, new BlockingWaitStrategy());
+        final List<Integer> values = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(threads * EVENTS_PER_PUBLISHER);
+        final MultiBufferEventProcessor processor = ringBuffer.newProcessor((event, sequence, endOfBatch) ->
+        {
+            values.add(event.getValue());
+            latch.countDown();
+        });
+        final Thread processorThread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        processorThread.start();
+
+        final List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+        {
+            final int base = t * EVENTS_PER_PUBLISHER;
+            final Thread publisher = new Thread(() ->
+            {
+                for (int i = 0; i < EVENTS_PER_PUBLISHER; i++)
+                {
+                    ringBuffer.publishEvent((event, sequence, value) -> event.setValue(value), base + i);
+                }
+            });
+            publisher.setUncaughtExceptionHandler((thread, ex) -> failures.add(ex));
+            publisher.start();
+            publisher.join();
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        processorThread.join();
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < threads * EVENTS_PER_PUBLISHER; i++)
+        {
+            expected.add(i);
+        }
+        assertThat(values, is(expected));
+    }
+
+    @Test
+    public void shouldReleaseLaneWhenClosedOrReleased()
+    {
+        final StripedRingBuffer<StubEvent> ringBuffer =
+            StripedRingBuffer.create(StubEvent.EVENT_FACTORY, 1, 4, new BlockingWaitStrategy());
+
+        final StripedRingBuffer.Lane<StubEvent> lane = ringBuffer.claimLane();
+        assertThrows(IllegalStateException.class, ringBuffer::lane);
+        lane.close();
+        lane.close();
+
+        final RingBuffer<StubEvent> threadLane = ringBuffer.lane();
+        assertSame(lane.getRingBuffer(), threadLane);
+        assertThrows(IllegalStateException.class, ringBuffer::claimLane);
+        ringBuffer.releaseLane();
+
+        try (StripedRingBuffer.Lane<StubEvent> claimed = ringBuffer.claimLane())
+        {
+            assertSame(threadLane, claimed.getRingBuffer());
+        }
+        assertSame(threadLane, ringBuffer.lane());
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
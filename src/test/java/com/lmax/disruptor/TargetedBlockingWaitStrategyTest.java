@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.lmax.disruptor.support.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TargetedBlockingWaitStrategyTest
+{
+    private final TargetedBlockingWaitStrategy waitStrategy = new TargetedBlockingWaitStrategy();
+    private final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 16, waitStrategy);
+
+    @Test
+    public void shouldWaitForValue() throws Exception
+    {
+        assertWaitForWithDelayOf(50, waitStrategy);
+    }
+
+    @Test
+    public void shouldOnlyWakeWaitersWhoseSequenceIsPublished() throws Exception
+    {
+        final SequenceBarrier earlyBarrier = ringBuffer.newBarrier();
+        final SequenceBarrier lateBarrier = ringBuffer.newBarrier();
+        final Waiting early = new Waiting(earlyBarrier, 0);
+        final Waiting late = new Waiting(lateBarrier, 3);
+        early.thread.start();
+        late.thread.start();
+        awaitParked(early.thread);
+        awaitParked(late.thread);
+
+        ringBuffer.publish(ringBuffer.next());
+
+        assertTrue(early.done.await(5, TimeUnit.SECONDS));
+        assertThat(early.result.get(), is(0L));
+        assertFalse(late.done.await(50, TimeUnit.MILLISECONDS));
+        assertThat(late.thread.getState(), is(Thread.State.WAITING));
+
+        ringBuffer.publish(ringBuffer.next(3));
+
+        assertTrue(late.done.await(5, TimeUnit.SECONDS));
+        assertThat(late.result.get(), is(3L));
+    }
+
+    @Test
+    public void shouldWakeWaiterWhenAlerted() throws Exception
+    {
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final Waiting waiting = new Waiting(barrier, 0);
+        waiting.thread.start();
+        awaitParked(waiting.thread);
+
+        barrier.alert();
+
+        assertTrue(waiting.done.await(5, TimeUnit.SECONDS));
+        assertThat(waiting.result.get(), instanceOf(AlertException.class));
+    }
+
+    @Test
+    public void shouldThrowWhenInterrupted() throws Exception
+    {
+        final Waiting waiting = new Waiting(ringBuffer.newBarrier(), 0);
+        waiting.thread.start();
+        awaitParked(waiting.thread);
+
+        waiting.thread.interrupt();
+
+        assertTrue(waiting.done.await(5, TimeUnit.SECONDS));
+        assertThat(waiting.result.get(), instanceOf(InterruptedException.class));
+    }
+
+    @Test
+    public void shouldReuseWaiterOfThreadAndDropThoseOfTerminatedThreads() throws Exception
+    {
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final Waiting first = new Waiting(barrier, 0);
+        first.thread.start();
+        awaitParked(first.thread);
+        ringBuffer.publish(ringBuffer.next());
+        assertTrue(first.done.await(5, TimeUnit.SECONDS));
+        first.thread.join();
+
+        final Thread thread = new Thread(() ->
+        {
+            try
+            {
+                for (long sequence = 1; sequence <= 3; sequence++)
+                {
+                    barrier.waitFor(sequence);
+                }
+            }
+            catch (final Exception e)
+            {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        for (int i = 0; i < 3; i++)
+        {
+            awaitParked(thread);
+            assertThat(waitStrategy.waiterCount(), is(1));
+            ringBuffer.publish(ringBuffer.next());
+        }
+        thread.join();
+    }
+
+    private static void awaitParked(final Thread thread) throws InterruptedException
+    {
+        while (thread.getState() != Thread.State.WAITING)
+        {
+            Thread.sleep(1);
+        }
+    }
+
+    private static final class Waiting implements Runnable
+    {
+        private final SequenceBarrier barrier;
+        private final long sequence;
+        private final Thread thread = new Thread(this);
+        private final AtomicReference<Object> result = new AtomicReference<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        Waiting(final SequenceBarrier barrier, final long sequence)
+        {
+            this.barrier = barrier;
+            this.sequence = sequence;
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                result.set(barrier.waitFor(sequence));
+            }
+            catch (final Exception e)
+            {
+                result.set(e);
+            }
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VariableLengthRingBufferTest
+{
+    @Test
+    public void shouldClaimAlignedRecordsAndAdvanceCursorInBytes()
+    {
+        final VariableLengthRingBuffer ringBuffer = VariableLengthRingBuffer.create(256, new BlockingWaitStrategy());
+
+        ringBuffer.write(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        assertThat(ringBuffer.getCursor(), is(15L));
+
+        final long sequence = ringBuffer.claim(8);
+        assertThat(sequence, is(16L));
+        ringBuffer.publish(sequence);
+        assertThat(ringBuffer.getCursor(), is(31L));
+
+        final ByteBuffer first = ringBuffer.get(0);
+        assertThat(first.remaining(), is(3));
+        assertThat(first.get(first.position() + 2), is((byte) 3));
+        assertThat(ringBuffer.get(16).remaining(), is(8));
+    }
+
+    @Test
+    public void shouldRejectRecordsLargerThanMaximum()
+    {
+        final VariableLengthRingBuffer ringBuffer = VariableLengthRingBuffer.create(256, new BlockingWaitStrategy());
+
+        assertThat(ringBuffer.getMaxRecordLength(), is(24));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.claim(25));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.claim(-1));
+        assertThat(ringBuffer.getCursor(), is(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    @Test
+    public void shouldRejectCapacityTooSmallOrNotPowerOfTwo()
+    {
+        assertThrows(IllegalArgumentException.class, () -> VariableLengthRingBuffer.create(32, new BlockingWaitStrategy()));
+        assertThrows(IllegalArgumentException.class, () -> VariableLengthRingBuffer.create(100, new BlockingWaitStrategy()));
+    }
+
+    @Test
+    public void shouldPadToEndOfBufferRatherThanWrapRecord()
+    {
+        final VariableLengthRingBuffer ringBuffer = VariableLengthRingBuffer.create(128, new BlockingWaitStrategy());
+        final Sequence consumer = new Sequence();
+        ringBuffer.addGatingSequences(consumer);
+
+        for (int i = 0; i < 15; i++)
+        {
+            ringBuffer.publish(ringBuffer.claim(0));
+        }
+        consumer.set(ringBuffer.getCursor());
+
+        final long sequence = ringBuffer.claim(8);
+
+        assertThat(ringBuffer.isPadding(120), is(true));
+        assertThat(ringBuffer.endOf(120), is(135L));
+        assertThat(sequence, is(136L));
+        assertThat(ringBuffer.isPadding(sequence), is(false));
+        assertThat(ringBuffer.get(sequence).position(), is(16));
+    }
+
+    @Test
+    public void shouldDeliverVariableLengthRecordsAcrossWrapsToProcessor() throws Exception
+    {
+        final int count = 500;
+        final VariableLengthRingBuffer ringBuffer = VariableLengthRingBuffer.create(1024, new BlockingWaitStrategy());
+        final List<Integer> lengths = new ArrayList<>();
+        final List<Boolean> contentMatches = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(count);
+
+        final VariableLengthEventProcessor processor = new VariableLengthEventProcessor(
+            ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) ->
+            {
+                final int length = event.remaining();
+                boolean matches = true;
+                for (int i = 0; i < length; i++)
+                {
+                    matches &= event.get(event.position() + i) == (byte) length;
+                }
+                lengths.add(length);
+                contentMatches.add(matches);
+                latch.countDown();
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+
+        for (int i = 0; i < count; i++)
+        {
+            final int length = i % (ringBuffer.getMaxRecordLength() + 1);
+            final byte[] payload = new byte[length];
+            Arrays.fill(payload, (byte) length);
+            ringBuffer.write(ByteBuffer.wrap(payload));
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        for (int i = 0; i < count; i++)
+        {
+            assertThat(lengths.get(i), is(i % (ringBuffer.getMaxRecordLength() + 1)));
+            assertThat(contentMatches.get(i), is(true));
+        }
+    }
+
+    @Test
+    public void shouldSkipRecordThatFailsAndContinue() throws Exception
+    {
+        final VariableLengthRingBuffer ringBuffer = VariableLengthRingBuffer.create(256, new BlockingWaitStrategy());
+        final List<Long> handled = new ArrayList<>();
+        final List<Long> failed = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        final VariableLengthEventProcessor processor = new VariableLengthEventProcessor(
+            ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) ->
+            {
+                if (sequence == 0)
+                {
+                    throw new IllegalStateException("bad record");
+                }
+                handled.add(sequence);
+                latch.countDown();
+            });
+        processor.setExceptionHandler(new StubExceptionHandler(failed));
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        ringBuffer.write(ByteBuffer.allocate(4));
+        ringBuffer.write(ByteBuffer.allocate(4));
+        ringBuffer.write(ByteBuffer.allocate(4));
+
+        final Thread thread = DaemonThreadFactory.INSTANCE.newThread(processor);
+        thread.start();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        assertThat(failed, is(List.of(0L)));
+        assertThat(handled, is(List.of(16L, 32L)));
+        assertThat(processor.getSequence().get(), is(47L));
+    }
+
+    private static final class StubExceptionHandler implements ExceptionHandler<Object>
+    {
+        private final List<Long> failed;
+
+        StubExceptionHandler(final List<Long> failed)
+        {
+            this.failed = failed;
+        }
+
+        @Override
+        public void handleEventException(final Throwable ex, final long sequence, final Object event)
+        {
+            failed.add(sequence);
+        }
+
+        @Override
+        public void handleOnStartException(final Throwable ex)
+        {
+        }
+
+        @Override
+        public void handleOnShutdownException(final Throwable ex)
+        {
+        }
+    }
+}
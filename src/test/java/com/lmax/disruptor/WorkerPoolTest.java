@@ -0,0 +1,201 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkerPoolTest
+{
+    private static final int BUFFER_SIZE = 1024;
+
+    private final RingBuffer<StubEvent> ringBuffer =
+        RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE, new BlockingWaitStrategy());
+
+    @Test
+    public void shouldDeliverEachEventToExactlyOneWorker()
+    {
+        final int eventCount = BUFFER_SIZE * 32;
+        final AtomicIntegerArray deliveries = new AtomicIntegerArray(eventCount);
+        final WorkHandler<StubEvent> handler = event -> deliveries.incrementAndGet(event.getValue());
+
+        final WorkerPool<StubEvent> workerPool = new WorkerPool<>(
+            ringBuffer, ringBuffer.newBarrier(), new FatalExceptionHandler(), 16, handler, handler, handler, handler);
+        ringBuffer.addGatingSequences(workerPool.getSequence());
+        workerPool.start(DaemonThreadFactory.INSTANCE);
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            ringBuffer.publishEvent((event, sequence, value) -> event.setValue(value), i);
+        }
+
+        workerPool.drainAndHalt();
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            assertThat("event " + i, deliveries.get(i), is(1));
+        }
+    }
+
+    @Test
+    public void shouldGateOnSlowestWorker() throws Exception
+    {
+        final CountDownLatch stalled = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch remainingEvents = new CountDownLatch(9);
+        final WorkHandler<StubEvent> handler = event ->
+        {
+            if (event.getValue() == 0)
+            {
+                stalled.countDown();
+                release.await();
+            }
+            else
+            {
+                remainingEvents.countDown();
+            }
+        };
+
+        final WorkerPool<StubEvent> workerPool = new WorkerPool<>(
+            ringBuffer, ringBuffer.newBarrier(), new FatalExceptionHandler(), 1, handler, handler);
+        ringBuffer.addGatingSequences(workerPool.getSequence());
+        workerPool.start(DaemonThreadFactory.INSTANCE);
+
+        for (int i = 0; i < 10; i++)
+        {
+            ringBuffer.publishEvent((event, sequence, value) -> event.setValue(value), i);
+        }
+
+        assertTrue(stalled.await(2, TimeUnit.SECONDS));
+        assertTrue(remainingEvents.await(2, TimeUnit.SECONDS));
+        assertThat(workerPool.getSequence().get(), is(-1L));
+        assertThat(ringBuffer.remainingCapacity(), is((long) BUFFER_SIZE - 10));
+
+        release.countDown();
+        workerPool.drainAndHalt();
+
+        assertThat(workerPool.getSequence().get(), is(9L));
+    }
+
+    @Test
+    public void shouldNotStartTwice()
+    {
+        final WorkerPool<StubEvent> workerPool = new WorkerPool<>(
+            ringBuffer, ringBuffer.newBarrier(), new FatalExceptionHandler(), event ->
+            {
+            });
+
+        workerPool.start(DaemonThreadFactory.INSTANCE);
+
+        assertThrows(IllegalStateException.class, () -> workerPool.start(DaemonThreadFactory.INSTANCE));
+        workerPool.halt();
+    }
+
+    @Test
+    public void shouldHaltAllWorkers() throws Exception
+    {
+        final CountDownLatch started = new CountDownLatch(2);
+        final WorkHandler<StubEvent> handler = new WorkHandler<>()
+        {
+            @Override
+            public void onEvent(final StubEvent event)
+            {
+            }
+
+            @Override
+            public void onStart()
+            {
+                started.countDown();
+            }
+        };
+
+        final WorkerPool<StubEvent> workerPool = new WorkerPool<>(
+            ringBuffer, ringBuffer.newBarrier(), new FatalExceptionHandler(), handler, handler);
+
+        workerPool.start(DaemonThreadFactory.INSTANCE);
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        workerPool.halt();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (workerPool.isRunning() && System.nanoTime() < deadline)
+        {
+            Thread.yield();
+        }
+
+        assertFalse(workerPool.isRunning());
+    }
+
+    @Test
+    public void shouldProcessEventsAgainOnceRestartedAfterHalt() throws Exception
+    {
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch processed = new CountDownLatch(4);
+        final WorkHandler<StubEvent> handler = new WorkHandler<>()
+        {
+            @Override
+            public void onEvent(final StubEvent event)
+            {
+                processed.countDown();
+            }
+
+            @Override
+            public void onStart()
+            {
+                started.countDown();
+            }
+        };
+        final WorkerPool<StubEvent> workerPool = new WorkerPool<>(
+            ringBuffer, ringBuffer.newBarrier(), new FatalExceptionHandler(), handler, handler);
+        ringBuffer.addGatingSequences(workerPool.getSequence());
+
+        workerPool.start(DaemonThreadFactory.INSTANCE);
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        workerPool.halt();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (workerPool.isRunning() && System.nanoTime() < deadline)
+        {
+            Thread.yield();
+        }
+        assertFalse(workerPool.isRunning());
+
+        workerPool.start(DaemonThreadFactory.INSTANCE);
+        for (int i = 0; i < 4; i++)
+        {
+            ringBuffer.publishEvent((event, sequence) -> event.setValue((int) sequence));
+        }
+
+        assertTrue(processed.await(2, TimeUnit.SECONDS));
+        workerPool.halt();
+    }
+
+    @Test
+    public void shouldRequireAtLeastOneWorkHandler()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new WorkerPool<StubEvent>(
+            ringBuffer, ringBuffer.newBarrier(), new FatalExceptionHandler()));
+    }
+}
@@ -26,6 +26,7 @@ import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.SequenceBarrier;
 import com.lmax.disruptor.SimpleBatchRewindStrategy;
 import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.WorkHandler;
 import com.lmax.disruptor.dsl.stubs.DelayedEventHandler;
 import com.lmax.disruptor.dsl.stubs.EventHandlerStub;
 import com.lmax.disruptor.dsl.stubs.EvilEqualsEventHandler;
@@ -42,10 +43,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
 
@@ -53,6 +61,8 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -614,6 +624,239 @@ public class DisruptorTest
         });
     }
 
+    @Test
+    @Timeout(value = 2000, unit = MILLISECONDS)
+    public void shouldCompleteDrainOnceEventsHaveBeenProcessed() throws Exception
+    {
+        final DelayedEventHandler delayedEventHandler = createDelayedEventHandler();
+        disruptor.handleEventsWith(delayedEventHandler);
+        publishEvent();
+        publishEvent();
+
+        final CompletableFuture<Void> drained = disruptor.drainTo(1);
+        delayedEventHandler.processEvent();
+        assertFalse(drained.isDone());
+
+        delayedEventHandler.processEvent();
+        drained.get(1, SECONDS);
+    }
+
+    @Test
+    public void shouldCompleteDrainImmediatelyWhenNoEventProcessorsAreRunning() throws Exception
+    {
+        disruptor.handleEventsWith(createDelayedEventHandler());
+        disruptor.publishEvent((event, sequence) ->
+        {
+        });
+
+        assertTrue(disruptor.drainTo(0).isDone());
+    }
+
+    @Test
+    @Timeout(value = 2000, unit = MILLISECONDS)
+    public void shouldShutdownOnceEventsHaveBeenProcessed() throws Exception
+    {
+        final DelayedEventHandler delayedEventHandler = createDelayedEventHandler();
+        disruptor.handleEventsWith(delayedEventHandler);
+        publishEvent();
+
+        final Thread processor = new Thread(delayedEventHandler::processEvent);
+        processor.start();
+        disruptor.shutdown(1, SECONDS);
+        processor.join();
+
+        assertThat(disruptor.getSequenceValueFor(delayedEventHandler), is(0L));
+    }
+
+    @Test
+    @Timeout(value = 2000, unit = MILLISECONDS)
+    public void shouldAttachHandlerToRunningDisruptorAtCursor() throws Exception
+    {
+        final EventHandler<TestEvent> first = (event, sequence, endOfBatch) ->
+        {
+        };
+        final List<Long> sequences = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final EventHandler<TestEvent> attached = (event, sequence, endOfBatch) ->
+        {
+            sequences.add(sequence);
+            latch.countDown();
+        };
+        disruptor.handleEventsWith(first);
+        publishEvent();
+        publishEvent();
+
+        assertThat(disruptor.attach(attached, first), is(1L));
+        publishEvent();
+
+        assertThatCountDownLatchIsZero(latch);
+        assertThat(sequences, is(List.of(2L)));
+    }
+
+    @Test
+    @Timeout(value = 2000, unit = MILLISECONDS)
+    public void shouldAttachHandlerFromSequenceOnlyWhileEventsAreRetained() throws Exception
+    {
+        final DelayedEventHandler slowHandler = createDelayedEventHandler();
+        final List<Long> sequences = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        disruptor.handleEventsWith(slowHandler);
+        publishEvent();
+        slowHandler.processEvent();
+        while (disruptor.getSequenceValueFor(slowHandler) != 0L)
+        {
+            Thread.yield();
+        }
+        publishEvent();
+
+        assertThrows(IllegalArgumentException.class, () -> disruptor.attach(0, (event, sequence, endOfBatch) ->
+        {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> disruptor.attach(3, (event, sequence, endOfBatch) ->
+        {
+        }));
+        disruptor.attach(1, (event, sequence, endOfBatch) ->
+        {
+            sequences.add(sequence);
+            latch.countDown();
+        });
+
+        assertThatCountDownLatchIsZero(latch);
+        assertThat(sequences, is(List.of(1L)));
+    }
+
+    @Test
+    @Timeout(value = 2000, unit = MILLISECONDS)
+    public void shouldGateOnDependencyOnceHandlerIsDetached() throws Exception
+    {
+        final EventHandler<TestEvent> first = (event, sequence, endOfBatch) ->
+        {
+        };
+        final DelayedEventHandler last = createDelayedEventHandler();
+        disruptor.handleEventsWith(first).then(last);
+        ringBuffer = disruptor.start();
+        last.awaitStart();
+
+        assertThrows(IllegalStateException.class, () -> disruptor.detach(first));
+        disruptor.detach(last);
+        for (int i = 0; i < 6; i++)
+        {
+            publishEvent();
+        }
+
+        disruptor.drainTo(5).get(1, SECONDS);
+        assertThat(ringBuffer.getMinimumGatingSequence(), is(5L));
+        assertThrows(IllegalArgumentException.class, () -> disruptor.detach(last));
+    }
+
+    @Test
+    @Timeout(value = 2000, unit = MILLISECONDS)
+    public void shouldNotAlertSiblingsWhenDetachingHandler() throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final DelayedEventHandler detached = createDelayedEventHandler();
+        final EventHandler<TestEvent> sibling = (event, sequence, endOfBatch) -> latch.countDown();
+        disruptor.handleEventsWith(detached, sibling);
+        ringBuffer = disruptor.start();
+        detached.awaitStart();
+        assertThat(disruptor.getBarrierFor(sibling), not(sameInstance(disruptor.getBarrierFor(detached))));
+
+        disruptor.detach(detached);
+
+        assertThat(disruptor.getBarrierFor(sibling).isAlerted(), is(false));
+        publishEvent();
+        assertThatCountDownLatchIsZero(latch);
+    }
+
+    @Test
+    @Timeout(value = 2000, unit = MILLISECONDS)
+    public void shouldDetachHandlerBeforeStart() throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Long> detachedSequences = new CopyOnWriteArrayList<>();
+        final EventHandler<TestEvent> first = (event, sequence, endOfBatch) -> latch.countDown();
+        final EventHandler<TestEvent> detached = (event, sequence, endOfBatch) -> detachedSequences.add(sequence);
+        disruptor.handleEventsWith(first);
+        disruptor.attach(detached, first);
+
+        disruptor.detach(detached);
+        ringBuffer = disruptor.start();
+        publishEvent();
+
+        assertThatCountDownLatchIsZero(latch);
+        assertThat(executor.getExecutionCount(), equalTo(1));
+        assertTrue(detachedSequences.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 2000, unit = MILLISECONDS)
+    public void shouldDetachHandlerWhoseThreadHasNotYetRunIt() throws Exception
+    {
+        disruptor = new Disruptor<>(
+                TestEvent.EVENT_FACTORY,
+                4,
+                runnable -> executor.newThread(() ->
+                {
+                    LockSupport.parkNanos(MILLISECONDS.toNanos(50));
+                    runnable.run();
+                }),
+                ProducerType.SINGLE,
+                new BlockingWaitStrategy());
+        final EventHandler<TestEvent> handler = (event, sequence, endOfBatch) ->
+        {
+        };
+        disruptor.handleEventsWith(handler);
+        ringBuffer = disruptor.start();
+
+        disruptor.detach(handler);
+        publishEvent();
+
+        assertThat(ringBuffer.getMinimumGatingSequence(), is(0L));
+        assertThrows(IllegalArgumentException.class, () -> disruptor.detach(handler));
+    }
+
+    @Test
+    public void shouldReportStalledHandlerButNotTheHandlersWaitingBehindIt() throws Exception
+    {
+        final BlockingQueue<StalledConsumer> stalls = new LinkedBlockingQueue<>();
+        final DelayedEventHandler stalledHandler = createDelayedEventHandler();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        disruptor.handleEventsWith(stalledHandler).then(new EventHandlerStub<>(latch));
+        disruptor.enableWatchdog(1, 50, MILLISECONDS, stalls::add);
+        publishEvent();
+
+        final StalledConsumer stall = stalls.poll(5, SECONDS);
+        assertNotNull(stall);
+        assertThat(executor.getExecutionCount(), equalTo(3));
+        assertSame(stalledHandler, stall.getHandlerIdentity());
+        assertThat(stall.getSequence(), is(-1L));
+        assertThat(stall.getLag(), is(1L));
+        assertTrue(Arrays.stream(stall.getStackTrace()).anyMatch(e -> e.getClassName().equals(DelayedEventHandler.class.getName())));
+
+        stalledHandler.processEvent();
+        assertTrue(latch.await(5, SECONDS));
+        LockSupport.parkNanos(MILLISECONDS.toNanos(200));
+        assertTrue(stalls.isEmpty());
+    }
+
+    @Test
+    public void shouldOnlyEnableWatchdogWithValidArgumentsBeforeStart()
+    {
+        assertThrows(IllegalArgumentException.class, () -> disruptor.enableWatchdog(0, 1, SECONDS, stall ->
+        {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> disruptor.enableWatchdog(1, 0, SECONDS, stall ->
+        {
+        }));
+
+        disruptor.start();
+
+        assertThrows(IllegalStateException.class, () -> disruptor.enableWatchdog(1, 1, SECONDS, stall ->
+        {
+        }));
+    }
+
     @Test
     @Timeout(value = 1, unit = SECONDS)
     public void shouldTrackRemainingCapacity() throws Exception
@@ -699,6 +942,54 @@ public class DisruptorTest
         ensureTwoEventsProcessedAccordingToDependencies(countDownLatch, delayedEventHandler);
     }
 
+    @Test
+    public void shouldProcessEachEventOnceWithWorkerPool() throws Exception
+    {
+        final CountDownLatch countDownLatch = new CountDownLatch(2);
+        final AtomicInteger eventsHandled = new AtomicInteger();
+        final WorkHandler<TestEvent> workHandler = event ->
+        {
+            eventsHandled.incrementAndGet();
+            countDownLatch.countDown();
+        };
+
+        disruptor.handleEventsWithWorkerPool(workHandler, workHandler, workHandler);
+
+        ensureTwoEventsProcessedAccordingToDependencies(countDownLatch);
+        disruptor.shutdown();
+
+        assertThat(eventsHandled.get(), is(2));
+    }
+
+    @Test
+    public void shouldSupportWorkerPoolAfterEventHandler() throws Exception
+    {
+        final CountDownLatch countDownLatch = new CountDownLatch(2);
+        final DelayedEventHandler delayedEventHandler = createDelayedEventHandler();
+        final WorkHandler<TestEvent> workHandler = event -> countDownLatch.countDown();
+
+        disruptor.handleEventsWith(delayedEventHandler).thenHandleEventsWithWorkerPool(workHandler, workHandler);
+
+        ensureTwoEventsProcessedAccordingToDependencies(countDownLatch, delayedEventHandler);
+    }
+
+    @Test
+    public void shouldSupportEventHandlerAfterWorkerPool() throws Exception
+    {
+        final CountDownLatch countDownLatch = new CountDownLatch(2);
+        final CountDownLatch workLatch = new CountDownLatch(1);
+        final WorkHandler<TestEvent> workHandler = event -> workLatch.await();
+
+        disruptor.handleEventsWithWorkerPool(workHandler, workHandler).then(new EventHandlerStub<>(countDownLatch));
+
+        publishEvent();
+        publishEvent();
+
+        assertThatCountDownLatchEquals(countDownLatch, 2L);
+        workLatch.countDown();
+        assertThatCountDownLatchIsZero(countDownLatch);
+    }
+
     private void ensureTwoEventsProcessedAccordingToDependencies(
         final CountDownLatch countDownLatch,
         final DelayedEventHandler... dependencies)
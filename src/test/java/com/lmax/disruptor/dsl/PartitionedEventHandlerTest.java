@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.support.LongEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedEventHandlerTest
+{
+    private static final int PARTITIONS = 3;
+
+    private final LongEvent[] events = new LongEvent[64];
+
+    @Test
+    public void shouldMapEveryKeyToAValidPartition()
+    {
+        final int[] counts = new int[PARTITIONS];
+        for (long key = -1000; key < 1000; key++)
+        {
+            counts[PartitionedEventHandler.partitionFor(key, PARTITIONS)]++;
+        }
+
+        for (int count : counts)
+        {
+            assertTrue(count > 500, Arrays.toString(counts));
+        }
+    }
+
+    @Test
+    public void shouldDeliverEachEventToOnePartitionWithEndOfBatchOnLastOwnedEvent() throws Exception
+    {
+        for (int i = 0; i < events.length; i++)
+        {
+            events[i] = new LongEvent();
+            events[i].set(i % 7);
+        }
+
+        final List<List<long[]>> delivered = new ArrayList<>();
+        final List<PartitionedEventHandler<LongEvent>> handlers = new ArrayList<>();
+        for (int partition = 0; partition < PARTITIONS; partition++)
+        {
+            final List<long[]> calls = new ArrayList<>();
+            delivered.add(calls);
+            handlers.add(new PartitionedEventHandler<>(
+                sequence -> events[(int) sequence], LongEvent::get, partition, PARTITIONS,
+                new EventHandler<LongEvent>()
+                {
+                    @Override
+                    public void onBatchStart(final long batchSize, final long queueDepth)
+                    {
+                        calls.add(new long[]{-1, batchSize});
+                    }
+
+                    @Override
+                    public void onEvent(final LongEvent event, final long sequence, final boolean endOfBatch)
+                    {
+                        calls.add(new long[]{sequence, endOfBatch ? 1 : 0});
+                    }
+                }));
+        }
+
+        // two batches, [0, 39] and [40, 63]
+        for (PartitionedEventHandler<LongEvent> handler : handlers)
+        {
+            runBatch(handler, 0, 39);
+            runBatch(handler, 40, 63);
+        }
+
+        final int[] deliveries = new int[events.length];
+        for (int partition = 0; partition < PARTITIONS; partition++)
+        {
+            final List<long[]> calls = delivered.get(partition);
+            for (int i = 0; i < calls.size(); i++)
+            {
+                final long[] call = calls.get(i);
+                if (call[0] == -1)
+                {
+                    continue;
+                }
+
+                final long sequence = call[0];
+                deliveries[(int) sequence]++;
+                assertThat(PartitionedEventHandler.partitionFor(events[(int) sequence].get(), PARTITIONS), is(partition));
+
+                final boolean lastInBatch = i == calls.size() - 1 || calls.get(i + 1)[0] == -1;
+                assertEquals(lastInBatch ? 1 : 0, call[1], "endOfBatch for sequence " + sequence);
+            }
+        }
+
+        for (int i = 0; i < deliveries.length; i++)
+        {
+            assertThat("sequence " + i, deliveries[i], is(1));
+        }
+    }
+
+    @Test
+    public void shouldPreservePerKeyOrderingAcrossPartitionedStage() throws Exception
+    {
+        final Disruptor<LongEvent> disruptor = new Disruptor<>(LongEvent.FACTORY, 64, DaemonThreadFactory.INSTANCE);
+        final int keys = 16;
+        final int eventCount = 10_000;
+        final Map<Long, AtomicLong> lastValueByKey = new ConcurrentHashMap<>();
+        final Map<Long, Integer> partitionByKey = new ConcurrentHashMap<>();
+        final CountDownLatch allHandled = new CountDownLatch(eventCount);
+        final CountDownLatch downstreamDone = new CountDownLatch(eventCount);
+
+        disruptor.handleEventsWithPartitioned(event -> event.get() % keys, 4, partition -> (event, sequence, endOfBatch) ->
+        {
+            final long key = event.get() % keys;
+            assertThat(partitionByKey.computeIfAbsent(key, k -> partition), is(partition));
+            final AtomicLong last = lastValueByKey.computeIfAbsent(key, k -> new AtomicLong(-1));
+            assertTrue(last.get() < event.get());
+            last.set(event.get());
+            allHandled.countDown();
+        }).then((event, sequence, endOfBatch) ->
+        {
+            final AtomicLong last = lastValueByKey.get(event.get() % keys);
+            assertTrue(last.get() >= event.get());
+            downstreamDone.countDown();
+        });
+
+        disruptor.start();
+        for (long i = 0; i < eventCount; i++)
+        {
+            disruptor.publishEvent((event, sequence, value) -> event.set(value), i);
+        }
+
+        assertTrue(allHandled.await(5, TimeUnit.SECONDS));
+        assertTrue(downstreamDone.await(5, TimeUnit.SECONDS));
+        disruptor.shutdown();
+    }
+
+    @Test
+    public void shouldRequireAtLeastOnePartition()
+    {
+        final Disruptor<LongEvent> disruptor = new Disruptor<>(LongEvent.FACTORY, 64, DaemonThreadFactory.INSTANCE);
+
+        assertThrows(IllegalArgumentException.class, () ->
+            disruptor.handleEventsWithPartitioned(LongEvent::get, 0, partition -> (event, sequence, endOfBatch) ->
+            {
+            }));
+    }
+
+    private void runBatch(final PartitionedEventHandler<LongEvent> handler, final long start, final long end) throws Exception
+    {
+        handler.onBatchStart(end - start + 1, end - start + 1);
+        for (long sequence = start; sequence <= end; sequence++)
+        {
+            handler.onEvent(events[(int) sequence], sequence, sequence == end);
+        }
+    }
+}
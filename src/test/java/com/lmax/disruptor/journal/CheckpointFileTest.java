@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.journal;
+
+import com.lmax.disruptor.Sequencer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CheckpointFileTest
+{
+    private Path directory;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("checkpoint");
+        file = directory.resolve("consumer.checkpoint");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(file);
+        Files.delete(directory);
+    }
+
+    @Test
+    public void shouldStartFromInitialCursorValueWhenCreated() throws Exception
+    {
+        assertThat(CheckpointFile.open(file).getSequence(), is(Sequencer.INITIAL_CURSOR_VALUE));
+        assertThat(CheckpointFile.open(file).getSequence(), is(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    @Test
+    public void shouldResumeFromLastCheckpoint() throws Exception
+    {
+        final CheckpointFile checkpointFile = CheckpointFile.open(file);
+        checkpointFile.checkpoint(7);
+        checkpointFile.checkpoint(15);
+        checkpointFile.checkpoint(23);
+
+        final CheckpointFile reopened = CheckpointFile.open(file);
+        assertThat(reopened.getSequence(), is(23L));
+
+        reopened.checkpoint(31);
+        assertThat(CheckpointFile.open(file).getSequence(), is(31L));
+    }
+
+    @Test
+    public void shouldFallBackToPreviousCheckpointWhenLastIsTorn() throws Exception
+    {
+        final CheckpointFile checkpointFile = CheckpointFile.open(file);
+        checkpointFile.checkpoint(7);
+        checkpointFile.checkpoint(15);
+        checkpointFile.force();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            for (long position = 8; position < channel.size(); position += 16)
+            {
+                final ByteBuffer value = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder());
+                channel.read(value, position);
+                if (value.getLong(0) == 15)
+                {
+                    channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), position);
+                }
+            }
+        }
+
+        assertThat(CheckpointFile.open(file).getSequence(), is(7L));
+    }
+
+    @Test
+    public void shouldRejectFileThatIsNotACheckpoint() throws Exception
+    {
+        Files.write(file, new byte[40]);
+
+        assertThrows(IOException.class, () -> CheckpointFile.open(file));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.journal;
+
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JournalingEventHandlerTest
+{
+    private static final JournalEncoder<StubEvent> ENCODER = (event, buffer) ->
+    {
+        final byte[] bytes = event.getTestString().getBytes();
+        buffer.putInt(event.getValue()).put(bytes);
+    };
+    private static final EventTranslatorOneArg<StubEvent, ByteBuffer> DECODER = (event, sequence, record) ->
+    {
+        event.setValue(record.getInt());
+        final byte[] bytes = new byte[record.remaining()];
+        record.get(bytes);
+        event.setTestString(new String(bytes));
+    };
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException
+    {
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplayJournaledEventsAcrossSegmentsInOrder() throws Exception
+    {
+        final JournalingEventHandler<StubEvent> handler = JournalingEventHandler.open(directory, 64, ENCODER);
+        for (int i = 0; i < 10; i++)
+        {
+            handler.onEvent(event(i, "event-" + i), i, i % 3 == 2);
+        }
+        handler.close();
+
+        assertThat(segmentCount(), is(5L));
+        assertThat(replay(JournalingEventHandler.open(directory, 64, ENCODER)), is(expected(10)));
+    }
+
+    @Test
+    public void shouldNotJournalReplayedEventsAgain() throws Exception
+    {
+        final JournalingEventHandler<StubEvent> first = JournalingEventHandler.open(directory, 1024, ENCODER);
+        for (int i = 0; i < 3; i++)
+        {
+            first.onEvent(event(i, "event-" + i), i, i == 2);
+        }
+        first.close();
+
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 16);
+        final JournalingEventHandler<StubEvent> second = JournalingEventHandler.open(directory, 1024, ENCODER);
+        assertThat(second.replay(ringBuffer, DECODER), is(3L));
+        ringBuffer.publishEvent(StubEvent.TRANSLATOR, 3, "event-3");
+        for (long sequence = 0; sequence <= ringBuffer.getCursor(); sequence++)
+        {
+            second.onEvent(ringBuffer.get(sequence), sequence, sequence == ringBuffer.getCursor());
+        }
+        second.close();
+
+        assertThat(replay(JournalingEventHandler.open(directory, 1024, ENCODER)), is(expected(4)));
+    }
+
+    @Test
+    public void shouldIgnoreTornRecordAtEndOfSegment() throws Exception
+    {
+        final JournalingEventHandler<StubEvent> handler = JournalingEventHandler.open(directory, 1024, ENCODER);
+        for (int i = 0; i < 3; i++)
+        {
+            handler.onEvent(event(i, "event-" + i), i, i == 2);
+        }
+        handler.close();
+
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE))
+        {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 8 + 3 * 19 - 1);
+        }
+
+        assertThat(replay(JournalingEventHandler.open(directory, 1024, ENCODER)), is(expected(2)));
+    }
+
+    @Test
+    public void shouldRejectEventLargerThanSegment() throws Exception
+    {
+        final JournalingEventHandler<StubEvent> handler = JournalingEventHandler.open(directory, 32, ENCODER);
+
+        assertThrows(IllegalArgumentException.class, () -> handler.onEvent(event(0, "too large for a segment"), 0, true));
+        assertThrows(IllegalArgumentException.class, () -> JournalingEventHandler.open(directory, 16, ENCODER));
+        handler.close();
+    }
+
+    @Test
+    public void shouldAllocateNextSegmentAheadAndRemoveItOnClose() throws Exception
+    {
+        final JournalingEventHandler<StubEvent> handler = JournalingEventHandler.open(directory, 1024, ENCODER);
+        handler.onEvent(event(0, "event-0"), 0, true);
+
+        final Path next = directory.resolve(String.format("%020d.journal", 1));
+        for (int i = 0; i < 500 && !Files.exists(next); i++)
+        {
+            Thread.sleep(10);
+        }
+        assertThat(Files.size(next), is(1024L));
+        assertThat(replay(JournalingEventHandler.open(directory, 1024, ENCODER)), is(expected(1)));
+
+        handler.close();
+        assertThat(segmentCount(), is(1L));
+        assertThrows(IllegalStateException.class, () -> handler.onEvent(event(1, "event-1"), 1, true));
+    }
+
+    private static StubEvent event(final int value, final String testString)
+    {
+        final StubEvent event = new StubEvent(value);
+        event.setTestString(testString);
+        return event;
+    }
+
+    private static List<String> expected(final int count)
+    {
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            expected.add(i + ":event-" + i);
+        }
+        return expected;
+    }
+
+    private static List<String> replay(final JournalingEventHandler<StubEvent> handler) throws IOException
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 16);
+        final long count = handler.replay(ringBuffer, DECODER);
+
+        final List<String> replayed = new ArrayList<>();
+        for (long sequence = 0; sequence < count; sequence++)
+        {
+            final StubEvent event = ringBuffer.get(sequence);
+            replayed.add(event.getValue() + ":" + event.getTestString());
+        }
+        return replayed;
+    }
+
+    private long segmentCount() throws IOException
+    {
+        return segments().size();
+    }
+
+    private List<Path> segments() throws IOException
+    {
+        try (Stream<Path> files = Files.list(directory))
+        {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
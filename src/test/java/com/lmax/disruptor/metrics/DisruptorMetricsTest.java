@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.metrics;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DisruptorMetricsTest
+{
+    @Test
+    public void shouldRecordBatchesOfEachHandler() throws Exception
+    {
+        final Disruptor<StubEvent> disruptor = new Disruptor<>(StubEvent.EVENT_FACTORY, 16, DaemonThreadFactory.INSTANCE);
+        final CountDownLatch latch = new CountDownLatch(10);
+        disruptor.handleEventsWith(new CountingHandler(latch), new CountingHandler(latch));
+        final DisruptorMetrics metrics = disruptor.enableMetrics();
+
+        disruptor.start();
+        for (int i = 0; i < 5; i++)
+        {
+            disruptor.publishEvent((event, sequence) -> event.setValue((int) sequence));
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        disruptor.shutdown(5, TimeUnit.SECONDS);
+
+        final List<HandlerMetrics> handlerMetrics = metrics.getHandlerMetrics();
+        assertThat(handlerMetrics.size(), is(2));
+        assertThat(handlerMetrics.get(0).getName(), is("CountingHandler"));
+        assertThat(handlerMetrics.get(1).getName(), is("CountingHandler-2"));
+        for (final HandlerMetrics handler : handlerMetrics)
+        {
+            final Histogram batchSizes = handler.getBatchSizeHistogram();
+            assertThat(batchSizes.getMaxValue() <= 5, is(true));
+            assertThat(handler.getBatchCount() >= 1, is(true));
+            assertThat(handler.getWaitTimeHistogram().getTotalCount() >= handler.getBatchCount(), is(true));
+            assertThat(handler.getLagMax() >= batchSizes.getMaxValue(), is(true));
+        }
+    }
+
+    @Test
+    public void shouldNotEnableMetricsAfterStart()
+    {
+        final Disruptor<StubEvent> disruptor = new Disruptor<>(StubEvent.EVENT_FACTORY, 16, DaemonThreadFactory.INSTANCE);
+        disruptor.handleEventsWith(new CountingHandler(new CountDownLatch(0)));
+        disruptor.start();
+        try
+        {
+            assertThrows(IllegalStateException.class, disruptor::enableMetrics);
+        }
+        finally
+        {
+            disruptor.halt();
+        }
+    }
+
+    @Test
+    public void shouldRegisterAndUnregisterMBeans() throws Exception
+    {
+        final DisruptorMetrics metrics = new DisruptorMetrics();
+        final HandlerMetrics handler = metrics.forHandler("journaller");
+        handler.recordBatch(4, 6, 1000);
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName("com.lmax.disruptor.test:type=HandlerMetrics,name=\"journaller\"");
+        metrics.registerMBeans("com.lmax.disruptor.test");
+        try
+        {
+            assertThat(server.getAttribute(objectName, "BatchCount"), is(1L));
+            assertThat(server.getAttribute(objectName, "LagMax"), is(6L));
+            server.invoke(objectName, "reset", null, null);
+            assertThat(server.getAttribute(objectName, "BatchCount"), is(0L));
+        }
+        finally
+        {
+            metrics.unregisterMBeans();
+        }
+        assertThat(server.isRegistered(objectName), is(false));
+    }
+
+    @Test
+    public void shouldOnlyRegisterNewHandlersWhenRegisteringAgain() throws Exception
+    {
+        final DisruptorMetrics metrics = new DisruptorMetrics();
+        metrics.forHandler("journaller");
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName first = new ObjectName("com.lmax.disruptor.again:type=HandlerMetrics,name=\"journaller\"");
+        final ObjectName second = new ObjectName("com.lmax.disruptor.again:type=HandlerMetrics,name=\"replicator\"");
+        metrics.registerMBeans("com.lmax.disruptor.again");
+        try
+        {
+            metrics.forHandler("replicator");
+            assertThat(server.isRegistered(second), is(false));
+
+            metrics.registerMBeans("com.lmax.disruptor.again");
+            assertThat(server.isRegistered(first), is(true));
+            assertThat(server.isRegistered(second), is(true));
+        }
+        finally
+        {
+            metrics.unregisterMBeans();
+        }
+        assertThat(server.isRegistered(first), is(false));
+        assertThat(server.isRegistered(second), is(false));
+    }
+
+    private static final class CountingHandler implements EventHandler<StubEvent>
+    {
+        private final CountDownLatch latch;
+
+        CountingHandler(final CountDownLatch latch)
+        {
+            this.latch = latch;
+        }
+
+        @Override
+        public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch)
+        {
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HistogramTest
+{
+    private final Histogram histogram = new Histogram();
+
+    @Test
+    public void shouldRecordSmallValuesExactly()
+    {
+        for (int i = 1; i <= 10; i++)
+        {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.getTotalCount(), is(10L));
+        assertThat(histogram.getMaxValue(), is(10L));
+        assertThat(histogram.getValueAtPercentile(50), is(5L));
+        assertThat(histogram.getValueAtPercentile(100), is(10L));
+    }
+
+    @Test
+    public void shouldReportPercentilesWithinPrecision()
+    {
+        for (long i = 1; i <= 100_000; i++)
+        {
+            histogram.record(i * 1000);
+        }
+
+        final long median = histogram.getValueAtPercentile(50);
+        assertThat(median, greaterThanOrEqualTo(50_000_000L));
+        assertThat(median, lessThanOrEqualTo(50_000_000L + 50_000_000L / 16));
+        assertThat(histogram.getValueAtPercentile(100), is(100_000_000L));
+    }
+
+    @Test
+    public void shouldMapEveryValueIntoABucketThatContainsIt()
+    {
+        final long[] values = {0, 1, 15, 16, 17, 31, 32, 1000, 1L << 40, Long.MAX_VALUE};
+        for (final long value : values)
+        {
+            final int index = Histogram.indexOf(value);
+            assertThat(Histogram.highestValueIn(index), greaterThanOrEqualTo(value));
+            if (index > 0)
+            {
+                assertThat(Histogram.highestValueIn(index - 1), lessThanOrEqualTo(value - 1));
+            }
+        }
+    }
+
+    @Test
+    public void shouldClampNegativeValuesAndReset()
+    {
+        histogram.record(-5);
+        assertThat(histogram.getValueAtPercentile(100), is(0L));
+
+        histogram.record(99);
+        histogram.reset();
+
+        assertThat(histogram.getTotalCount(), is(0L));
+        assertThat(histogram.getMaxValue(), is(0L));
+        assertThat(histogram.getValueAtPercentile(99), is(0L));
+    }
+
+    @Test
+    public void shouldRejectPercentileOutOfRange()
+    {
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(100.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(-1));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadFactoryTest
+{
+    @Test
+    public void shouldCreateVirtualThreadsWhenSupported() throws Exception
+    {
+        if (!VirtualThreadFactory.isSupported())
+        {
+            assertThrows(UnsupportedOperationException.class, () -> VirtualThreadFactory.INSTANCE.newThread(() -> { }));
+            return;
+        }
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread thread = VirtualThreadFactory.INSTANCE.newThread(latch::countDown);
+        thread.start();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread));
+    }
+
+    @Test
+    public void shouldBeSupportedFromJava21()
+    {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreadFactory.isSupported());
+    }
+}